@@ -0,0 +1,81 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A bulk operation - the same action applied to every item of a list. This
+ * implementation simply applies the action to one item at a time and records
+ * the items that fail. Implementations that can do better, e.g., by using
+ * chunked transactions, override execute().
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ * 
+ * @param <I>
+ *            item type
+ * @param <R>
+ *            result type
+ */
+public abstract class BulkOperation<I, R> {
+
+    /**
+     * Apply the action to a single item.
+     */
+    public abstract R apply(I item);
+
+    /**
+     * Get the uuid of the item, if known, for error reporting.
+     */
+    public String uuidOf(I item) {
+        return null;
+    }
+
+    /**
+     * Apply the action to all items.
+     */
+    public BulkResult<R> execute(List<I> items) {
+        final List<R> succeeded = new ArrayList<R>();
+        final List<BulkResult.Failure> failures = new ArrayList<BulkResult.Failure>();
+
+        for (int i = 0; i < items.size(); i++) {
+            final I item = items.get(i);
+            try {
+                succeeded.add(apply(item));
+            } catch (RuntimeException e) {
+                failures.add(failure(i, item, e));
+            }
+        }
+
+        return new BulkResult<R>(succeeded, failures);
+    }
+
+    /**
+     * Create the failure record for an item.
+     */
+    protected BulkResult.Failure failure(int index, I item, RuntimeException e) {
+        final String message = (e.getMessage() == null) ? e.getClass().getSimpleName() : e.getMessage();
+        return new BulkResult.Failure(index, uuidOf(item), message);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a bulk create, update or delete. Items are processed
+ * independently so a bad item does not prevent the others from being saved.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ * 
+ * @param <T>
+ */
+public class BulkResult<T> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final List<T> succeeded;
+    private final List<Failure> failures;
+
+    /**
+     * Constructor.
+     * 
+     * @param succeeded
+     *            results of the successful items, in input order
+     * @param failures
+     *            failed items, in input order
+     */
+    public BulkResult(List<T> succeeded, List<Failure> failures) {
+        this.succeeded = Collections.unmodifiableList(new ArrayList<T>(succeeded));
+        this.failures = Collections.unmodifiableList(new ArrayList<Failure>(failures));
+    }
+
+    public List<T> getSucceeded() {
+        return succeeded;
+    }
+
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Did every item succeed?
+     */
+    public boolean isSuccess() {
+        return failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%s: %d succeeded, %d failed]", getClass().getSimpleName(), succeeded.size(),
+                failures.size());
+    }
+
+    /**
+     * A single failed item.
+     */
+    public static class Failure implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final int index;
+        private final String uuid;
+        private final String message;
+
+        /**
+         * Constructor.
+         * 
+         * @param index
+         *            position of the item in the request
+         * @param uuid
+         *            uuid of the item, if known
+         * @param message
+         *            reason the item failed
+         */
+        public Failure(int index, String uuid, String message) {
+            this.index = index;
+            this.uuid = uuid;
+            this.message = message;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getUuid() {
+            return uuid;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[%s: %d, %s, '%s']", getClass().getSimpleName(), index, uuid, message);
+        }
+    }
+}
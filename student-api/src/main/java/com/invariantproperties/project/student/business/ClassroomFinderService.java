@@ -22,6 +22,7 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.invariantproperties.project.student.domain.Classroom;
@@ -37,5 +38,15 @@ public interface ClassroomFinderService extends FinderService<Classroom> {
 
     Classroom findClassroomByUuid(String uuid);
 
+    /**
+     * Find the classrooms with the specified uuids in a single call. The
+     * results are in the order of the uuids and unknown uuids are skipped.
+     */
+    List<Classroom> findClassroomsByUuids(Collection<String> uuids);
+
     List<Classroom> findClassroomsByTestRun(TestRun testRun);
+
+    ResultPage<Classroom> findClassrooms(Paging paging);
+
+    ResultPage<Classroom> findClassroomsByTestRun(TestRun testRun, Paging paging);
 }
@@ -22,6 +22,8 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.util.List;
+
 import com.invariantproperties.project.student.domain.Classroom;
 import com.invariantproperties.project.student.domain.TestRun;
 
@@ -36,4 +38,21 @@ public interface ClassroomManagerService extends ManagerService<Classroom> {
     void deleteClassroom(String uuid, Integer version);
 
     Classroom createClassroomForTesting(String name, TestRun testRun);
+
+    /**
+     * Create classrooms using the name and (optional) test run of
+     * each item. Bad items are reported in the result and do not prevent the
+     * others from being saved.
+     */
+    BulkResult<Classroom> createClassrooms(List<Classroom> classrooms);
+
+    /**
+     * Update the name of each classroom, identified by uuid.
+     */
+    BulkResult<Classroom> updateClassrooms(List<Classroom> classrooms);
+
+    /**
+     * Delete classrooms. The result contains the uuids that were deleted.
+     */
+    BulkResult<String> deleteClassrooms(List<String> uuids);
 }
@@ -22,22 +22,49 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.CourseSummary;
 import com.invariantproperties.project.student.domain.TestRun;
 
 /**
  * @author Bear Giles <bgiles@coyotesong.com>
  */
 public interface CourseFinderService extends FinderService<Course> {
+    @Coalesced
     List<Course> findAllCourses();
 
     Course findCourseById(Integer id);
 
+    @Coalesced
     Course findCourseByUuid(String uuid);
 
+    /**
+     * Find the courses with the specified uuids in a single call. The
+     * results are in the order of the uuids and unknown uuids are skipped.
+     */
+    List<Course> findCoursesByUuids(Collection<String> uuids);
+
     Course findCourseByCode(String code);
 
     List<Course> findCoursesByTestRun(TestRun testRun);
+
+    ResultPage<Course> findCourses(Paging paging);
+
+    ResultPage<Course> findCoursesByTestRun(TestRun testRun, Paging paging);
+
+    /**
+     * Summaries of all courses. Listings should use the summaries since they
+     * don't include the course summary and description text.
+     */
+    @Coalesced
+    List<CourseSummary> findAllCourseSummaries();
+
+    List<CourseSummary> findCourseSummariesByTestRun(TestRun testRun);
+
+    ResultPage<CourseSummary> findCourseSummaries(Paging paging);
+
+    ResultPage<CourseSummary> findCourseSummariesByTestRun(TestRun testRun, Paging paging);
 }
@@ -22,6 +22,8 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.util.List;
+
 import com.invariantproperties.project.student.domain.Course;
 import com.invariantproperties.project.student.domain.TestRun;
 
@@ -39,8 +41,46 @@ public interface CourseManagerService extends ManagerService<Course> {
 
     Course updateCourse(Course course, String name, String summary, String description, Integer creditHours);
 
+    /**
+     * Update a course without reading it first. The update only succeeds if
+     * the course still has the specified version.
+     * 
+     * @return the new version
+     * @throws ObjectNotFoundException
+     *             if there is no such course
+     * @throws StaleObjectException
+     *             if the course has been modified since that version
+     */
+    Integer updateCourse(String uuid, Integer version, String name, String summary, String description,
+            Integer creditHours);
+
+    /**
+     * Delete a course. If the version is not null the course must still have
+     * that version.
+     * 
+     * @throws StaleObjectException
+     *             if the course has been modified since that version
+     */
     void deleteCourse(String uuid, Integer version);
 
     Course createCourseForTesting(String code, String name, String summary, String description, Integer creditHours,
             TestRun testRun);
+
+    /**
+     * Create courses using the code, name, summary, description, credit
+     * hours and (optional) test run of each item. Bad items are reported in
+     * the result and do not prevent the others from being saved.
+     */
+    BulkResult<Course> createCourses(List<Course> courses);
+
+    /**
+     * Update the name, summary, description and credit hours of each
+     * course, identified by uuid.
+     */
+    BulkResult<Course> updateCourses(List<Course> courses);
+
+    /**
+     * Delete courses. The result contains the uuids that were deleted.
+     */
+    BulkResult<String> deleteCourses(List<String> uuids);
 }
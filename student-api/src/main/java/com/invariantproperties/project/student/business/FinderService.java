@@ -22,6 +22,8 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.io.IOException;
+
 import com.invariantproperties.project.student.domain.PersistentObject;
 import com.invariantproperties.project.student.domain.TestRun;
 
@@ -37,4 +39,17 @@ public interface FinderService<T extends PersistentObject> {
     long count();
 
     long countByTestRun(TestRun testRun);
+
+    /**
+     * Pass every object with the specified test run (or all objects if the
+     * test run is null) to the handler, in primary key order. Objects are
+     * read with a forward-only cursor so memory use does not depend on the
+     * number of objects.
+     * 
+     * @param testRun
+     * @param handler
+     * @throws IOException
+     *             if the handler fails
+     */
+    void export(TestRun testRun, ResultHandler<T> handler) throws IOException;
 }
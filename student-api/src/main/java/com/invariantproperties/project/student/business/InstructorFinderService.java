@@ -22,6 +22,7 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.invariantproperties.project.student.domain.Instructor;
@@ -37,7 +38,17 @@ public interface InstructorFinderService extends FinderService<Instructor> {
 
     Instructor findInstructorByUuid(String uuid);
 
+    /**
+     * Find the instructors with the specified uuids in a single call. The
+     * results are in the order of the uuids and unknown uuids are skipped.
+     */
+    List<Instructor> findInstructorsByUuids(Collection<String> uuids);
+
     List<Instructor> findInstructorsByTestRun(TestRun testRun);
 
+    ResultPage<Instructor> findInstructors(Paging paging);
+
+    ResultPage<Instructor> findInstructorsByTestRun(TestRun testRun, Paging paging);
+
     Instructor findInstructorByEmailAddress(String emailAddress);
 }
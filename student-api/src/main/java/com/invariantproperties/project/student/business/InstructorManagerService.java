@@ -22,6 +22,8 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.util.List;
+
 import com.invariantproperties.project.student.domain.Instructor;
 import com.invariantproperties.project.student.domain.TestRun;
 
@@ -36,4 +38,22 @@ public interface InstructorManagerService extends ManagerService<Instructor> {
     void deleteInstructor(String uuid, Integer version);
 
     Instructor createInstructorForTesting(String name, String emailAddress, TestRun testRun);
+
+    /**
+     * Create instructors using the name, email address and (optional) test run of
+     * each item. Bad items are reported in the result and do not prevent the
+     * others from being saved.
+     */
+    BulkResult<Instructor> createInstructors(List<Instructor> instructors);
+
+    /**
+     * Update the name and email address of each instructor, identified by
+     * uuid.
+     */
+    BulkResult<Instructor> updateInstructors(List<Instructor> instructors);
+
+    /**
+     * Delete instructors. The result contains the uuids that were deleted.
+     */
+    BulkResult<String> deleteInstructors(List<String> uuids);
 }
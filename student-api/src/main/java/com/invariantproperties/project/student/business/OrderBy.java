@@ -0,0 +1,128 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Single sort key used by paged finder methods. The property is the name of
+ * a persistent property on the entity, e.g., "name" or "creationDate".
+ * 
+ * The string form of a list of sort keys is a comma-separated list of
+ * property names with a '-' prefix for descending order, e.g., "-code,name".
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public final class OrderBy implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final String property;
+    private final boolean ascending;
+
+    public OrderBy(String property, boolean ascending) {
+        if (property == null || property.isEmpty()) {
+            throw new IllegalArgumentException("property must be specified");
+        }
+        this.property = property;
+        this.ascending = ascending;
+    }
+
+    public static OrderBy asc(String property) {
+        return new OrderBy(property, true);
+    }
+
+    public static OrderBy desc(String property) {
+        return new OrderBy(property, false);
+    }
+
+    /**
+     * Parse the string form of a list of sort keys. A null or empty string is
+     * an empty list.
+     */
+    public static List<OrderBy> parse(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final String[] keys = value.split(",");
+        final List<OrderBy> orderBy = new ArrayList<OrderBy>(keys.length);
+        for (String key : keys) {
+            final String property = key.trim();
+            if (property.startsWith("-")) {
+                orderBy.add(desc(property.substring(1)));
+            } else {
+                orderBy.add(asc(property));
+            }
+        }
+        return orderBy;
+    }
+
+    /**
+     * Format a list of sort keys as a string.
+     */
+    public static String format(List<OrderBy> orderBy) {
+        final StringBuilder sb = new StringBuilder();
+        for (OrderBy key : orderBy) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            if (!key.ascending) {
+                sb.append('-');
+            }
+            sb.append(key.property);
+        }
+        return sb.toString();
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * property.hashCode() + (ascending ? 1 : 0);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof OrderBy)) {
+            return false;
+        }
+        final OrderBy other = (OrderBy) obj;
+        return property.equals(other.property) && ascending == other.ascending;
+    }
+
+    @Override
+    public String toString() {
+        return property + (ascending ? " asc" : " desc");
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Page request for the paged finder methods. There are two flavors:
+ * <ul>
+ * <li>keyset (cursor) paging - the page starts immediately after the sort key
+ * values of the last row of the previous page. The cost of a page does not
+ * depend on how deep into the results it is. This is what
+ * {@link ResultPage#getNext()} returns.</li>
+ * <li>offset paging - the page starts at an absolute row offset. This is what
+ * UI grids with random access need.</li>
+ * </ul>
+ * 
+ * The finder always adds the primary key as a final tie-breaker so the order
+ * is total and no row is skipped or repeated between pages.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public final class Paging implements Serializable {
+    private static final long serialVersionUID = 1L;
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final int offset;
+    private final int maxResults;
+    private final List<OrderBy> orderBy;
+    private final List<Object> after;
+
+    private Paging(int offset, int maxResults, List<OrderBy> orderBy, List<?> after) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        if (maxResults < 1 || maxResults > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("maxResults must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        this.offset = offset;
+        this.maxResults = maxResults;
+        this.orderBy = (orderBy == null) ? Collections.<OrderBy> emptyList() : Collections
+                .unmodifiableList(new ArrayList<OrderBy>(orderBy));
+        this.after = (after == null) ? null : Collections.unmodifiableList(new ArrayList<Object>(after));
+    }
+
+    /**
+     * First page, sorted by the specified keys.
+     */
+    public static Paging first(int maxResults, OrderBy... orderBy) {
+        return new Paging(0, maxResults, Arrays.asList(orderBy), null);
+    }
+
+    /**
+     * Page starting at an absolute row offset.
+     */
+    public static Paging offset(int offset, int maxResults, List<OrderBy> orderBy) {
+        return new Paging(offset, maxResults, orderBy, null);
+    }
+
+    /**
+     * Page starting immediately after the row with the specified sort key
+     * values. The values must be in the same order as the effective sort
+     * order, i.e., including the trailing primary key.
+     */
+    public Paging after(List<?> keyset) {
+        if (keyset == null) {
+            throw new IllegalArgumentException("keyset must be specified");
+        }
+        return new Paging(0, maxResults, orderBy, keyset);
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public List<OrderBy> getOrderBy() {
+        return orderBy;
+    }
+
+    /**
+     * Sort key values of the last row of the previous page, or null if this is
+     * not a keyset page.
+     */
+    public List<Object> getAfter() {
+        return after;
+    }
+
+    public boolean isKeyset() {
+        return after != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Paging[offset=" + offset + ", maxResults=" + maxResults + ", orderBy=" + orderBy + ", after="
+                + after + "]";
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+/**
+ * Progress callback for a purge. It's called on the thread running the purge
+ * after each DELETE statement. The counts are not final until the purge's
+ * transaction commits.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public interface PurgeListener {
+
+    /**
+     * A DELETE statement has completed.
+     * 
+     * @param table
+     *            table the rows were deleted from
+     * @param rows
+     *            number of rows deleted by this statement
+     * @param step
+     *            number of this statement, starting at 1
+     * @param steps
+     *            total number of statements in the purge
+     */
+    void deleted(String table, int rows, int step, int steps);
+}
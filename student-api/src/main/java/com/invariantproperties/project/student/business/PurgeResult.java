@@ -0,0 +1,78 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result of a purge: the number of rows deleted from each table, in the order
+ * the tables were purged.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class PurgeResult implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String uuid;
+    private final Map<String, Integer> deleted;
+
+    /**
+     * Constructor.
+     * 
+     * @param uuid
+     *            uuid of the purged object
+     * @param deleted
+     *            rows deleted per table, in purge order
+     */
+    public PurgeResult(String uuid, Map<String, Integer> deleted) {
+        this.uuid = uuid;
+        this.deleted = Collections.unmodifiableMap(new LinkedHashMap<String, Integer>(deleted));
+    }
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public Map<String, Integer> getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Get the total number of rows deleted.
+     */
+    public int getTotal() {
+        int total = 0;
+        for (Integer rows : deleted.values()) {
+            total += rows;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%s: %s, %d rows %s]", getClass().getSimpleName(), uuid, getTotal(), deleted);
+    }
+}
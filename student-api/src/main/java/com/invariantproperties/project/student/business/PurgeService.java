@@ -0,0 +1,56 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import java.util.concurrent.Future;
+
+/**
+ * Deletes an object and everything that depends on it with a few set-based
+ * DELETE statements, in dependency order, instead of loading and deleting
+ * each child. The join rows, classrooms and sections that refer to the
+ * object are deleted along with it.
+ * 
+ * Purges run one at a time in the background, each in its own transaction.
+ * The future fails with an ObjectNotFoundException if the object does not
+ * exist or a PersistenceException if the purge fails and was rolled back.
+ * The listener may be null.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public interface PurgeService {
+
+    /**
+     * Purge a test run and all of its test data.
+     */
+    Future<PurgeResult> purgeTestRun(String uuid, PurgeListener listener);
+
+    /**
+     * Purge a term, its sections and its classrooms.
+     */
+    Future<PurgeResult> purgeTerm(String uuid, PurgeListener listener);
+
+    /**
+     * Purge a course and its sections.
+     */
+    Future<PurgeResult> purgeCourse(String uuid, PurgeListener listener);
+}
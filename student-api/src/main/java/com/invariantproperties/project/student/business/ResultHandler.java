@@ -0,0 +1,49 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import java.io.IOException;
+
+/**
+ * Callback that receives the rows of a query one at a time. This allows very
+ * large results, e.g., an export of an entire table, to be written to a
+ * stream without first being loaded into a list.
+ * 
+ * The object is only valid for the duration of the call. It is detached from
+ * the persistence context afterwards so lazy associations can't be loaded.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ * 
+ * @param <T>
+ */
+public interface ResultHandler<T> {
+
+    /**
+     * Handle a single row.
+     * 
+     * @param item
+     * @throws IOException
+     *             if the row could not be written. This stops the query.
+     */
+    void handle(T item) throws IOException;
+}
@@ -22,6 +22,7 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.invariantproperties.project.student.domain.Section;
@@ -37,5 +38,26 @@ public interface SectionFinderService extends FinderService<Section> {
 
     Section findSectionByUuid(String uuid);
 
+    /**
+     * Find the sections with the specified uuids in a single call. The
+     * results are in the order of the uuids and unknown uuids are skipped.
+     */
+    List<Section> findSectionsByUuids(Collection<String> uuids);
+
     List<Section> findSectionsByTestRun(TestRun testRun);
+
+    ResultPage<Section> findSections(Paging paging);
+
+    ResultPage<Section> findSectionsByTestRun(TestRun testRun, Paging paging);
+
+    /**
+     * Find a page of sections, loading the associations named by the fetch
+     * profile: 'summary' (course and term), 'withRoster' (also instructors
+     * and students) or 'withSchedule' (also classrooms). The other finders
+     * use 'summary'.
+     * 
+     * @throws IllegalArgumentException
+     *             if the fetch profile is not known
+     */
+    ResultPage<Section> findSectionsByTestRun(TestRun testRun, Paging paging, String fetchProfile);
 }
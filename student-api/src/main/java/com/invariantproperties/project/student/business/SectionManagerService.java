@@ -22,6 +22,8 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.util.List;
+
 import com.invariantproperties.project.student.domain.Section;
 import com.invariantproperties.project.student.domain.TestRun;
 
@@ -36,4 +38,35 @@ public interface SectionManagerService extends ManagerService<Section> {
     void deleteSection(String uuid, Integer version);
 
     Section createSectionForTesting(String name, TestRun testRun);
+
+    /**
+     * Create sections using the name and (optional) test run of
+     * each item. Bad items are reported in the result and do not prevent the
+     * others from being saved.
+     */
+    BulkResult<Section> createSections(List<Section> sections);
+
+    /**
+     * Update the name of each section, identified by uuid.
+     */
+    BulkResult<Section> updateSections(List<Section> sections);
+
+    /**
+     * Delete sections. The result contains the uuids that were deleted.
+     */
+    BulkResult<String> deleteSections(List<String> uuids);
+
+    /**
+     * Add a student to a section. This writes a single roster row.
+     * 
+     * @return true if the student was added, false if already enrolled
+     */
+    boolean addStudentToSection(String sectionUuid, String studentUuid);
+
+    /**
+     * Remove a student from a section. This deletes a single roster row.
+     * 
+     * @return true if the student was removed, false if not enrolled
+     */
+    boolean removeStudentFromSection(String sectionUuid, String studentUuid);
 }
@@ -22,6 +22,7 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.invariantproperties.project.student.domain.Student;
@@ -37,7 +38,17 @@ public interface StudentFinderService extends FinderService<Student> {
 
     Student findStudentByUuid(String uuid);
 
+    /**
+     * Find the students with the specified uuids in a single call. The
+     * results are in the order of the uuids and unknown uuids are skipped.
+     */
+    List<Student> findStudentsByUuids(Collection<String> uuids);
+
     List<Student> findStudentsByTestRun(TestRun testRun);
 
+    ResultPage<Student> findStudents(Paging paging);
+
+    ResultPage<Student> findStudentsByTestRun(TestRun testRun, Paging paging);
+
     Student findStudentByEmailAddress(String emailAddress);
 }
@@ -22,6 +22,8 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.util.List;
+
 import com.invariantproperties.project.student.domain.Student;
 import com.invariantproperties.project.student.domain.TestRun;
 
@@ -36,4 +38,22 @@ public interface StudentManagerService extends ManagerService<Student> {
     void deleteStudent(String uuid, Integer version);
 
     Student createStudentForTesting(String name, String emailAddress, TestRun testRun);
+
+    /**
+     * Create students using the name, email address and (optional) test run of
+     * each item. Bad items are reported in the result and do not prevent the
+     * others from being saved.
+     */
+    BulkResult<Student> createStudents(List<Student> students);
+
+    /**
+     * Update the name and email address of each student, identified by
+     * uuid.
+     */
+    BulkResult<Student> updateStudents(List<Student> students);
+
+    /**
+     * Delete students. The result contains the uuids that were deleted.
+     */
+    BulkResult<String> deleteStudents(List<String> uuids);
 }
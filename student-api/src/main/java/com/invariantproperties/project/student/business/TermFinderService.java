@@ -22,6 +22,7 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.invariantproperties.project.student.domain.Term;
@@ -31,11 +32,23 @@ import com.invariantproperties.project.student.domain.TestRun;
  * @author Bear Giles <bgiles@coyotesong.com>
  */
 public interface TermFinderService extends FinderService<Term> {
+    @Coalesced
     List<Term> findAllTerms();
 
     Term findTermById(Integer id);
 
+    @Coalesced
     Term findTermByUuid(String uuid);
 
+    /**
+     * Find the terms with the specified uuids in a single call. The
+     * results are in the order of the uuids and unknown uuids are skipped.
+     */
+    List<Term> findTermsByUuids(Collection<String> uuids);
+
     List<Term> findTermsByTestRun(TestRun testRun);
+
+    ResultPage<Term> findTerms(Paging paging);
+
+    ResultPage<Term> findTermsByTestRun(TestRun testRun, Paging paging);
 }
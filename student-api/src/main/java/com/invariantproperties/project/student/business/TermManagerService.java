@@ -22,6 +22,8 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.util.List;
+
 import com.invariantproperties.project.student.domain.Term;
 import com.invariantproperties.project.student.domain.TestRun;
 
@@ -36,4 +38,21 @@ public interface TermManagerService extends ManagerService<Term> {
     void deleteTerm(String uuid, Integer version);
 
     Term createTermForTesting(String name, TestRun testRun);
+
+    /**
+     * Create terms using the name and (optional) test run of
+     * each item. Bad items are reported in the result and do not prevent the
+     * others from being saved.
+     */
+    BulkResult<Term> createTerms(List<Term> terms);
+
+    /**
+     * Update the name of each term, identified by uuid.
+     */
+    BulkResult<Term> updateTerms(List<Term> terms);
+
+    /**
+     * Delete terms. The result contains the uuids that were deleted.
+     */
+    BulkResult<String> deleteTerms(List<String> uuids);
 }
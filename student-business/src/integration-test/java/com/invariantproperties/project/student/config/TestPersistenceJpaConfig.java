@@ -69,6 +69,12 @@ public class TestPersistenceJpaConfig implements DisposableBean {
     private static final String PROPERTY_NAME_HIBERNATE_NAMING_STRATEGY = "hibernate.ejb.naming_strategy";
     private static final String PROPERTY_NAME_HIBERNATE_SHOW_SQL = "hibernate.show_sql";
     private static final String PROPERTY_NAME_HIBERNATE_HBM2DDL_AUTO = "hibernate.hbm2ddl.auto";
+    private static final String PROPERTY_NAME_HIBERNATE_NEW_GENERATOR_MAPPINGS = "hibernate.id.new_generator_mappings";
+    private static final String PROPERTY_NAME_HIBERNATE_BATCH_SIZE = "hibernate.jdbc.batch_size";
+    private static final String PROPERTY_NAME_HIBERNATE_BATCH_VERSIONED_DATA = "hibernate.jdbc.batch_versioned_data";
+    private static final String PROPERTY_NAME_HIBERNATE_ORDER_INSERTS = "hibernate.order_inserts";
+    private static final String PROPERTY_NAME_HIBERNATE_ORDER_UPDATES = "hibernate.order_updates";
+    private static final String PROPERTY_NAME_HIBERNATE_BATCH_FETCH_SIZE = "hibernate.default_batch_fetch_size";
     private static final String PROPERTY_NAME_ENTITYMANAGER_PACKAGES_TO_SCAN = "entitymanager.packages.to.scan";
     // private static final String PROPERTY_NAME_PERSISTENCE_UNIT_NAME =
     // "persistence.unit.name";
@@ -109,6 +115,26 @@ public class TestPersistenceJpaConfig implements DisposableBean {
         jpaProperties.put(PROPERTY_NAME_HIBERNATE_HBM2DDL_AUTO,
                 environment.getRequiredProperty(PROPERTY_NAME_HIBERNATE_HBM2DDL_AUTO));
 
+        // pooled sequences and JDBC batching
+        jpaProperties.put(PROPERTY_NAME_HIBERNATE_NEW_GENERATOR_MAPPINGS,
+                environment.getRequiredProperty(PROPERTY_NAME_HIBERNATE_NEW_GENERATOR_MAPPINGS));
+        jpaProperties.put(PROPERTY_NAME_HIBERNATE_BATCH_SIZE,
+                environment.getRequiredProperty(PROPERTY_NAME_HIBERNATE_BATCH_SIZE));
+        jpaProperties.put(PROPERTY_NAME_HIBERNATE_BATCH_VERSIONED_DATA,
+                environment.getRequiredProperty(PROPERTY_NAME_HIBERNATE_BATCH_VERSIONED_DATA));
+        jpaProperties.put(PROPERTY_NAME_HIBERNATE_ORDER_INSERTS,
+                environment.getRequiredProperty(PROPERTY_NAME_HIBERNATE_ORDER_INSERTS));
+        jpaProperties.put(PROPERTY_NAME_HIBERNATE_ORDER_UPDATES,
+                environment.getRequiredProperty(PROPERTY_NAME_HIBERNATE_ORDER_UPDATES));
+
+        // batch fetching of lazy associations
+        jpaProperties.put(PROPERTY_NAME_HIBERNATE_BATCH_FETCH_SIZE,
+                environment.getRequiredProperty(PROPERTY_NAME_HIBERNATE_BATCH_FETCH_SIZE));
+
+        if (Boolean.parseBoolean(environment.getProperty(SecondLevelCacheConfig.PROPERTY_NAME_CACHE_ENABLED))) {
+            jpaProperties.putAll(SecondLevelCacheConfig.jpaProperties());
+        }
+
         bean.setJpaProperties(jpaProperties);
 
         return bean;
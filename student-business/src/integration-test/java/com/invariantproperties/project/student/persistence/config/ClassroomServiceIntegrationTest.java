@@ -116,7 +116,7 @@ public class ClassroomServiceIntegrationTest {
         // assertTrue(objects.contains(actual));
 
         // delete Classroom
-        mdao.deleteClassroom(expected.getUuid(), 0);
+        mdao.deleteClassroom(expected.getUuid(), null);
         try {
             fdao.findClassroomByUuid(expected.getUuid());
             fail("exception expected");
@@ -164,6 +164,6 @@ public class ClassroomServiceIntegrationTest {
      */
     @Test(expected = ObjectNotFoundException.class)
     public void testDeleteClassroomWhenClassroomIsNotFound() {
-        mdao.deleteClassroom("missing", 0);
+        mdao.deleteClassroom("missing", null);
     }
 }
\ No newline at end of file
@@ -23,12 +23,15 @@
 package com.invariantproperties.project.student.persistence.config;
 
 import static com.invariantproperties.project.student.matcher.CourseEquality.equalTo;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import javax.annotation.Resource;
@@ -43,6 +46,10 @@ import org.springframework.transaction.annotation.Transactional;
 import com.invariantproperties.project.student.business.CourseFinderService;
 import com.invariantproperties.project.student.business.CourseManagerService;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.OrderBy;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
+import com.invariantproperties.project.student.business.StaleObjectException;
 import com.invariantproperties.project.student.business.TestRunService;
 import com.invariantproperties.project.student.config.BusinessApplicationContext;
 import com.invariantproperties.project.student.config.TestBusinessApplicationContext;
@@ -131,8 +138,19 @@ public class CourseServiceIntegrationTest {
         // final List<TestablePersistentObject> objects = testRun.getObjects();
         // assertTrue(objects.contains(actual));
 
+        // conditional update - the stale version is rejected
+        final Integer version = actual.getVersion();
+        try {
+            mdao.updateCourse(expected.getUuid(), version - 1, "stale", null, null, 0);
+            fail("exception expected");
+        } catch (StaleObjectException e) {
+            // expected
+        }
+        assertEquals(Integer.valueOf(version + 1),
+                mdao.updateCourse(expected.getUuid(), version, expected.getName(), "summary 3", "description 3", 3));
+
         // delete Course
-        mdao.deleteCourse(expected.getUuid(), 0);
+        mdao.deleteCourse(expected.getUuid(), version + 1);
         try {
             fdao.findCourseByUuid(expected.getUuid());
             fail("exception expected");
@@ -143,6 +161,49 @@ public class CourseServiceIntegrationTest {
         testService.deleteTestRun(testRun.getUuid());
     }
 
+    @Test
+    public void testFindCoursesPaged() throws Exception {
+        final TestRun testRun = testService.createTestRun();
+
+        final List<String> expected = new ArrayList<String>();
+        for (int i = 0; i < 5; i++) {
+            final Course course = mdao.createCourseForTesting("PAGE10" + i, "Paged " + (4 - i), "summary", "description",
+                    1, testRun);
+            expected.add(0, course.getUuid());
+        }
+
+        // walk through the courses two at a time, in name order
+        final List<String> actual = new ArrayList<String>();
+        Paging paging = Paging.first(2, OrderBy.asc("name"));
+        int pages = 0;
+        while (paging != null) {
+            final ResultPage<Course> page = fdao.findCoursesByTestRun(testRun, paging);
+            for (Course course : page.getContent()) {
+                actual.add(course.getUuid());
+            }
+            paging = page.getNext();
+            pages++;
+        }
+
+        assertEquals(3, pages);
+        assertEquals(expected, actual);
+
+        // random access
+        final ResultPage<Course> page = fdao.findCoursesByTestRun(testRun,
+                Paging.offset(3, 2, Collections.singletonList(OrderBy.asc("name"))));
+        assertEquals(expected.subList(3, 5), uuids(page.getContent()));
+
+        testService.deleteTestRun(testRun.getUuid());
+    }
+
+    private static List<String> uuids(List<Course> courses) {
+        final List<String> uuids = new ArrayList<String>();
+        for (Course course : courses) {
+            uuids.add(course.getUuid());
+        }
+        return uuids;
+    }
+
     /**
      * @test findCourseById() with unknown course.
      */
@@ -180,6 +241,6 @@ public class CourseServiceIntegrationTest {
      */
     @Test(expected = ObjectNotFoundException.class)
     public void testDeleteCourseWhenCourseIsNotFound() {
-        mdao.deleteCourse("missing", 0);
+        mdao.deleteCourse("missing", null);
     }
 }
\ No newline at end of file
@@ -0,0 +1,172 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.persistence.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Resource;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.transaction.TransactionConfiguration;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.invariantproperties.project.student.business.CourseFinderService;
+import com.invariantproperties.project.student.business.OrderBy;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
+import com.invariantproperties.project.student.business.TestRunService;
+import com.invariantproperties.project.student.config.BusinessApplicationContext;
+import com.invariantproperties.project.student.config.TestBusinessApplicationContext;
+import com.invariantproperties.project.student.config.TestPersistenceJpaConfig;
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.CourseSummary;
+import com.invariantproperties.project.student.domain.TestRun;
+
+/**
+ * Verify the course summary projection returns the same courses as the full
+ * listing, pages correctly, and is a fraction of the size of the full
+ * listing when the courses have realistic descriptions.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { BusinessApplicationContext.class, TestBusinessApplicationContext.class,
+        TestPersistenceJpaConfig.class })
+@Transactional
+@TransactionConfiguration(defaultRollback = true)
+public class CourseSummaryIntegrationTest {
+    private static final int COURSES = 200;
+    private static final int DESCRIPTION_LENGTH = 4000;
+    private static final int PAGE_SIZE = 30;
+
+    @Resource
+    private CourseFinderService fdao;
+
+    @Resource
+    private TestRunService testService;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private TestRun testRun;
+
+    @Before
+    public void createCourses() {
+        testRun = testService.createTestRun();
+
+        final char[] description = new char[DESCRIPTION_LENGTH];
+        Arrays.fill(description, 'x');
+
+        for (int i = 0; i < COURSES; i++) {
+            final Course course = new Course();
+            course.setCode(String.format("SUMM%03d", i));
+            course.setName("Course " + i);
+            course.setSummary("Summary of course " + i);
+            course.setDescription(new String(description));
+            course.setCreditHours(3);
+            course.setTestRun(testRun);
+            em.persist(course);
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void testSummariesMatchCourses() {
+        final List<Course> courses = fdao.findCoursesByTestRun(testRun);
+        final List<CourseSummary> summaries = fdao.findCourseSummariesByTestRun(testRun);
+
+        assertEquals(COURSES, summaries.size());
+        final List<CourseSummary> expected = new ArrayList<CourseSummary>(courses.size());
+        for (Course course : courses) {
+            expected.add(new CourseSummary(course));
+        }
+        assertEquals(expected.size(), summaries.size());
+        assertTrue(summaries.containsAll(expected));
+
+        for (CourseSummary summary : summaries) {
+            assertTrue(summary.getCode().startsWith("SUMM"));
+            assertEquals(Integer.valueOf(3), summary.getCreditHours());
+        }
+    }
+
+    @Test
+    public void testSummariesKeysetPaging() {
+        final List<CourseSummary> all = new ArrayList<CourseSummary>(COURSES);
+        Paging paging = Paging.first(PAGE_SIZE, OrderBy.desc("code"));
+        ResultPage<CourseSummary> page;
+        do {
+            page = fdao.findCourseSummariesByTestRun(testRun, paging);
+            all.addAll(page.getContent());
+            paging = page.getNext();
+        } while (page.hasNext());
+
+        assertEquals(COURSES, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getCode().compareTo(all.get(i).getCode()) > 0);
+        }
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    public void testSummariesAreSmaller() throws IOException {
+        final List<Course> courses = new ArrayList<Course>(fdao.findCoursesByTestRun(testRun));
+        final List<CourseSummary> summaries = new ArrayList<CourseSummary>(
+                fdao.findCourseSummariesByTestRun(testRun));
+
+        final int courseBytes = serializedSize(new ArrayList<Course>(courses));
+        final int summaryBytes = serializedSize(new ArrayList<CourseSummary>(summaries));
+
+        System.out.printf("%d courses: %,d bytes, %d summaries: %,d bytes (%.1f%%)%n", courses.size(), courseBytes,
+                summaries.size(), summaryBytes, 100.0 * summaryBytes / courseBytes);
+
+        assertTrue(summaryBytes * 10 < courseBytes);
+    }
+
+    private static int serializedSize(Serializable value) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream out = new ObjectOutputStream(bytes);
+        try {
+            out.writeObject(value);
+        } finally {
+            out.close();
+        }
+        return bytes.size();
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.persistence.config;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Resource;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+
+import org.h2.api.Trigger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.test.context.transaction.BeforeTransaction;
+import org.springframework.test.context.transaction.TransactionConfiguration;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.invariantproperties.project.student.business.SectionManagerService;
+import com.invariantproperties.project.student.business.TestRunService;
+import com.invariantproperties.project.student.config.BusinessApplicationContext;
+import com.invariantproperties.project.student.config.TestBusinessApplicationContext;
+import com.invariantproperties.project.student.config.TestPersistenceJpaConfig;
+import com.invariantproperties.project.student.domain.Section;
+import com.invariantproperties.project.student.domain.Student;
+import com.invariantproperties.project.student.domain.TestRun;
+
+/**
+ * Enrollment benchmark. A trigger counts the rows inserted into and deleted
+ * from section_students while students are added to, and removed from, a
+ * 300-seat section. This prints the rows written per enrollment and
+ * enrollments/second. It fails if an enrollment writes anything other than a
+ * single join row, it does not fail on slow machines.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { BusinessApplicationContext.class, TestBusinessApplicationContext.class,
+        TestPersistenceJpaConfig.class })
+@Transactional
+@TransactionConfiguration(defaultRollback = true)
+public class EnrollmentThroughputIntegrationTest {
+    private static final int SEATS = 300;
+    private static final int ENROLLMENTS = 200;
+
+    /**
+     * H2 trigger that counts the rows written.
+     */
+    public static class RowCounter implements Trigger {
+        static final AtomicLong ROWS = new AtomicLong();
+
+        @Override
+        public void init(Connection conn, String schemaName, String triggerName, String tableName, boolean before,
+                int type) {
+        }
+
+        @Override
+        public void fire(Connection conn, Object[] oldRow, Object[] newRow) {
+            ROWS.incrementAndGet();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void remove() {
+        }
+    }
+
+    @Resource
+    private SectionManagerService mdao;
+
+    @Resource
+    private TestRunService testService;
+
+    @Resource
+    private DataSource dataSource;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /**
+     * H2 commits on DDL so the trigger is created and dropped outside of the
+     * test transaction.
+     */
+    @BeforeTransaction
+    public void createTrigger() throws SQLException {
+        execute("create trigger section_students_rows after insert, delete on section_students for each row call \""
+                + RowCounter.class.getName() + "\"");
+    }
+
+    @AfterTransaction
+    public void dropTrigger() throws SQLException {
+        execute("drop trigger section_students_rows");
+    }
+
+    @Test
+    public void testEnrollmentThroughput() {
+        final TestRun testRun = testService.createTestRun();
+
+        final Section section = new Section();
+        section.setName("Registration week");
+        section.setTestRun(testRun);
+        em.persist(section);
+
+        final Student[] students = new Student[SEATS + 2 * ENROLLMENTS];
+        for (int i = 0; i < students.length; i++) {
+            students[i] = new Student();
+            students[i].setName("Student " + i);
+            students[i].setEmailAddress("enroll" + i + "@" + testRun.getUuid());
+            students[i].setTestRun(testRun);
+            em.persist(students[i]);
+        }
+        for (int i = 0; i < SEATS; i++) {
+            section.getStudents().add(students[i]);
+        }
+        em.flush();
+        em.clear();
+
+        // add each student to the mapped collection.
+        long rows = RowCounter.ROWS.get();
+        long start = System.nanoTime();
+        for (int i = SEATS; i < SEATS + ENROLLMENTS; i++) {
+            final Section actual = em.find(Section.class, section.getId());
+            actual.getStudents().add(em.find(Student.class, students[i].getId()));
+            em.flush();
+            em.clear();
+        }
+        report("collection add", RowCounter.ROWS.get() - rows, System.nanoTime() - start);
+
+        // add each student with a single roster row.
+        rows = RowCounter.ROWS.get();
+        start = System.nanoTime();
+        for (int i = SEATS + ENROLLMENTS; i < students.length; i++) {
+            mdao.addStudentToSection(section.getUuid(), students[i].getUuid());
+        }
+        report("addStudentToSection", RowCounter.ROWS.get() - rows, System.nanoTime() - start);
+
+        rows = RowCounter.ROWS.get();
+        start = System.nanoTime();
+        for (int i = SEATS + ENROLLMENTS; i < students.length; i++) {
+            mdao.removeStudentFromSection(section.getUuid(), students[i].getUuid());
+        }
+        report("removeStudentFromSection", RowCounter.ROWS.get() - rows, System.nanoTime() - start);
+    }
+
+    private void execute(String sql) throws SQLException {
+        final Connection conn = dataSource.getConnection();
+        try {
+            final Statement stmt = conn.createStatement();
+            try {
+                stmt.execute(sql);
+            } finally {
+                stmt.close();
+            }
+        } finally {
+            conn.close();
+        }
+    }
+
+    private static void report(String name, long rows, long elapsed) {
+        System.out.printf("%-24s %6.1f rows/enrollment %8.0f enrollments/s%n", name, (double) rows / ENROLLMENTS,
+                ENROLLMENTS * 1e9 / elapsed);
+        assertEquals(name, ENROLLMENTS, rows);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.persistence.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import javax.annotation.Resource;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.ejb.HibernateEntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.invariantproperties.project.student.business.FinderCache;
+import com.invariantproperties.project.student.business.FinderCaches;
+import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.PurgeService;
+import com.invariantproperties.project.student.business.StudentFinderService;
+import com.invariantproperties.project.student.business.StudentManagerService;
+import com.invariantproperties.project.student.business.TestRunService;
+import com.invariantproperties.project.student.config.BusinessApplicationContext;
+import com.invariantproperties.project.student.config.TestBusinessApplicationContext;
+import com.invariantproperties.project.student.config.TestPersistenceJpaConfig;
+import com.invariantproperties.project.student.domain.Student;
+import com.invariantproperties.project.student.domain.TestRun;
+
+/**
+ * Verify the finder caches serve repeated lookups without SQL statements and
+ * are invalidated by the manager services. This test is deliberately not
+ * transactional - the cache is bypassed within a transaction.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { BusinessApplicationContext.class, TestBusinessApplicationContext.class,
+        TestPersistenceJpaConfig.class })
+public class FinderCacheIntegrationTest {
+    private static final int LOOKUPS = 10000;
+
+    @Resource
+    private StudentFinderService finder;
+
+    @Resource
+    private StudentManagerService manager;
+
+    @Resource
+    private TestRunService testService;
+
+    @Resource
+    private PurgeService purgeService;
+
+    @Resource
+    private FinderCaches finderCaches;
+
+    @Resource
+    private EntityManagerFactory emf;
+
+    private TestRun testRun;
+    private Statistics statistics;
+
+    @Before
+    public void createTestRun() {
+        testRun = testService.createTestRun();
+        statistics = ((HibernateEntityManagerFactory) emf).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @After
+    public void purgeTestRun() throws Exception {
+        purgeService.purgeTestRun(testRun.getUuid(), null).get();
+    }
+
+    @Test
+    public void testRepeatedLookupIsCached() {
+        final String email = "cache@" + testRun.getUuid();
+        final Student student = manager.createStudentForTesting("Cached Student", email, testRun);
+        final FinderCache cache = finderCaches.getCache(Student.class);
+        final long hits = cache.getHits();
+
+        assertEquals(student.getUuid(), finder.findStudentByEmailAddress(email).getUuid());
+
+        statistics.clear();
+        final long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            finder.findStudentByEmailAddress(email);
+        }
+        final long elapsed = System.nanoTime() - start;
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(hits + LOOKUPS, cache.getHits());
+        System.out.printf("%d cached lookups: %.1f us/lookup, %s%n", LOOKUPS, elapsed / 1000.0 / LOOKUPS, cache);
+    }
+
+    @Test
+    public void testUpdateInvalidatesCache() {
+        final String email = "update@" + testRun.getUuid();
+        final Student student = manager.createStudentForTesting("Old Name", email, testRun);
+        assertEquals("Old Name", finder.findStudentByUuid(student.getUuid()).getName());
+
+        manager.updateStudent(finder.findStudentByUuid(student.getUuid()), "New Name", email);
+
+        assertEquals("New Name", finder.findStudentByUuid(student.getUuid()).getName());
+    }
+
+    @Test
+    public void testMissingIsCachedUntilCreated() {
+        final String email = "missing@" + testRun.getUuid();
+        assertMissing(email);
+
+        statistics.clear();
+        assertMissing(email);
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        final Student student = manager.createStudentForTesting("Late Student", email, testRun);
+        assertEquals(student.getUuid(), finder.findStudentByEmailAddress(email).getUuid());
+    }
+
+    private void assertMissing(String email) {
+        try {
+            finder.findStudentByEmailAddress(email);
+            fail("exception expected");
+        } catch (ObjectNotFoundException e) {
+            // expected
+        }
+    }
+}
@@ -119,7 +119,7 @@ public class InstructorServiceIntegrationTest {
         // assertTrue(objects.contains(actual));
 
         // delete Instructor
-        mdao.deleteInstructor(expected.getUuid(), 0);
+        mdao.deleteInstructor(expected.getUuid(), null);
         try {
             fdao.findInstructorByUuid(expected.getUuid());
             fail("exception expected");
@@ -167,6 +167,6 @@ public class InstructorServiceIntegrationTest {
      */
     @Test(expected = ObjectNotFoundException.class)
     public void testDeleteInstructorWhenInstructorIsNotFound() {
-        mdao.deleteInstructor("missing", 0);
+        mdao.deleteInstructor("missing", null);
     }
 }
\ No newline at end of file
@@ -0,0 +1,222 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.persistence.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Resource;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.invariantproperties.project.student.business.CourseFinderService;
+import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.PurgeListener;
+import com.invariantproperties.project.student.business.PurgeResult;
+import com.invariantproperties.project.student.business.PurgeService;
+import com.invariantproperties.project.student.business.SectionFinderService;
+import com.invariantproperties.project.student.business.TermFinderService;
+import com.invariantproperties.project.student.business.TestRunService;
+import com.invariantproperties.project.student.config.BusinessApplicationContext;
+import com.invariantproperties.project.student.config.TestBusinessApplicationContext;
+import com.invariantproperties.project.student.config.TestPersistenceJpaConfig;
+import com.invariantproperties.project.student.domain.Classroom;
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.Instructor;
+import com.invariantproperties.project.student.domain.Section;
+import com.invariantproperties.project.student.domain.Student;
+import com.invariantproperties.project.student.domain.Term;
+import com.invariantproperties.project.student.domain.TestRun;
+
+/**
+ * Verify the purges delete the whole object graph, in order, and report
+ * their progress. This test is deliberately not transactional - the purges
+ * run in their own transactions so the test data must be committed.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { BusinessApplicationContext.class, TestBusinessApplicationContext.class,
+        TestPersistenceJpaConfig.class })
+public class PurgeServiceIntegrationTest {
+    private static final int SECTIONS = 20;
+    private static final int STUDENTS = 10;
+    private static final int STUDENTS_PER_SECTION = 3;
+    private static final int INSTRUCTORS = 2;
+
+    @Resource
+    private PurgeService purgeService;
+
+    @Resource
+    private TestRunService testService;
+
+    @Resource
+    private SectionFinderService sectionFinder;
+
+    @Resource
+    private TermFinderService termFinder;
+
+    @Resource
+    private CourseFinderService courseFinder;
+
+    @Resource
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /**
+     * Listener that records each step.
+     */
+    private static class Steps implements PurgeListener {
+        final List<String> tables = new ArrayList<String>();
+
+        @Override
+        public void deleted(String table, int rows, int step, int steps) {
+            assertEquals(tables.size() + 1, step);
+            tables.add(table);
+        }
+    }
+
+    @Test
+    public void testPurge() throws Exception {
+        final TestRun testRun = testService.createTestRun();
+        final Object[] roots = createGraph(testRun);
+        final Term term = (Term) roots[0];
+        final Course course = (Course) roots[1];
+
+        // the term's sections are the even ones, all in the first course.
+        Steps steps = new Steps();
+        PurgeResult result = purgeService.purgeTerm(term.getUuid(), steps).get();
+        assertEquals(Arrays.asList("section_students", "section_instructors", "classroom", "section", "term"),
+                steps.tables);
+        assertDeleted(result, 30, 10, 10, 10, 1);
+        assertEquals(SECTIONS / 2, sectionFinder.countByTestRun(testRun));
+        assertEquals(1, termFinder.countByTestRun(testRun));
+
+        // the course's sections are the remaining odd ones.
+        result = purgeService.purgeCourse(course.getUuid(), null).get();
+        assertDeleted(result, 30, 10, 10, 10, 1);
+        assertEquals(0, sectionFinder.countByTestRun(testRun));
+        assertEquals(1, courseFinder.countByTestRun(testRun));
+
+        // the rest: one course, one term, the students, instructors and the
+        // test run itself.
+        steps = new Steps();
+        result = purgeService.purgeTestRun(testRun.getUuid(), steps).get();
+        assertEquals(9, steps.tables.size());
+        assertDeleted(result, 0, 0, 0, 0, 1, 1, STUDENTS, INSTRUCTORS, 1);
+
+        try {
+            testService.findTestRunByUuid(testRun.getUuid());
+            fail("exception expected");
+        } catch (ObjectNotFoundException e) {
+            // expected
+        }
+    }
+
+    private static void assertDeleted(PurgeResult result, Integer... rows) {
+        assertEquals(Arrays.asList(rows), new ArrayList<Integer>(result.getDeleted().values()));
+    }
+
+    /**
+     * Create and commit two courses, two terms and the sections, with their
+     * rosters and classrooms. This returns the first term and the second
+     * course.
+     */
+    private Object[] createGraph(final TestRun testRun) {
+        return new TransactionTemplate(transactionManager).execute(new TransactionCallback<Object[]>() {
+            @Override
+            public Object[] doInTransaction(TransactionStatus status) {
+                final Course[] courses = new Course[2];
+                final Term[] terms = new Term[2];
+                for (int i = 0; i < 2; i++) {
+                    courses[i] = new Course();
+                    courses[i].setCode("PURGE" + i + testRun.getId());
+                    courses[i].setName("Course " + i);
+                    courses[i].setTestRun(testRun);
+                    em.persist(courses[i]);
+
+                    terms[i] = new Term();
+                    terms[i].setName("Term " + i);
+                    terms[i].setTestRun(testRun);
+                    em.persist(terms[i]);
+                }
+
+                final Student[] students = new Student[STUDENTS];
+                for (int i = 0; i < STUDENTS; i++) {
+                    students[i] = new Student();
+                    students[i].setName("Student " + i);
+                    students[i].setEmailAddress("purge" + i + "@" + testRun.getUuid());
+                    students[i].setTestRun(testRun);
+                    em.persist(students[i]);
+                }
+
+                final Instructor[] instructors = new Instructor[INSTRUCTORS];
+                for (int i = 0; i < INSTRUCTORS; i++) {
+                    instructors[i] = new Instructor();
+                    instructors[i].setName("Instructor " + i);
+                    instructors[i].setEmailAddress("purge-instructor" + i + "@" + testRun.getUuid());
+                    instructors[i].setTestRun(testRun);
+                    em.persist(instructors[i]);
+                }
+
+                for (int i = 0; i < SECTIONS; i++) {
+                    final Section section = new Section();
+                    section.setName("Section " + i);
+                    section.setCourse(courses[i % 2]);
+                    section.setTerm(terms[i % 2]);
+                    section.setTestRun(testRun);
+                    section.getInstructors().add(instructors[i % INSTRUCTORS]);
+                    for (int j = 0; j < STUDENTS_PER_SECTION; j++) {
+                        section.getStudents().add(students[(i + j) % STUDENTS]);
+                    }
+
+                    final Classroom classroom = new Classroom();
+                    classroom.setName("Room " + i);
+                    classroom.setSection(section);
+                    classroom.setTerm(section.getTerm());
+                    classroom.setTestRun(testRun);
+                    section.getClassrooms().add(classroom);
+
+                    em.persist(section);
+                }
+
+                return new Object[] { terms[0], courses[1] };
+            }
+        });
+    }
+}
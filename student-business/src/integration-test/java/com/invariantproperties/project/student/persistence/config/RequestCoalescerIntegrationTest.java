@@ -0,0 +1,153 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.persistence.config;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.Resource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.invariantproperties.project.student.business.CourseFinderService;
+import com.invariantproperties.project.student.business.CourseManagerService;
+import com.invariantproperties.project.student.business.FinderCache;
+import com.invariantproperties.project.student.business.FinderCaches;
+import com.invariantproperties.project.student.business.PurgeService;
+import com.invariantproperties.project.student.business.RequestCoalescer;
+import com.invariantproperties.project.student.business.TestRunService;
+import com.invariantproperties.project.student.config.BusinessApplicationContext;
+import com.invariantproperties.project.student.config.TestBusinessApplicationContext;
+import com.invariantproperties.project.student.config.TestPersistenceJpaConfig;
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.TestRun;
+
+/**
+ * Verify concurrent identical finder calls are coalesced. This test is
+ * deliberately not transactional - calls within a transaction are not
+ * coalesced.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { BusinessApplicationContext.class, TestBusinessApplicationContext.class,
+        TestPersistenceJpaConfig.class })
+public class RequestCoalescerIntegrationTest {
+    private static final String FIND_ALL_COURSES = "CourseFinderService.findAllCourses";
+    private static final String FIND_COURSE_BY_UUID = "CourseFinderService.findCourseByUuid";
+    private static final int CALLERS = 16;
+    private static final int ROUNDS = 20;
+    private static final int COURSES = 20;
+
+    @Resource
+    private CourseFinderService finder;
+
+    @Resource
+    private CourseManagerService manager;
+
+    @Resource
+    private TestRunService testService;
+
+    @Resource
+    private PurgeService purgeService;
+
+    @Resource
+    private RequestCoalescer coalescer;
+
+    @Resource
+    private FinderCaches finderCaches;
+
+    private TestRun testRun;
+
+    @Before
+    public void createTestRun() {
+        testRun = testService.createTestRun();
+    }
+
+    @After
+    public void purgeTestRun() throws Exception {
+        purgeService.purgeTestRun(testRun.getUuid(), null).get();
+    }
+
+    @Test
+    public void testConcurrentFindAllCourses() throws Exception {
+        for (int i = 0; i < COURSES; i++) {
+            manager.createCourseForTesting("COAL" + i, "Coalesced " + i, "summary", "description", 3, testRun);
+        }
+        final int expected = finder.findAllCourses().size();
+        final long calls = coalescer.getCalls(FIND_ALL_COURSES);
+        final long coalesced = coalescer.getCoalesced(FIND_ALL_COURSES);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            final CyclicBarrier barrier = new CyclicBarrier(CALLERS);
+            final List<Future<List<Course>>> futures = new ArrayList<Future<List<Course>>>();
+            for (int i = 0; i < CALLERS * ROUNDS; i++) {
+                futures.add(executor.submit(new Callable<List<Course>>() {
+                    @Override
+                    public List<Course> call() throws Exception {
+                        barrier.await();
+                        return finder.findAllCourses();
+                    }
+                }));
+            }
+            for (Future<List<Course>> future : futures) {
+                assertEquals(expected, future.get().size());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(calls + CALLERS * ROUNDS, coalescer.getCalls(FIND_ALL_COURSES));
+        System.out.printf("%d concurrent findAllCourses() calls, %d coalesced%n", CALLERS * ROUNDS,
+                coalescer.getCoalesced(FIND_ALL_COURSES) - coalesced);
+    }
+
+    @Test
+    public void testCoalescingIsOutsideFinderCache() {
+        final Course course = manager.createCourseForTesting("COAL-CACHE", "Coalesced", "summary", "description",
+                3, testRun);
+        final FinderCache cache = finderCaches.getCache(Course.class);
+        final long calls = coalescer.getCalls(FIND_COURSE_BY_UUID);
+        final long hits = cache.getHits();
+
+        finder.findCourseByUuid(course.getUuid());
+        finder.findCourseByUuid(course.getUuid());
+
+        // both calls pass through the coalescer and the second is a cache hit.
+        assertEquals(calls + 2, coalescer.getCalls(FIND_COURSE_BY_UUID));
+        assertEquals(hits + 1, cache.getHits());
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.persistence.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import javax.annotation.Resource;
+
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.invariantproperties.project.student.business.CourseFinderService;
+import com.invariantproperties.project.student.business.CourseManagerService;
+import com.invariantproperties.project.student.business.FinderCaches;
+import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.TestRunService;
+import com.invariantproperties.project.student.config.BusinessApplicationContext;
+import com.invariantproperties.project.student.config.TestBusinessApplicationContext;
+import com.invariantproperties.project.student.config.TestPersistenceJpaConfig;
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.TestRun;
+import com.invariantproperties.project.student.repository.CourseRepository;
+import com.invariantproperties.project.student.repository.SecondLevelCache;
+
+/**
+ * Verify the second-level and query caches are used, and that the manager
+ * writes invalidate them. This test is deliberately not transactional - each
+ * service call commits so the caches are populated. The finder caches sit in
+ * front of the second-level cache so they are cleared before each lookup that
+ * should reach the repository.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { BusinessApplicationContext.class, TestBusinessApplicationContext.class,
+        TestPersistenceJpaConfig.class })
+public class SecondLevelCacheIntegrationTest {
+
+    @Resource
+    private CourseFinderService fdao;
+
+    @Resource
+    private CourseManagerService mdao;
+
+    @Resource
+    private TestRunService testService;
+
+    @Resource
+    private CourseRepository repository;
+
+    @Resource
+    private FinderCaches finderCaches;
+
+    @Test
+    public void testCourseQueryCache() {
+        final TestRun testRun = testService.createTestRun();
+        try {
+            final Course course = mdao.createCourseForTesting("CACHE101", "Cached", "summary", "description", 1,
+                    testRun);
+
+            // first lookup populates the cache, second is a hit.
+            fdao.findCourseByUuid(course.getUuid());
+            final long hits = queryHits();
+            finderCaches.invalidateAll();
+            final Course actual = fdao.findCourseByUuid(course.getUuid());
+            assertEquals("Cached", actual.getName());
+            assertTrue("expected query cache hit", queryHits() > hits);
+
+            // update must invalidate the cached result
+            mdao.updateCourse(actual, "Updated", "summary", "description", 2);
+            assertEquals("Updated", fdao.findCourseByUuid(course.getUuid()).getName());
+            assertEquals("Updated", fdao.findCourseByCode("CACHE101").getName());
+
+            // listing is cached, and invalidated by inserts
+            assertEquals(1, fdao.findCoursesByTestRun(testRun).size());
+            mdao.createCourseForTesting("CACHE102", "Cached 2", "summary", "description", 1, testRun);
+            final List<Course> courses = fdao.findCoursesByTestRun(testRun);
+            assertEquals(2, courses.size());
+
+            // delete must invalidate the cached result
+            for (Course c : courses) {
+                mdao.deleteCourse(c.getUuid(), null);
+            }
+            try {
+                fdao.findCourseByUuid(course.getUuid());
+                fail("exception expected");
+            } catch (ObjectNotFoundException e) {
+                // expected
+            }
+            assertEquals(0, fdao.findCoursesByTestRun(testRun).size());
+        } finally {
+            testService.deleteTestRun(testRun.getUuid());
+        }
+    }
+
+    @Test
+    public void testCourseEntityCache() {
+        final TestRun testRun = testService.createTestRun();
+        try {
+            final Course course = mdao.createCourseForTesting("CACHE201", "Cached", "summary", "description", 1,
+                    testRun);
+
+            fdao.findCourseById(course.getId());
+            final long hits = regionStatistics(Course.class.getName()).getHitCount();
+            finderCaches.invalidateAll();
+            fdao.findCourseById(course.getId());
+            assertTrue("expected entity cache hit", regionStatistics(Course.class.getName()).getHitCount() > hits);
+
+            mdao.deleteCourse(course.getUuid(), null);
+        } finally {
+            testService.deleteTestRun(testRun.getUuid());
+        }
+    }
+
+    private long queryHits() {
+        return regionStatistics(SecondLevelCache.COURSE_QUERIES).getHitCount();
+    }
+
+    private SecondLevelCacheStatistics regionStatistics(String region) {
+        final SecondLevelCacheStatistics stats = repository.getCacheStatistics().get(region);
+        if (stats == null) {
+            fail("no statistics for cache region " + region);
+        }
+        return stats;
+    }
+}
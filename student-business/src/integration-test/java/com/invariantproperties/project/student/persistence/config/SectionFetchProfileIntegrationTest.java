@@ -0,0 +1,212 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.persistence.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.List;
+
+import javax.annotation.Resource;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.transaction.TransactionConfiguration;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.SectionFinderService;
+import com.invariantproperties.project.student.business.TestRunService;
+import com.invariantproperties.project.student.config.BusinessApplicationContext;
+import com.invariantproperties.project.student.config.TestBusinessApplicationContext;
+import com.invariantproperties.project.student.config.TestPersistenceJpaConfig;
+import com.invariantproperties.project.student.domain.Classroom;
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.Instructor;
+import com.invariantproperties.project.student.domain.Section;
+import com.invariantproperties.project.student.domain.Student;
+import com.invariantproperties.project.student.domain.Term;
+import com.invariantproperties.project.student.domain.TestRun;
+
+/**
+ * Verify the section fetch profiles load a page of sections, and the
+ * associations they name, with a fixed number of SQL statements. The lazy
+ * collections are batch fetched 100 at a time
+ * (hibernate.default_batch_fetch_size).
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { BusinessApplicationContext.class, TestBusinessApplicationContext.class,
+        TestPersistenceJpaConfig.class })
+@Transactional
+@TransactionConfiguration(defaultRollback = true)
+public class SectionFetchProfileIntegrationTest {
+    private static final int SECTIONS = 1000;
+    private static final int COURSES = 10;
+    private static final int TERMS = 2;
+    private static final int STUDENTS = 20;
+    private static final int INSTRUCTORS = 5;
+    private static final int STUDENTS_PER_SECTION = 3;
+
+    @Resource
+    private SectionFinderService fdao;
+
+    @Resource
+    private TestRunService testService;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private TestRun testRun;
+
+    @Before
+    public void createSections() {
+        testRun = testService.createTestRun();
+
+        final Course[] courses = new Course[COURSES];
+        for (int i = 0; i < COURSES; i++) {
+            courses[i] = new Course();
+            courses[i].setCode("FETCH" + i);
+            courses[i].setName("Course " + i);
+            courses[i].setTestRun(testRun);
+            em.persist(courses[i]);
+        }
+
+        final Term[] terms = new Term[TERMS];
+        for (int i = 0; i < TERMS; i++) {
+            terms[i] = new Term();
+            terms[i].setName("Term " + i);
+            terms[i].setTestRun(testRun);
+            em.persist(terms[i]);
+        }
+
+        final Student[] students = new Student[STUDENTS];
+        for (int i = 0; i < STUDENTS; i++) {
+            students[i] = new Student();
+            students[i].setName("Student " + i);
+            students[i].setEmailAddress("student" + i + "@" + testRun.getUuid());
+            students[i].setTestRun(testRun);
+            em.persist(students[i]);
+        }
+
+        final Instructor[] instructors = new Instructor[INSTRUCTORS];
+        for (int i = 0; i < INSTRUCTORS; i++) {
+            instructors[i] = new Instructor();
+            instructors[i].setName("Instructor " + i);
+            instructors[i].setEmailAddress("instructor" + i + "@" + testRun.getUuid());
+            instructors[i].setTestRun(testRun);
+            em.persist(instructors[i]);
+        }
+
+        for (int i = 0; i < SECTIONS; i++) {
+            final Section section = new Section();
+            section.setName("Section " + i);
+            section.setCourse(courses[i % COURSES]);
+            section.setTerm(terms[i % TERMS]);
+            section.setTestRun(testRun);
+            section.getInstructors().add(instructors[i % INSTRUCTORS]);
+            for (int j = 0; j < STUDENTS_PER_SECTION; j++) {
+                section.getStudents().add(students[(i + j) % STUDENTS]);
+            }
+
+            final Classroom classroom = new Classroom();
+            classroom.setName("Room " + i);
+            classroom.setSection(section);
+            classroom.setTerm(section.getTerm());
+            classroom.setTestRun(testRun);
+            section.getClassrooms().add(classroom);
+
+            em.persist(section);
+        }
+
+        em.flush();
+    }
+
+    @Test
+    public void testSummary() {
+        final List<Section> sections = list("summary", 1);
+
+        final long count = statistics().getPrepareStatementCount();
+        for (Section section : sections) {
+            assertFalse(section.getCourse().getName().isEmpty());
+            assertFalse(section.getTerm().getName().isEmpty());
+        }
+        assertEquals(count, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    public void testWithRoster() {
+        // the section query plus one batch of instructors and one of students
+        // per 100 sections.
+        final List<Section> sections = list("withRoster", 1 + 2 * SECTIONS / 100);
+
+        final long count = statistics().getPrepareStatementCount();
+        for (Section section : sections) {
+            assertEquals(1, section.getInstructors().size());
+            assertEquals(STUDENTS_PER_SECTION, section.getStudents().size());
+        }
+        assertEquals(count, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    public void testWithSchedule() {
+        // the section query plus one batch of classrooms per 100 sections.
+        final List<Section> sections = list("withSchedule", 1 + SECTIONS / 100);
+
+        final long count = statistics().getPrepareStatementCount();
+        for (Section section : sections) {
+            assertEquals(1, section.getClassrooms().size());
+            assertFalse(section.getTerm().getName().isEmpty());
+        }
+        assertEquals(count, statistics().getPrepareStatementCount());
+    }
+
+    /**
+     * List the sections with an empty persistence context and second-level
+     * cache and verify the number of SQL statements.
+     */
+    private List<Section> list(String fetchProfile, int expectedStatements) {
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+
+        final long count = statistics().getPrepareStatementCount();
+        final List<Section> sections = fdao.findSectionsByTestRun(testRun, Paging.first(SECTIONS), fetchProfile)
+                .getContent();
+        assertEquals(SECTIONS, sections.size());
+        assertEquals(expectedStatements, statistics().getPrepareStatementCount() - count);
+
+        return sections;
+    }
+
+    private Statistics statistics() {
+        return em.unwrap(Session.class).getSessionFactory().getStatistics();
+    }
+}
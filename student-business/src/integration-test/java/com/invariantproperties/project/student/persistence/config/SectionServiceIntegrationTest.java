@@ -116,7 +116,7 @@ public class SectionServiceIntegrationTest {
         // assertTrue(objects.contains(actual));
 
         // delete Section
-        mdao.deleteSection(expected.getUuid(), 0);
+        mdao.deleteSection(expected.getUuid(), null);
         try {
             fdao.findSectionByUuid(expected.getUuid());
             fail("exception expected");
@@ -164,6 +164,6 @@ public class SectionServiceIntegrationTest {
      */
     @Test(expected = ObjectNotFoundException.class)
     public void testDeleteSectionWhenSectionIsNotFound() {
-        mdao.deleteSection("missing", 0);
+        mdao.deleteSection("missing", null);
     }
 }
\ No newline at end of file
@@ -23,13 +23,18 @@
 package com.invariantproperties.project.student.persistence.config;
 
 import static com.invariantproperties.project.student.matcher.StudentEquality.equalTo;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
 import javax.annotation.Resource;
 
@@ -41,6 +46,7 @@ import org.springframework.test.context.transaction.TransactionConfiguration;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.ResultHandler;
 import com.invariantproperties.project.student.business.StudentFinderService;
 import com.invariantproperties.project.student.business.StudentManagerService;
 import com.invariantproperties.project.student.business.TestRunService;
@@ -119,7 +125,7 @@ public class StudentServiceIntegrationTest {
         // assertTrue(objects.contains(actual));
 
         // delete Student
-        mdao.deleteStudent(expected.getUuid(), 0);
+        mdao.deleteStudent(expected.getUuid(), null);
         try {
             fdao.findStudentByUuid(expected.getUuid());
             fail("exception expected");
@@ -130,6 +136,53 @@ public class StudentServiceIntegrationTest {
         testService.deleteTestRun(testRun.getUuid());
     }
 
+    /**
+     * @test export() streams every student in the test run.
+     */
+    /**
+     * The uuids span several 'in' query chunks and most of them are unknown.
+     */
+    @Test
+    public void testFindStudentsByUuids() {
+        final TestRun testRun = testService.createTestRun();
+        final Student alice = mdao.createStudentForTesting("Alice", "alice-" + testRun.getUuid() + "@example.com",
+                testRun);
+        final Student bob = mdao.createStudentForTesting("Bob", "bob-" + testRun.getUuid() + "@example.com", testRun);
+
+        final List<String> uuids = new ArrayList<String>();
+        for (int i = 0; i < 1200; i++) {
+            uuids.add(UUID.randomUUID().toString());
+        }
+        uuids.set(1100, alice.getUuid());
+        uuids.set(10, bob.getUuid());
+        uuids.add(bob.getUuid());
+
+        final List<Student> actual = fdao.findStudentsByUuids(uuids);
+        assertEquals(Arrays.asList(bob.getUuid(), alice.getUuid()),
+                Arrays.asList(actual.get(0).getUuid(), actual.get(1).getUuid()));
+        assertEquals(2, actual.size());
+
+        assertTrue(fdao.findStudentsByUuids(new ArrayList<String>()).isEmpty());
+    }
+
+    @Test
+    public void testExport() throws IOException {
+        final TestRun testRun = testService.createTestRun();
+        final Student alice = mdao.createStudentForTesting("Alice", "alice-" + testRun.getUuid() + "@example.com",
+                testRun);
+        final Student bob = mdao.createStudentForTesting("Bob", "bob-" + testRun.getUuid() + "@example.com", testRun);
+
+        final List<String> uuids = new ArrayList<String>();
+        fdao.export(testRun, new ResultHandler<Student>() {
+            @Override
+            public void handle(Student student) {
+                uuids.add(student.getUuid());
+            }
+        });
+
+        assertEquals(Arrays.asList(alice.getUuid(), bob.getUuid()), uuids);
+    }
+
     /**
      * @test findStudentById() with unknown student.
      */
@@ -167,6 +220,6 @@ public class StudentServiceIntegrationTest {
      */
     @Test(expected = ObjectNotFoundException.class)
     public void testDeleteStudentWhenStudentIsNotFound() {
-        mdao.deleteStudent("missing", 0);
+        mdao.deleteStudent("missing", null);
     }
 }
\ No newline at end of file
@@ -116,7 +116,7 @@ public class TermServiceIntegrationTest {
         // assertTrue(objects.contains(actual));
 
         // delete Term
-        mdao.deleteTerm(expected.getUuid(), 0);
+        mdao.deleteTerm(expected.getUuid(), null);
         try {
             fdao.findTermByUuid(expected.getUuid());
             fail("exception expected");
@@ -164,6 +164,6 @@ public class TermServiceIntegrationTest {
      */
     @Test(expected = ObjectNotFoundException.class)
     public void testDeleteTermWhenTermIsNotFound() {
-        mdao.deleteTerm("missing", 0);
+        mdao.deleteTerm("missing", null);
     }
 }
\ No newline at end of file
@@ -0,0 +1,274 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import com.invariantproperties.project.student.domain.PersistentObject;
+import com.invariantproperties.project.student.domain.TestRun;
+
+/**
+ * Wraps the finder and manager services in a read-through cache. The
+ * single-object lookups of the finder services, e.g., findCourseByCode(), are
+ * served from the entity's FinderCache. Writes through the manager services
+ * invalidate the entity's cache, and deletes invalidate every cache since
+ * they may cascade.
+ * 
+ * The cache is bypassed within an existing transaction so the caller sees its
+ * own uncommitted changes. The caches are invalidated again when that
+ * transaction completes. Changes made directly through the repositories, or
+ * by another server, are not seen until the cached entries expire.
+ * 
+ * Callers must not modify the objects returned by the lookups.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class CachingFinderPostProcessor implements BeanPostProcessor, BeanFactoryAware, Ordered {
+    /**
+     * Order of this post processor. It must run after the transaction proxies
+     * are created so the cache is outside the transaction.
+     */
+    static final int ORDER = 0;
+
+    private BeanFactory beanFactory;
+    private FinderCaches caches;
+
+    /**
+     * @see org.springframework.beans.factory.BeanFactoryAware#setBeanFactory(org.springframework.beans.factory.BeanFactory)
+     */
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    /**
+     * @see org.springframework.core.Ordered#getOrder()
+     */
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * @see org.springframework.beans.factory.config.BeanPostProcessor#postProcessBeforeInitialization(java.lang.Object,
+     *      java.lang.String)
+     */
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    /**
+     * @see org.springframework.beans.factory.config.BeanPostProcessor#postProcessAfterInitialization(java.lang.Object,
+     *      java.lang.String)
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof FinderService || bean instanceof ManagerService || bean instanceof TestRunService)) {
+            return bean;
+        }
+
+        if (caches == null) {
+            caches = beanFactory.getBean(FinderCaches.class);
+        }
+
+        final FinderCache cache = caches.getCache(entityClass(AopUtils.getTargetClass(bean)));
+        if (!caches.isEnabled() || cache == null) {
+            return bean;
+        }
+
+        return wrap(bean, cache, caches);
+    }
+
+    /**
+     * Wrap a service in a caching proxy. The proxy implements the service's
+     * finder and manager interfaces.
+     */
+    static Object wrap(Object service, FinderCache cache, FinderCaches caches) {
+        final List<Class<?>> interfaces = new ArrayList<Class<?>>();
+        for (Class<?> iface : ClassUtils.getAllInterfaces(service)) {
+            if (FinderService.class.isAssignableFrom(iface) || ManagerService.class.isAssignableFrom(iface)
+                    || TestRunService.class.isAssignableFrom(iface)) {
+                interfaces.add(iface);
+            }
+        }
+
+        return Proxy.newProxyInstance(CachingFinderPostProcessor.class.getClassLoader(),
+                interfaces.toArray(new Class<?>[interfaces.size()]), new CachingHandler(service, cache, caches));
+    }
+
+    /**
+     * Get the entity class of a service, or null if it isn't known.
+     */
+    static Class<?> entityClass(Class<?> serviceClass) {
+        if (TestRunService.class.isAssignableFrom(serviceClass)) {
+            return TestRun.class;
+        }
+        Class<?> entity = GenericTypeResolver.resolveTypeArgument(serviceClass, FinderService.class);
+        if (entity == null) {
+            entity = GenericTypeResolver.resolveTypeArgument(serviceClass, ManagerService.class);
+        }
+        return entity;
+    }
+
+    /**
+     * Is this a single-object lookup, e.g., findCourseByUuid(String)?
+     */
+    static boolean isLookup(Method method) {
+        final Class<?>[] params = method.getParameterTypes();
+        return method.getName().startsWith("find") && params.length == 1
+                && (params[0] == String.class || params[0] == Integer.class)
+                && PersistentObject.class.isAssignableFrom(method.getReturnType());
+    }
+
+    /**
+     * Does this method modify objects?
+     */
+    static boolean isWrite(Method method) {
+        final String name = method.getName();
+        return !(name.startsWith("find") || name.startsWith("count") || "export".equals(name));
+    }
+
+    /**
+     * Invocation handler for the caching proxy.
+     */
+    static class CachingHandler implements InvocationHandler {
+        private final Object target;
+        private final FinderCache cache;
+        private final FinderCaches caches;
+
+        CachingHandler(Object target, FinderCache cache, FinderCaches caches) {
+            this.target = target;
+            this.cache = cache;
+            this.caches = caches;
+        }
+
+        /**
+         * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object,
+         *      java.lang.reflect.Method, java.lang.Object[])
+         */
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                if ("equals".equals(method.getName())) {
+                    return proxy == args[0];
+                } else if ("hashCode".equals(method.getName())) {
+                    return System.identityHashCode(proxy);
+                }
+                return invokeTarget(method, args);
+            }
+
+            if (isLookup(method) && args[0] != null && !TransactionSynchronizationManager.isActualTransactionActive()) {
+                return lookup(method, args);
+            }
+
+            if (!isWrite(method)) {
+                return invokeTarget(method, args);
+            }
+
+            try {
+                return invokeTarget(method, args);
+            } finally {
+                invalidate(method.getName().startsWith("delete"));
+            }
+        }
+
+        /**
+         * Read-through lookup.
+         */
+        Object lookup(Method method, Object[] args) throws Throwable {
+            final String key = method.getName() + ":" + args[0];
+            final FinderCache.Entry entry = cache.get(key);
+            if (entry != null) {
+                if (entry.isMissing()) {
+                    throw (args[0] instanceof Integer) ? new ObjectNotFoundException((Integer) args[0])
+                            : new ObjectNotFoundException((String) args[0]);
+                }
+                return entry.getValue();
+            }
+
+            final long generation = cache.getGeneration();
+            final Object result;
+            try {
+                result = invokeTarget(method, args);
+            } catch (ObjectNotFoundException e) {
+                cache.putMissing(key, generation);
+                throw e;
+            }
+
+            if (result != null) {
+                cache.put(key, result, generation);
+            }
+            return result;
+        }
+
+        /**
+         * Invalidate the cache, or every cache, now and again when the
+         * current transaction, if any, completes.
+         */
+        void invalidate(final boolean all) {
+            if (all) {
+                caches.invalidateAll();
+            } else {
+                cache.invalidate();
+            }
+
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (all) {
+                            caches.invalidateAll();
+                        } else {
+                            cache.invalidate();
+                        }
+                    }
+                });
+            }
+        }
+
+        Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
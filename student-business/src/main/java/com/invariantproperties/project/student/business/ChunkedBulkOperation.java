@@ -0,0 +1,186 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bulk operation that processes the items in chunks, each in its own
+ * transaction. The changes are flushed once per chunk so Hibernate can batch
+ * the JDBC statements.
+ * 
+ * If a chunk fails, e.g., because of a constraint violation, it's rolled back
+ * and its items are retried one per transaction so only the bad items are
+ * reported as failures. Missing objects are reported without failing the
+ * chunk.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ * 
+ * @param <I>
+ * @param <R>
+ */
+abstract class ChunkedBulkOperation<I, R> extends BulkOperation<I, R> {
+    private static final Logger LOG = LoggerFactory.getLogger(ChunkedBulkOperation.class);
+    static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private final TransactionTemplate template;
+    private final int chunkSize;
+    private final PersistenceException.Type type;
+    private final String noun;
+
+    /**
+     * Constructor.
+     * 
+     * @param transactionManager
+     * @param chunkSize
+     *            number of items per transaction
+     * @param type
+     *            operation, for error messages
+     * @param noun
+     *            object type, for error messages
+     */
+    ChunkedBulkOperation(PlatformTransactionManager transactionManager, int chunkSize, PersistenceException.Type type,
+            String noun) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.template = new TransactionTemplate(transactionManager);
+        // chunks must commit independently of any caller transaction
+        this.template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.type = type;
+        this.noun = noun;
+    }
+
+    /**
+     * Write the pending changes to the database. This is called once per
+     * chunk, inside the chunk's transaction.
+     */
+    protected abstract void flush();
+
+    /**
+     * Hook called at the start of each chunk's transaction, e.g., to load all
+     * of the chunk's objects with a single query.
+     */
+    protected void beforeChunk(List<I> chunk) {
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.BulkOperation#execute(java.util.List)
+     */
+    @Override
+    public BulkResult<R> execute(List<I> items) {
+        final List<R> succeeded = new ArrayList<R>(items.size());
+        final List<BulkResult.Failure> failures = new ArrayList<BulkResult.Failure>();
+
+        for (int start = 0; start < items.size(); start += chunkSize) {
+            final int end = Math.min(start + chunkSize, items.size());
+            final List<R> chunkSucceeded = new ArrayList<R>(end - start);
+            final List<BulkResult.Failure> chunkFailures = new ArrayList<BulkResult.Failure>();
+
+            try {
+                executeChunk(items, start, end, chunkSucceeded, chunkFailures);
+                succeeded.addAll(chunkSucceeded);
+                failures.addAll(chunkFailures);
+            } catch (RuntimeException e) {
+                LOG.info("bulk chunk failed, retrying items individually: " + e.getMessage());
+                for (int i = start; i < end; i++) {
+                    executeItem(items, i, succeeded, failures);
+                }
+            }
+        }
+
+        return new BulkResult<R>(succeeded, failures);
+    }
+
+    /**
+     * Process items [start, end) in a single transaction.
+     */
+    private void executeChunk(final List<I> items, final int start, final int end, final List<R> succeeded,
+            final List<BulkResult.Failure> failures) {
+        template.execute(new TransactionCallback<Void>() {
+            @Override
+            public Void doInTransaction(TransactionStatus status) {
+                beforeChunk(items.subList(start, end));
+                for (int i = start; i < end; i++) {
+                    final I item = items.get(i);
+                    try {
+                        succeeded.add(apply(item));
+                    } catch (ObjectNotFoundException e) {
+                        failures.add(failure(i, item, e));
+                    }
+                }
+                flush();
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Process a single item in its own transaction.
+     */
+    private void executeItem(final List<I> items, int index, List<R> succeeded, List<BulkResult.Failure> failures) {
+        final I item = items.get(index);
+        try {
+            succeeded.add(template.execute(new TransactionCallback<R>() {
+                @Override
+                public R doInTransaction(TransactionStatus status) {
+                    beforeChunk(Collections.singletonList(item));
+                    final R result = apply(item);
+                    flush();
+                    return result;
+                }
+            }));
+        } catch (RuntimeException e) {
+            failures.add(failure(index, item, e));
+        }
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.BulkOperation#failure(int,
+     *      java.lang.Object, java.lang.RuntimeException)
+     */
+    @Override
+    protected BulkResult.Failure failure(int index, I item, RuntimeException e) {
+        if (e instanceof ObjectNotFoundException) {
+            return super.failure(index, item, e);
+        }
+
+        String cause = e.getMessage();
+        if (e instanceof NestedRuntimeException) {
+            cause = ((NestedRuntimeException) e).getMostSpecificCause().getMessage();
+        }
+        return new BulkResult.Failure(index, uuidOf(item), type.format(noun) + ": " + cause);
+    }
+}
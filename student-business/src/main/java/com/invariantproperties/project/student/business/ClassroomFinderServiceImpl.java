@@ -28,6 +28,8 @@ import static com.invariantproperties.project.student.business.PersistenceExcept
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_LIST;
 import static com.invariantproperties.project.student.specification.ClassroomSpecifications.testRunIs;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 
 import javax.annotation.Resource;
@@ -55,6 +57,8 @@ public class ClassroomFinderServiceImpl implements ClassroomFinderService {
     private static final Logger LOG = LoggerFactory.getLogger(ClassroomFinderServiceImpl.class);
     private static final String CLASSROOM = "classroom";
     private static final String CLASSROOMS = "classrooms";
+    private static final PagingSupport<Classroom> PAGING =
+            new PagingSupport<Classroom>(new String[] { "uuid" }, "creationDate", "name");
 
     @Resource
     private ClassroomRepository classroomRepository;
@@ -167,6 +171,29 @@ public class ClassroomFinderServiceImpl implements ClassroomFinderService {
         return classroom;
     }
 
+    /**
+     * @see com.invariantproperties.project.student.business.ClassroomFinderService#
+     *      findClassroomsByUuids(java.util.Collection)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<Classroom> findClassroomsByUuids(Collection<String> uuids) {
+        List<Classroom> classrooms = null;
+
+        try {
+            classrooms = classroomRepository.findByUuids(uuids);
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_FIND_BY_UUID.format(CLASSROOMS);
+            throw new PersistenceException(UNABLE_TO_FIND_BY_UUID, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_FIND_BY_UUID.format(CLASSROOMS);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_FIND_BY_UUID, msg, e);
+        }
+
+        return LookupSupport.inUuidOrder(uuids, classrooms);
+    }
+
     /**
      * @see com.invariantproperties.project.student.business.ClassroomFinderService#
      *      findClassroomsByTestRun(com.invariantproperties.project.student.common.TestRun)
@@ -177,7 +204,7 @@ public class ClassroomFinderServiceImpl implements ClassroomFinderService {
         List<Classroom> classrooms = null;
 
         try {
-            classrooms = classroomRepository.findAll(testRunIs(testRun));
+            classrooms = classroomRepository.findAllCached(testRunIs(testRun));
         } catch (UnitTestException e) {
             final String msg = UNABLE_TO_LIST.format(CLASSROOMS);
             throw new PersistenceException(UNABLE_TO_LIST, msg, e);
@@ -189,4 +216,60 @@ public class ClassroomFinderServiceImpl implements ClassroomFinderService {
 
         return classrooms;
     }
+
+    /**
+     * @see com.invariantproperties.project.student.business.FinderService#
+     *      export(com.invariantproperties.project.student.domain.TestRun,
+     *      com.invariantproperties.project.student.business.ResultHandler)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void export(TestRun testRun, ResultHandler<Classroom> handler) throws IOException {
+        try {
+            classroomRepository.scroll(testRunIs(testRun), PagingSupport.ID_ORDER, PagingSupport.FETCH_SIZE, handler);
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_LIST.format(CLASSROOMS);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_LIST.format(CLASSROOMS);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        }
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.ClassroomFinderService#
+     *      findClassrooms(com.invariantproperties.project.student.business.Paging)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ResultPage<Classroom> findClassrooms(Paging paging) {
+        return findClassroomsByTestRun(null, paging);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.ClassroomFinderService#
+     *      findClassroomsByTestRun(com.invariantproperties.project.student.domain.TestRun,
+     *      com.invariantproperties.project.student.business.Paging)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ResultPage<Classroom> findClassroomsByTestRun(TestRun testRun, Paging paging) {
+        final List<OrderBy> orderBy = PAGING.orderBy(paging);
+        List<Classroom> classrooms = null;
+
+        try {
+            classrooms = classroomRepository.findRange(PAGING.where(testRunIs(testRun), paging, orderBy),
+                    PAGING.toSort(orderBy), paging.getOffset(), PAGING.limit(paging));
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_LIST.format(CLASSROOMS);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_LIST.format(CLASSROOMS);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        }
+
+        return PAGING.toPage(classrooms, paging, orderBy);
+    }
 }
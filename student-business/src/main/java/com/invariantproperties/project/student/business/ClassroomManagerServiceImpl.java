@@ -27,12 +27,15 @@ import static com.invariantproperties.project.student.business.PersistenceExcept
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_DELETE;
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_UPDATE;
 
+import java.util.List;
+
 import javax.annotation.Resource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.invariantproperties.project.student.domain.Classroom;
@@ -50,10 +53,14 @@ public class ClassroomManagerServiceImpl implements ClassroomManagerService {
             .getLogger(ClassroomManagerServiceImpl.class);
     private static final String CLASSROOM = "classroom";
     private static final String COULD_NOT_FIND_MESSAGE = "could not find classroom: ";
+    private static final String STALE_MESSAGE = "classroom has been modified: ";
 
     @Resource
     private ClassroomRepository classroomRepository;
 
+    @Resource
+    private PlatformTransactionManager transactionManager;
+
     /**
      * Default constructor
      */
@@ -68,6 +75,14 @@ public class ClassroomManagerServiceImpl implements ClassroomManagerService {
         this.classroomRepository = classroomRepository;
     }
 
+    /**
+     * Constructor used in unit tests
+     */
+    ClassroomManagerServiceImpl(ClassroomRepository classroomRepository, PlatformTransactionManager transactionManager) {
+        this.classroomRepository = classroomRepository;
+        this.transactionManager = transactionManager;
+    }
+
     /**
      * @see com.invariantproperties.project.student.business.ClassroomFinderService#
      *      createClassroom(java.lang.String)
@@ -140,7 +155,6 @@ public class ClassroomManagerServiceImpl implements ClassroomManagerService {
 
             actual.setName(name);
             updated = classroomRepository.saveAndFlush(actual);
-            classroom.setName(name);
 
         } catch (UnitTestException e) {
             final String msg = UNABLE_TO_UPDATE.format(CLASSROOM);
@@ -171,7 +185,15 @@ public class ClassroomManagerServiceImpl implements ClassroomManagerService {
                 LOG.debug(COULD_NOT_FIND_MESSAGE + uuid);
                 throw new ObjectNotFoundException(uuid);
             }
+
+            if ((version != null) && !version.equals(classroom.getVersion())) {
+                LOG.debug(STALE_MESSAGE + uuid);
+                throw new StaleObjectException(uuid, version);
+            }
+
             classroomRepository.delete(classroom);
+            // Hibernate does not invalidate the cached inverse collections
+            classroomRepository.evictCollectionCaches();
 
         } catch (UnitTestException e) {
             final String msg = UNABLE_TO_DELETE.format(CLASSROOM);
@@ -182,4 +204,81 @@ public class ClassroomManagerServiceImpl implements ClassroomManagerService {
             throw new PersistenceException(UNABLE_TO_DELETE, msg, e, uuid);
         }
     }
+
+    /**
+     * @see com.invariantproperties.project.student.business.ClassroomManagerService#
+     *      createClassrooms(java.util.List)
+     */
+    @Override
+    public BulkResult<Classroom> createClassrooms(List<Classroom> classrooms) {
+        return new ChunkedBulkOperation<Classroom, Classroom>(transactionManager, ChunkedBulkOperation.DEFAULT_CHUNK_SIZE,
+                UNABLE_TO_CREATE, CLASSROOM) {
+            @Override
+            public Classroom apply(Classroom item) {
+                final Classroom classroom = new Classroom();
+                classroom.setName(item.getName());
+                classroom.setTestRun(item.getTestRun());
+                return classroomRepository.save(classroom);
+            }
+
+            @Override
+            protected void flush() {
+                classroomRepository.flush();
+            }
+        }.execute(classrooms);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.ClassroomManagerService#
+     *      updateClassrooms(java.util.List)
+     */
+    @Override
+    public BulkResult<Classroom> updateClassrooms(List<Classroom> classrooms) {
+        return new ExistingObjectBulkOperation<Classroom, Classroom, Classroom>(transactionManager,
+                ChunkedBulkOperation.DEFAULT_CHUNK_SIZE, UNABLE_TO_UPDATE, CLASSROOM, classroomRepository) {
+            @Override
+            public String uuidOf(Classroom item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Classroom apply(Classroom item) {
+                final Classroom actual = load(item);
+                actual.setName(item.getName());
+                return classroomRepository.save(actual);
+            }
+
+            @Override
+            protected void flush() {
+                classroomRepository.flush();
+            }
+        }.execute(classrooms);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.ClassroomManagerService#
+     *      deleteClassrooms(java.util.List)
+     */
+    @Override
+    public BulkResult<String> deleteClassrooms(List<String> uuids) {
+        return new ExistingObjectBulkOperation<String, Classroom, String>(transactionManager,
+                ChunkedBulkOperation.DEFAULT_CHUNK_SIZE, UNABLE_TO_DELETE, CLASSROOM, classroomRepository) {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                classroomRepository.delete(load(uuid));
+                return uuid;
+            }
+
+            @Override
+            protected void flush() {
+                classroomRepository.flush();
+                classroomRepository.evictCollectionCaches();
+            }
+        }.execute(uuids);
+    }
 }
@@ -0,0 +1,215 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Wraps the finder services so concurrent identical calls of the methods
+ * marked {@link Coalesced} share a single database query. This runs after
+ * the CachingFinderPostProcessor so only the first of the concurrent cache
+ * misses reaches the database.
+ * 
+ * Calls within an existing transaction are not coalesced so the caller sees
+ * its own uncommitted changes.
+ * 
+ * Every caller gets its own copy of a List result but the objects in it are
+ * shared. Callers must not modify them.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class CoalescingPostProcessor implements BeanPostProcessor, BeanFactoryAware, Ordered {
+    private BeanFactory beanFactory;
+    private RequestCoalescer coalescer;
+
+    /**
+     * @see org.springframework.beans.factory.BeanFactoryAware#setBeanFactory(org.springframework.beans.factory.BeanFactory)
+     */
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    /**
+     * @see org.springframework.core.Ordered#getOrder()
+     */
+    @Override
+    public int getOrder() {
+        return CachingFinderPostProcessor.ORDER + 1;
+    }
+
+    /**
+     * @see org.springframework.beans.factory.config.BeanPostProcessor#postProcessBeforeInitialization(java.lang.Object,
+     *      java.lang.String)
+     */
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    /**
+     * @see org.springframework.beans.factory.config.BeanPostProcessor#postProcessAfterInitialization(java.lang.Object,
+     *      java.lang.String)
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof FinderService)) {
+            return bean;
+        }
+
+        if (coalescer == null) {
+            coalescer = beanFactory.getBean(RequestCoalescer.class);
+        }
+
+        if (!coalescer.isEnabled() || coalescedInterfaces(bean).isEmpty()) {
+            return bean;
+        }
+
+        return wrap(bean, coalescer);
+    }
+
+    /**
+     * Wrap a service in a coalescing proxy. The proxy implements the service's
+     * finder interfaces.
+     */
+    static Object wrap(Object service, RequestCoalescer coalescer) {
+        final List<Class<?>> interfaces = new ArrayList<Class<?>>();
+        for (Class<?> iface : ClassUtils.getAllInterfaces(service)) {
+            if (FinderService.class.isAssignableFrom(iface) || ManagerService.class.isAssignableFrom(iface)
+                    || TestRunService.class.isAssignableFrom(iface)) {
+                interfaces.add(iface);
+            }
+        }
+
+        return Proxy.newProxyInstance(CoalescingPostProcessor.class.getClassLoader(),
+                interfaces.toArray(new Class<?>[interfaces.size()]), new CoalescingHandler(service, coalescer));
+    }
+
+    /**
+     * Get the finder interfaces with at least one coalesced method.
+     */
+    static List<Class<?>> coalescedInterfaces(Object service) {
+        final List<Class<?>> interfaces = new ArrayList<Class<?>>();
+        for (Class<?> iface : ClassUtils.getAllInterfaces(service)) {
+            if (FinderService.class.isAssignableFrom(iface)) {
+                for (Method method : iface.getMethods()) {
+                    if (method.isAnnotationPresent(Coalesced.class)) {
+                        interfaces.add(iface);
+                        break;
+                    }
+                }
+            }
+        }
+        return interfaces;
+    }
+
+    /**
+     * Invocation handler for the coalescing proxy.
+     */
+    static class CoalescingHandler implements InvocationHandler {
+        private final Object target;
+        private final RequestCoalescer coalescer;
+
+        CoalescingHandler(Object target, RequestCoalescer coalescer) {
+            this.target = target;
+            this.coalescer = coalescer;
+        }
+
+        /**
+         * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object,
+         *      java.lang.reflect.Method, java.lang.Object[])
+         */
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                if ("equals".equals(method.getName())) {
+                    return proxy == args[0];
+                } else if ("hashCode".equals(method.getName())) {
+                    return System.identityHashCode(proxy);
+                }
+            }
+
+            if (!method.isAnnotationPresent(Coalesced.class)
+                    || TransactionSynchronizationManager.isActualTransactionActive()) {
+                return invokeTarget(method, args);
+            }
+
+            final Object result = coalesce(method, args);
+            if (result instanceof List) {
+                return new ArrayList<Object>((List<?>) result);
+            }
+            return result;
+        }
+
+        /**
+         * Execute the call, or share the result of an identical call in
+         * flight. The key is the method and its arguments.
+         */
+        Object coalesce(final Method method, final Object[] args) throws Exception {
+            final List<Object> key = new ArrayList<Object>();
+            key.add(method);
+            if (args != null) {
+                key.addAll(Arrays.asList(args));
+            }
+
+            final String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            return coalescer.execute(name, key, new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        final Throwable cause = e.getTargetException();
+                        if (cause instanceof Exception) {
+                            throw (Exception) cause;
+                        }
+                        throw (Error) cause;
+                    }
+                }
+            });
+        }
+
+        Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
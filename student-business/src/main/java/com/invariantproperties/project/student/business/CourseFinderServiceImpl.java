@@ -27,8 +27,11 @@ import static com.invariantproperties.project.student.business.PersistenceExcept
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_FIND_BY_ID;
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_FIND_BY_UUID;
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_LIST;
+import static com.invariantproperties.project.student.repository.CourseProjections.summary;
 import static com.invariantproperties.project.student.specification.CourseSpecifications.testRunIs;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 
 import javax.annotation.Resource;
@@ -43,6 +46,7 @@ import com.invariantproperties.project.student.business.CourseFinderService;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
 import com.invariantproperties.project.student.business.PersistenceException;
 import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.CourseSummary;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.repository.CourseRepository;
 
@@ -56,6 +60,8 @@ public class CourseFinderServiceImpl implements CourseFinderService {
     private static final Logger LOG = LoggerFactory.getLogger(CourseFinderServiceImpl.class);
     private static final String COURSE = "course";
     private static final String COURSES = "courses";
+    private static final PagingSupport<Course> PAGING =
+            new PagingSupport<Course>(new String[] { "uuid", "code" }, "creationDate", "name");
 
     @Resource
     private CourseRepository courseRepository;
@@ -168,6 +174,29 @@ public class CourseFinderServiceImpl implements CourseFinderService {
         return course;
     }
 
+    /**
+     * @see com.invariantproperties.project.student.business.CourseFinderService#
+     *      findCoursesByUuids(java.util.Collection)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<Course> findCoursesByUuids(Collection<String> uuids) {
+        List<Course> courses = null;
+
+        try {
+            courses = courseRepository.findByUuids(uuids);
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_FIND_BY_UUID.format(COURSES);
+            throw new PersistenceException(UNABLE_TO_FIND_BY_UUID, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_FIND_BY_UUID.format(COURSES);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_FIND_BY_UUID, msg, e);
+        }
+
+        return LookupSupport.inUuidOrder(uuids, courses);
+    }
+
     /**
      * @see com.invariantproperties.project.student.business.CourseFinderService#
      *      findCourseByCode(java.lang.String)
@@ -204,7 +233,7 @@ public class CourseFinderServiceImpl implements CourseFinderService {
         List<Course> courses = null;
 
         try {
-            courses = courseRepository.findAll(testRunIs(testRun));
+            courses = courseRepository.findAllCached(testRunIs(testRun));
         } catch (UnitTestException e) {
             final String msg = UNABLE_TO_LIST.format(COURSES);
             throw new PersistenceException(UNABLE_TO_LIST, msg, e);
@@ -216,4 +245,129 @@ public class CourseFinderServiceImpl implements CourseFinderService {
 
         return courses;
     }
+
+    /**
+     * @see com.invariantproperties.project.student.business.FinderService#
+     *      export(com.invariantproperties.project.student.domain.TestRun,
+     *      com.invariantproperties.project.student.business.ResultHandler)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void export(TestRun testRun, ResultHandler<Course> handler) throws IOException {
+        try {
+            courseRepository.scroll(testRunIs(testRun), PagingSupport.ID_ORDER, PagingSupport.FETCH_SIZE, handler);
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_LIST.format(COURSES);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_LIST.format(COURSES);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        }
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.CourseFinderService#
+     *      findCourses(com.invariantproperties.project.student.business.Paging)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ResultPage<Course> findCourses(Paging paging) {
+        return findCoursesByTestRun(null, paging);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.CourseFinderService#
+     *      findCoursesByTestRun(com.invariantproperties.project.student.domain.TestRun,
+     *      com.invariantproperties.project.student.business.Paging)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ResultPage<Course> findCoursesByTestRun(TestRun testRun, Paging paging) {
+        final List<OrderBy> orderBy = PAGING.orderBy(paging);
+        List<Course> courses = null;
+
+        try {
+            courses = courseRepository.findRange(PAGING.where(testRunIs(testRun), paging, orderBy),
+                    PAGING.toSort(orderBy), paging.getOffset(), PAGING.limit(paging));
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_LIST.format(COURSES);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_LIST.format(COURSES);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        }
+
+        return PAGING.toPage(courses, paging, orderBy);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.CourseFinderService#
+     *      findAllCourseSummaries()
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<CourseSummary> findAllCourseSummaries() {
+        return findCourseSummariesByTestRun(null);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.CourseFinderService#
+     *      findCourseSummariesByTestRun(com.invariantproperties.project.student.domain.TestRun)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<CourseSummary> findCourseSummariesByTestRun(TestRun testRun) {
+        List<CourseSummary> summaries = null;
+
+        try {
+            summaries = courseRepository.findAll(testRunIs(testRun), PagingSupport.ID_ORDER, summary());
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_LIST.format(COURSES);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_LIST.format(COURSES);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        }
+
+        return summaries;
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.CourseFinderService#
+     *      findCourseSummaries(com.invariantproperties.project.student.business.Paging)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ResultPage<CourseSummary> findCourseSummaries(Paging paging) {
+        return findCourseSummariesByTestRun(null, paging);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.CourseFinderService#
+     *      findCourseSummariesByTestRun(com.invariantproperties.project.student.domain.TestRun,
+     *      com.invariantproperties.project.student.business.Paging)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ResultPage<CourseSummary> findCourseSummariesByTestRun(TestRun testRun, Paging paging) {
+        final List<OrderBy> orderBy = PAGING.orderBy(paging);
+        List<CourseSummary> summaries = null;
+
+        try {
+            summaries = courseRepository.findRange(PAGING.where(testRunIs(testRun), paging, orderBy),
+                    PAGING.toSort(orderBy), paging.getOffset(), PAGING.limit(paging), summary());
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_LIST.format(COURSES);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_LIST.format(COURSES);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        }
+
+        return PAGING.toPage(summaries, paging, orderBy);
+    }
 }
@@ -27,17 +27,21 @@ import static com.invariantproperties.project.student.business.PersistenceExcept
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_DELETE;
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_UPDATE;
 
+import java.util.List;
+
 import javax.annotation.Resource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.invariantproperties.project.student.business.CourseManagerService;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
 import com.invariantproperties.project.student.business.PersistenceException;
+import com.invariantproperties.project.student.business.StaleObjectException;
 import com.invariantproperties.project.student.domain.Course;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.repository.CourseRepository;
@@ -54,10 +58,14 @@ public class CourseManagerServiceImpl implements CourseManagerService {
     private static final Logger LOG = LoggerFactory.getLogger(CourseManagerServiceImpl.class);
     private static final String COURSE = "course";
     private static final String COULD_NOT_FIND_MESSAGE = "could not find course: ";
+    private static final String STALE_MESSAGE = "course has been modified: ";
 
     @Resource
     private CourseRepository courseRepository;
 
+    @Resource
+    private PlatformTransactionManager transactionManager;
+
     /**
      * Default constructor
      */
@@ -72,6 +80,14 @@ public class CourseManagerServiceImpl implements CourseManagerService {
         this.courseRepository = courseRepository;
     }
 
+    /**
+     * Constructor used in unit tests
+     */
+    CourseManagerServiceImpl(CourseRepository courseRepository, PlatformTransactionManager transactionManager) {
+        this.courseRepository = courseRepository;
+        this.transactionManager = transactionManager;
+    }
+
     /**
      * @see 
      *      com.invariantproperties.project.student.business.CourseFinderService#
@@ -155,10 +171,6 @@ public class CourseManagerServiceImpl implements CourseManagerService {
             actual.setDescription(description);
             actual.setCreditHours(creditHours);
             updated = courseRepository.saveAndFlush(actual);
-            course.setName(name);
-            course.setSummary(summary);
-            course.setDescription(description);
-            course.setCreditHours(creditHours);
 
         } catch (UnitTestException e) {
             final String msg = UNABLE_TO_UPDATE.format(COURSE);
@@ -172,6 +184,40 @@ public class CourseManagerServiceImpl implements CourseManagerService {
         return updated;
     }
 
+    /**
+     * @see com.invariantproperties.project.student.business.CourseManagerService#
+     *      updateCourse(java.lang.String, java.lang.Integer, ...)
+     */
+    @Transactional
+    @Override
+    public Integer updateCourse(String uuid, Integer version, String name, String summary, String description,
+            Integer creditHours) {
+        try {
+            final int count = courseRepository.updateCourseIfVersion(uuid, version, name, summary, description,
+                    creditHours);
+
+            if (count == 0) {
+                // only now do we need to know why
+                if (courseRepository.findCourseByUuid(uuid) == null) {
+                    LOG.debug(COULD_NOT_FIND_MESSAGE + uuid);
+                    throw new ObjectNotFoundException(uuid);
+                }
+                LOG.debug(STALE_MESSAGE + uuid);
+                throw new StaleObjectException(uuid, version);
+            }
+
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_UPDATE.format(COURSE);
+            throw new PersistenceException(UNABLE_TO_UPDATE, msg, e, uuid);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_UPDATE.format(COURSE);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_UPDATE, msg, e, uuid);
+        }
+
+        return version + 1;
+    }
+
     /**
      * @see com.invariantproperties.project.student.business.CourseFinderService#
      *      deleteCourse(java.lang.String, java.lang.Integer)
@@ -187,7 +233,15 @@ public class CourseManagerServiceImpl implements CourseManagerService {
                 LOG.debug(COULD_NOT_FIND_MESSAGE + uuid);
                 throw new ObjectNotFoundException(uuid);
             }
+
+            if ((version != null) && !version.equals(course.getVersion())) {
+                LOG.debug(STALE_MESSAGE + uuid);
+                throw new StaleObjectException(uuid, version);
+            }
+
             courseRepository.delete(course);
+            // Hibernate does not invalidate the cached inverse collections
+            courseRepository.evictCollectionCaches();
 
         } catch (UnitTestException e) {
             final String msg = UNABLE_TO_DELETE.format(COURSE);
@@ -198,4 +252,88 @@ public class CourseManagerServiceImpl implements CourseManagerService {
             throw new PersistenceException(UNABLE_TO_DELETE, msg, e, uuid);
         }
     }
+
+    /**
+     * @see com.invariantproperties.project.student.business.CourseManagerService#
+     *      createCourses(java.util.List)
+     */
+    @Override
+    public BulkResult<Course> createCourses(List<Course> courses) {
+        return new ChunkedBulkOperation<Course, Course>(transactionManager, ChunkedBulkOperation.DEFAULT_CHUNK_SIZE,
+                UNABLE_TO_CREATE, COURSE) {
+            @Override
+            public Course apply(Course item) {
+                final Course course = new Course();
+                course.setCode(item.getCode());
+                course.setName(item.getName());
+                course.setSummary(item.getSummary());
+                course.setDescription(item.getDescription());
+                course.setCreditHours(item.getCreditHours());
+                course.setTestRun(item.getTestRun());
+                return courseRepository.save(course);
+            }
+
+            @Override
+            protected void flush() {
+                courseRepository.flush();
+            }
+        }.execute(courses);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.CourseManagerService#
+     *      updateCourses(java.util.List)
+     */
+    @Override
+    public BulkResult<Course> updateCourses(List<Course> courses) {
+        return new ExistingObjectBulkOperation<Course, Course, Course>(transactionManager,
+                ChunkedBulkOperation.DEFAULT_CHUNK_SIZE, UNABLE_TO_UPDATE, COURSE, courseRepository) {
+            @Override
+            public String uuidOf(Course item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Course apply(Course item) {
+                final Course actual = load(item);
+                actual.setName(item.getName());
+                actual.setSummary(item.getSummary());
+                actual.setDescription(item.getDescription());
+                actual.setCreditHours(item.getCreditHours());
+                return courseRepository.save(actual);
+            }
+
+            @Override
+            protected void flush() {
+                courseRepository.flush();
+            }
+        }.execute(courses);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.CourseManagerService#
+     *      deleteCourses(java.util.List)
+     */
+    @Override
+    public BulkResult<String> deleteCourses(List<String> uuids) {
+        return new ExistingObjectBulkOperation<String, Course, String>(transactionManager,
+                ChunkedBulkOperation.DEFAULT_CHUNK_SIZE, UNABLE_TO_DELETE, COURSE, courseRepository) {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                courseRepository.delete(load(uuid));
+                return uuid;
+            }
+
+            @Override
+            protected void flush() {
+                courseRepository.flush();
+                courseRepository.evictCollectionCaches();
+            }
+        }.execute(uuids);
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.invariantproperties.project.student.domain.PersistentObject;
+import com.invariantproperties.project.student.specification.PersistentObjectSpecifications;
+
+/**
+ * Chunked bulk operation on existing objects, e.g., updates and deletes. The
+ * objects of each chunk are loaded with a single query instead of one query
+ * per item - the per-item queries would also force Hibernate to flush the
+ * pending changes, defeating JDBC batching.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ * 
+ * @param <I>
+ *            item type
+ * @param <T>
+ *            persistent object type
+ * @param <R>
+ *            result type
+ */
+abstract class ExistingObjectBulkOperation<I, T extends PersistentObject, R> extends ChunkedBulkOperation<I, R> {
+    private final JpaSpecificationExecutor<T> repository;
+    private Map<String, T> loaded = new HashMap<String, T>();
+
+    ExistingObjectBulkOperation(PlatformTransactionManager transactionManager, int chunkSize,
+            PersistenceException.Type type, String noun, JpaSpecificationExecutor<T> repository) {
+        super(transactionManager, chunkSize, type, noun);
+        this.repository = repository;
+    }
+
+    /**
+     * Get the uuid of the item. It's required.
+     */
+    @Override
+    public abstract String uuidOf(I item);
+
+    /**
+     * Load all objects in the chunk.
+     */
+    @Override
+    protected void beforeChunk(List<I> chunk) {
+        final List<String> uuids = new ArrayList<String>(chunk.size());
+        for (I item : chunk) {
+            uuids.add(uuidOf(item));
+        }
+
+        loaded = new HashMap<String, T>();
+        for (T object : repository.findAll(PersistentObjectSpecifications.<T> uuidIn(uuids))) {
+            loaded.put(object.getUuid(), object);
+        }
+    }
+
+    /**
+     * Get the object for the item.
+     * 
+     * @throws ObjectNotFoundException
+     */
+    protected T load(I item) {
+        final String uuid = uuidOf(item);
+        final T object = loaded.get(uuid);
+        if (object == null) {
+            throw new ObjectNotFoundException(uuid);
+        }
+        return object;
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, least-recently-used cache of finder results for one entity. Each
+ * entry expires after a fixed time-to-live. Lookups that failed with
+ * ObjectNotFoundException are cached as 'missing' entries with a shorter
+ * time-to-live.
+ * 
+ * Invalidation increments the cache generation. A result is only cached if
+ * the generation hasn't changed since the lookup started, so a lookup that
+ * overlaps a write can't put a stale object back into the cache.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class FinderCache {
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final long missingTtlMillis;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private long generation;
+
+    // guarded by 'this'
+    @SuppressWarnings("serial")
+    private final Map<Object, Entry> entries = new LinkedHashMap<Object, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+            if (size() > maxSize) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Constructor.
+     * 
+     * @param name
+     *            entity name
+     * @param maxSize
+     *            maximum number of entries
+     * @param ttl
+     *            time-to-live of found objects
+     * @param missingTtl
+     *            time-to-live of missing objects
+     * @param unit
+     *            unit of ttl and missingTtl
+     */
+    public FinderCache(String name, int maxSize, long ttl, long missingTtl, TimeUnit unit) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = unit.toMillis(ttl);
+        this.missingTtlMillis = unit.toMillis(missingTtl);
+    }
+
+    /**
+     * Get the cached entry, or null if there is no unexpired entry for the
+     * key.
+     */
+    public synchronized Entry get(Object key) {
+        final Entry entry = entries.get(key);
+        if (entry != null && entry.expires <= now()) {
+            entries.remove(key);
+            expirations.incrementAndGet();
+        } else if (entry != null) {
+            hits.incrementAndGet();
+            return entry;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Get the current generation. This must be read before the lookup that
+     * will be passed to put() or putMissing().
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Cache a found object unless the cache has been invalidated since the
+     * specified generation.
+     */
+    public synchronized void put(Object key, Object value, long generation) {
+        if (this.generation == generation) {
+            entries.put(key, new Entry(value, false, now() + ttlMillis));
+        }
+    }
+
+    /**
+     * Cache a missing object unless the cache has been invalidated since the
+     * specified generation. Nothing is cached if the missing time-to-live is
+     * zero.
+     */
+    public synchronized void putMissing(Object key, long generation) {
+        if (this.generation == generation && missingTtlMillis > 0) {
+            entries.put(key, new Entry(null, true, now() + missingTtlMillis));
+        }
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public synchronized void invalidate() {
+        entries.clear();
+        generation++;
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Current time in milliseconds. Tests may override this.
+     */
+    long now() {
+        return System.currentTimeMillis();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    public long getMissingTtlMillis() {
+        return missingTtlMillis;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Number of entries removed because the cache was full.
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Number of entries removed because they had expired.
+     */
+    public long getExpirations() {
+        return expirations.get();
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%s: %s, size=%d, hits=%d, misses=%d, evictions=%d, expirations=%d, invalidations=%d]",
+                getClass().getSimpleName(), name, getSize(), getHits(), getMisses(), getEvictions(),
+                getExpirations(), getInvalidations());
+    }
+
+    /**
+     * Cached finder result.
+     */
+    public static final class Entry {
+        private final Object value;
+        private final boolean missing;
+        private final long expires;
+
+        Entry(Object value, boolean missing, long expires) {
+            this.value = value;
+            this.missing = missing;
+            this.expires = expires;
+        }
+
+        /**
+         * Cached object. This is null if the object is missing.
+         */
+        public Object getValue() {
+            return value;
+        }
+
+        /**
+         * Did the lookup throw ObjectNotFoundException?
+         */
+        public boolean isMissing() {
+            return missing;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+
+import com.invariantproperties.project.student.domain.Classroom;
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.Instructor;
+import com.invariantproperties.project.student.domain.Section;
+import com.invariantproperties.project.student.domain.Student;
+import com.invariantproperties.project.student.domain.Term;
+import com.invariantproperties.project.student.domain.TestRun;
+
+/**
+ * The finder caches, one per entity. The caches are configured with these
+ * properties:
+ * 
+ * <ul>
+ * <li>student.finder-cache.enabled - default true</li>
+ * <li>student.finder-cache.max-size - entries per entity, default 1000</li>
+ * <li>student.finder-cache.ttl - seconds, default 300</li>
+ * <li>student.finder-cache.missing-ttl - seconds, default 30</li>
+ * <li>student.finder-cache.{entity}.max-size, .ttl and .missing-ttl - per
+ * entity overrides, e.g., student.finder-cache.testRun.ttl</li>
+ * </ul>
+ * 
+ * The hit, miss and eviction counters are available from each cache.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class FinderCaches {
+    private static final Logger LOG = LoggerFactory.getLogger(FinderCaches.class);
+    public static final String PROPERTY_PREFIX = "student.finder-cache.";
+    public static final String PROPERTY_NAME_ENABLED = PROPERTY_PREFIX + "enabled";
+    private static final String MAX_SIZE = "max-size";
+    private static final String TTL = "ttl";
+    private static final String MISSING_TTL = "missing-ttl";
+    private static final int DEFAULT_MAX_SIZE = 1000;
+    private static final long DEFAULT_TTL = 300;
+    private static final long DEFAULT_MISSING_TTL = 30;
+
+    private static final Class<?>[] ENTITIES = { Classroom.class, Course.class, Instructor.class, Section.class,
+            Student.class, Term.class, TestRun.class };
+
+    private final boolean enabled;
+    private final Map<Class<?>, FinderCache> caches = new LinkedHashMap<Class<?>, FinderCache>();
+
+    /**
+     * Constructor. The environment may be null, in which case the defaults
+     * are used.
+     */
+    public FinderCaches(Environment environment) {
+        this.enabled = Boolean.parseBoolean(property(environment, PROPERTY_NAME_ENABLED, "true"));
+        for (Class<?> entity : ENTITIES) {
+            final String name = entity.getSimpleName().substring(0, 1).toLowerCase()
+                    + entity.getSimpleName().substring(1);
+            final int maxSize = Integer.parseInt(property(environment, name, MAX_SIZE, DEFAULT_MAX_SIZE));
+            final long ttl = Long.parseLong(property(environment, name, TTL, DEFAULT_TTL));
+            final long missingTtl = Long.parseLong(property(environment, name, MISSING_TTL, DEFAULT_MISSING_TTL));
+            caches.put(entity, new FinderCache(name, maxSize, ttl, missingTtl, TimeUnit.SECONDS));
+        }
+    }
+
+    private static String property(Environment environment, String entity, String key, Object defaultValue) {
+        return property(environment, PROPERTY_PREFIX + entity + "." + key,
+                property(environment, PROPERTY_PREFIX + key, String.valueOf(defaultValue)));
+    }
+
+    private static String property(Environment environment, String key, String defaultValue) {
+        return (environment == null) ? defaultValue : environment.getProperty(key, defaultValue);
+    }
+
+    /**
+     * Should the finder services be cached?
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the cache for the specified entity, or null if the entity isn't
+     * cached.
+     */
+    public FinderCache getCache(Class<?> entity) {
+        return caches.get(entity);
+    }
+
+    /**
+     * Get all caches.
+     */
+    public Collection<FinderCache> getCaches() {
+        return Collections.unmodifiableCollection(caches.values());
+    }
+
+    /**
+     * Invalidate every cache. This is used when a write may cascade to other
+     * entities, e.g., a delete.
+     */
+    public void invalidateAll() {
+        for (FinderCache cache : caches.values()) {
+            cache.invalidate();
+        }
+    }
+
+    /**
+     * Log the cache statistics.
+     */
+    public void logStatistics() {
+        if (LOG.isInfoEnabled()) {
+            for (FinderCache cache : caches.values()) {
+                LOG.info(cache.toString());
+            }
+        }
+    }
+}
@@ -29,6 +29,8 @@ import static com.invariantproperties.project.student.business.PersistenceExcept
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_LIST;
 import static com.invariantproperties.project.student.specification.InstructorSpecifications.testRunIs;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 
 import javax.annotation.Resource;
@@ -56,6 +58,8 @@ public class InstructorFinderServiceImpl implements InstructorFinderService {
     private static final Logger LOG = LoggerFactory.getLogger(InstructorFinderServiceImpl.class);
     private static final String INSTRUCTOR = "instructor";
     private static final String INSTRUCTORS = "instructors";
+    private static final PagingSupport<Instructor> PAGING =
+            new PagingSupport<Instructor>(new String[] { "uuid", "emailAddress" }, "creationDate", "name");
 
     @Resource
     private InstructorRepository instructorRepository;
@@ -168,6 +172,29 @@ public class InstructorFinderServiceImpl implements InstructorFinderService {
         return instructor;
     }
 
+    /**
+     * @see com.invariantproperties.project.student.business.InstructorFinderService#
+     *      findInstructorsByUuids(java.util.Collection)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<Instructor> findInstructorsByUuids(Collection<String> uuids) {
+        List<Instructor> instructors = null;
+
+        try {
+            instructors = instructorRepository.findByUuids(uuids);
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_FIND_BY_UUID.format(INSTRUCTORS);
+            throw new PersistenceException(UNABLE_TO_FIND_BY_UUID, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_FIND_BY_UUID.format(INSTRUCTORS);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_FIND_BY_UUID, msg, e);
+        }
+
+        return LookupSupport.inUuidOrder(uuids, instructors);
+    }
+
     /**
      * @see com.invariantproperties.project.student.business.InstructorManagerService#
      *      findInstructorsByTestRun(com.invariantproperties.project.student.common.TestRun)
@@ -191,6 +218,26 @@ public class InstructorFinderServiceImpl implements InstructorFinderService {
         return instructors;
     }
 
+    /**
+     * @see com.invariantproperties.project.student.business.FinderService#
+     *      export(com.invariantproperties.project.student.domain.TestRun,
+     *      com.invariantproperties.project.student.business.ResultHandler)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void export(TestRun testRun, ResultHandler<Instructor> handler) throws IOException {
+        try {
+            instructorRepository.scroll(testRunIs(testRun), PagingSupport.ID_ORDER, PagingSupport.FETCH_SIZE, handler);
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_LIST.format(INSTRUCTORS);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_LIST.format(INSTRUCTORS);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        }
+    }
+
     /**
      * @see com.invariantproperties.project.student.business.InstructorManagerService#
      *      findInstructorByEmailAddress(java.lang.String)
@@ -216,4 +263,40 @@ public class InstructorFinderServiceImpl implements InstructorFinderService {
 
         return instructor;
     }
+
+    /**
+     * @see com.invariantproperties.project.student.business.InstructorFinderService#
+     *      findInstructors(com.invariantproperties.project.student.business.Paging)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ResultPage<Instructor> findInstructors(Paging paging) {
+        return findInstructorsByTestRun(null, paging);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.InstructorFinderService#
+     *      findInstructorsByTestRun(com.invariantproperties.project.student.domain.TestRun,
+     *      com.invariantproperties.project.student.business.Paging)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ResultPage<Instructor> findInstructorsByTestRun(TestRun testRun, Paging paging) {
+        final List<OrderBy> orderBy = PAGING.orderBy(paging);
+        List<Instructor> instructors = null;
+
+        try {
+            instructors = instructorRepository.findRange(PAGING.where(testRunIs(testRun), paging, orderBy),
+                    PAGING.toSort(orderBy), paging.getOffset(), PAGING.limit(paging));
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_LIST.format(INSTRUCTORS);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_LIST.format(INSTRUCTORS);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        }
+
+        return PAGING.toPage(instructors, paging, orderBy);
+    }
 }
@@ -27,12 +27,15 @@ import static com.invariantproperties.project.student.business.PersistenceExcept
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_DELETE;
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_UPDATE;
 
+import java.util.List;
+
 import javax.annotation.Resource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.invariantproperties.project.student.domain.Instructor;
@@ -50,10 +53,14 @@ public class InstructorManagerServiceImpl implements InstructorManagerService {
             .getLogger(InstructorManagerServiceImpl.class);
     private static final String INSTRUCTOR = "instructor";
     private static final String COULD_NOT_FIND_MESSAGE = "could not find instructor: ";
+    private static final String STALE_MESSAGE = "instructor has been modified: ";
 
     @Resource
     private InstructorRepository instructorRepository;
 
+    @Resource
+    private PlatformTransactionManager transactionManager;
+
     /**
      * Default constructor
      */
@@ -68,6 +75,14 @@ public class InstructorManagerServiceImpl implements InstructorManagerService {
         this.instructorRepository = instructorRepository;
     }
 
+    /**
+     * Constructor used in unit tests
+     */
+    InstructorManagerServiceImpl(InstructorRepository instructorRepository, PlatformTransactionManager transactionManager) {
+        this.instructorRepository = instructorRepository;
+        this.transactionManager = transactionManager;
+    }
+
     /**
      * @see com.invariantproperties.project.student.business.InstructorManagerService#
      *      createInstructor(java.lang.String, java.lang.String)
@@ -145,8 +160,6 @@ public class InstructorManagerServiceImpl implements InstructorManagerService {
             actual.setName(name);
             actual.setEmailAddress(emailAddress);
             updated = instructorRepository.saveAndFlush(actual);
-            instructor.setName(name);
-            instructor.setEmailAddress(emailAddress);
 
         } catch (UnitTestException e) {
             final String msg = UNABLE_TO_UPDATE.format(INSTRUCTOR);
@@ -175,6 +188,12 @@ public class InstructorManagerServiceImpl implements InstructorManagerService {
                 LOG.debug(COULD_NOT_FIND_MESSAGE + uuid);
                 throw new ObjectNotFoundException(uuid);
             }
+
+            if ((version != null) && !version.equals(instructor.getVersion())) {
+                LOG.debug(STALE_MESSAGE + uuid);
+                throw new StaleObjectException(uuid, version);
+            }
+
             instructorRepository.delete(instructor);
 
         } catch (UnitTestException e) {
@@ -186,4 +205,82 @@ public class InstructorManagerServiceImpl implements InstructorManagerService {
             throw new PersistenceException(UNABLE_TO_DELETE, msg, e);
         }
     }
+
+    /**
+     * @see com.invariantproperties.project.student.business.InstructorManagerService#
+     *      createInstructors(java.util.List)
+     */
+    @Override
+    public BulkResult<Instructor> createInstructors(List<Instructor> instructors) {
+        return new ChunkedBulkOperation<Instructor, Instructor>(transactionManager, ChunkedBulkOperation.DEFAULT_CHUNK_SIZE,
+                UNABLE_TO_CREATE, INSTRUCTOR) {
+            @Override
+            public Instructor apply(Instructor item) {
+                final Instructor instructor = new Instructor();
+                instructor.setName(item.getName());
+                instructor.setEmailAddress(item.getEmailAddress());
+                instructor.setTestRun(item.getTestRun());
+                return instructorRepository.save(instructor);
+            }
+
+            @Override
+            protected void flush() {
+                instructorRepository.flush();
+            }
+        }.execute(instructors);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.InstructorManagerService#
+     *      updateInstructors(java.util.List)
+     */
+    @Override
+    public BulkResult<Instructor> updateInstructors(List<Instructor> instructors) {
+        return new ExistingObjectBulkOperation<Instructor, Instructor, Instructor>(transactionManager,
+                ChunkedBulkOperation.DEFAULT_CHUNK_SIZE, UNABLE_TO_UPDATE, INSTRUCTOR, instructorRepository) {
+            @Override
+            public String uuidOf(Instructor item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Instructor apply(Instructor item) {
+                final Instructor actual = load(item);
+                actual.setName(item.getName());
+                actual.setEmailAddress(item.getEmailAddress());
+                return instructorRepository.save(actual);
+            }
+
+            @Override
+            protected void flush() {
+                instructorRepository.flush();
+            }
+        }.execute(instructors);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.InstructorManagerService#
+     *      deleteInstructors(java.util.List)
+     */
+    @Override
+    public BulkResult<String> deleteInstructors(List<String> uuids) {
+        return new ExistingObjectBulkOperation<String, Instructor, String>(transactionManager,
+                ChunkedBulkOperation.DEFAULT_CHUNK_SIZE, UNABLE_TO_DELETE, INSTRUCTOR, instructorRepository) {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                instructorRepository.delete(load(uuid));
+                return uuid;
+            }
+
+            @Override
+            protected void flush() {
+                instructorRepository.flush();
+            }
+        }.execute(uuids);
+    }
 }
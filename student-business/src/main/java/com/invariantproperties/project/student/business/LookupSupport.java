@@ -0,0 +1,61 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.invariantproperties.project.student.domain.PersistentObject;
+
+/**
+ * Helper for the multi-get finder methods, e.g., findStudentsByUuids().
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+final class LookupSupport {
+
+    private LookupSupport() {
+    }
+
+    /**
+     * Put the objects in the order of the requested uuids. Unknown uuids are
+     * skipped and a repeated uuid returns the object once.
+     */
+    static <T extends PersistentObject> List<T> inUuidOrder(Iterable<String> uuids, List<T> objects) {
+        final Map<String, T> byUuid = new HashMap<String, T>();
+        for (T object : objects) {
+            byUuid.put(object.getUuid(), object);
+        }
+
+        final List<T> results = new ArrayList<T>(objects.size());
+        for (String uuid : uuids) {
+            final T object = byUuid.remove(uuid);
+            if (object != null) {
+                results.add(object);
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.Specifications;
+
+import com.invariantproperties.project.student.domain.PersistentObject;
+import com.invariantproperties.project.student.specification.PagingSpecifications;
+
+/**
+ * Helper that translates a Paging request into the sort, restriction and row
+ * limit used by RangeSpecificationExecutor and turns the result back into a
+ * ResultPage.
+ * 
+ * Only non-null columns may be used as sort keys since the keyset restriction
+ * does not handle nulls. Unless a key is unique the primary key is added as
+ * the final sort key so the order is total. It takes the direction of the
+ * preceding key so a (key, id) index can return the rows in order in either
+ * direction. Every sort key should be backed by an index.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+final class PagingSupport<T extends PersistentObject> {
+    static final String ID = "id";
+
+    /**
+     * Order and JDBC fetch size used when scrolling through a whole table.
+     */
+    static final Sort ID_ORDER = new Sort(ID);
+    static final int FETCH_SIZE = 500;
+    private final Set<String> unique;
+    private final Set<String> sortable;
+
+    /**
+     * Constructor.
+     * 
+     * @param unique
+     *            sort keys with a unique index
+     * @param sortable
+     *            other sort keys, each with a (key, id) index
+     */
+    PagingSupport(String[] unique, String... sortable) {
+        this.unique = new HashSet<String>(Arrays.asList(unique));
+        this.unique.add(ID);
+        this.sortable = new HashSet<String>(Arrays.asList(sortable));
+        this.sortable.addAll(this.unique);
+    }
+
+    /**
+     * Effective sort order - the requested keys followed by the primary key
+     * unless one of them is unique.
+     * 
+     * @throws IllegalArgumentException
+     *             if a sort key is not sortable
+     */
+    List<OrderBy> orderBy(Paging paging) {
+        if (paging == null) {
+            throw new IllegalArgumentException("paging must be specified");
+        }
+
+        final List<OrderBy> orderBy = new ArrayList<OrderBy>(paging.getOrderBy().size() + 1);
+        boolean total = false;
+        for (OrderBy key : paging.getOrderBy()) {
+            if (!sortable.contains(key.getProperty())) {
+                throw new IllegalArgumentException("unable to sort on '" + key.getProperty() + "'");
+            }
+            orderBy.add(key);
+            total |= unique.contains(key.getProperty());
+        }
+
+        if (!total) {
+            final boolean ascending = orderBy.isEmpty() || orderBy.get(orderBy.size() - 1).isAscending();
+            orderBy.add(ascending ? OrderBy.asc(ID) : OrderBy.desc(ID));
+        }
+
+        if (paging.isKeyset() && paging.getAfter().size() != orderBy.size()) {
+            throw new IllegalArgumentException("keyset must have " + orderBy.size() + " values");
+        }
+
+        return Collections.unmodifiableList(orderBy);
+    }
+
+    Sort toSort(List<OrderBy> orderBy) {
+        final List<Order> orders = new ArrayList<Order>(orderBy.size());
+        for (OrderBy key : orderBy) {
+            orders.add(new Order(key.isAscending() ? Direction.ASC : Direction.DESC, key.getProperty()));
+        }
+        return new Sort(orders);
+    }
+
+    /**
+     * Add the keyset restriction, if any, to the base specification.
+     */
+    Specification<T> where(Specification<T> spec, Paging paging, List<OrderBy> orderBy) {
+        if (!paging.isKeyset()) {
+            return spec;
+        }
+        return Specifications.where(spec).and(PagingSpecifications.<T> keysetAfter(orderBy, paging.getAfter()));
+    }
+
+    /**
+     * Number of rows to fetch. We fetch one extra row to learn whether there
+     * is a following page without a count query.
+     */
+    int limit(Paging paging) {
+        return paging.getMaxResults() + 1;
+    }
+
+    /**
+     * Turn the rows into a page. The rows may be entities or projections as
+     * long as they have all of the sort key properties.
+     */
+    <R> ResultPage<R> toPage(List<R> rows, Paging paging, List<OrderBy> orderBy) {
+        if (rows == null || rows.size() <= paging.getMaxResults()) {
+            return new ResultPage<R>(rows, null);
+        }
+
+        final List<R> content = new ArrayList<R>(rows.subList(0, paging.getMaxResults()));
+        final BeanWrapper last = new BeanWrapperImpl(content.get(content.size() - 1));
+        final List<Object> keyset = new ArrayList<Object>(orderBy.size());
+        for (OrderBy key : orderBy) {
+            keyset.add(last.getPropertyValue(key.getProperty()));
+        }
+
+        return new ResultPage<R>(content, paging.after(keyset));
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_DELETE;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.annotation.Resource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.Term;
+import com.invariantproperties.project.student.domain.TestRun;
+import com.invariantproperties.project.student.repository.ClassroomRepository;
+import com.invariantproperties.project.student.repository.CourseRepository;
+import com.invariantproperties.project.student.repository.SectionRepository;
+import com.invariantproperties.project.student.repository.TermRepository;
+import com.invariantproperties.project.student.repository.TestRunRepository;
+
+/**
+ * Implementation of PurgeService.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+@Service
+public class PurgeServiceImpl implements PurgeService {
+    private static final Logger LOG = LoggerFactory.getLogger(PurgeServiceImpl.class);
+    private static final String TEST_RUN = "testRun";
+    private static final String TERM = "term";
+    private static final String COURSE = "course";
+
+    @Resource
+    private TestRunRepository testRunRepository;
+
+    @Resource
+    private TermRepository termRepository;
+
+    @Resource
+    private CourseRepository courseRepository;
+
+    @Resource
+    private SectionRepository sectionRepository;
+
+    @Resource
+    private ClassroomRepository classroomRepository;
+
+    @Resource
+    private PlatformTransactionManager transactionManager;
+
+    @Resource(name = "purgeExecutor")
+    private ExecutorService executor;
+
+    @Resource
+    private FinderCaches finderCaches;
+
+    /**
+     * Default constructor
+     */
+    public PurgeServiceImpl() {
+
+    }
+
+    /**
+     * Constructor used in unit tests
+     */
+    PurgeServiceImpl(TestRunRepository testRunRepository, TermRepository termRepository,
+            CourseRepository courseRepository, SectionRepository sectionRepository,
+            ClassroomRepository classroomRepository, PlatformTransactionManager transactionManager,
+            ExecutorService executor, FinderCaches finderCaches) {
+        this.testRunRepository = testRunRepository;
+        this.termRepository = termRepository;
+        this.courseRepository = courseRepository;
+        this.sectionRepository = sectionRepository;
+        this.classroomRepository = classroomRepository;
+        this.transactionManager = transactionManager;
+        this.executor = executor;
+        this.finderCaches = finderCaches;
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.PurgeService#
+     *      purgeTestRun(java.lang.String,
+     *      com.invariantproperties.project.student.business.PurgeListener)
+     */
+    @Override
+    public Future<PurgeResult> purgeTestRun(final String uuid, final PurgeListener listener) {
+        return submit(new Purge(TEST_RUN, uuid) {
+            @Override
+            PurgeResult purge() {
+                final TestRun testRun = testRunRepository.findTestRunByUuid(uuid);
+                if (testRun == null) {
+                    throw new ObjectNotFoundException(uuid);
+                }
+                return testRunRepository.purgeTestRun(testRun, listener);
+            }
+        });
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.PurgeService#
+     *      purgeTerm(java.lang.String,
+     *      com.invariantproperties.project.student.business.PurgeListener)
+     */
+    @Override
+    public Future<PurgeResult> purgeTerm(final String uuid, final PurgeListener listener) {
+        return submit(new Purge(TERM, uuid) {
+            @Override
+            PurgeResult purge() {
+                final Term term = termRepository.findTermByUuid(uuid);
+                if (term == null) {
+                    throw new ObjectNotFoundException(uuid);
+                }
+                return testRunRepository.purgeTerm(term, listener);
+            }
+        });
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.PurgeService#
+     *      purgeCourse(java.lang.String,
+     *      com.invariantproperties.project.student.business.PurgeListener)
+     */
+    @Override
+    public Future<PurgeResult> purgeCourse(final String uuid, final PurgeListener listener) {
+        return submit(new Purge(COURSE, uuid) {
+            @Override
+            PurgeResult purge() {
+                final Course course = courseRepository.findCourseByUuid(uuid);
+                if (course == null) {
+                    throw new ObjectNotFoundException(uuid);
+                }
+                return testRunRepository.purgeCourse(course, listener);
+            }
+        });
+    }
+
+    private Future<PurgeResult> submit(final Purge purge) {
+        final TransactionTemplate template = new TransactionTemplate(transactionManager);
+        return executor.submit(new Callable<PurgeResult>() {
+            @Override
+            public PurgeResult call() {
+                try {
+                    final PurgeResult result = template.execute(new TransactionCallback<PurgeResult>() {
+                        @Override
+                        public PurgeResult doInTransaction(TransactionStatus status) {
+                            final PurgeResult result = purge.purge();
+                            // Hibernate does not invalidate the cached inverse
+                            // collections
+                            sectionRepository.evictCollectionCaches();
+                            classroomRepository.evictCollectionCaches();
+                            return result;
+                        }
+                    });
+                    // the purge is committed
+                    finderCaches.invalidateAll();
+                    return result;
+                } catch (UnitTestException e) {
+                    final String msg = UNABLE_TO_DELETE.format(purge.noun);
+                    throw new PersistenceException(UNABLE_TO_DELETE, msg, e, purge.uuid);
+                } catch (DataAccessException e) {
+                    final String msg = UNABLE_TO_DELETE.format(purge.noun);
+                    LOG.info(msg);
+                    throw new PersistenceException(UNABLE_TO_DELETE, msg, e, purge.uuid);
+                }
+            }
+        });
+    }
+
+    /**
+     * A purge of a single object, run in the purge's transaction.
+     */
+    private abstract static class Purge {
+        private final String noun;
+        private final String uuid;
+
+        Purge(String noun, String uuid) {
+            this.noun = noun;
+            this.uuid = uuid;
+        }
+
+        abstract PurgeResult purge();
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+
+/**
+ * "Single-flight" execution of identical calls. The first caller with a key
+ * runs the call, and every caller arriving with an equal key while it is in
+ * flight waits for, and shares, its result or exception. Nothing is kept once
+ * the call completes - the next caller starts a new call.
+ * 
+ * The coalescer is configured with the property student.coalescing.enabled,
+ * default true. The call and coalesced call counters are kept per name, e.g.,
+ * per method.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class RequestCoalescer {
+    private static final Logger LOG = LoggerFactory.getLogger(RequestCoalescer.class);
+    public static final String PROPERTY_NAME_ENABLED = "student.coalescing.enabled";
+
+    private final boolean enabled;
+    private final ConcurrentMap<Object, FutureTask<Object>> inFlight = new ConcurrentHashMap<Object, FutureTask<Object>>();
+    private final ConcurrentMap<String, Counters> counters = new ConcurrentHashMap<String, Counters>();
+
+    /**
+     * Constructor. The environment may be null, in which case the defaults
+     * are used.
+     */
+    public RequestCoalescer(Environment environment) {
+        this.enabled = (environment == null) ? true : Boolean.parseBoolean(environment.getProperty(
+                PROPERTY_NAME_ENABLED, "true"));
+    }
+
+    /**
+     * Should calls be coalesced?
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Execute the call, or wait for an identical call already in flight. The
+     * key must have value semantics for equals() and hashCode(). Exceptions
+     * thrown by the call are rethrown to every caller.
+     */
+    public Object execute(String name, Object key, Callable<Object> call) throws Exception {
+        final Counters c = counters(name);
+        c.calls.incrementAndGet();
+
+        final FutureTask<Object> task = new FutureTask<Object>(call);
+        final FutureTask<Object> existing = inFlight.putIfAbsent(key, task);
+        if (existing != null) {
+            c.coalesced.incrementAndGet();
+            return await(existing);
+        }
+
+        try {
+            task.run();
+        } finally {
+            inFlight.remove(key, task);
+        }
+        return await(task);
+    }
+
+    /**
+     * Wait for the result of a call. An interrupted follower stops waiting
+     * but the shared call continues.
+     */
+    private static Object await(FutureTask<Object> task) throws Exception {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    private Counters counters(String name) {
+        Counters c = counters.get(name);
+        if (c == null) {
+            final Counters created = new Counters();
+            c = counters.putIfAbsent(name, created);
+            if (c == null) {
+                c = created;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Number of calls in flight.
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Total number of calls.
+     */
+    public long getCalls() {
+        long total = 0;
+        for (Counters c : counters.values()) {
+            total += c.calls.get();
+        }
+        return total;
+    }
+
+    /**
+     * Total number of calls that shared another call's result.
+     */
+    public long getCoalesced() {
+        long total = 0;
+        for (Counters c : counters.values()) {
+            total += c.coalesced.get();
+        }
+        return total;
+    }
+
+    /**
+     * Number of calls with this name.
+     */
+    public long getCalls(String name) {
+        final Counters c = counters.get(name);
+        return (c == null) ? 0 : c.calls.get();
+    }
+
+    /**
+     * Number of calls with this name that shared another call's result.
+     */
+    public long getCoalesced(String name) {
+        final Counters c = counters.get(name);
+        return (c == null) ? 0 : c.coalesced.get();
+    }
+
+    /**
+     * Get the names with counters, e.g., "CourseFinderService.findAllCourses".
+     */
+    public Map<String, Long> getCoalescedByName() {
+        final Map<String, Long> results = new TreeMap<String, Long>();
+        for (Map.Entry<String, Counters> entry : counters.entrySet()) {
+            results.put(entry.getKey(), entry.getValue().coalesced.get());
+        }
+        return Collections.unmodifiableMap(results);
+    }
+
+    /**
+     * Log the call statistics.
+     */
+    public void logStatistics() {
+        if (LOG.isInfoEnabled()) {
+            for (Map.Entry<String, Counters> entry : new TreeMap<String, Counters>(counters).entrySet()) {
+                LOG.info(String.format("[RequestCoalescer: %s, calls=%d, coalesced=%d]", entry.getKey(),
+                        entry.getValue().calls.get(), entry.getValue().coalesced.get()));
+            }
+        }
+    }
+
+    private static final class Counters {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong coalesced = new AtomicLong();
+    }
+}
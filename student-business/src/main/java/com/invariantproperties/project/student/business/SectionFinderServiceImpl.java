@@ -28,6 +28,8 @@ import static com.invariantproperties.project.student.business.PersistenceExcept
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_LIST;
 import static com.invariantproperties.project.student.specification.SectionSpecifications.testRunIs;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 
 import javax.annotation.Resource;
@@ -43,6 +45,7 @@ import com.invariantproperties.project.student.business.PersistenceException;
 import com.invariantproperties.project.student.business.SectionFinderService;
 import com.invariantproperties.project.student.domain.Section;
 import com.invariantproperties.project.student.domain.TestRun;
+import com.invariantproperties.project.student.repository.SectionFetchProfile;
 import com.invariantproperties.project.student.repository.SectionRepository;
 
 /**
@@ -55,6 +58,8 @@ public class SectionFinderServiceImpl implements SectionFinderService {
     private static final Logger LOG = LoggerFactory.getLogger(SectionFinderServiceImpl.class);
     private static final String SECTION = "section";
     private static final String SECTIONS = "sections";
+    private static final PagingSupport<Section> PAGING =
+            new PagingSupport<Section>(new String[] { "uuid" }, "creationDate", "name");
 
     @Resource
     private SectionRepository sectionRepository;
@@ -167,6 +172,29 @@ public class SectionFinderServiceImpl implements SectionFinderService {
         return section;
     }
 
+    /**
+     * @see com.invariantproperties.project.student.business.SectionFinderService#
+     *      findSectionsByUuids(java.util.Collection)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<Section> findSectionsByUuids(Collection<String> uuids) {
+        List<Section> sections = null;
+
+        try {
+            sections = sectionRepository.findByUuids(uuids);
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_FIND_BY_UUID.format(SECTIONS);
+            throw new PersistenceException(UNABLE_TO_FIND_BY_UUID, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_FIND_BY_UUID.format(SECTIONS);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_FIND_BY_UUID, msg, e);
+        }
+
+        return LookupSupport.inUuidOrder(uuids, sections);
+    }
+
     /**
      * @see com.invariantproperties.project.student.business.SectionFinderService#
      *      findSectionsByTestRun(com.invariantproperties.project.student.common.TestRun)
@@ -177,7 +205,7 @@ public class SectionFinderServiceImpl implements SectionFinderService {
         List<Section> sections = null;
 
         try {
-            sections = sectionRepository.findAll(testRunIs(testRun));
+            sections = sectionRepository.findAll(testRunIs(testRun), null, SectionFetchProfile.SUMMARY);
         } catch (UnitTestException e) {
             final String msg = UNABLE_TO_LIST.format(SECTION);
             throw new PersistenceException(UNABLE_TO_LIST, msg, e);
@@ -189,4 +217,76 @@ public class SectionFinderServiceImpl implements SectionFinderService {
 
         return sections;
     }
+
+    /**
+     * @see com.invariantproperties.project.student.business.FinderService#
+     *      export(com.invariantproperties.project.student.domain.TestRun,
+     *      com.invariantproperties.project.student.business.ResultHandler)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void export(TestRun testRun, ResultHandler<Section> handler) throws IOException {
+        try {
+            sectionRepository.scroll(testRunIs(testRun), PagingSupport.ID_ORDER, PagingSupport.FETCH_SIZE, handler);
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_LIST.format(SECTIONS);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_LIST.format(SECTIONS);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        }
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.SectionFinderService#
+     *      findSections(com.invariantproperties.project.student.business.Paging)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ResultPage<Section> findSections(Paging paging) {
+        return findSectionsByTestRun(null, paging);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.SectionFinderService#
+     *      findSectionsByTestRun(com.invariantproperties.project.student.domain.TestRun,
+     *      com.invariantproperties.project.student.business.Paging)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ResultPage<Section> findSectionsByTestRun(TestRun testRun, Paging paging) {
+        return findSectionsByTestRun(testRun, paging, SectionFetchProfile.SUMMARY);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.SectionFinderService#
+     *      findSectionsByTestRun(com.invariantproperties.project.student.domain.TestRun,
+     *      com.invariantproperties.project.student.business.Paging,
+     *      java.lang.String)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ResultPage<Section> findSectionsByTestRun(TestRun testRun, Paging paging, String fetchProfile) {
+        return findSectionsByTestRun(testRun, paging, SectionFetchProfile.forName(fetchProfile));
+    }
+
+    private ResultPage<Section> findSectionsByTestRun(TestRun testRun, Paging paging, SectionFetchProfile profile) {
+        final List<OrderBy> orderBy = PAGING.orderBy(paging);
+        List<Section> sections = null;
+
+        try {
+            sections = sectionRepository.findRange(PAGING.where(testRunIs(testRun), paging, orderBy),
+                    PAGING.toSort(orderBy), paging.getOffset(), PAGING.limit(paging), profile);
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_LIST.format(SECTIONS);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_LIST.format(SECTIONS);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        }
+
+        return PAGING.toPage(sections, paging, orderBy);
+    }
 }
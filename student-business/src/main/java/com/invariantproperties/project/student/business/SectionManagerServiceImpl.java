@@ -27,17 +27,22 @@ import static com.invariantproperties.project.student.business.PersistenceExcept
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_DELETE;
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_UPDATE;
 
+import java.util.List;
+
 import javax.annotation.Resource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.invariantproperties.project.student.domain.Section;
+import com.invariantproperties.project.student.domain.Student;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.repository.SectionRepository;
+import com.invariantproperties.project.student.repository.StudentRepository;
 
 /**
  * Implementation of SectionService
@@ -49,11 +54,19 @@ public class SectionManagerServiceImpl implements SectionManagerService {
     private static final Logger LOG = LoggerFactory
             .getLogger(SectionManagerServiceImpl.class);
     private static final String SECTION = "section";
+    private static final String ROSTER = "roster";
     private static final String COULD_NOT_FIND_MESSAGE = "could not find section: ";
+    private static final String STALE_MESSAGE = "section has been modified: ";
 
     @Resource
     private SectionRepository sectionRepository;
 
+    @Resource
+    private StudentRepository studentRepository;
+
+    @Resource
+    private PlatformTransactionManager transactionManager;
+
     /**
      * Default constructor
      */
@@ -68,6 +81,22 @@ public class SectionManagerServiceImpl implements SectionManagerService {
         this.sectionRepository = sectionRepository;
     }
 
+    /**
+     * Constructor used in unit tests
+     */
+    SectionManagerServiceImpl(SectionRepository sectionRepository, PlatformTransactionManager transactionManager) {
+        this.sectionRepository = sectionRepository;
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * Constructor used in unit tests
+     */
+    SectionManagerServiceImpl(SectionRepository sectionRepository, StudentRepository studentRepository) {
+        this.sectionRepository = sectionRepository;
+        this.studentRepository = studentRepository;
+    }
+
     /**
      * @see com.invariantproperties.project.student.business.SectionFinderService#
      *      createSection(java.lang.String)
@@ -140,7 +169,6 @@ public class SectionManagerServiceImpl implements SectionManagerService {
 
             actual.setName(name);
             updated = sectionRepository.saveAndFlush(actual);
-            section.setName(name);
 
         } catch (UnitTestException e) {
             final String msg = UNABLE_TO_UPDATE.format(SECTION);
@@ -169,7 +197,15 @@ public class SectionManagerServiceImpl implements SectionManagerService {
                 LOG.debug(COULD_NOT_FIND_MESSAGE + uuid);
                 throw new ObjectNotFoundException(uuid);
             }
+
+            if ((version != null) && !version.equals(section.getVersion())) {
+                LOG.debug(STALE_MESSAGE + uuid);
+                throw new StaleObjectException(uuid, version);
+            }
+
             sectionRepository.delete(section);
+            // Hibernate does not invalidate the cached inverse collections
+            sectionRepository.evictCollectionCaches();
 
         } catch (UnitTestException e) {
             final String msg = UNABLE_TO_DELETE.format(SECTION);
@@ -180,4 +216,137 @@ public class SectionManagerServiceImpl implements SectionManagerService {
             throw new PersistenceException(UNABLE_TO_DELETE, msg, e);
         }
     }
+
+    /**
+     * @see com.invariantproperties.project.student.business.SectionManagerService#
+     *      createSections(java.util.List)
+     */
+    @Override
+    public BulkResult<Section> createSections(List<Section> sections) {
+        return new ChunkedBulkOperation<Section, Section>(transactionManager, ChunkedBulkOperation.DEFAULT_CHUNK_SIZE,
+                UNABLE_TO_CREATE, SECTION) {
+            @Override
+            public Section apply(Section item) {
+                final Section section = new Section();
+                section.setName(item.getName());
+                section.setTestRun(item.getTestRun());
+                return sectionRepository.save(section);
+            }
+
+            @Override
+            protected void flush() {
+                sectionRepository.flush();
+            }
+        }.execute(sections);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.SectionManagerService#
+     *      updateSections(java.util.List)
+     */
+    @Override
+    public BulkResult<Section> updateSections(List<Section> sections) {
+        return new ExistingObjectBulkOperation<Section, Section, Section>(transactionManager,
+                ChunkedBulkOperation.DEFAULT_CHUNK_SIZE, UNABLE_TO_UPDATE, SECTION, sectionRepository) {
+            @Override
+            public String uuidOf(Section item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Section apply(Section item) {
+                final Section actual = load(item);
+                actual.setName(item.getName());
+                return sectionRepository.save(actual);
+            }
+
+            @Override
+            protected void flush() {
+                sectionRepository.flush();
+            }
+        }.execute(sections);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.SectionManagerService#
+     *      deleteSections(java.util.List)
+     */
+    @Override
+    public BulkResult<String> deleteSections(List<String> uuids) {
+        return new ExistingObjectBulkOperation<String, Section, String>(transactionManager,
+                ChunkedBulkOperation.DEFAULT_CHUNK_SIZE, UNABLE_TO_DELETE, SECTION, sectionRepository) {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                sectionRepository.delete(load(uuid));
+                return uuid;
+            }
+
+            @Override
+            protected void flush() {
+                sectionRepository.flush();
+                sectionRepository.evictCollectionCaches();
+            }
+        }.execute(uuids);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.SectionManagerService#
+     *      addStudentToSection(java.lang.String, java.lang.String)
+     */
+    @Transactional
+    @Override
+    public boolean addStudentToSection(String sectionUuid, String studentUuid) {
+        try {
+            return sectionRepository.addStudent(loadSection(sectionUuid), loadStudent(studentUuid));
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_UPDATE.format(ROSTER);
+            throw new PersistenceException(UNABLE_TO_UPDATE, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_UPDATE.format(ROSTER);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_UPDATE, msg, e);
+        }
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.SectionManagerService#
+     *      removeStudentFromSection(java.lang.String, java.lang.String)
+     */
+    @Transactional
+    @Override
+    public boolean removeStudentFromSection(String sectionUuid, String studentUuid) {
+        try {
+            return sectionRepository.removeStudent(loadSection(sectionUuid), loadStudent(studentUuid));
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_UPDATE.format(ROSTER);
+            throw new PersistenceException(UNABLE_TO_UPDATE, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_UPDATE.format(ROSTER);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_UPDATE, msg, e);
+        }
+    }
+
+    private Section loadSection(String uuid) {
+        final Section section = sectionRepository.findSectionByUuid(uuid);
+        if (section == null) {
+            LOG.debug(COULD_NOT_FIND_MESSAGE + uuid);
+            throw new ObjectNotFoundException(uuid);
+        }
+        return section;
+    }
+
+    private Student loadStudent(String uuid) {
+        final Student student = studentRepository.findStudentByUuid(uuid);
+        if (student == null) {
+            LOG.debug("could not find student: " + uuid);
+            throw new ObjectNotFoundException(uuid);
+        }
+        return student;
+    }
 }
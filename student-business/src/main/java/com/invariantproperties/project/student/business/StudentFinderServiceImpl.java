@@ -29,6 +29,8 @@ import static com.invariantproperties.project.student.business.PersistenceExcept
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_LIST;
 import static com.invariantproperties.project.student.specification.StudentSpecifications.testRunIs;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 
 import javax.annotation.Resource;
@@ -56,6 +58,8 @@ public class StudentFinderServiceImpl implements StudentFinderService {
     private static final Logger LOG = LoggerFactory.getLogger(StudentFinderServiceImpl.class);
     private static final String STUDENT = "student";
     private static final String STUDENTS = "students";
+    private static final PagingSupport<Student> PAGING =
+            new PagingSupport<Student>(new String[] { "uuid", "emailAddress" }, "creationDate", "name");
 
     @Resource
     private StudentRepository studentRepository;
@@ -168,6 +172,29 @@ public class StudentFinderServiceImpl implements StudentFinderService {
         return student;
     }
 
+    /**
+     * @see com.invariantproperties.project.student.business.StudentFinderService#
+     *      findStudentsByUuids(java.util.Collection)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<Student> findStudentsByUuids(Collection<String> uuids) {
+        List<Student> students = null;
+
+        try {
+            students = studentRepository.findByUuids(uuids);
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_FIND_BY_UUID.format(STUDENTS);
+            throw new PersistenceException(UNABLE_TO_FIND_BY_UUID, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_FIND_BY_UUID.format(STUDENTS);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_FIND_BY_UUID, msg, e);
+        }
+
+        return LookupSupport.inUuidOrder(uuids, students);
+    }
+
     /**
      * @see com.invariantproperties.project.student.business.StudentFinderService#
      *      findStudentsByTestRun(com.invariantproperties.project.student.common.TestRun)
@@ -191,6 +218,26 @@ public class StudentFinderServiceImpl implements StudentFinderService {
         return students;
     }
 
+    /**
+     * @see com.invariantproperties.project.student.business.FinderService#
+     *      export(com.invariantproperties.project.student.domain.TestRun,
+     *      com.invariantproperties.project.student.business.ResultHandler)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void export(TestRun testRun, ResultHandler<Student> handler) throws IOException {
+        try {
+            studentRepository.scroll(testRunIs(testRun), PagingSupport.ID_ORDER, PagingSupport.FETCH_SIZE, handler);
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_LIST.format(STUDENTS);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_LIST.format(STUDENTS);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        }
+    }
+
     /**
      * @see com.invariantproperties.project.student.business.StudentFinderService#
      *      findStudentByEmailAddress(java.lang.String)
@@ -216,4 +263,40 @@ public class StudentFinderServiceImpl implements StudentFinderService {
 
         return student;
     }
+
+    /**
+     * @see com.invariantproperties.project.student.business.StudentFinderService#
+     *      findStudents(com.invariantproperties.project.student.business.Paging)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ResultPage<Student> findStudents(Paging paging) {
+        return findStudentsByTestRun(null, paging);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.StudentFinderService#
+     *      findStudentsByTestRun(com.invariantproperties.project.student.domain.TestRun,
+     *      com.invariantproperties.project.student.business.Paging)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ResultPage<Student> findStudentsByTestRun(TestRun testRun, Paging paging) {
+        final List<OrderBy> orderBy = PAGING.orderBy(paging);
+        List<Student> students = null;
+
+        try {
+            students = studentRepository.findRange(PAGING.where(testRunIs(testRun), paging, orderBy),
+                    PAGING.toSort(orderBy), paging.getOffset(), PAGING.limit(paging));
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_LIST.format(STUDENTS);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_LIST.format(STUDENTS);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        }
+
+        return PAGING.toPage(students, paging, orderBy);
+    }
 }
@@ -27,12 +27,15 @@ import static com.invariantproperties.project.student.business.PersistenceExcept
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_DELETE;
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_UPDATE;
 
+import java.util.List;
+
 import javax.annotation.Resource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.invariantproperties.project.student.domain.Student;
@@ -50,10 +53,14 @@ public class StudentManagerServiceImpl implements StudentManagerService {
             .getLogger(StudentManagerServiceImpl.class);
     private static final String STUDENT = "student";
     private static final String COULD_NOT_FIND_MESSAGE = "could not find student: ";
+    private static final String STALE_MESSAGE = "student has been modified: ";
 
     @Resource
     private StudentRepository studentRepository;
 
+    @Resource
+    private PlatformTransactionManager transactionManager;
+
     /**
      * Default constructor
      */
@@ -68,6 +75,14 @@ public class StudentManagerServiceImpl implements StudentManagerService {
         this.studentRepository = studentRepository;
     }
 
+    /**
+     * Constructor used in unit tests
+     */
+    StudentManagerServiceImpl(StudentRepository studentRepository, PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.transactionManager = transactionManager;
+    }
+
     /**
      * @see com.invariantproperties.project.student.business.StudentFinderService#
      *      createStudent(java.lang.String, java.lang.String)
@@ -145,8 +160,6 @@ public class StudentManagerServiceImpl implements StudentManagerService {
             actual.setName(name);
             actual.setEmailAddress(emailAddress);
             updated = studentRepository.saveAndFlush(actual);
-            student.setName(name);
-            student.setEmailAddress(emailAddress);
 
         } catch (UnitTestException e) {
             final String msg = UNABLE_TO_UPDATE.format(STUDENT);
@@ -175,6 +188,12 @@ public class StudentManagerServiceImpl implements StudentManagerService {
                 LOG.debug(COULD_NOT_FIND_MESSAGE + uuid);
                 throw new ObjectNotFoundException(uuid);
             }
+
+            if ((version != null) && !version.equals(student.getVersion())) {
+                LOG.debug(STALE_MESSAGE + uuid);
+                throw new StaleObjectException(uuid, version);
+            }
+
             studentRepository.delete(student);
 
         } catch (UnitTestException e) {
@@ -186,4 +205,82 @@ public class StudentManagerServiceImpl implements StudentManagerService {
             throw new PersistenceException(UNABLE_TO_DELETE, msg, e);
         }
     }
+
+    /**
+     * @see com.invariantproperties.project.student.business.StudentManagerService#
+     *      createStudents(java.util.List)
+     */
+    @Override
+    public BulkResult<Student> createStudents(List<Student> students) {
+        return new ChunkedBulkOperation<Student, Student>(transactionManager, ChunkedBulkOperation.DEFAULT_CHUNK_SIZE,
+                UNABLE_TO_CREATE, STUDENT) {
+            @Override
+            public Student apply(Student item) {
+                final Student student = new Student();
+                student.setName(item.getName());
+                student.setEmailAddress(item.getEmailAddress());
+                student.setTestRun(item.getTestRun());
+                return studentRepository.save(student);
+            }
+
+            @Override
+            protected void flush() {
+                studentRepository.flush();
+            }
+        }.execute(students);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.StudentManagerService#
+     *      updateStudents(java.util.List)
+     */
+    @Override
+    public BulkResult<Student> updateStudents(List<Student> students) {
+        return new ExistingObjectBulkOperation<Student, Student, Student>(transactionManager,
+                ChunkedBulkOperation.DEFAULT_CHUNK_SIZE, UNABLE_TO_UPDATE, STUDENT, studentRepository) {
+            @Override
+            public String uuidOf(Student item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Student apply(Student item) {
+                final Student actual = load(item);
+                actual.setName(item.getName());
+                actual.setEmailAddress(item.getEmailAddress());
+                return studentRepository.save(actual);
+            }
+
+            @Override
+            protected void flush() {
+                studentRepository.flush();
+            }
+        }.execute(students);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.StudentManagerService#
+     *      deleteStudents(java.util.List)
+     */
+    @Override
+    public BulkResult<String> deleteStudents(List<String> uuids) {
+        return new ExistingObjectBulkOperation<String, Student, String>(transactionManager,
+                ChunkedBulkOperation.DEFAULT_CHUNK_SIZE, UNABLE_TO_DELETE, STUDENT, studentRepository) {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                studentRepository.delete(load(uuid));
+                return uuid;
+            }
+
+            @Override
+            protected void flush() {
+                studentRepository.flush();
+            }
+        }.execute(uuids);
+    }
 }
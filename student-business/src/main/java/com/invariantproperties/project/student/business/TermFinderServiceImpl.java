@@ -25,8 +25,11 @@ package com.invariantproperties.project.student.business;
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_COUNT;
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_FIND_BY_ID;
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_FIND_BY_UUID;
+import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_LIST;
 import static com.invariantproperties.project.student.specification.TermSpecifications.testRunIs;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 
 import javax.annotation.Resource;
@@ -54,6 +57,8 @@ public class TermFinderServiceImpl implements TermFinderService {
     private static final Logger LOG = LoggerFactory.getLogger(TermFinderServiceImpl.class);
     private static final String TERM = "term";
     private static final String TERMS = "terms";
+    private static final PagingSupport<Term> PAGING =
+            new PagingSupport<Term>(new String[] { "uuid" }, "creationDate", "name");
 
     @Resource
     private TermRepository termRepository;
@@ -166,6 +171,29 @@ public class TermFinderServiceImpl implements TermFinderService {
         return term;
     }
 
+    /**
+     * @see com.invariantproperties.project.student.business.TermFinderService#
+     *      findTermsByUuids(java.util.Collection)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<Term> findTermsByUuids(Collection<String> uuids) {
+        List<Term> terms = null;
+
+        try {
+            terms = termRepository.findByUuids(uuids);
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_FIND_BY_UUID.format(TERMS);
+            throw new PersistenceException(UNABLE_TO_FIND_BY_UUID, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_FIND_BY_UUID.format(TERMS);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_FIND_BY_UUID, msg, e);
+        }
+
+        return LookupSupport.inUuidOrder(uuids, terms);
+    }
+
     /**
      * @see com.invariantproperties.project.student.business.TermFinderService#
      *      findTermsByTestRun(com.invariantproperties.project.student.common.TestRun)
@@ -176,7 +204,7 @@ public class TermFinderServiceImpl implements TermFinderService {
         List<Term> terms = null;
 
         try {
-            terms = termRepository.findAll(testRunIs(testRun));
+            terms = termRepository.findAllCached(testRunIs(testRun));
         } catch (UnitTestException e) {
             final String msg = UNABLE_TO_COUNT.format(TERMS);
             throw new PersistenceException(UNABLE_TO_COUNT, msg, e);
@@ -188,4 +216,60 @@ public class TermFinderServiceImpl implements TermFinderService {
 
         return terms;
     }
+
+    /**
+     * @see com.invariantproperties.project.student.business.FinderService#
+     *      export(com.invariantproperties.project.student.domain.TestRun,
+     *      com.invariantproperties.project.student.business.ResultHandler)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void export(TestRun testRun, ResultHandler<Term> handler) throws IOException {
+        try {
+            termRepository.scroll(testRunIs(testRun), PagingSupport.ID_ORDER, PagingSupport.FETCH_SIZE, handler);
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_LIST.format(TERMS);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_LIST.format(TERMS);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        }
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.TermFinderService#
+     *      findTerms(com.invariantproperties.project.student.business.Paging)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ResultPage<Term> findTerms(Paging paging) {
+        return findTermsByTestRun(null, paging);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.TermFinderService#
+     *      findTermsByTestRun(com.invariantproperties.project.student.domain.TestRun,
+     *      com.invariantproperties.project.student.business.Paging)
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ResultPage<Term> findTermsByTestRun(TestRun testRun, Paging paging) {
+        final List<OrderBy> orderBy = PAGING.orderBy(paging);
+        List<Term> terms = null;
+
+        try {
+            terms = termRepository.findRange(PAGING.where(testRunIs(testRun), paging, orderBy),
+                    PAGING.toSort(orderBy), paging.getOffset(), PAGING.limit(paging));
+        } catch (UnitTestException e) {
+            final String msg = UNABLE_TO_LIST.format(TERMS);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        } catch (DataAccessException e) {
+            final String msg = UNABLE_TO_LIST.format(TERMS);
+            LOG.info(msg);
+            throw new PersistenceException(UNABLE_TO_LIST, msg, e);
+        }
+
+        return PAGING.toPage(terms, paging, orderBy);
+    }
 }
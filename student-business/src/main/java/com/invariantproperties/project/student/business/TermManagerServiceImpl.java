@@ -27,12 +27,15 @@ import static com.invariantproperties.project.student.business.PersistenceExcept
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_DELETE;
 import static com.invariantproperties.project.student.business.PersistenceException.Type.UNABLE_TO_UPDATE;
 
+import java.util.List;
+
 import javax.annotation.Resource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.invariantproperties.project.student.domain.Term;
@@ -50,10 +53,14 @@ public class TermManagerServiceImpl implements TermManagerService {
             .getLogger(TermManagerServiceImpl.class);
     private static final String TERM = "term";
     private static final String COULD_NOT_FIND_MESSAGE = "could not find term: ";
+    private static final String STALE_MESSAGE = "term has been modified: ";
 
     @Resource
     private TermRepository termRepository;
 
+    @Resource
+    private PlatformTransactionManager transactionManager;
+
     /**
      * Default constructor
      */
@@ -68,6 +75,14 @@ public class TermManagerServiceImpl implements TermManagerService {
         this.termRepository = termRepository;
     }
 
+    /**
+     * Constructor used in unit tests
+     */
+    TermManagerServiceImpl(TermRepository termRepository, PlatformTransactionManager transactionManager) {
+        this.termRepository = termRepository;
+        this.transactionManager = transactionManager;
+    }
+
     /**
      * @see com.invariantproperties.project.term.business.TermFinderService#
      *      createTerm(java.lang.String)
@@ -139,7 +154,6 @@ public class TermManagerServiceImpl implements TermManagerService {
 
             actual.setName(name);
             updated = termRepository.saveAndFlush(actual);
-            term.setName(name);
 
         } catch (UnitTestException e) {
             final String msg = UNABLE_TO_UPDATE.format(TERM);
@@ -168,7 +182,15 @@ public class TermManagerServiceImpl implements TermManagerService {
                 LOG.debug(COULD_NOT_FIND_MESSAGE + uuid);
                 throw new ObjectNotFoundException(uuid);
             }
+
+            if ((version != null) && !version.equals(term.getVersion())) {
+                LOG.debug(STALE_MESSAGE + uuid);
+                throw new StaleObjectException(uuid, version);
+            }
+
             termRepository.delete(term);
+            // Hibernate does not invalidate the cached inverse collections
+            termRepository.evictCollectionCaches();
 
         } catch (UnitTestException e) {
             final String msg = UNABLE_TO_DELETE.format(TERM);
@@ -179,4 +201,81 @@ public class TermManagerServiceImpl implements TermManagerService {
             throw new PersistenceException(UNABLE_TO_DELETE, msg, e);
         }
     }
+
+    /**
+     * @see com.invariantproperties.project.student.business.TermManagerService#
+     *      createTerms(java.util.List)
+     */
+    @Override
+    public BulkResult<Term> createTerms(List<Term> terms) {
+        return new ChunkedBulkOperation<Term, Term>(transactionManager, ChunkedBulkOperation.DEFAULT_CHUNK_SIZE,
+                UNABLE_TO_CREATE, TERM) {
+            @Override
+            public Term apply(Term item) {
+                final Term term = new Term();
+                term.setName(item.getName());
+                term.setTestRun(item.getTestRun());
+                return termRepository.save(term);
+            }
+
+            @Override
+            protected void flush() {
+                termRepository.flush();
+            }
+        }.execute(terms);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.TermManagerService#
+     *      updateTerms(java.util.List)
+     */
+    @Override
+    public BulkResult<Term> updateTerms(List<Term> terms) {
+        return new ExistingObjectBulkOperation<Term, Term, Term>(transactionManager,
+                ChunkedBulkOperation.DEFAULT_CHUNK_SIZE, UNABLE_TO_UPDATE, TERM, termRepository) {
+            @Override
+            public String uuidOf(Term item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Term apply(Term item) {
+                final Term actual = load(item);
+                actual.setName(item.getName());
+                return termRepository.save(actual);
+            }
+
+            @Override
+            protected void flush() {
+                termRepository.flush();
+            }
+        }.execute(terms);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.business.TermManagerService#
+     *      deleteTerms(java.util.List)
+     */
+    @Override
+    public BulkResult<String> deleteTerms(List<String> uuids) {
+        return new ExistingObjectBulkOperation<String, Term, String>(transactionManager,
+                ChunkedBulkOperation.DEFAULT_CHUNK_SIZE, UNABLE_TO_DELETE, TERM, termRepository) {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                termRepository.delete(load(uuid));
+                return uuid;
+            }
+
+            @Override
+            protected void flush() {
+                termRepository.flush();
+                termRepository.evictCollectionCaches();
+            }
+        }.execute(uuids);
+    }
 }
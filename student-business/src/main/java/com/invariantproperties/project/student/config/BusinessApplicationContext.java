@@ -22,12 +22,22 @@
  */
 package com.invariantproperties.project.student.config;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
 import javax.annotation.Resource;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 
+import com.invariantproperties.project.student.business.CachingFinderPostProcessor;
+import com.invariantproperties.project.student.business.CoalescingPostProcessor;
+import com.invariantproperties.project.student.business.FinderCaches;
+import com.invariantproperties.project.student.business.RequestCoalescer;
+
 /**
  * An application context Java configuration class. The usage of Java
  * configuration requires Spring Framework 3.0 or higher.
@@ -41,4 +51,56 @@ public class BusinessApplicationContext {
 
     @Resource
     private Environment environment;
+
+    /**
+     * Read-through caches for the finder services. See FinderCaches for the
+     * properties.
+     */
+    @Bean(destroyMethod = "logStatistics")
+    public FinderCaches finderCaches() {
+        return new FinderCaches(environment);
+    }
+
+    /**
+     * Wraps the finder and manager services with the finder caches. This is
+     * static since it's a BeanPostProcessor.
+     */
+    @Bean
+    public static CachingFinderPostProcessor cachingFinderPostProcessor() {
+        return new CachingFinderPostProcessor();
+    }
+
+    /**
+     * Shares concurrent identical finder calls. See RequestCoalescer for the
+     * properties.
+     */
+    @Bean(destroyMethod = "logStatistics")
+    public RequestCoalescer requestCoalescer() {
+        return new RequestCoalescer(environment);
+    }
+
+    /**
+     * Wraps the finder services so concurrent identical calls of @Coalesced
+     * methods share one query. This is static since it's a BeanPostProcessor.
+     */
+    @Bean
+    public static CoalescingPostProcessor coalescingPostProcessor() {
+        return new CoalescingPostProcessor();
+    }
+
+    /**
+     * Executor for PurgeService. Purges run one at a time so they don't
+     * compete for the same locks.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService purgeExecutor() {
+        return Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                final Thread thread = new Thread(r, "student-purge");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
 }
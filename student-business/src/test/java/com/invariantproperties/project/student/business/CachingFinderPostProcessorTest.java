@@ -0,0 +1,168 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.Section;
+import com.invariantproperties.project.student.domain.TestRun;
+
+/**
+ * Unit tests for CachingFinderPostProcessor.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class CachingFinderPostProcessorTest {
+    private static final String CODE = "PHYS101";
+    private static final String UUID = "11111111-1111-1111-1111-111111111111";
+
+    private FinderCaches caches;
+    private CourseFinderService target;
+    private CourseManagerService manager;
+    private CourseFinderService finder;
+
+    @Before
+    public void setup() {
+        caches = new FinderCaches(null);
+        target = Mockito.mock(CourseFinderService.class);
+        finder = (CourseFinderService) CachingFinderPostProcessor.wrap(target, caches.getCache(Course.class), caches);
+        manager = (CourseManagerService) CachingFinderPostProcessor.wrap(Mockito.mock(CourseManagerService.class),
+                caches.getCache(Course.class), caches);
+    }
+
+    @Test
+    public void testLookupIsCached() {
+        final Course course = new Course();
+        when(target.findCourseByCode(CODE)).thenReturn(course);
+
+        assertSame(course, finder.findCourseByCode(CODE));
+        assertSame(course, finder.findCourseByCode(CODE));
+
+        verify(target, times(1)).findCourseByCode(CODE);
+        assertEquals(1, caches.getCache(Course.class).getHits());
+        assertEquals(1, caches.getCache(Course.class).getMisses());
+    }
+
+    @Test
+    public void testMissingIsCached() {
+        when(target.findCourseByUuid(UUID)).thenThrow(new ObjectNotFoundException(UUID));
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                finder.findCourseByUuid(UUID);
+            } catch (ObjectNotFoundException e) {
+                assertEquals(UUID, e.getUuid());
+            }
+        }
+
+        verify(target, times(1)).findCourseByUuid(UUID);
+    }
+
+    @Test
+    public void testErrorIsNotCached() {
+        when(target.findCourseByUuid(UUID)).thenThrow(new UnitTestException());
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                finder.findCourseByUuid(UUID);
+            } catch (UnitTestException e) {
+                // expected
+            }
+        }
+
+        verify(target, times(2)).findCourseByUuid(UUID);
+    }
+
+    @Test
+    public void testListIsNotCached() {
+        when(target.findAllCourses()).thenReturn(Collections.<Course> emptyList());
+
+        finder.findAllCourses();
+        finder.findAllCourses();
+
+        verify(target, times(2)).findAllCourses();
+    }
+
+    @Test
+    public void testWriteInvalidatesCache() {
+        when(target.findCourseByCode(CODE)).thenReturn(new Course());
+
+        finder.findCourseByCode(CODE);
+        manager.updateCourse(UUID, 1, "name", "summary", "description", 3);
+        finder.findCourseByCode(CODE);
+
+        verify(target, times(2)).findCourseByCode(CODE);
+        assertEquals(0, caches.getCache(Section.class).getInvalidations());
+    }
+
+    @Test
+    public void testDeleteInvalidatesAllCaches() {
+        manager.deleteCourse(UUID, 1);
+
+        assertEquals(1, caches.getCache(Course.class).getInvalidations());
+        assertEquals(1, caches.getCache(Section.class).getInvalidations());
+    }
+
+    @Test
+    public void testTransactionBypassesCache() {
+        when(target.findCourseByCode(CODE)).thenReturn(new Course());
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            finder.findCourseByCode(CODE);
+            finder.findCourseByCode(CODE);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        verify(target, times(2)).findCourseByCode(CODE);
+        assertEquals(0, caches.getCache(Course.class).getSize());
+    }
+
+    @Test
+    public void testEntityClass() {
+        assertEquals(Course.class, CachingFinderPostProcessor.entityClass(CourseFinderServiceImpl.class));
+        assertEquals(Course.class, CachingFinderPostProcessor.entityClass(CourseManagerServiceImpl.class));
+        assertEquals(TestRun.class, CachingFinderPostProcessor.entityClass(TestRunServiceImpl.class));
+    }
+
+    @Test
+    public void testOtherBeansAreNotWrapped() {
+        final PurgeService purge = Mockito.mock(PurgeService.class);
+        assertSame(purge, new CachingFinderPostProcessor().postProcessAfterInitialization(purge, "purge"));
+        assertFalse(finder instanceof CourseManagerService);
+    }
+}
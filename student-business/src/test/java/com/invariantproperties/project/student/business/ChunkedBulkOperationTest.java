@@ -0,0 +1,164 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+/**
+ * Unit tests for ChunkedBulkOperation.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class ChunkedBulkOperationTest {
+
+    /**
+     * Test operation. Items are saved on flush, 'missing' is not found and
+     * 'duplicate' violates a constraint.
+     */
+    private static class TestOperation extends ChunkedBulkOperation<String, String> {
+        private final List<String> pending = new ArrayList<String>();
+        private final List<String> saved = new ArrayList<String>();
+
+        TestOperation(PlatformTransactionManager transactionManager) {
+            super(transactionManager, 2, PersistenceException.Type.UNABLE_TO_CREATE, "test");
+        }
+
+        @Override
+        protected void beforeChunk(List<String> chunk) {
+            pending.clear();
+        }
+
+        @Override
+        public String uuidOf(String item) {
+            return item;
+        }
+
+        @Override
+        public String apply(String item) {
+            if ("missing".equals(item)) {
+                throw new ObjectNotFoundException(item);
+            }
+            pending.add(item);
+            return item.toUpperCase();
+        }
+
+        @Override
+        protected void flush() {
+            if (pending.contains("duplicate")) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            saved.addAll(pending);
+        }
+    }
+
+    @Test
+    public void testAllSucceed() {
+        final PlatformTransactionManager tm = mock(PlatformTransactionManager.class);
+        final TestOperation op = new TestOperation(tm);
+
+        final BulkResult<String> result = op.execute(Arrays.asList("a", "b", "c", "d", "e"));
+
+        assertTrue(result.isSuccess());
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E"), result.getSucceeded());
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), op.saved);
+
+        // one transaction per chunk
+        verify(tm, times(3)).getTransaction(any(TransactionDefinition.class));
+        verify(tm, times(3)).commit(any(TransactionStatus.class));
+    }
+
+    @Test
+    public void testEmpty() {
+        final PlatformTransactionManager tm = mock(PlatformTransactionManager.class);
+        final BulkResult<String> result = new TestOperation(tm).execute(new ArrayList<String>());
+
+        assertTrue(result.isSuccess());
+        assertTrue(result.getSucceeded().isEmpty());
+        verify(tm, times(0)).getTransaction(any(TransactionDefinition.class));
+    }
+
+    @Test
+    public void testMissingItemDoesNotFailChunk() {
+        final PlatformTransactionManager tm = mock(PlatformTransactionManager.class);
+        final TestOperation op = new TestOperation(tm);
+
+        final BulkResult<String> result = op.execute(Arrays.asList("a", "missing", "c"));
+
+        assertEquals(Arrays.asList("A", "C"), result.getSucceeded());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(1, result.getFailures().get(0).getIndex());
+        assertEquals("missing", result.getFailures().get(0).getUuid());
+        verify(tm, times(2)).commit(any(TransactionStatus.class));
+    }
+
+    @Test
+    public void testFailedChunkIsRetriedItemByItem() {
+        final PlatformTransactionManager tm = mock(PlatformTransactionManager.class);
+        final TestOperation op = new TestOperation(tm);
+
+        final BulkResult<String> result = op.execute(Arrays.asList("a", "b", "duplicate", "d", "e"));
+
+        assertEquals(Arrays.asList("A", "B", "D", "E"), result.getSucceeded());
+        assertEquals(Arrays.asList("a", "b", "d", "e"), op.saved);
+        assertEquals(1, result.getFailures().size());
+        final BulkResult.Failure failure = result.getFailures().get(0);
+        assertEquals(2, failure.getIndex());
+        assertEquals("duplicate", failure.getUuid());
+        assertEquals("unable to create test: duplicate key", failure.getMessage());
+
+        // chunks [a, b], [duplicate, d] (rolled back), then duplicate (rolled
+        // back) and d individually, then [e].
+        verify(tm, times(2)).rollback(any(TransactionStatus.class));
+        verify(tm, times(3)).commit(any(TransactionStatus.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadChunkSize() {
+        new ChunkedBulkOperation<String, String>(mock(PlatformTransactionManager.class), 0,
+                PersistenceException.Type.UNABLE_TO_CREATE, "test") {
+            @Override
+            public String apply(String item) {
+                return item;
+            }
+
+            @Override
+            protected void flush() {
+            }
+        };
+    }
+}
@@ -23,20 +23,31 @@
 package com.invariantproperties.project.student.business;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import com.invariantproperties.project.student.business.ClassroomFinderService;
 import com.invariantproperties.project.student.business.ClassroomFinderServiceImpl;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
 import com.invariantproperties.project.student.business.PersistenceException;
+import com.invariantproperties.project.student.business.ResultHandler;
 import com.invariantproperties.project.student.business.UnitTestException;
 import com.invariantproperties.project.student.domain.Classroom;
 import com.invariantproperties.project.student.domain.TestRun;
@@ -100,7 +111,7 @@ public class ClassroomFinderServiceImplTest {
     @Test(expected = PersistenceException.class)
     public void testFindAllClassroomsError() {
         final ClassroomRepository repository = Mockito.mock(ClassroomRepository.class);
-        when(repository.findAll(any(sClass))).thenThrow(new UnitTestException());
+        when(repository.findAllCached(any(sClass))).thenThrow(new UnitTestException());
 
         final ClassroomFinderService service = new ClassroomFinderServiceImpl(repository);
         service.findAllClassrooms();
@@ -170,6 +181,32 @@ public class ClassroomFinderServiceImplTest {
         service.findClassroomByUuid("[uuid]");
     }
 
+    @Test
+    public void testFindClassroomsByUuids() {
+        final Classroom first = new Classroom();
+        first.setUuid("[uuid1]");
+        final Classroom second = new Classroom();
+        second.setUuid("[uuid2]");
+        final List<String> uuids = Arrays.asList("[uuid2]", "[missing]", "[uuid1]");
+
+        final ClassroomRepository repository = Mockito.mock(ClassroomRepository.class);
+        when(repository.findByUuids(anyCollectionOf(String.class))).thenReturn(Arrays.asList(first, second));
+
+        final ClassroomFinderService service = new ClassroomFinderServiceImpl(repository);
+        final List<Classroom> actual = service.findClassroomsByUuids(uuids);
+
+        assertEquals(Arrays.asList(second, first), actual);
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testFindClassroomsByUuidsError() {
+        final ClassroomRepository repository = Mockito.mock(ClassroomRepository.class);
+        when(repository.findByUuids(anyCollectionOf(String.class))).thenThrow(new UnitTestException());
+
+        final ClassroomFinderService service = new ClassroomFinderServiceImpl(repository);
+        service.findClassroomsByUuids(Collections.singletonList("[uuid]"));
+    }
+
     @Test
     public void testFindClassroomsByTestUuid() {
         final TestRun testRun = new TestRun();
@@ -177,7 +214,7 @@ public class ClassroomFinderServiceImplTest {
         final List<Classroom> expected = Collections.singletonList(classroom);
 
         final ClassroomRepository repository = Mockito.mock(ClassroomRepository.class);
-        when(repository.findAll(any(sClass))).thenReturn(expected);
+        when(repository.findAllCached(any(sClass))).thenReturn(expected);
 
         final ClassroomFinderService service = new ClassroomFinderServiceImpl(repository);
         final List<Classroom> actual = service.findClassroomsByTestRun(testRun);
@@ -190,9 +227,90 @@ public class ClassroomFinderServiceImplTest {
         final TestRun testRun = new TestRun();
 
         final ClassroomRepository repository = Mockito.mock(ClassroomRepository.class);
-        when(repository.findAll(any(sClass))).thenThrow(new UnitTestException());
+        when(repository.findAllCached(any(sClass))).thenThrow(new UnitTestException());
 
         final ClassroomFinderService service = new ClassroomFinderServiceImpl(repository);
         service.findClassroomsByTestRun(testRun);
     }
+
+    @Test
+    public void testFindClassroomsPaged() {
+        final Classroom classroom = new Classroom();
+        final List<Classroom> expected = Collections.singletonList(classroom);
+
+        final ClassroomRepository repository = Mockito.mock(ClassroomRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), eq(0), eq(11))).thenReturn(expected);
+
+        final ClassroomFinderService service = new ClassroomFinderServiceImpl(repository);
+        final ResultPage<Classroom> actual = service.findClassrooms(Paging.first(10, OrderBy.asc("name")));
+
+        assertEquals(expected, actual.getContent());
+        assertFalse(actual.hasNext());
+    }
+
+    @Test
+    public void testFindClassroomsPagedHasNext() {
+        final Classroom first = new Classroom();
+        first.setId(1);
+        first.setName("a");
+        final Classroom second = new Classroom();
+        second.setId(2);
+        second.setName("b");
+
+        final ClassroomRepository repository = Mockito.mock(ClassroomRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), eq(0), eq(2))).thenReturn(Arrays.asList(first, second));
+
+        final ClassroomFinderService service = new ClassroomFinderServiceImpl(repository);
+        final ResultPage<Classroom> actual = service.findClassrooms(Paging.first(1, OrderBy.desc("name")));
+
+        assertEquals(Collections.singletonList(first), actual.getContent());
+        assertTrue(actual.hasNext());
+        assertEquals(Arrays.<Object> asList("a", 1), actual.getNext().getAfter());
+        assertEquals(Collections.singletonList(OrderBy.desc("name")), actual.getNext().getOrderBy());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindClassroomsPagedBadSort() {
+        final ClassroomRepository repository = Mockito.mock(ClassroomRepository.class);
+
+        final ClassroomFinderService service = new ClassroomFinderServiceImpl(repository);
+        service.findClassrooms(Paging.first(10, OrderBy.asc("testRun")));
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testFindClassroomsPagedError() {
+        final TestRun testRun = new TestRun();
+
+        final ClassroomRepository repository = Mockito.mock(ClassroomRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), anyInt(), anyInt())).thenThrow(new UnitTestException());
+
+        final ClassroomFinderService service = new ClassroomFinderServiceImpl(repository);
+        service.findClassroomsByTestRun(testRun, Paging.first(10));
+    }
+
+    @Test
+    public void testExport() throws IOException {
+        final TestRun testRun = new TestRun();
+        @SuppressWarnings("unchecked")
+        final ResultHandler<Classroom> handler = Mockito.mock(ResultHandler.class);
+
+        final ClassroomRepository repository = Mockito.mock(ClassroomRepository.class);
+
+        final ClassroomFinderService service = new ClassroomFinderServiceImpl(repository);
+        service.export(testRun, handler);
+
+        verify(repository).scroll(any(sClass), eq(PagingSupport.ID_ORDER), eq(PagingSupport.FETCH_SIZE), eq(handler));
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testExportError() throws IOException {
+        @SuppressWarnings("unchecked")
+        final ResultHandler<Classroom> handler = Mockito.mock(ResultHandler.class);
+
+        final ClassroomRepository repository = Mockito.mock(ClassroomRepository.class);
+        doThrow(new UnitTestException()).when(repository).scroll(any(sClass), any(Sort.class), anyInt(), eq(handler));
+
+        final ClassroomFinderService service = new ClassroomFinderServiceImpl(repository);
+        service.export(null, handler);
+    }
 }
@@ -23,13 +23,20 @@
 package com.invariantproperties.project.student.business;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.invariantproperties.project.student.business.ClassroomManagerService;
 import com.invariantproperties.project.student.business.ClassroomManagerServiceImpl;
@@ -46,6 +53,8 @@ import com.invariantproperties.project.student.repository.ClassroomRepository;
  */
 public class ClassroomManagerServiceImplTest {
     private static final String UUID = "11111111-1111-1111-1111-111111111111";
+    private static final String MISSING_UUID = "22222222-2222-2222-2222-222222222222";
+    private final Class<Specification<Classroom>> sClass = null;
 
     @Test
     public void testCreateClassroom() {
@@ -114,6 +123,7 @@ public class ClassroomManagerServiceImplTest {
     public void testDeleteClassroom() {
         final Classroom expected = new Classroom();
         expected.setUuid(UUID);
+        expected.setVersion(0);
 
         final ClassroomRepository repository = Mockito.mock(ClassroomRepository.class);
         when(repository.findClassroomByUuid(any(String.class))).thenReturn(expected);
@@ -121,6 +131,7 @@ public class ClassroomManagerServiceImplTest {
 
         final ClassroomManagerService service = new ClassroomManagerServiceImpl(repository);
         service.deleteClassroom(expected.getUuid(), 0);
+        verify(repository).evictCollectionCaches();
     }
 
     @Test(expected = ObjectNotFoundException.class)
@@ -136,6 +147,7 @@ public class ClassroomManagerServiceImplTest {
     public void testDeleteClassroomError() {
         final Classroom expected = new Classroom();
         expected.setUuid(UUID);
+        expected.setVersion(0);
 
         final ClassroomRepository repository = Mockito.mock(ClassroomRepository.class);
         when(repository.findClassroomByUuid(any(String.class))).thenReturn(expected);
@@ -144,4 +156,66 @@ public class ClassroomManagerServiceImplTest {
         final ClassroomManagerService service = new ClassroomManagerServiceImpl(repository);
         service.deleteClassroom(expected.getUuid(), 0);
     }
+
+    @Test
+    public void testCreateClassrooms() {
+        final Classroom first = new Classroom();
+        first.setName("first");
+        final Classroom second = new Classroom();
+        second.setName("second");
+
+        final ClassroomRepository repository = Mockito.mock(ClassroomRepository.class);
+        when(repository.save(any(Classroom.class))).thenReturn(first, second);
+
+        final ClassroomManagerService service = new ClassroomManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<Classroom> actual = service.createClassrooms(Arrays.asList(first, second));
+
+        assertTrue(actual.isSuccess());
+        assertEquals(Arrays.asList(first, second), actual.getSucceeded());
+        verify(repository).flush();
+    }
+
+    @Test
+    public void testUpdateClassrooms() {
+        final Classroom existing = new Classroom();
+        existing.setUuid(UUID);
+        final Classroom update = new Classroom();
+        update.setUuid(UUID);
+        update.setName("updated");
+        final Classroom missing = new Classroom();
+        missing.setUuid(MISSING_UUID);
+
+        final ClassroomRepository repository = Mockito.mock(ClassroomRepository.class);
+        when(repository.findAll(any(sClass))).thenReturn(Collections.singletonList(existing));
+        when(repository.save(any(Classroom.class))).thenReturn(existing);
+
+        final ClassroomManagerService service = new ClassroomManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<Classroom> actual = service.updateClassrooms(Arrays.asList(update, missing));
+
+        assertEquals(Collections.singletonList(existing), actual.getSucceeded());
+        assertEquals("updated", existing.getName());
+        assertEquals(1, actual.getFailures().size());
+        assertEquals(1, actual.getFailures().get(0).getIndex());
+        assertEquals(MISSING_UUID, actual.getFailures().get(0).getUuid());
+    }
+
+    @Test
+    public void testDeleteClassrooms() {
+        final Classroom existing = new Classroom();
+        existing.setUuid(UUID);
+
+        final ClassroomRepository repository = Mockito.mock(ClassroomRepository.class);
+        when(repository.findAll(any(sClass))).thenReturn(Collections.singletonList(existing));
+
+        final ClassroomManagerService service = new ClassroomManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<String> actual = service.deleteClassrooms(Arrays.asList(UUID, MISSING_UUID));
+
+        assertEquals(Collections.singletonList(UUID), actual.getSucceeded());
+        assertEquals(1, actual.getFailures().size());
+        assertEquals(MISSING_UUID, actual.getFailures().get(0).getUuid());
+        verify(repository).delete(existing);
+    }
 }
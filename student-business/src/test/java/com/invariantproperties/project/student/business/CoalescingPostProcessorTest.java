@@ -0,0 +1,163 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.invariantproperties.project.student.domain.Course;
+
+/**
+ * Unit tests for CoalescingPostProcessor.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class CoalescingPostProcessorTest {
+    private static final String CODE = "PHYS101";
+    private static final int CALLERS = 4;
+
+    private RequestCoalescer coalescer;
+    private CourseFinderService target;
+    private CourseFinderService finder;
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        coalescer = new RequestCoalescer(null);
+        target = Mockito.mock(CourseFinderService.class);
+        finder = (CourseFinderService) CoalescingPostProcessor.wrap(target, coalescer);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentCallsAreCoalesced() throws Exception {
+        final List<Course> courses = Collections.singletonList(new Course());
+        final CountDownLatch release = new CountDownLatch(1);
+        when(target.findAllCourses()).thenAnswer(new Answer<List<Course>>() {
+            @Override
+            public List<Course> answer(InvocationOnMock invocation) throws Throwable {
+                release.await();
+                return courses;
+            }
+        });
+
+        final List<Future<List<Course>>> futures = new ArrayList<Future<List<Course>>>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(new Callable<List<Course>>() {
+                @Override
+                public List<Course> call() {
+                    return finder.findAllCourses();
+                }
+            }));
+        }
+
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (coalescer.getCoalesced() < CALLERS - 1) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("callers were not coalesced");
+            }
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        final List<Course> first = futures.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<List<Course>> future : futures) {
+            final List<Course> actual = future.get(5, TimeUnit.SECONDS);
+            assertEquals(courses, actual);
+            assertSame(courses.get(0), actual.get(0));
+            if (future != futures.get(0)) {
+                assertNotSame(first, actual);
+            }
+        }
+
+        verify(target, times(1)).findAllCourses();
+        assertEquals(CALLERS - 1, coalescer.getCoalesced("CourseFinderService.findAllCourses"));
+    }
+
+    @Test
+    public void testMethodWithoutAnnotationIsNotCoalesced() {
+        when(target.findCourseByCode(CODE)).thenReturn(new Course());
+
+        finder.findCourseByCode(CODE);
+
+        assertEquals(0, coalescer.getCalls());
+    }
+
+    @Test
+    public void testTransactionBypassesCoalescing() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            finder.findAllCourses();
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertEquals(0, coalescer.getCalls());
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
+    public void testExceptionIsRethrown() {
+        when(target.findCourseByUuid(CODE)).thenThrow(new ObjectNotFoundException(CODE));
+
+        finder.findCourseByUuid(CODE);
+    }
+
+    @Test
+    public void testCoalescedInterfaces() {
+        assertTrue(CoalescingPostProcessor.coalescedInterfaces(target).contains(CourseFinderService.class));
+        assertTrue(CoalescingPostProcessor.coalescedInterfaces(Mockito.mock(TermFinderService.class)).contains(
+                TermFinderService.class));
+        assertFalse(CoalescingPostProcessor.coalescedInterfaces(Mockito.mock(StudentFinderService.class))
+                .contains(StudentFinderService.class));
+    }
+}
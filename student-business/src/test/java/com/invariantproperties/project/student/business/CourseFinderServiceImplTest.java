@@ -22,23 +22,37 @@
  */
 package com.invariantproperties.project.student.business;
 
+import static com.invariantproperties.project.student.repository.CourseProjections.summary;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.jpa.domain.Specification;
 
 import com.invariantproperties.project.student.business.CourseFinderService;
 import com.invariantproperties.project.student.business.CourseFinderServiceImpl;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
 import com.invariantproperties.project.student.business.PersistenceException;
+import com.invariantproperties.project.student.business.ResultHandler;
 import com.invariantproperties.project.student.business.UnitTestException;
 import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.CourseSummary;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.repository.CourseRepository;
 
@@ -91,7 +105,7 @@ public class CourseFinderServiceImplTest {
         final List<Course> expected = Collections.emptyList();
 
         final CourseRepository repository = Mockito.mock(CourseRepository.class);
-        when(repository.findAll(any(sClass))).thenReturn(expected);
+        when(repository.findAllCached(any(sClass))).thenReturn(expected);
 
         final CourseFinderService service = new CourseFinderServiceImpl(repository);
         final List<Course> actual = service.findAllCourses();
@@ -102,7 +116,7 @@ public class CourseFinderServiceImplTest {
     @Test(expected = PersistenceException.class)
     public void testFindAllCoursesError() {
         final CourseRepository repository = Mockito.mock(CourseRepository.class);
-        when(repository.findAll(any(sClass))).thenThrow(new UnitTestException());
+        when(repository.findAllCached(any(sClass))).thenThrow(new UnitTestException());
 
         final CourseFinderService service = new CourseFinderServiceImpl(repository);
         service.findAllCourses();
@@ -172,6 +186,32 @@ public class CourseFinderServiceImplTest {
         service.findCourseByUuid("[uuid]");
     }
 
+    @Test
+    public void testFindCoursesByUuids() {
+        final Course first = new Course();
+        first.setUuid("[uuid1]");
+        final Course second = new Course();
+        second.setUuid("[uuid2]");
+        final List<String> uuids = Arrays.asList("[uuid2]", "[missing]", "[uuid1]");
+
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.findByUuids(anyCollectionOf(String.class))).thenReturn(Arrays.asList(first, second));
+
+        final CourseFinderService service = new CourseFinderServiceImpl(repository);
+        final List<Course> actual = service.findCoursesByUuids(uuids);
+
+        assertEquals(Arrays.asList(second, first), actual);
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testFindCoursesByUuidsError() {
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.findByUuids(anyCollectionOf(String.class))).thenThrow(new UnitTestException());
+
+        final CourseFinderService service = new CourseFinderServiceImpl(repository);
+        service.findCoursesByUuids(Collections.singletonList("[uuid]"));
+    }
+
     @Test
     public void testFindCourseByTestUuid() {
         final TestRun testRun = new TestRun();
@@ -179,7 +219,7 @@ public class CourseFinderServiceImplTest {
         final List<Course> expected = Collections.singletonList(course);
 
         final CourseRepository repository = Mockito.mock(CourseRepository.class);
-        when(repository.findAll(any(sClass))).thenReturn(expected);
+        when(repository.findAllCached(any(sClass))).thenReturn(expected);
 
         final CourseFinderService service = new CourseFinderServiceImpl(repository);
         final List<Course> actual = service.findCoursesByTestRun(testRun);
@@ -192,7 +232,7 @@ public class CourseFinderServiceImplTest {
         final TestRun testRun = new TestRun();
 
         final CourseRepository repository = Mockito.mock(CourseRepository.class);
-        when(repository.findAll(any(sClass))).thenThrow(new UnitTestException());
+        when(repository.findAllCached(any(sClass))).thenThrow(new UnitTestException());
 
         final CourseFinderService service = new CourseFinderServiceImpl(repository);
         service.findCoursesByTestRun(testRun);
@@ -205,7 +245,7 @@ public class CourseFinderServiceImplTest {
         final List<Course> expected = Collections.singletonList(course);
 
         final CourseRepository repository = Mockito.mock(CourseRepository.class);
-        when(repository.findAll(any(sClass))).thenReturn(expected);
+        when(repository.findAllCached(any(sClass))).thenReturn(expected);
 
         final CourseFinderService service = new CourseFinderServiceImpl(repository);
         final List<Course> actual = service.findCoursesByTestRun(testRun);
@@ -218,9 +258,175 @@ public class CourseFinderServiceImplTest {
         final TestRun testRun = new TestRun();
 
         final CourseRepository repository = Mockito.mock(CourseRepository.class);
-        when(repository.findAll(any(sClass))).thenThrow(new UnitTestException());
+        when(repository.findAllCached(any(sClass))).thenThrow(new UnitTestException());
 
         final CourseFinderService service = new CourseFinderServiceImpl(repository);
         service.findCoursesByTestRun(testRun);
     }
+
+    @Test
+    public void testFindCoursesPaged() {
+        final Course course = new Course();
+        final List<Course> expected = Collections.singletonList(course);
+
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), eq(0), eq(11))).thenReturn(expected);
+
+        final CourseFinderService service = new CourseFinderServiceImpl(repository);
+        final ResultPage<Course> actual = service.findCourses(Paging.first(10, OrderBy.asc("name")));
+
+        assertEquals(expected, actual.getContent());
+        assertFalse(actual.hasNext());
+    }
+
+    @Test
+    public void testFindCoursesPagedHasNext() {
+        final Course first = new Course();
+        first.setId(1);
+        first.setName("a");
+        final Course second = new Course();
+        second.setId(2);
+        second.setName("b");
+
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), eq(0), eq(2))).thenReturn(Arrays.asList(first, second));
+
+        final CourseFinderService service = new CourseFinderServiceImpl(repository);
+        final ResultPage<Course> actual = service.findCourses(Paging.first(1, OrderBy.desc("name")));
+
+        assertEquals(Collections.singletonList(first), actual.getContent());
+        assertTrue(actual.hasNext());
+        assertEquals(Arrays.<Object> asList("a", 1), actual.getNext().getAfter());
+        assertEquals(Collections.singletonList(OrderBy.desc("name")), actual.getNext().getOrderBy());
+    }
+
+    @Test
+    public void testFindCoursesPagedByUniqueKey() {
+        final Course first = new Course();
+        first.setId(1);
+        first.setCode("a");
+        final Course second = new Course();
+        second.setId(2);
+        second.setCode("b");
+
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.findRange(any(sClass), eq(new Sort(Direction.ASC, "code")), eq(0), eq(2))).thenReturn(
+                Arrays.asList(first, second));
+
+        final CourseFinderService service = new CourseFinderServiceImpl(repository);
+        final ResultPage<Course> actual = service.findCourses(Paging.first(1, OrderBy.asc("code")));
+
+        // the code is unique so the primary key isn't needed as a tie-breaker
+        assertEquals(Collections.singletonList(first), actual.getContent());
+        assertEquals(Collections.<Object> singletonList("a"), actual.getNext().getAfter());
+    }
+
+    @Test
+    public void testFindCoursesPagedDescending() {
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.findRange(any(sClass), eq(new Sort(Direction.DESC, "name", "id")), eq(0), eq(11)))
+                .thenReturn(Collections.<Course> emptyList());
+
+        final CourseFinderService service = new CourseFinderServiceImpl(repository);
+        final ResultPage<Course> actual = service.findCourses(Paging.first(10, OrderBy.desc("name")));
+
+        // the tie-breaker follows the sort direction
+        assertTrue(actual.getContent().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindCoursesPagedBadSort() {
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+
+        final CourseFinderService service = new CourseFinderServiceImpl(repository);
+        service.findCourses(Paging.first(10, OrderBy.asc("testRun")));
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testFindCoursesPagedError() {
+        final TestRun testRun = new TestRun();
+
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), anyInt(), anyInt())).thenThrow(new UnitTestException());
+
+        final CourseFinderService service = new CourseFinderServiceImpl(repository);
+        service.findCoursesByTestRun(testRun, Paging.first(10));
+    }
+
+    @Test
+    public void testExport() throws IOException {
+        final TestRun testRun = new TestRun();
+        @SuppressWarnings("unchecked")
+        final ResultHandler<Course> handler = Mockito.mock(ResultHandler.class);
+
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+
+        final CourseFinderService service = new CourseFinderServiceImpl(repository);
+        service.export(testRun, handler);
+
+        verify(repository).scroll(any(sClass), eq(PagingSupport.ID_ORDER), eq(PagingSupport.FETCH_SIZE), eq(handler));
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testExportError() throws IOException {
+        @SuppressWarnings("unchecked")
+        final ResultHandler<Course> handler = Mockito.mock(ResultHandler.class);
+
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        doThrow(new UnitTestException()).when(repository).scroll(any(sClass), any(Sort.class), anyInt(), eq(handler));
+
+        final CourseFinderService service = new CourseFinderServiceImpl(repository);
+        service.export(null, handler);
+    }
+
+    @Test
+    public void testFindAllCourseSummaries() {
+        final List<CourseSummary> expected = Collections.emptyList();
+
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.findAll(any(sClass), eq(PagingSupport.ID_ORDER), eq(summary()))).thenReturn(expected);
+
+        final CourseFinderService service = new CourseFinderServiceImpl(repository);
+        final List<CourseSummary> actual = service.findAllCourseSummaries();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testFindAllCourseSummariesError() {
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.findAll(any(sClass), any(Sort.class), eq(summary()))).thenThrow(new UnitTestException());
+
+        final CourseFinderService service = new CourseFinderServiceImpl(repository);
+        service.findAllCourseSummaries();
+    }
+
+    @Test
+    public void testFindCourseSummariesPagedHasNext() {
+        final CourseSummary first = new CourseSummary(1, 0, "uuid-1", null, "A-101", "a", 3);
+        final CourseSummary second = new CourseSummary(2, 0, "uuid-2", null, "B-101", "b", 3);
+
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), eq(0), eq(2), eq(summary()))).thenReturn(
+                Arrays.asList(first, second));
+
+        final CourseFinderService service = new CourseFinderServiceImpl(repository);
+        final ResultPage<CourseSummary> actual = service.findCourseSummaries(Paging.first(1, OrderBy.desc("name")));
+
+        assertEquals(Collections.singletonList(first), actual.getContent());
+        assertTrue(actual.hasNext());
+        assertEquals(Arrays.<Object> asList("a", 1), actual.getNext().getAfter());
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testFindCourseSummariesPagedError() {
+        final TestRun testRun = new TestRun();
+
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), anyInt(), anyInt(), eq(summary()))).thenThrow(
+                new UnitTestException());
+
+        final CourseFinderService service = new CourseFinderServiceImpl(repository);
+        service.findCourseSummariesByTestRun(testRun, Paging.first(10));
+    }
 }
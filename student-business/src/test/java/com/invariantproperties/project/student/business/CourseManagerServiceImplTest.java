@@ -23,18 +23,28 @@
 package com.invariantproperties.project.student.business;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.invariantproperties.project.student.business.CourseManagerService;
 import com.invariantproperties.project.student.business.CourseManagerServiceImpl;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
 import com.invariantproperties.project.student.business.PersistenceException;
+import com.invariantproperties.project.student.business.StaleObjectException;
 import com.invariantproperties.project.student.business.UnitTestException;
 import com.invariantproperties.project.student.domain.Course;
 import com.invariantproperties.project.student.repository.CourseRepository;
@@ -55,6 +65,8 @@ public class CourseManagerServiceImplTest {
     private static final Integer HOURS1 = 1;
     private static final Integer HOURS2 = 2;
     private static final String UUID = "11111111-1111-1111-1111-111111111111";
+    private static final String MISSING_UUID = "22222222-2222-2222-2222-222222222222";
+    private final Class<Specification<Course>> sClass = null;
 
     @Test
     public void testCreateCourse() {
@@ -107,6 +119,40 @@ public class CourseManagerServiceImplTest {
         assertEquals(HOURS2, actual.getCreditHours());
     }
 
+    /**
+     * The argument may be a cached instance shared with other callers so it
+     * must not be modified.
+     */
+    @Test
+    public void testUpdateCourseDoesNotModifyArgument() {
+        final Course cached = new Course();
+        cached.setCode(CODE1);
+        cached.setName(NAME1);
+        cached.setSummary(SUMMARY1);
+        cached.setDescription(DESCRIPTION1);
+        cached.setCreditHours(HOURS1);
+        cached.setUuid(UUID);
+
+        final Course loaded = new Course();
+        loaded.setCode(CODE1);
+        loaded.setName(NAME1);
+        loaded.setUuid(UUID);
+
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.findCourseByUuid(UUID)).thenReturn(loaded);
+        when(repository.saveAndFlush(loaded)).thenReturn(loaded);
+
+        final CourseManagerService service = new CourseManagerServiceImpl(repository);
+        final Course actual = service.updateCourse(cached, NAME2, SUMMARY2, DESCRIPTION2, HOURS2);
+
+        assertEquals(NAME2, actual.getName());
+        assertEquals(HOURS2, actual.getCreditHours());
+        assertEquals(NAME1, cached.getName());
+        assertEquals(SUMMARY1, cached.getSummary());
+        assertEquals(DESCRIPTION1, cached.getDescription());
+        assertEquals(HOURS1, cached.getCreditHours());
+    }
+
     @Test(expected = ObjectNotFoundException.class)
     public void testUpdateCourseMissing() {
         final Course expected = new Course();
@@ -130,10 +176,57 @@ public class CourseManagerServiceImplTest {
         service.updateCourse(expected, NAME2, SUMMARY2, DESCRIPTION2, HOURS2);
     }
 
+    @Test
+    public void testUpdateCourseIfVersion() {
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.updateCourseIfVersion(UUID, 3, NAME2, SUMMARY2, DESCRIPTION2, HOURS2)).thenReturn(1);
+
+        final CourseManagerService service = new CourseManagerServiceImpl(repository);
+        final Integer actual = service.updateCourse(UUID, 3, NAME2, SUMMARY2, DESCRIPTION2, HOURS2);
+
+        assertEquals(Integer.valueOf(4), actual);
+        verify(repository, never()).findCourseByUuid(any(String.class));
+    }
+
+    @Test(expected = StaleObjectException.class)
+    public void testUpdateCourseIfVersionStale() {
+        final Course expected = new Course();
+        expected.setUuid(UUID);
+        expected.setVersion(4);
+
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.updateCourseIfVersion(UUID, 3, NAME2, SUMMARY2, DESCRIPTION2, HOURS2)).thenReturn(0);
+        when(repository.findCourseByUuid(UUID)).thenReturn(expected);
+
+        final CourseManagerService service = new CourseManagerServiceImpl(repository);
+        service.updateCourse(UUID, 3, NAME2, SUMMARY2, DESCRIPTION2, HOURS2);
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
+    public void testUpdateCourseIfVersionMissing() {
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.updateCourseIfVersion(MISSING_UUID, 3, NAME2, SUMMARY2, DESCRIPTION2, HOURS2)).thenReturn(0);
+        when(repository.findCourseByUuid(MISSING_UUID)).thenReturn(null);
+
+        final CourseManagerService service = new CourseManagerServiceImpl(repository);
+        service.updateCourse(MISSING_UUID, 3, NAME2, SUMMARY2, DESCRIPTION2, HOURS2);
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testUpdateCourseIfVersionError() {
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.updateCourseIfVersion(UUID, 3, NAME2, SUMMARY2, DESCRIPTION2, HOURS2)).thenThrow(
+                new UnitTestException());
+
+        final CourseManagerService service = new CourseManagerServiceImpl(repository);
+        service.updateCourse(UUID, 3, NAME2, SUMMARY2, DESCRIPTION2, HOURS2);
+    }
+
     @Test
     public void testDeleteCourse() {
         final Course expected = new Course();
         expected.setUuid(UUID);
+        expected.setVersion(0);
 
         final CourseRepository repository = Mockito.mock(CourseRepository.class);
         when(repository.findCourseByUuid(any(String.class))).thenReturn(expected);
@@ -141,6 +234,7 @@ public class CourseManagerServiceImplTest {
 
         final CourseManagerService service = new CourseManagerServiceImpl(repository);
         service.deleteCourse(expected.getUuid(), 0);
+        verify(repository).evictCollectionCaches();
     }
 
     @Test(expected = ObjectNotFoundException.class)
@@ -152,10 +246,30 @@ public class CourseManagerServiceImplTest {
         service.deleteCourse(UUID, 0);
     }
 
+    @Test
+    public void testDeleteCourseStale() {
+        final Course expected = new Course();
+        expected.setUuid(UUID);
+        expected.setVersion(2);
+
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.findCourseByUuid(any(String.class))).thenReturn(expected);
+
+        final CourseManagerService service = new CourseManagerServiceImpl(repository);
+        try {
+            service.deleteCourse(expected.getUuid(), 1);
+            fail("expected StaleObjectException");
+        } catch (StaleObjectException e) {
+            assertEquals(Integer.valueOf(1), e.getVersion());
+        }
+        verify(repository, never()).delete(any(Course.class));
+    }
+
     @Test(expected = PersistenceException.class)
     public void testDeleteCourseError() {
         final Course expected = new Course();
         expected.setUuid(UUID);
+        expected.setVersion(0);
 
         final CourseRepository repository = Mockito.mock(CourseRepository.class);
         when(repository.findCourseByUuid(any(String.class))).thenReturn(expected);
@@ -164,4 +278,68 @@ public class CourseManagerServiceImplTest {
         final CourseManagerService service = new CourseManagerServiceImpl(repository);
         service.deleteCourse(expected.getUuid(), 0);
     }
+
+    @Test
+    public void testCreateCourses() {
+        final Course first = new Course();
+        first.setName("first");
+        final Course second = new Course();
+        second.setName("second");
+        first.setCode("MATH101");
+        second.setCode("MATH102");
+
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.save(any(Course.class))).thenReturn(first, second);
+
+        final CourseManagerService service = new CourseManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<Course> actual = service.createCourses(Arrays.asList(first, second));
+
+        assertTrue(actual.isSuccess());
+        assertEquals(Arrays.asList(first, second), actual.getSucceeded());
+        verify(repository).flush();
+    }
+
+    @Test
+    public void testUpdateCourses() {
+        final Course existing = new Course();
+        existing.setUuid(UUID);
+        final Course update = new Course();
+        update.setUuid(UUID);
+        update.setName("updated");
+        final Course missing = new Course();
+        missing.setUuid(MISSING_UUID);
+
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.findAll(any(sClass))).thenReturn(Collections.singletonList(existing));
+        when(repository.save(any(Course.class))).thenReturn(existing);
+
+        final CourseManagerService service = new CourseManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<Course> actual = service.updateCourses(Arrays.asList(update, missing));
+
+        assertEquals(Collections.singletonList(existing), actual.getSucceeded());
+        assertEquals("updated", existing.getName());
+        assertEquals(1, actual.getFailures().size());
+        assertEquals(1, actual.getFailures().get(0).getIndex());
+        assertEquals(MISSING_UUID, actual.getFailures().get(0).getUuid());
+    }
+
+    @Test
+    public void testDeleteCourses() {
+        final Course existing = new Course();
+        existing.setUuid(UUID);
+
+        final CourseRepository repository = Mockito.mock(CourseRepository.class);
+        when(repository.findAll(any(sClass))).thenReturn(Collections.singletonList(existing));
+
+        final CourseManagerService service = new CourseManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<String> actual = service.deleteCourses(Arrays.asList(UUID, MISSING_UUID));
+
+        assertEquals(Collections.singletonList(UUID), actual.getSucceeded());
+        assertEquals(1, actual.getFailures().size());
+        assertEquals(MISSING_UUID, actual.getFailures().get(0).getUuid());
+        verify(repository).delete(existing);
+    }
 }
@@ -0,0 +1,115 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for FinderCache.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class FinderCacheTest {
+    private long now;
+    private FinderCache cache;
+
+    @Before
+    public void setup() {
+        now = 1000L;
+        cache = new FinderCache("test", 2, 10, 1, TimeUnit.SECONDS) {
+            @Override
+            long now() {
+                return now;
+            }
+        };
+    }
+
+    @Test
+    public void testHitAndMiss() {
+        assertNull(cache.get("a"));
+        cache.put("a", "value", cache.getGeneration());
+
+        assertEquals("value", cache.get("a").getValue());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testExpiration() {
+        cache.put("a", "value", cache.getGeneration());
+        now += 10000L;
+
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.getExpirations());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testMissingExpiresSooner() {
+        cache.putMissing("a", cache.getGeneration());
+        assertTrue(cache.get("a").isMissing());
+
+        now += 1000L;
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        cache.put("a", "a", cache.getGeneration());
+        cache.put("b", "b", cache.getGeneration());
+        cache.get("a");
+        cache.put("c", "c", cache.getGeneration());
+
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2, cache.getSize());
+        assertNull(cache.get("b"));
+        assertEquals("a", cache.get("a").getValue());
+    }
+
+    @Test
+    public void testInvalidate() {
+        final long generation = cache.getGeneration();
+        cache.put("a", "a", generation);
+        cache.invalidate();
+
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.getInvalidations());
+
+        // lookups that started before the invalidation are not cached
+        cache.put("a", "stale", generation);
+        cache.putMissing("b", generation);
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadMaxSize() {
+        new FinderCache("test", 0, 10, 1, TimeUnit.SECONDS);
+    }
+}
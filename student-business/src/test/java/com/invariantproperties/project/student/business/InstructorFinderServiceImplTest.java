@@ -23,20 +23,31 @@
 package com.invariantproperties.project.student.business;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import com.invariantproperties.project.student.business.InstructorFinderService;
 import com.invariantproperties.project.student.business.InstructorFinderServiceImpl;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
 import com.invariantproperties.project.student.business.PersistenceException;
+import com.invariantproperties.project.student.business.ResultHandler;
 import com.invariantproperties.project.student.business.UnitTestException;
 import com.invariantproperties.project.student.domain.Instructor;
 import com.invariantproperties.project.student.domain.TestRun;
@@ -172,6 +183,32 @@ public class InstructorFinderServiceImplTest {
         service.findInstructorByUuid("[uuid]");
     }
 
+    @Test
+    public void testFindInstructorsByUuids() {
+        final Instructor first = new Instructor();
+        first.setUuid("[uuid1]");
+        final Instructor second = new Instructor();
+        second.setUuid("[uuid2]");
+        final List<String> uuids = Arrays.asList("[uuid2]", "[missing]", "[uuid1]");
+
+        final InstructorRepository repository = Mockito.mock(InstructorRepository.class);
+        when(repository.findByUuids(anyCollectionOf(String.class))).thenReturn(Arrays.asList(first, second));
+
+        final InstructorFinderService service = new InstructorFinderServiceImpl(repository);
+        final List<Instructor> actual = service.findInstructorsByUuids(uuids);
+
+        assertEquals(Arrays.asList(second, first), actual);
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testFindInstructorsByUuidsError() {
+        final InstructorRepository repository = Mockito.mock(InstructorRepository.class);
+        when(repository.findByUuids(anyCollectionOf(String.class))).thenThrow(new UnitTestException());
+
+        final InstructorFinderService service = new InstructorFinderServiceImpl(repository);
+        service.findInstructorsByUuids(Collections.singletonList("[uuid]"));
+    }
+
     @Test
     public void testFindInstructorsByTestUuid() {
         final TestRun testRun = new TestRun();
@@ -197,4 +234,85 @@ public class InstructorFinderServiceImplTest {
         final InstructorFinderService service = new InstructorFinderServiceImpl(repository);
         service.findInstructorsByTestRun(testRun);
     }
+
+    @Test
+    public void testFindInstructorsPaged() {
+        final Instructor instructor = new Instructor();
+        final List<Instructor> expected = Collections.singletonList(instructor);
+
+        final InstructorRepository repository = Mockito.mock(InstructorRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), eq(0), eq(11))).thenReturn(expected);
+
+        final InstructorFinderService service = new InstructorFinderServiceImpl(repository);
+        final ResultPage<Instructor> actual = service.findInstructors(Paging.first(10, OrderBy.asc("name")));
+
+        assertEquals(expected, actual.getContent());
+        assertFalse(actual.hasNext());
+    }
+
+    @Test
+    public void testFindInstructorsPagedHasNext() {
+        final Instructor first = new Instructor();
+        first.setId(1);
+        first.setName("a");
+        final Instructor second = new Instructor();
+        second.setId(2);
+        second.setName("b");
+
+        final InstructorRepository repository = Mockito.mock(InstructorRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), eq(0), eq(2))).thenReturn(Arrays.asList(first, second));
+
+        final InstructorFinderService service = new InstructorFinderServiceImpl(repository);
+        final ResultPage<Instructor> actual = service.findInstructors(Paging.first(1, OrderBy.desc("name")));
+
+        assertEquals(Collections.singletonList(first), actual.getContent());
+        assertTrue(actual.hasNext());
+        assertEquals(Arrays.<Object> asList("a", 1), actual.getNext().getAfter());
+        assertEquals(Collections.singletonList(OrderBy.desc("name")), actual.getNext().getOrderBy());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindInstructorsPagedBadSort() {
+        final InstructorRepository repository = Mockito.mock(InstructorRepository.class);
+
+        final InstructorFinderService service = new InstructorFinderServiceImpl(repository);
+        service.findInstructors(Paging.first(10, OrderBy.asc("testRun")));
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testFindInstructorsPagedError() {
+        final TestRun testRun = new TestRun();
+
+        final InstructorRepository repository = Mockito.mock(InstructorRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), anyInt(), anyInt())).thenThrow(new UnitTestException());
+
+        final InstructorFinderService service = new InstructorFinderServiceImpl(repository);
+        service.findInstructorsByTestRun(testRun, Paging.first(10));
+    }
+
+    @Test
+    public void testExport() throws IOException {
+        final TestRun testRun = new TestRun();
+        @SuppressWarnings("unchecked")
+        final ResultHandler<Instructor> handler = Mockito.mock(ResultHandler.class);
+
+        final InstructorRepository repository = Mockito.mock(InstructorRepository.class);
+
+        final InstructorFinderService service = new InstructorFinderServiceImpl(repository);
+        service.export(testRun, handler);
+
+        verify(repository).scroll(any(sClass), eq(PagingSupport.ID_ORDER), eq(PagingSupport.FETCH_SIZE), eq(handler));
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testExportError() throws IOException {
+        @SuppressWarnings("unchecked")
+        final ResultHandler<Instructor> handler = Mockito.mock(ResultHandler.class);
+
+        final InstructorRepository repository = Mockito.mock(InstructorRepository.class);
+        doThrow(new UnitTestException()).when(repository).scroll(any(sClass), any(Sort.class), anyInt(), eq(handler));
+
+        final InstructorFinderService service = new InstructorFinderServiceImpl(repository);
+        service.export(null, handler);
+    }
 }
@@ -23,13 +23,20 @@
 package com.invariantproperties.project.student.business;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.invariantproperties.project.student.business.InstructorManagerService;
 import com.invariantproperties.project.student.business.InstructorManagerServiceImpl;
@@ -46,6 +53,8 @@ import com.invariantproperties.project.student.repository.InstructorRepository;
  */
 public class InstructorManagerServiceImplTest {
     private static final String UUID = "11111111-1111-1111-1111-111111111111";
+    private static final String MISSING_UUID = "22222222-2222-2222-2222-222222222222";
+    private final Class<Specification<Instructor>> sClass = null;
 
     @Test
     public void testCreateInstructor() {
@@ -117,6 +126,7 @@ public class InstructorManagerServiceImplTest {
     public void testDeleteInstructor() {
         final Instructor expected = new Instructor();
         expected.setUuid(UUID);
+        expected.setVersion(0);
 
         final InstructorRepository repository = Mockito.mock(InstructorRepository.class);
         when(repository.findInstructorByUuid(any(String.class))).thenReturn(expected);
@@ -139,6 +149,7 @@ public class InstructorManagerServiceImplTest {
     public void testDeleteInstructorError() {
         final Instructor expected = new Instructor();
         expected.setUuid(UUID);
+        expected.setVersion(0);
 
         final InstructorRepository repository = Mockito.mock(InstructorRepository.class);
         when(repository.findInstructorByUuid(any(String.class))).thenReturn(expected);
@@ -147,4 +158,66 @@ public class InstructorManagerServiceImplTest {
         final InstructorManagerService service = new InstructorManagerServiceImpl(repository);
         service.deleteInstructor(expected.getUuid(), 0);
     }
+
+    @Test
+    public void testCreateInstructors() {
+        final Instructor first = new Instructor();
+        first.setName("first");
+        final Instructor second = new Instructor();
+        second.setName("second");
+
+        final InstructorRepository repository = Mockito.mock(InstructorRepository.class);
+        when(repository.save(any(Instructor.class))).thenReturn(first, second);
+
+        final InstructorManagerService service = new InstructorManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<Instructor> actual = service.createInstructors(Arrays.asList(first, second));
+
+        assertTrue(actual.isSuccess());
+        assertEquals(Arrays.asList(first, second), actual.getSucceeded());
+        verify(repository).flush();
+    }
+
+    @Test
+    public void testUpdateInstructors() {
+        final Instructor existing = new Instructor();
+        existing.setUuid(UUID);
+        final Instructor update = new Instructor();
+        update.setUuid(UUID);
+        update.setName("updated");
+        final Instructor missing = new Instructor();
+        missing.setUuid(MISSING_UUID);
+
+        final InstructorRepository repository = Mockito.mock(InstructorRepository.class);
+        when(repository.findAll(any(sClass))).thenReturn(Collections.singletonList(existing));
+        when(repository.save(any(Instructor.class))).thenReturn(existing);
+
+        final InstructorManagerService service = new InstructorManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<Instructor> actual = service.updateInstructors(Arrays.asList(update, missing));
+
+        assertEquals(Collections.singletonList(existing), actual.getSucceeded());
+        assertEquals("updated", existing.getName());
+        assertEquals(1, actual.getFailures().size());
+        assertEquals(1, actual.getFailures().get(0).getIndex());
+        assertEquals(MISSING_UUID, actual.getFailures().get(0).getUuid());
+    }
+
+    @Test
+    public void testDeleteInstructors() {
+        final Instructor existing = new Instructor();
+        existing.setUuid(UUID);
+
+        final InstructorRepository repository = Mockito.mock(InstructorRepository.class);
+        when(repository.findAll(any(sClass))).thenReturn(Collections.singletonList(existing));
+
+        final InstructorManagerService service = new InstructorManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<String> actual = service.deleteInstructors(Arrays.asList(UUID, MISSING_UUID));
+
+        assertEquals(Collections.singletonList(UUID), actual.getSucceeded());
+        assertEquals(1, actual.getFailures().size());
+        assertEquals(MISSING_UUID, actual.getFailures().get(0).getUuid());
+        verify(repository).delete(existing);
+    }
 }
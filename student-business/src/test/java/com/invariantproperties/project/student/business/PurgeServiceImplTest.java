@@ -0,0 +1,146 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.Term;
+import com.invariantproperties.project.student.domain.TestRun;
+import com.invariantproperties.project.student.repository.ClassroomRepository;
+import com.invariantproperties.project.student.repository.CourseRepository;
+import com.invariantproperties.project.student.repository.SectionRepository;
+import com.invariantproperties.project.student.repository.TermRepository;
+import com.invariantproperties.project.student.repository.TestRunRepository;
+
+/**
+ * Unit tests for PurgeServiceImpl.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class PurgeServiceImplTest {
+    private static final String UUID = "11111111-1111-1111-1111-111111111111";
+
+    private TestRunRepository testRunRepository;
+    private TermRepository termRepository;
+    private CourseRepository courseRepository;
+    private SectionRepository sectionRepository;
+    private ExecutorService executor;
+    private FinderCaches finderCaches;
+    private PurgeService service;
+
+    @Before
+    public void setup() {
+        testRunRepository = Mockito.mock(TestRunRepository.class);
+        termRepository = Mockito.mock(TermRepository.class);
+        courseRepository = Mockito.mock(CourseRepository.class);
+        sectionRepository = Mockito.mock(SectionRepository.class);
+        executor = Executors.newSingleThreadExecutor();
+        finderCaches = Mockito.mock(FinderCaches.class);
+        service = new PurgeServiceImpl(testRunRepository, termRepository, courseRepository, sectionRepository,
+                Mockito.mock(ClassroomRepository.class), Mockito.mock(PlatformTransactionManager.class), executor,
+                finderCaches);
+    }
+
+    @After
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testPurgeTestRun() throws Exception {
+        final TestRun testRun = new TestRun();
+        final PurgeResult expected = new PurgeResult(UUID, Collections.singletonMap("test_run", 1));
+        when(testRunRepository.findTestRunByUuid(UUID)).thenReturn(testRun);
+        when(testRunRepository.purgeTestRun(testRun, null)).thenReturn(expected);
+
+        assertEquals(expected, get(service.purgeTestRun(UUID, null)));
+        verify(sectionRepository).evictCollectionCaches();
+        verify(finderCaches).invalidateAll();
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
+    public void testPurgeTestRunMissing() throws Exception {
+        get(service.purgeTestRun(UUID, null));
+    }
+
+    @Test
+    public void testPurgeTerm() throws Exception {
+        final Term term = new Term();
+        final PurgeResult expected = new PurgeResult(UUID, Collections.singletonMap("term", 1));
+        when(termRepository.findTermByUuid(UUID)).thenReturn(term);
+        when(testRunRepository.purgeTerm(term, null)).thenReturn(expected);
+
+        assertEquals(expected, get(service.purgeTerm(UUID, null)));
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testPurgeTermError() throws Exception {
+        when(termRepository.findTermByUuid(UUID)).thenReturn(new Term());
+        when(testRunRepository.purgeTerm(any(Term.class), any(PurgeListener.class))).thenThrow(
+                new UnitTestException());
+
+        get(service.purgeTerm(UUID, null));
+    }
+
+    @Test
+    public void testPurgeCourse() throws Exception {
+        final Course course = new Course();
+        final PurgeResult expected = new PurgeResult(UUID, Collections.singletonMap("course", 1));
+        when(courseRepository.findCourseByUuid(UUID)).thenReturn(course);
+        when(testRunRepository.purgeCourse(course, null)).thenReturn(expected);
+
+        assertEquals(expected, get(service.purgeCourse(UUID, null)));
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
+    public void testPurgeCourseMissing() throws Exception {
+        get(service.purgeCourse(UUID, null));
+    }
+
+    /**
+     * Wait for the purge and rethrow its exception.
+     */
+    private static PurgeResult get(Future<PurgeResult> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.business;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit tests for RequestCoalescer.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class RequestCoalescerTest {
+    private static final String NAME = "test";
+    private static final int CALLERS = 8;
+
+    private RequestCoalescer coalescer;
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        coalescer = new RequestCoalescer(null);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentCallsAreCoalesced() throws Exception {
+        final Object result = new Object();
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final List<Future<Object>> futures = new ArrayList<Future<Object>>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    return coalescer.execute(NAME, "key", new Callable<Object>() {
+                        @Override
+                        public Object call() throws Exception {
+                            executions.incrementAndGet();
+                            release.await();
+                            return result;
+                        }
+                    });
+                }
+            }));
+        }
+
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Object> future : futures) {
+            assertSame(result, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executions.get());
+        assertEquals(CALLERS, coalescer.getCalls(NAME));
+        assertEquals(CALLERS - 1, coalescer.getCoalesced(NAME));
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    public void testExceptionIsShared() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final List<Future<Object>> futures = new ArrayList<Future<Object>>();
+        for (int i = 0; i < 2; i++) {
+            futures.add(executor.submit(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    try {
+                        return coalescer.execute(NAME, "key", new Callable<Object>() {
+                            @Override
+                            public Object call() throws Exception {
+                                release.await();
+                                throw new UnitTestException();
+                            }
+                        });
+                    } catch (UnitTestException e) {
+                        return e;
+                    }
+                }
+            }));
+        }
+
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertSame(futures.get(0).get(5, TimeUnit.SECONDS), futures.get(1).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSequentialCallsAreNotCoalesced() throws Exception {
+        final AtomicInteger executions = new AtomicInteger();
+        final Callable<Object> call = new Callable<Object>() {
+            @Override
+            public Object call() {
+                return executions.incrementAndGet();
+            }
+        };
+
+        assertEquals(1, coalescer.execute(NAME, "key", call));
+        assertEquals(2, coalescer.execute(NAME, "key", call));
+        assertEquals(0, coalescer.getCoalesced());
+        assertEquals(2, coalescer.getCalls());
+    }
+
+    @Test
+    public void testDifferentKeysAreNotCoalesced() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(2);
+
+        for (final String key : new String[] { "a", "b" }) {
+            executor.submit(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    return coalescer.execute(NAME, key, new Callable<Object>() {
+                        @Override
+                        public Object call() throws Exception {
+                            started.countDown();
+                            release.await();
+                            return key;
+                        }
+                    });
+                }
+            });
+        }
+
+        try {
+            // both calls must be in flight at the same time
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertEquals(2, coalescer.getInFlight());
+            assertEquals(Collections.singletonMap(NAME, 0L), coalescer.getCoalescedByName());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testDisabled() {
+        final MockEnvironment env = new MockEnvironment();
+        env.setProperty(RequestCoalescer.PROPERTY_NAME_ENABLED, "false");
+        assertFalse(new RequestCoalescer(env).isEnabled());
+        assertTrue(coalescer.isEnabled());
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (coalescer.getCoalesced(NAME) < expected) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("callers were not coalesced");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
@@ -23,23 +23,35 @@
 package com.invariantproperties.project.student.business;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
 import com.invariantproperties.project.student.business.PersistenceException;
+import com.invariantproperties.project.student.business.ResultHandler;
 import com.invariantproperties.project.student.business.SectionFinderService;
 import com.invariantproperties.project.student.business.SectionFinderServiceImpl;
 import com.invariantproperties.project.student.business.UnitTestException;
 import com.invariantproperties.project.student.domain.Section;
 import com.invariantproperties.project.student.domain.TestRun;
+import com.invariantproperties.project.student.repository.SectionFetchProfile;
 import com.invariantproperties.project.student.repository.SectionRepository;
 
 /**
@@ -91,7 +103,7 @@ public class SectionFinderServiceImplTest {
         final List<Section> expected = Collections.emptyList();
 
         final SectionRepository repository = Mockito.mock(SectionRepository.class);
-        when(repository.findAll(any(sClass))).thenReturn(expected);
+        when(repository.findAll(any(sClass), any(Sort.class), eq(SectionFetchProfile.SUMMARY))).thenReturn(expected);
 
         final SectionFinderService service = new SectionFinderServiceImpl(repository);
         final List<Section> actual = service.findAllSections();
@@ -102,7 +114,7 @@ public class SectionFinderServiceImplTest {
     @Test(expected = PersistenceException.class)
     public void testFindAllSectionsError() {
         final SectionRepository repository = Mockito.mock(SectionRepository.class);
-        when(repository.findAll(any(sClass))).thenThrow(new UnitTestException());
+        when(repository.findAll(any(sClass), any(Sort.class), eq(SectionFetchProfile.SUMMARY))).thenThrow(new UnitTestException());
 
         final SectionFinderService service = new SectionFinderServiceImpl(repository);
         service.findAllSections();
@@ -172,6 +184,32 @@ public class SectionFinderServiceImplTest {
         service.findSectionByUuid("[uuid]");
     }
 
+    @Test
+    public void testFindSectionsByUuids() {
+        final Section first = new Section();
+        first.setUuid("[uuid1]");
+        final Section second = new Section();
+        second.setUuid("[uuid2]");
+        final List<String> uuids = Arrays.asList("[uuid2]", "[missing]", "[uuid1]");
+
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+        when(repository.findByUuids(anyCollectionOf(String.class))).thenReturn(Arrays.asList(first, second));
+
+        final SectionFinderService service = new SectionFinderServiceImpl(repository);
+        final List<Section> actual = service.findSectionsByUuids(uuids);
+
+        assertEquals(Arrays.asList(second, first), actual);
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testFindSectionsByUuidsError() {
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+        when(repository.findByUuids(anyCollectionOf(String.class))).thenThrow(new UnitTestException());
+
+        final SectionFinderService service = new SectionFinderServiceImpl(repository);
+        service.findSectionsByUuids(Collections.singletonList("[uuid]"));
+    }
+
     @Test
     public void testFindSectionByTestUuid() {
         final TestRun testRun = new TestRun();
@@ -179,7 +217,7 @@ public class SectionFinderServiceImplTest {
         final List<Section> expected = Collections.singletonList(section);
 
         final SectionRepository repository = Mockito.mock(SectionRepository.class);
-        when(repository.findAll(any(sClass))).thenReturn(expected);
+        when(repository.findAll(any(sClass), any(Sort.class), eq(SectionFetchProfile.SUMMARY))).thenReturn(expected);
 
         final SectionFinderService service = new SectionFinderServiceImpl(repository);
         final List<Section> actual = service.findSectionsByTestRun(testRun);
@@ -192,9 +230,116 @@ public class SectionFinderServiceImplTest {
         final TestRun testRun = new TestRun();
 
         final SectionRepository repository = Mockito.mock(SectionRepository.class);
-        when(repository.findAll(any(sClass))).thenThrow(new UnitTestException());
+        when(repository.findAll(any(sClass), any(Sort.class), eq(SectionFetchProfile.SUMMARY))).thenThrow(new UnitTestException());
 
         final SectionFinderService service = new SectionFinderServiceImpl(repository);
         service.findSectionsByTestRun(testRun);
     }
+
+    @Test
+    public void testFindSectionsPaged() {
+        final Section section = new Section();
+        final List<Section> expected = Collections.singletonList(section);
+
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), eq(0), eq(11), eq(SectionFetchProfile.SUMMARY))).thenReturn(expected);
+
+        final SectionFinderService service = new SectionFinderServiceImpl(repository);
+        final ResultPage<Section> actual = service.findSections(Paging.first(10, OrderBy.asc("name")));
+
+        assertEquals(expected, actual.getContent());
+        assertFalse(actual.hasNext());
+    }
+
+    @Test
+    public void testFindSectionsPagedHasNext() {
+        final Section first = new Section();
+        first.setId(1);
+        first.setName("a");
+        final Section second = new Section();
+        second.setId(2);
+        second.setName("b");
+
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), eq(0), eq(2), eq(SectionFetchProfile.SUMMARY)))
+                .thenReturn(Arrays.asList(first, second));
+
+        final SectionFinderService service = new SectionFinderServiceImpl(repository);
+        final ResultPage<Section> actual = service.findSections(Paging.first(1, OrderBy.desc("name")));
+
+        assertEquals(Collections.singletonList(first), actual.getContent());
+        assertTrue(actual.hasNext());
+        assertEquals(Arrays.<Object> asList("a", 1), actual.getNext().getAfter());
+        assertEquals(Collections.singletonList(OrderBy.desc("name")), actual.getNext().getOrderBy());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindSectionsPagedBadSort() {
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+
+        final SectionFinderService service = new SectionFinderServiceImpl(repository);
+        service.findSections(Paging.first(10, OrderBy.asc("testRun")));
+    }
+
+    @Test
+    public void testFindSectionsPagedWithRoster() {
+        final TestRun testRun = new TestRun();
+        final Section section = new Section();
+        final List<Section> expected = Collections.singletonList(section);
+
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), eq(0), eq(11), eq(SectionFetchProfile.WITH_ROSTER)))
+                .thenReturn(expected);
+
+        final SectionFinderService service = new SectionFinderServiceImpl(repository);
+        final ResultPage<Section> actual = service.findSectionsByTestRun(testRun, Paging.first(10), "withRoster");
+
+        assertEquals(expected, actual.getContent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindSectionsPagedUnknownFetchProfile() {
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+
+        final SectionFinderService service = new SectionFinderServiceImpl(repository);
+        service.findSectionsByTestRun(null, Paging.first(10), "everything");
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testFindSectionsPagedError() {
+        final TestRun testRun = new TestRun();
+
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), anyInt(), anyInt(), any(SectionFetchProfile.class)))
+                .thenThrow(new UnitTestException());
+
+        final SectionFinderService service = new SectionFinderServiceImpl(repository);
+        service.findSectionsByTestRun(testRun, Paging.first(10));
+    }
+
+    @Test
+    public void testExport() throws IOException {
+        final TestRun testRun = new TestRun();
+        @SuppressWarnings("unchecked")
+        final ResultHandler<Section> handler = Mockito.mock(ResultHandler.class);
+
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+
+        final SectionFinderService service = new SectionFinderServiceImpl(repository);
+        service.export(testRun, handler);
+
+        verify(repository).scroll(any(sClass), eq(PagingSupport.ID_ORDER), eq(PagingSupport.FETCH_SIZE), eq(handler));
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testExportError() throws IOException {
+        @SuppressWarnings("unchecked")
+        final ResultHandler<Section> handler = Mockito.mock(ResultHandler.class);
+
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+        doThrow(new UnitTestException()).when(repository).scroll(any(sClass), any(Sort.class), anyInt(), eq(handler));
+
+        final SectionFinderService service = new SectionFinderServiceImpl(repository);
+        service.export(null, handler);
+    }
 }
@@ -23,13 +23,21 @@
 package com.invariantproperties.project.student.business;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
 import com.invariantproperties.project.student.business.PersistenceException;
@@ -37,7 +45,9 @@ import com.invariantproperties.project.student.business.SectionManagerService;
 import com.invariantproperties.project.student.business.SectionManagerServiceImpl;
 import com.invariantproperties.project.student.business.UnitTestException;
 import com.invariantproperties.project.student.domain.Section;
+import com.invariantproperties.project.student.domain.Student;
 import com.invariantproperties.project.student.repository.SectionRepository;
+import com.invariantproperties.project.student.repository.StudentRepository;
 
 /**
  * Unit tests for SectionServiceImpl.
@@ -46,6 +56,9 @@ import com.invariantproperties.project.student.repository.SectionRepository;
  */
 public class SectionManagerServiceImplTest {
     private static final String UUID = "11111111-1111-1111-1111-111111111111";
+    private static final String MISSING_UUID = "22222222-2222-2222-2222-222222222222";
+    private static final String STUDENT_UUID = "33333333-3333-3333-3333-333333333333";
+    private final Class<Specification<Section>> sClass = null;
 
     @Test
     public void testCreateSection() {
@@ -114,6 +127,7 @@ public class SectionManagerServiceImplTest {
     public void testDeleteSection() {
         final Section expected = new Section();
         expected.setUuid(UUID);
+        expected.setVersion(0);
 
         final SectionRepository repository = Mockito.mock(SectionRepository.class);
         when(repository.findSectionByUuid(any(String.class))).thenReturn(expected);
@@ -121,6 +135,7 @@ public class SectionManagerServiceImplTest {
 
         final SectionManagerService service = new SectionManagerServiceImpl(repository);
         service.deleteSection(expected.getUuid(), 0);
+        verify(repository).evictCollectionCaches();
     }
 
     @Test(expected = ObjectNotFoundException.class)
@@ -136,6 +151,7 @@ public class SectionManagerServiceImplTest {
     public void testDeleteSectionError() {
         final Section expected = new Section();
         expected.setUuid(UUID);
+        expected.setVersion(0);
 
         final SectionRepository repository = Mockito.mock(SectionRepository.class);
         when(repository.findSectionByUuid(any(String.class))).thenReturn(expected);
@@ -144,4 +160,128 @@ public class SectionManagerServiceImplTest {
         final SectionManagerService service = new SectionManagerServiceImpl(repository);
         service.deleteSection(expected.getUuid(), 0);
     }
+
+    @Test
+    public void testCreateSections() {
+        final Section first = new Section();
+        first.setName("first");
+        final Section second = new Section();
+        second.setName("second");
+
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+        when(repository.save(any(Section.class))).thenReturn(first, second);
+
+        final SectionManagerService service = new SectionManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<Section> actual = service.createSections(Arrays.asList(first, second));
+
+        assertTrue(actual.isSuccess());
+        assertEquals(Arrays.asList(first, second), actual.getSucceeded());
+        verify(repository).flush();
+    }
+
+    @Test
+    public void testUpdateSections() {
+        final Section existing = new Section();
+        existing.setUuid(UUID);
+        final Section update = new Section();
+        update.setUuid(UUID);
+        update.setName("updated");
+        final Section missing = new Section();
+        missing.setUuid(MISSING_UUID);
+
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+        when(repository.findAll(any(sClass))).thenReturn(Collections.singletonList(existing));
+        when(repository.save(any(Section.class))).thenReturn(existing);
+
+        final SectionManagerService service = new SectionManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<Section> actual = service.updateSections(Arrays.asList(update, missing));
+
+        assertEquals(Collections.singletonList(existing), actual.getSucceeded());
+        assertEquals("updated", existing.getName());
+        assertEquals(1, actual.getFailures().size());
+        assertEquals(1, actual.getFailures().get(0).getIndex());
+        assertEquals(MISSING_UUID, actual.getFailures().get(0).getUuid());
+    }
+
+    @Test
+    public void testDeleteSections() {
+        final Section existing = new Section();
+        existing.setUuid(UUID);
+
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+        when(repository.findAll(any(sClass))).thenReturn(Collections.singletonList(existing));
+
+        final SectionManagerService service = new SectionManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<String> actual = service.deleteSections(Arrays.asList(UUID, MISSING_UUID));
+
+        assertEquals(Collections.singletonList(UUID), actual.getSucceeded());
+        assertEquals(1, actual.getFailures().size());
+        assertEquals(MISSING_UUID, actual.getFailures().get(0).getUuid());
+        verify(repository).delete(existing);
+    }
+
+    @Test
+    public void testAddStudentToSection() {
+        final Section section = new Section();
+        final Student student = new Student();
+
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+        final StudentRepository studentRepository = Mockito.mock(StudentRepository.class);
+        when(repository.findSectionByUuid(UUID)).thenReturn(section);
+        when(studentRepository.findStudentByUuid(STUDENT_UUID)).thenReturn(student);
+        when(repository.addStudent(section, student)).thenReturn(true);
+
+        final SectionManagerService service = new SectionManagerServiceImpl(repository, studentRepository);
+        assertTrue(service.addStudentToSection(UUID, STUDENT_UUID));
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
+    public void testAddStudentToSectionMissingSection() {
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+        final StudentRepository studentRepository = Mockito.mock(StudentRepository.class);
+
+        final SectionManagerService service = new SectionManagerServiceImpl(repository, studentRepository);
+        service.addStudentToSection(MISSING_UUID, STUDENT_UUID);
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
+    public void testAddStudentToSectionMissingStudent() {
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+        final StudentRepository studentRepository = Mockito.mock(StudentRepository.class);
+        when(repository.findSectionByUuid(UUID)).thenReturn(new Section());
+
+        final SectionManagerService service = new SectionManagerServiceImpl(repository, studentRepository);
+        service.addStudentToSection(UUID, STUDENT_UUID);
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testAddStudentToSectionError() {
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+        final StudentRepository studentRepository = Mockito.mock(StudentRepository.class);
+        when(repository.findSectionByUuid(UUID)).thenReturn(new Section());
+        when(studentRepository.findStudentByUuid(STUDENT_UUID)).thenReturn(new Student());
+        when(repository.addStudent(any(Section.class), any(Student.class))).thenThrow(new UnitTestException());
+
+        final SectionManagerService service = new SectionManagerServiceImpl(repository, studentRepository);
+        service.addStudentToSection(UUID, STUDENT_UUID);
+    }
+
+    @Test
+    public void testRemoveStudentFromSection() {
+        final Section section = new Section();
+        final Student student = new Student();
+
+        final SectionRepository repository = Mockito.mock(SectionRepository.class);
+        final StudentRepository studentRepository = Mockito.mock(StudentRepository.class);
+        when(repository.findSectionByUuid(UUID)).thenReturn(section);
+        when(studentRepository.findStudentByUuid(STUDENT_UUID)).thenReturn(student);
+        when(repository.removeStudent(section, student)).thenReturn(false);
+
+        final SectionManagerService service = new SectionManagerServiceImpl(repository, studentRepository);
+        assertFalse(service.removeStudentFromSection(UUID, STUDENT_UUID));
+        verify(repository).removeStudent(section, student);
+    }
 }
@@ -23,18 +23,29 @@
 package com.invariantproperties.project.student.business;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
 import com.invariantproperties.project.student.business.PersistenceException;
+import com.invariantproperties.project.student.business.ResultHandler;
 import com.invariantproperties.project.student.business.StudentFinderService;
 import com.invariantproperties.project.student.business.StudentFinderServiceImpl;
 import com.invariantproperties.project.student.business.UnitTestException;
@@ -172,6 +183,32 @@ public class StudentFinderServiceImplTest {
         service.findStudentByUuid("[uuid]");
     }
 
+    @Test
+    public void testFindStudentsByUuids() {
+        final Student first = new Student();
+        first.setUuid("[uuid1]");
+        final Student second = new Student();
+        second.setUuid("[uuid2]");
+        final List<String> uuids = Arrays.asList("[uuid2]", "[missing]", "[uuid1]");
+
+        final StudentRepository repository = Mockito.mock(StudentRepository.class);
+        when(repository.findByUuids(anyCollectionOf(String.class))).thenReturn(Arrays.asList(first, second));
+
+        final StudentFinderService service = new StudentFinderServiceImpl(repository);
+        final List<Student> actual = service.findStudentsByUuids(uuids);
+
+        assertEquals(Arrays.asList(second, first), actual);
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testFindStudentsByUuidsError() {
+        final StudentRepository repository = Mockito.mock(StudentRepository.class);
+        when(repository.findByUuids(anyCollectionOf(String.class))).thenThrow(new UnitTestException());
+
+        final StudentFinderService service = new StudentFinderServiceImpl(repository);
+        service.findStudentsByUuids(Collections.singletonList("[uuid]"));
+    }
+
     @Test
     public void testFindStudentByTestUuid() {
         final TestRun testRun = new TestRun();
@@ -197,4 +234,85 @@ public class StudentFinderServiceImplTest {
         final StudentFinderService service = new StudentFinderServiceImpl(repository);
         service.findStudentsByTestRun(testRun);
     }
+
+    @Test
+    public void testFindStudentsPaged() {
+        final Student student = new Student();
+        final List<Student> expected = Collections.singletonList(student);
+
+        final StudentRepository repository = Mockito.mock(StudentRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), eq(0), eq(11))).thenReturn(expected);
+
+        final StudentFinderService service = new StudentFinderServiceImpl(repository);
+        final ResultPage<Student> actual = service.findStudents(Paging.first(10, OrderBy.asc("name")));
+
+        assertEquals(expected, actual.getContent());
+        assertFalse(actual.hasNext());
+    }
+
+    @Test
+    public void testFindStudentsPagedHasNext() {
+        final Student first = new Student();
+        first.setId(1);
+        first.setName("a");
+        final Student second = new Student();
+        second.setId(2);
+        second.setName("b");
+
+        final StudentRepository repository = Mockito.mock(StudentRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), eq(0), eq(2))).thenReturn(Arrays.asList(first, second));
+
+        final StudentFinderService service = new StudentFinderServiceImpl(repository);
+        final ResultPage<Student> actual = service.findStudents(Paging.first(1, OrderBy.desc("name")));
+
+        assertEquals(Collections.singletonList(first), actual.getContent());
+        assertTrue(actual.hasNext());
+        assertEquals(Arrays.<Object> asList("a", 1), actual.getNext().getAfter());
+        assertEquals(Collections.singletonList(OrderBy.desc("name")), actual.getNext().getOrderBy());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindStudentsPagedBadSort() {
+        final StudentRepository repository = Mockito.mock(StudentRepository.class);
+
+        final StudentFinderService service = new StudentFinderServiceImpl(repository);
+        service.findStudents(Paging.first(10, OrderBy.asc("testRun")));
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testFindStudentsPagedError() {
+        final TestRun testRun = new TestRun();
+
+        final StudentRepository repository = Mockito.mock(StudentRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), anyInt(), anyInt())).thenThrow(new UnitTestException());
+
+        final StudentFinderService service = new StudentFinderServiceImpl(repository);
+        service.findStudentsByTestRun(testRun, Paging.first(10));
+    }
+
+    @Test
+    public void testExport() throws IOException {
+        final TestRun testRun = new TestRun();
+        @SuppressWarnings("unchecked")
+        final ResultHandler<Student> handler = Mockito.mock(ResultHandler.class);
+
+        final StudentRepository repository = Mockito.mock(StudentRepository.class);
+
+        final StudentFinderService service = new StudentFinderServiceImpl(repository);
+        service.export(testRun, handler);
+
+        verify(repository).scroll(any(sClass), eq(PagingSupport.ID_ORDER), eq(PagingSupport.FETCH_SIZE), eq(handler));
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testExportError() throws IOException {
+        @SuppressWarnings("unchecked")
+        final ResultHandler<Student> handler = Mockito.mock(ResultHandler.class);
+
+        final StudentRepository repository = Mockito.mock(StudentRepository.class);
+        doThrow(new UnitTestException()).when(repository).scroll(any(sClass), any(Sort.class), anyInt(), eq(handler));
+
+        final StudentFinderService service = new StudentFinderServiceImpl(repository);
+        service.export(null, handler);
+    }
 }
@@ -23,13 +23,20 @@
 package com.invariantproperties.project.student.business;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
 import com.invariantproperties.project.student.business.PersistenceException;
@@ -46,6 +53,8 @@ import com.invariantproperties.project.student.repository.StudentRepository;
  */
 public class StudentManagerServiceImplTest {
     private static final String UUID = "11111111-1111-1111-1111-111111111111";
+    private static final String MISSING_UUID = "22222222-2222-2222-2222-222222222222";
+    private final Class<Specification<Student>> sClass = null;
 
     @Test
     public void testCreateStudent() {
@@ -117,6 +126,7 @@ public class StudentManagerServiceImplTest {
     public void testDeleteStudent() {
         final Student expected = new Student();
         expected.setUuid(UUID);
+        expected.setVersion(0);
 
         final StudentRepository repository = Mockito.mock(StudentRepository.class);
         when(repository.findStudentByUuid(any(String.class))).thenReturn(expected);
@@ -139,6 +149,7 @@ public class StudentManagerServiceImplTest {
     public void testDeleteStudentError() {
         final Student expected = new Student();
         expected.setUuid(UUID);
+        expected.setVersion(0);
 
         final StudentRepository repository = Mockito.mock(StudentRepository.class);
         when(repository.findStudentByUuid(any(String.class))).thenReturn(expected);
@@ -147,4 +158,66 @@ public class StudentManagerServiceImplTest {
         final StudentManagerService service = new StudentManagerServiceImpl(repository);
         service.deleteStudent(expected.getUuid(), 0);
     }
+
+    @Test
+    public void testCreateStudents() {
+        final Student first = new Student();
+        first.setName("first");
+        final Student second = new Student();
+        second.setName("second");
+
+        final StudentRepository repository = Mockito.mock(StudentRepository.class);
+        when(repository.save(any(Student.class))).thenReturn(first, second);
+
+        final StudentManagerService service = new StudentManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<Student> actual = service.createStudents(Arrays.asList(first, second));
+
+        assertTrue(actual.isSuccess());
+        assertEquals(Arrays.asList(first, second), actual.getSucceeded());
+        verify(repository).flush();
+    }
+
+    @Test
+    public void testUpdateStudents() {
+        final Student existing = new Student();
+        existing.setUuid(UUID);
+        final Student update = new Student();
+        update.setUuid(UUID);
+        update.setName("updated");
+        final Student missing = new Student();
+        missing.setUuid(MISSING_UUID);
+
+        final StudentRepository repository = Mockito.mock(StudentRepository.class);
+        when(repository.findAll(any(sClass))).thenReturn(Collections.singletonList(existing));
+        when(repository.save(any(Student.class))).thenReturn(existing);
+
+        final StudentManagerService service = new StudentManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<Student> actual = service.updateStudents(Arrays.asList(update, missing));
+
+        assertEquals(Collections.singletonList(existing), actual.getSucceeded());
+        assertEquals("updated", existing.getName());
+        assertEquals(1, actual.getFailures().size());
+        assertEquals(1, actual.getFailures().get(0).getIndex());
+        assertEquals(MISSING_UUID, actual.getFailures().get(0).getUuid());
+    }
+
+    @Test
+    public void testDeleteStudents() {
+        final Student existing = new Student();
+        existing.setUuid(UUID);
+
+        final StudentRepository repository = Mockito.mock(StudentRepository.class);
+        when(repository.findAll(any(sClass))).thenReturn(Collections.singletonList(existing));
+
+        final StudentManagerService service = new StudentManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<String> actual = service.deleteStudents(Arrays.asList(UUID, MISSING_UUID));
+
+        assertEquals(Collections.singletonList(UUID), actual.getSucceeded());
+        assertEquals(1, actual.getFailures().size());
+        assertEquals(MISSING_UUID, actual.getFailures().get(0).getUuid());
+        verify(repository).delete(existing);
+    }
 }
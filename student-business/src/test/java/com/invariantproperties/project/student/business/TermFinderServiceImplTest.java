@@ -23,18 +23,29 @@
 package com.invariantproperties.project.student.business;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
 import com.invariantproperties.project.student.business.PersistenceException;
+import com.invariantproperties.project.student.business.ResultHandler;
 import com.invariantproperties.project.student.business.TermFinderService;
 import com.invariantproperties.project.student.business.TermFinderServiceImpl;
 import com.invariantproperties.project.student.business.UnitTestException;
@@ -93,7 +104,7 @@ public class TermFinderServiceImplTest {
         final List<Term> expected = Collections.emptyList();
 
         final TermRepository repository = Mockito.mock(TermRepository.class);
-        when(repository.findAll(any(sClass))).thenReturn(expected);
+        when(repository.findAllCached(any(sClass))).thenReturn(expected);
 
         final TermFinderService service = new TermFinderServiceImpl(repository);
         final List<Term> actual = service.findAllTerms();
@@ -104,7 +115,7 @@ public class TermFinderServiceImplTest {
     @Test(expected = PersistenceException.class)
     public void testFindAllTermsError() {
         final TermRepository repository = Mockito.mock(TermRepository.class);
-        when(repository.findAll(any(sClass))).thenThrow(new UnitTestException());
+        when(repository.findAllCached(any(sClass))).thenThrow(new UnitTestException());
 
         final TermFinderService service = new TermFinderServiceImpl(repository);
         service.findAllTerms();
@@ -174,6 +185,32 @@ public class TermFinderServiceImplTest {
         service.findTermByUuid("[uuid]");
     }
 
+    @Test
+    public void testFindTermsByUuids() {
+        final Term first = new Term();
+        first.setUuid("[uuid1]");
+        final Term second = new Term();
+        second.setUuid("[uuid2]");
+        final List<String> uuids = Arrays.asList("[uuid2]", "[missing]", "[uuid1]");
+
+        final TermRepository repository = Mockito.mock(TermRepository.class);
+        when(repository.findByUuids(anyCollectionOf(String.class))).thenReturn(Arrays.asList(first, second));
+
+        final TermFinderService service = new TermFinderServiceImpl(repository);
+        final List<Term> actual = service.findTermsByUuids(uuids);
+
+        assertEquals(Arrays.asList(second, first), actual);
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testFindTermsByUuidsError() {
+        final TermRepository repository = Mockito.mock(TermRepository.class);
+        when(repository.findByUuids(anyCollectionOf(String.class))).thenThrow(new UnitTestException());
+
+        final TermFinderService service = new TermFinderServiceImpl(repository);
+        service.findTermsByUuids(Collections.singletonList("[uuid]"));
+    }
+
     @Test
     public void testFindTermsByTestUuid() {
         final TestRun testRun = new TestRun();
@@ -181,7 +218,7 @@ public class TermFinderServiceImplTest {
         final List<Term> expected = Collections.singletonList(term);
 
         final TermRepository repository = Mockito.mock(TermRepository.class);
-        when(repository.findAll(any(sClass))).thenReturn(expected);
+        when(repository.findAllCached(any(sClass))).thenReturn(expected);
 
         final TermFinderService service = new TermFinderServiceImpl(repository);
         final List<Term> actual = service.findTermsByTestRun(testRun);
@@ -194,9 +231,90 @@ public class TermFinderServiceImplTest {
         final TestRun testRun = new TestRun();
 
         final TermRepository repository = Mockito.mock(TermRepository.class);
-        when(repository.findAll(any(sClass))).thenThrow(new UnitTestException());
+        when(repository.findAllCached(any(sClass))).thenThrow(new UnitTestException());
 
         final TermFinderService service = new TermFinderServiceImpl(repository);
         service.findTermsByTestRun(testRun);
     }
+
+    @Test
+    public void testFindTermsPaged() {
+        final Term term = new Term();
+        final List<Term> expected = Collections.singletonList(term);
+
+        final TermRepository repository = Mockito.mock(TermRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), eq(0), eq(11))).thenReturn(expected);
+
+        final TermFinderService service = new TermFinderServiceImpl(repository);
+        final ResultPage<Term> actual = service.findTerms(Paging.first(10, OrderBy.asc("name")));
+
+        assertEquals(expected, actual.getContent());
+        assertFalse(actual.hasNext());
+    }
+
+    @Test
+    public void testFindTermsPagedHasNext() {
+        final Term first = new Term();
+        first.setId(1);
+        first.setName("a");
+        final Term second = new Term();
+        second.setId(2);
+        second.setName("b");
+
+        final TermRepository repository = Mockito.mock(TermRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), eq(0), eq(2))).thenReturn(Arrays.asList(first, second));
+
+        final TermFinderService service = new TermFinderServiceImpl(repository);
+        final ResultPage<Term> actual = service.findTerms(Paging.first(1, OrderBy.desc("name")));
+
+        assertEquals(Collections.singletonList(first), actual.getContent());
+        assertTrue(actual.hasNext());
+        assertEquals(Arrays.<Object> asList("a", 1), actual.getNext().getAfter());
+        assertEquals(Collections.singletonList(OrderBy.desc("name")), actual.getNext().getOrderBy());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindTermsPagedBadSort() {
+        final TermRepository repository = Mockito.mock(TermRepository.class);
+
+        final TermFinderService service = new TermFinderServiceImpl(repository);
+        service.findTerms(Paging.first(10, OrderBy.asc("testRun")));
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testFindTermsPagedError() {
+        final TestRun testRun = new TestRun();
+
+        final TermRepository repository = Mockito.mock(TermRepository.class);
+        when(repository.findRange(any(sClass), any(Sort.class), anyInt(), anyInt())).thenThrow(new UnitTestException());
+
+        final TermFinderService service = new TermFinderServiceImpl(repository);
+        service.findTermsByTestRun(testRun, Paging.first(10));
+    }
+
+    @Test
+    public void testExport() throws IOException {
+        final TestRun testRun = new TestRun();
+        @SuppressWarnings("unchecked")
+        final ResultHandler<Term> handler = Mockito.mock(ResultHandler.class);
+
+        final TermRepository repository = Mockito.mock(TermRepository.class);
+
+        final TermFinderService service = new TermFinderServiceImpl(repository);
+        service.export(testRun, handler);
+
+        verify(repository).scroll(any(sClass), eq(PagingSupport.ID_ORDER), eq(PagingSupport.FETCH_SIZE), eq(handler));
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void testExportError() throws IOException {
+        @SuppressWarnings("unchecked")
+        final ResultHandler<Term> handler = Mockito.mock(ResultHandler.class);
+
+        final TermRepository repository = Mockito.mock(TermRepository.class);
+        doThrow(new UnitTestException()).when(repository).scroll(any(sClass), any(Sort.class), anyInt(), eq(handler));
+
+        final TermFinderService service = new TermFinderServiceImpl(repository);
+        service.export(null, handler);
+    }
 }
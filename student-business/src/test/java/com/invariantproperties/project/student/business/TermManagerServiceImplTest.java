@@ -23,13 +23,20 @@
 package com.invariantproperties.project.student.business;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
 import com.invariantproperties.project.student.business.PersistenceException;
@@ -46,6 +53,8 @@ import com.invariantproperties.project.student.repository.TermRepository;
  */
 public class TermManagerServiceImplTest {
     private static final String UUID = "11111111-1111-1111-1111-111111111111";
+    private static final String MISSING_UUID = "22222222-2222-2222-2222-222222222222";
+    private final Class<Specification<Term>> sClass = null;
 
     @Test
     public void testCreateTerm() {
@@ -114,6 +123,7 @@ public class TermManagerServiceImplTest {
     public void testDeleteTerm() {
         final Term expected = new Term();
         expected.setUuid(UUID);
+        expected.setVersion(0);
 
         final TermRepository repository = Mockito.mock(TermRepository.class);
         when(repository.findTermByUuid(any(String.class))).thenReturn(expected);
@@ -121,6 +131,7 @@ public class TermManagerServiceImplTest {
 
         final TermManagerService service = new TermManagerServiceImpl(repository);
         service.deleteTerm(expected.getUuid(), 0);
+        verify(repository).evictCollectionCaches();
     }
 
     @Test(expected = ObjectNotFoundException.class)
@@ -136,6 +147,7 @@ public class TermManagerServiceImplTest {
     public void testDeleteTermError() {
         final Term expected = new Term();
         expected.setUuid(UUID);
+        expected.setVersion(0);
 
         final TermRepository repository = Mockito.mock(TermRepository.class);
         when(repository.findTermByUuid(any(String.class))).thenReturn(expected);
@@ -144,4 +156,66 @@ public class TermManagerServiceImplTest {
         final TermManagerService service = new TermManagerServiceImpl(repository);
         service.deleteTerm(expected.getUuid(), 0);
     }
+
+    @Test
+    public void testCreateTerms() {
+        final Term first = new Term();
+        first.setName("first");
+        final Term second = new Term();
+        second.setName("second");
+
+        final TermRepository repository = Mockito.mock(TermRepository.class);
+        when(repository.save(any(Term.class))).thenReturn(first, second);
+
+        final TermManagerService service = new TermManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<Term> actual = service.createTerms(Arrays.asList(first, second));
+
+        assertTrue(actual.isSuccess());
+        assertEquals(Arrays.asList(first, second), actual.getSucceeded());
+        verify(repository).flush();
+    }
+
+    @Test
+    public void testUpdateTerms() {
+        final Term existing = new Term();
+        existing.setUuid(UUID);
+        final Term update = new Term();
+        update.setUuid(UUID);
+        update.setName("updated");
+        final Term missing = new Term();
+        missing.setUuid(MISSING_UUID);
+
+        final TermRepository repository = Mockito.mock(TermRepository.class);
+        when(repository.findAll(any(sClass))).thenReturn(Collections.singletonList(existing));
+        when(repository.save(any(Term.class))).thenReturn(existing);
+
+        final TermManagerService service = new TermManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<Term> actual = service.updateTerms(Arrays.asList(update, missing));
+
+        assertEquals(Collections.singletonList(existing), actual.getSucceeded());
+        assertEquals("updated", existing.getName());
+        assertEquals(1, actual.getFailures().size());
+        assertEquals(1, actual.getFailures().get(0).getIndex());
+        assertEquals(MISSING_UUID, actual.getFailures().get(0).getUuid());
+    }
+
+    @Test
+    public void testDeleteTerms() {
+        final Term existing = new Term();
+        existing.setUuid(UUID);
+
+        final TermRepository repository = Mockito.mock(TermRepository.class);
+        when(repository.findAll(any(sClass))).thenReturn(Collections.singletonList(existing));
+
+        final TermManagerService service = new TermManagerServiceImpl(repository,
+                Mockito.mock(PlatformTransactionManager.class));
+        final BulkResult<String> actual = service.deleteTerms(Arrays.asList(UUID, MISSING_UUID));
+
+        assertEquals(Collections.singletonList(UUID), actual.getSucceeded());
+        assertEquals(1, actual.getFailures().size());
+        assertEquals(MISSING_UUID, actual.getFailures().get(0).getUuid());
+        verify(repository).delete(existing);
+    }
 }
@@ -27,6 +27,7 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.xml.bind.annotation.XmlRootElement;
 
@@ -39,6 +40,8 @@ import javax.xml.bind.annotation.XmlRootElement;
 @Entity
 @Table(name = "classroom")
 @AttributeOverride(name = "id", column = @Column(name = "classroom_pkey"))
+@SequenceGenerator(name = PersistentObject.ID_GENERATOR, sequenceName = "classroom_classroom_pkey_seq",
+        allocationSize = PersistentObject.ID_ALLOCATION_SIZE)
 public class Classroom extends TestablePersistentObject {
     private static final long serialVersionUID = 1L;
 
@@ -25,11 +25,14 @@ package com.invariantproperties.project.student.domain;
 import java.util.List;
 
 import javax.persistence.AttributeOverride;
+import javax.persistence.Basic;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.Lob;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.xml.bind.annotation.XmlRootElement;
 
@@ -45,6 +48,8 @@ import javax.xml.bind.annotation.XmlRootElement;
 @Entity
 @Table(name = "course")
 @AttributeOverride(name = "id", column = @Column(name = "course_pkey"))
+@SequenceGenerator(name = PersistentObject.ID_GENERATOR, sequenceName = "course_course_pkey_seq",
+        allocationSize = PersistentObject.ID_ALLOCATION_SIZE)
 public class Course extends TestablePersistentObject {
     private static final long serialVersionUID = 1L;
 
@@ -82,6 +87,12 @@ public class Course extends TestablePersistentObject {
         this.summary = summary;
     }
 
+    /**
+     * The description can be large so it is loaded lazily where the
+     * persistence provider supports it. Listings should use CourseSummary
+     * instead of relying on this.
+     */
+    @Basic(fetch = FetchType.LAZY)
     @Column
     @Lob
     public String getDescription() {
@@ -0,0 +1,167 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.domain;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+/**
+ * Course summary - the columns shown in course listings. It is read with a
+ * projection query so the summary and description columns are never read
+ * from the database or sent over the wire. Use the full Course when the
+ * description is needed.
+ * 
+ * The id is only used as the final keyset paging key. It is not sent to
+ * REST clients.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+@XmlRootElement
+public class CourseSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Integer id;
+    private Integer version;
+    private String uuid;
+    private Date creationDate;
+    private String code;
+    private String name;
+    private Integer creditHours;
+
+    /**
+     * Default constructor.
+     */
+    public CourseSummary() {
+
+    }
+
+    /**
+     * Constructor used by projection queries. The order of the arguments
+     * must match the projection's selection.
+     */
+    public CourseSummary(Integer id, Integer version, String uuid, Date creationDate, String code, String name,
+            Integer creditHours) {
+        this.id = id;
+        this.version = version;
+        this.uuid = uuid;
+        setCreationDate(creationDate);
+        this.code = code;
+        this.name = name;
+        this.creditHours = creditHours;
+    }
+
+    /**
+     * Summary of an existing course.
+     */
+    public CourseSummary(Course course) {
+        this(course.getId(), course.getVersion(), course.getUuid(), course.getCreationDate(), course.getCode(),
+                course.getName(), course.getCreditHours());
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public void setUuid(String uuid) {
+        this.uuid = uuid;
+    }
+
+    public Date getCreationDate() {
+        // security - don't return reference to mutable object
+        return creationDate == null ? null : new Date(creationDate.getTime());
+    }
+
+    public void setCreationDate(Date creationDate) {
+        // security - don't keep reference to mutable object
+        this.creationDate = (creationDate == null ? null : new Date(creationDate.getTime()));
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getCreditHours() {
+        return creditHours;
+    }
+
+    public void setCreditHours(Integer creditHours) {
+        this.creditHours = creditHours;
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder().append(uuid).hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof CourseSummary)) {
+            return false;
+        }
+
+        CourseSummary cs = (CourseSummary) o;
+
+        EqualsBuilder eq = new EqualsBuilder();
+        eq.append(uuid, cs.getUuid());
+
+        return eq.isEquals();
+    }
+
+    public String toString() {
+        return String.format("[%s: %s, %s, '%s', '%s', %d]", this.getClass().getSimpleName(), getId(), getUuid(),
+                getCode(), getName(), getCreditHours());
+    }
+}
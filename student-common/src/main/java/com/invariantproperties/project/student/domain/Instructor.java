@@ -29,6 +29,7 @@ import javax.persistence.AttributeOverride;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.ManyToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.xml.bind.annotation.XmlRootElement;
 
@@ -41,6 +42,8 @@ import javax.xml.bind.annotation.XmlRootElement;
 @Entity
 @Table(name = "instructor")
 @AttributeOverride(name = "id", column = @Column(name = "instructor_pkey"))
+@SequenceGenerator(name = PersistentObject.ID_GENERATOR, sequenceName = "instructor_instructor_pkey_seq",
+        allocationSize = PersistentObject.ID_ALLOCATION_SIZE)
 public class Instructor extends TestablePersistentObject {
     private static final long serialVersionUID = 1L;
 
@@ -24,7 +24,6 @@ package com.invariantproperties.project.student.domain;
 
 import java.io.Serializable;
 import java.util.Date;
-import java.util.UUID;
 
 import javax.persistence.Column;
 import javax.persistence.GeneratedValue;
@@ -55,6 +54,25 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 public abstract class PersistentObject implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Name of the id generator. Every entity defines a @SequenceGenerator
+     * with this name that maps to its own '*_pkey_seq' sequence.
+     */
+    public static final String ID_GENERATOR = "pkey_seq";
+
+    /**
+     * Number of ids reserved per sequence call. This must match the
+     * sequence's 'increment by' value since the pooled optimizer treats the
+     * sequence value as the top of the reserved block.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * How new UUIDs are generated.
+     */
+    private static final UuidStrategy UUID_STRATEGY = UuidStrategy.fromProperty(System
+            .getProperty(UuidStrategy.PROPERTY));
+
     private Integer id;
     private Integer version;
     private String uuid;
@@ -62,7 +80,7 @@ public abstract class PersistentObject implements Serializable {
     private String self;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_GENERATOR)
     public Integer getId() {
         return id;
     }
@@ -117,10 +135,19 @@ public abstract class PersistentObject implements Serializable {
         }
 
         if (getUuid() == null) {
-            setUuid(UUID.randomUUID().toString());
+            setUuid(newUuid());
         }
     }
 
+    /**
+     * Get a new UUID using the configured strategy.
+     * 
+     * @return
+     */
+    public static String newUuid() {
+        return UUID_STRATEGY.nextUuid();
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().append(uuid).hashCode();
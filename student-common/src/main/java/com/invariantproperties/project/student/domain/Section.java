@@ -23,7 +23,9 @@
 package com.invariantproperties.project.student.domain;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import javax.persistence.AttributeOverride;
 import javax.persistence.CascadeType;
@@ -34,6 +36,7 @@ import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.xml.bind.annotation.XmlRootElement;
 
@@ -46,13 +49,15 @@ import javax.xml.bind.annotation.XmlRootElement;
 @Entity
 @Table(name = "section")
 @AttributeOverride(name = "id", column = @Column(name = "section_pkey"))
+@SequenceGenerator(name = PersistentObject.ID_GENERATOR, sequenceName = "section_section_pkey_seq",
+        allocationSize = PersistentObject.ID_ALLOCATION_SIZE)
 public class Section extends TestablePersistentObject {
     private static final long serialVersionUID = 1L;
 
     private String name;
     private Course course;
-    private List<Instructor> instructors = new ArrayList<Instructor>();
-    private List<Student> students = new ArrayList<Student>();
+    private Set<Instructor> instructors = new HashSet<Instructor>();
+    private Set<Student> students = new HashSet<Student>();
     private List<Classroom> classrooms = new ArrayList<Classroom>();
     private Term term;
 
@@ -76,23 +81,28 @@ public class Section extends TestablePersistentObject {
         this.course = course;
     }
 
+    /**
+     * The instructors and students are sets, not bags, so adding or removing
+     * one writes a single join row instead of recreating the collection. The
+     * members must be persisted first since equality is based on the uuid.
+     */
     @ManyToMany
     @JoinTable(name = "section_instructors")
-    public List<Instructor> getInstructors() {
+    public Set<Instructor> getInstructors() {
         return instructors;
     }
 
-    public void setInstructors(List<Instructor> instructors) {
+    public void setInstructors(Set<Instructor> instructors) {
         this.instructors = instructors;
     }
 
     @ManyToMany
     @JoinTable(name = "section_students")
-    public List<Student> getStudents() {
+    public Set<Student> getStudents() {
         return students;
     }
 
-    public void setStudents(List<Student> students) {
+    public void setStudents(Set<Student> students) {
         this.students = students;
     }
 
@@ -29,6 +29,7 @@ import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.xml.bind.annotation.XmlRootElement;
 
@@ -41,6 +42,8 @@ import javax.xml.bind.annotation.XmlRootElement;
 @Entity
 @Table(name = "term")
 @AttributeOverride(name = "id", column = @Column(name = "term_pkey"))
+@SequenceGenerator(name = PersistentObject.ID_GENERATOR, sequenceName = "term_term_pkey_seq",
+        allocationSize = PersistentObject.ID_ALLOCATION_SIZE)
 public class Term extends TestablePersistentObject {
     private static final long serialVersionUID = 1L;
 
@@ -25,12 +25,12 @@ package com.invariantproperties.project.student.domain;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
-import java.util.UUID;
 
 import javax.persistence.AttributeOverride;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.PrePersist;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
@@ -48,6 +48,8 @@ import javax.xml.bind.annotation.XmlRootElement;
 @Entity
 @Table(name = "test_run")
 @AttributeOverride(name = "id", column = @Column(name = "test_run_pkey"))
+@SequenceGenerator(name = PersistentObject.ID_GENERATOR, sequenceName = "test_run_test_run_pkey_seq",
+        allocationSize = PersistentObject.ID_ALLOCATION_SIZE)
 public class TestRun extends PersistentObject {
     private static final long serialVersionUID = 1L;
 
@@ -111,7 +113,7 @@ public class TestRun extends PersistentObject {
         }
 
         if (getUuid() == null) {
-            setUuid(UUID.randomUUID().toString());
+            setUuid(newUuid());
         }
 
         if (getUser() == null) {
@@ -0,0 +1,82 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.domain;
+
+import java.util.UUID;
+
+import com.invariantproperties.project.student.util.TimeOrderedUuid;
+
+/**
+ * How new persistent objects get their UUID. The strategy is chosen once, at
+ * startup, with the 'student.uuid.strategy' system property.
+ * 
+ * RANDOM (the default) gives version 4 UUIDs. TIME_ORDERED gives ids that
+ * increase over time so inserts land at the end of the unique indexes. The
+ * trade-off is that the id reveals when the object was created. Either way
+ * the id is exchanged in its canonical string form.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public enum UuidStrategy {
+    RANDOM {
+        @Override
+        public String nextUuid() {
+            return UUID.randomUUID().toString();
+        }
+    },
+    TIME_ORDERED {
+        @Override
+        public String nextUuid() {
+            return TimeOrderedUuid.next().toString();
+        }
+    };
+
+    public static final String PROPERTY = "student.uuid.strategy";
+
+    /**
+     * Get a new UUID in canonical string form.
+     * 
+     * @return
+     */
+    public abstract String nextUuid();
+
+    /**
+     * Get the strategy named by a system property value, e.g., 'time-ordered'.
+     * 
+     * @param value
+     *            property value, may be null
+     * @return strategy, RANDOM if the value is null or unrecognized
+     */
+    public static UuidStrategy fromProperty(String value) {
+        if (value != null) {
+            final String name = value.trim().toUpperCase().replace('-', '_');
+            for (UuidStrategy strategy : values()) {
+                if (strategy.name().equals(name)) {
+                    return strategy;
+                }
+            }
+        }
+
+        return RANDOM;
+    }
+}
@@ -22,11 +22,8 @@
  */
 package com.invariantproperties.project.student.util;
 
-import java.util.regex.Pattern;
-
 public final class StudentUtil {
-    private static final Pattern UUID_PATTERN = Pattern
-            .compile("^\\p{XDigit}{8}+-\\p{XDigit}{4}+-\\p{XDigit}{4}-\\p{XDigit}{4}+-\\p{XDigit}{12}$");
+    private static final int UUID_LENGTH = 36;
 
     /**
      * Private constructor to prevent instantiation.
@@ -35,7 +32,56 @@ public final class StudentUtil {
 
     }
 
+    /**
+     * Is this value a UUID in the canonical 8-4-4-4-12 hex digit format? This
+     * is a single pass over the characters, not a regular expression, since
+     * it's called on every request.
+     * 
+     * @param value
+     * @return
+     */
     public static boolean isPossibleUuid(String value) {
-        return value != null && UUID_PATTERN.matcher(value).matches();
+        return value != null && isPossibleUuid(value, 0, value.length());
+    }
+
+    /**
+     * Is this region of a string a UUID? This allows callers to check part of
+     * a request path without creating a substring.
+     * 
+     * @param value
+     * @param start
+     *            index of first character
+     * @param end
+     *            index after last character
+     * @return
+     */
+    public static boolean isPossibleUuid(CharSequence value, int start, int end) {
+        if ((value == null) || (end - start != UUID_LENGTH)) {
+            return false;
+        }
+
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            final char c = value.charAt(start + i);
+            if ((i == 8) || (i == 13) || (i == 18) || (i == 23)) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (!isHexDigit(c)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Is this character a hex digit? Only ASCII digits are accepted, like
+     * \p{XDigit}.
+     * 
+     * @param c
+     * @return
+     */
+    static boolean isHexDigit(char c) {
+        return ((c >= '0') && (c <= '9')) || ((c >= 'a') && (c <= 'f')) || ((c >= 'A') && (c <= 'F'));
     }
 }
@@ -0,0 +1,102 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.util;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generator for time-ordered 128-bit identifiers. The layout follows the
+ * proposed version 7 UUID: a 48-bit Unix timestamp in milliseconds, the
+ * version, a 12-bit counter, the IETF variant and 62 random bits.
+ * 
+ * The timestamp and counter are handed out from a single atomic value so ids
+ * from one JVM are strictly increasing, even within a millisecond or if the
+ * clock steps backwards. The canonical string form sorts in the same order
+ * as the ids so new rows are appended to the end of a B-tree index whether
+ * the column is a native uuid or a string.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public final class TimeOrderedUuid {
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3fffffffffffffffL;
+
+    private static final AtomicLong LAST = new AtomicLong();
+    private static final Random RANDOM = new SecureRandom();
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private TimeOrderedUuid() {
+
+    }
+
+    /**
+     * Get the next identifier.
+     * 
+     * @return
+     */
+    public static UUID next() {
+        final long stamp = nextStamp(System.currentTimeMillis());
+        final long msb = ((stamp >>> COUNTER_BITS) << 16) | VERSION | (stamp & ((1L << COUNTER_BITS) - 1));
+        final long lsb = VARIANT | (RANDOM.nextLong() & RANDOM_MASK);
+
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Get the next timestamp and counter. This is the current time with a
+     * zero counter unless that's not after the last value handed out, in
+     * which case it's the last value plus one. A counter overflow carries into
+     * the timestamp.
+     * 
+     * @param now
+     *            current time in milliseconds
+     * @return
+     */
+    static long nextStamp(long now) {
+        final long candidate = now << COUNTER_BITS;
+        while (true) {
+            final long last = LAST.get();
+            final long next = (candidate > last) ? candidate : last + 1;
+            if (LAST.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Get the time, in milliseconds, when an identifier was created.
+     * 
+     * @param uuid
+     * @return
+     */
+    public static long getTimestamp(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.domain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+/**
+ * Tests for UUID strategies.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class UuidStrategyTest {
+
+    @Test
+    public void testFromProperty() {
+        assertEquals(UuidStrategy.RANDOM, UuidStrategy.fromProperty(null));
+        assertEquals(UuidStrategy.RANDOM, UuidStrategy.fromProperty("random"));
+        assertEquals(UuidStrategy.TIME_ORDERED, UuidStrategy.fromProperty("time-ordered"));
+        assertEquals(UuidStrategy.TIME_ORDERED, UuidStrategy.fromProperty(" TIME_ORDERED "));
+        assertEquals(UuidStrategy.RANDOM, UuidStrategy.fromProperty("bogus"));
+    }
+
+    @Test
+    public void testRandom() {
+        assertEquals(4, UUID.fromString(UuidStrategy.RANDOM.nextUuid()).version());
+    }
+
+    @Test
+    public void testTimeOrdered() {
+        final String first = UuidStrategy.TIME_ORDERED.nextUuid();
+        final String second = UuidStrategy.TIME_ORDERED.nextUuid();
+        assertEquals(7, UUID.fromString(first).version());
+        assertTrue(second.compareTo(first) > 0);
+    }
+}
@@ -52,4 +52,18 @@ public class StudentUtilTest {
         assertTrue(!StudentUtil.isPossibleUuid(""));
         assertTrue(!StudentUtil.isPossibleUuid(null));
     }
+
+    @Test
+    public void testUppercaseUuid() {
+        assertTrue(StudentUtil.isPossibleUuid("63C7D688-705C-4374-937C-6628952B41E1"));
+    }
+
+    @Test
+    public void testUuidRegion() {
+        final String path = "/course/63c7d688-705c-4374-937c-6628952b41e1/x";
+        assertTrue(StudentUtil.isPossibleUuid(path, 8, 44));
+        assertTrue(!StudentUtil.isPossibleUuid(path, 7, 44));
+        assertTrue(!StudentUtil.isPossibleUuid(path, 8, 46));
+        assertTrue(!StudentUtil.isPossibleUuid(null, 0, 36));
+    }
 }
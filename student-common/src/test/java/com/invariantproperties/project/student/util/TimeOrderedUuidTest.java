@@ -0,0 +1,74 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+/**
+ * Tests for time-ordered UUIDs.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class TimeOrderedUuidTest {
+
+    @Test
+    public void testFormat() {
+        final UUID uuid = TimeOrderedUuid.next();
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertTrue(StudentUtil.isPossibleUuid(uuid.toString()));
+    }
+
+    @Test
+    public void testTimestamp() {
+        final long before = System.currentTimeMillis();
+        final long timestamp = TimeOrderedUuid.getTimestamp(TimeOrderedUuid.next());
+        final long after = System.currentTimeMillis();
+
+        // the counter may have carried into the timestamp.
+        assertTrue(timestamp >= before);
+        assertTrue(timestamp <= after + 1);
+    }
+
+    @Test
+    public void testOrdering() {
+        String last = TimeOrderedUuid.next().toString();
+        for (int i = 0; i < 10000; i++) {
+            final String next = TimeOrderedUuid.next().toString();
+            assertTrue(next.compareTo(last) > 0);
+            last = next;
+        }
+    }
+
+    @Test
+    public void testClockStepsBack() {
+        final long first = TimeOrderedUuid.nextStamp(System.currentTimeMillis());
+        final long second = TimeOrderedUuid.nextStamp(0L);
+        assertEquals(first + 1, second);
+    }
+}
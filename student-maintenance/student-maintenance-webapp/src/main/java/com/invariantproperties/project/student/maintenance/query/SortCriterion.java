@@ -23,6 +23,10 @@
 package com.invariantproperties.project.student.maintenance.query;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.invariantproperties.project.student.business.OrderBy;
 
 // from http://jumpstart.doublenegative.com.au/jumpstart/examples/tables/griddatasources
 public class SortCriterion implements Serializable {
@@ -44,4 +48,24 @@ public class SortCriterion implements Serializable {
         return sortDirection;
     }
 
+    /**
+     * Converts a list of SortCriterion to the business tier's sort keys.
+     * Unsorted criteria are dropped.
+     */
+    public static List<OrderBy> toOrderBy(List<SortCriterion> sortCriteria) {
+        final List<OrderBy> orderBy = new ArrayList<OrderBy>(sortCriteria.size());
+        for (SortCriterion sortCriterion : sortCriteria) {
+            switch (sortCriterion.getSortDirection()) {
+            case ASCENDING:
+                orderBy.add(OrderBy.asc(sortCriterion.getPropertyName()));
+                break;
+            case DESCENDING:
+                orderBy.add(OrderBy.desc(sortCriterion.getPropertyName()));
+                break;
+            default:
+            }
+        }
+        return orderBy;
+    }
+
 }
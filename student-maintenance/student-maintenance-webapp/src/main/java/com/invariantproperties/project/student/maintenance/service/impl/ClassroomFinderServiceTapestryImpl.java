@@ -23,10 +23,15 @@
 package com.invariantproperties.project.student.maintenance.service.impl;
 
 import java.util.Collections;
+import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 
 import com.invariantproperties.project.student.business.ClassroomFinderService;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultHandler;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.domain.Classroom;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.ClassroomFinderRestClient;
@@ -51,17 +56,23 @@ public class ClassroomFinderServiceTapestryImpl implements ClassroomFinderServic
      */
     @Override
     public long count() {
-        // FIXME: grossly inefficient but good enough for now.
-        return finder.findAllClassrooms().size();
+        return finder.count();
     }
 
     /**
      * {@inheritDoc}
      */
-    // @Override
+    @Override
     public long countByTestRun(TestRun testRun) {
-        // FIXME: grossly inefficient but good enough for now.
-        return finder.findAllClassrooms().size();
+        return finder.countByTestRun(testRun);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void export(TestRun testRun, ResultHandler<Classroom> handler) throws IOException {
+        finder.export(testRun, handler);
     }
 
     /**
@@ -81,6 +92,14 @@ public class ClassroomFinderServiceTapestryImpl implements ClassroomFinderServic
         return finder.findClassroomByUuid(uuid);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Classroom> findClassroomsByUuids(Collection<String> uuids) {
+        return finder.findClassroomsByUuids(uuids);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -139,6 +158,22 @@ public class ClassroomFinderServiceTapestryImpl implements ClassroomFinderServic
     // return Collections.emptyList();
     // }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<Classroom> findClassrooms(Paging paging) {
+        return finder.findClassrooms(paging);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<Classroom> findClassroomsByTestRun(TestRun testRun, Paging paging) {
+        return finder.findClassroomsByTestRun(testRun, paging);
+    }
+
     private void initCache(ClassroomManagerRestClient manager) {
         manager.createClassroom("eng 1-01");
         manager.createClassroom("eng 2-01");
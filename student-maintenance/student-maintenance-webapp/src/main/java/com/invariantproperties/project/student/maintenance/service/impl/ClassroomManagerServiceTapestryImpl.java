@@ -45,6 +45,9 @@
 
 package com.invariantproperties.project.student.maintenance.service.impl;
 
+import java.util.List;
+
+import com.invariantproperties.project.student.business.BulkResult;
 import com.invariantproperties.project.student.business.ClassroomManagerService;
 import com.invariantproperties.project.student.domain.Classroom;
 import com.invariantproperties.project.student.domain.TestRun;
@@ -99,4 +102,28 @@ public class ClassroomManagerServiceTapestryImpl implements ClassroomManagerServ
         final Classroom actual = manager.createClassroom(name);
         return actual;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkResult<Classroom> createClassrooms(List<Classroom> classrooms) {
+        return manager.createClassrooms(classrooms);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkResult<Classroom> updateClassrooms(List<Classroom> classrooms) {
+        return manager.updateClassrooms(classrooms);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkResult<String> deleteClassrooms(List<String> uuids) {
+        return manager.deleteClassrooms(uuids);
+    }
 }
@@ -22,11 +22,17 @@
  */
 package com.invariantproperties.project.student.maintenance.service.impl;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 
 import com.invariantproperties.project.student.business.CourseFinderService;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultHandler;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.CourseSummary;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.CourseFinderRestClient;
 import com.invariantproperties.project.student.webservice.client.CourseManagerRestClient;
@@ -50,8 +56,7 @@ public class CourseFinderServiceTapestryImpl implements CourseFinderService {
      */
     @Override
     public long count() {
-        // FIXME: grossly inefficient but good enough for now.
-        return finder.findAllCourses().size();
+        return finder.count();
     }
 
     /**
@@ -59,8 +64,15 @@ public class CourseFinderServiceTapestryImpl implements CourseFinderService {
      */
     @Override
     public long countByTestRun(TestRun testRun) {
-        // FIXME: grossly inefficient but good enough for now.
-        return finder.findAllCourses().size();
+        return finder.countByTestRun(testRun);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void export(TestRun testRun, ResultHandler<Course> handler) throws IOException {
+        finder.export(testRun, handler);
     }
 
     /**
@@ -80,6 +92,14 @@ public class CourseFinderServiceTapestryImpl implements CourseFinderService {
         return finder.findCourseByUuid(uuid);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Course> findCoursesByUuids(Collection<String> uuids) {
+        return finder.findCoursesByUuids(uuids);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -107,6 +127,54 @@ public class CourseFinderServiceTapestryImpl implements CourseFinderService {
         return finder.findCoursesByTestRun(testRun);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<Course> findCourses(Paging paging) {
+        return finder.findCourses(paging);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<Course> findCoursesByTestRun(TestRun testRun, Paging paging) {
+        return finder.findCoursesByTestRun(testRun, paging);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<CourseSummary> findAllCourseSummaries() {
+        return finder.findAllCourseSummaries();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<CourseSummary> findCourseSummariesByTestRun(TestRun testRun) {
+        return finder.findCourseSummariesByTestRun(testRun);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<CourseSummary> findCourseSummaries(Paging paging) {
+        return finder.findCourseSummaries(paging);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<CourseSummary> findCourseSummariesByTestRun(TestRun testRun, Paging paging) {
+        return finder.findCourseSummariesByTestRun(testRun, paging);
+    }
+
     private void initCache(CourseManagerRestClient manager) {
         for (int i = 0; i < 5; i++) {
             long x = System.currentTimeMillis() % 10000;
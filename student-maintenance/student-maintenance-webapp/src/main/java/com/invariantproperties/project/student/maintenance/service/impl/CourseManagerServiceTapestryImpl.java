@@ -45,6 +45,9 @@
 
 package com.invariantproperties.project.student.maintenance.service.impl;
 
+import java.util.List;
+
+import com.invariantproperties.project.student.business.BulkResult;
 import com.invariantproperties.project.student.business.CourseManagerService;
 import com.invariantproperties.project.student.domain.Course;
 import com.invariantproperties.project.student.domain.TestRun;
@@ -83,6 +86,15 @@ public class CourseManagerServiceTapestryImpl implements CourseManagerService {
         return actual;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer updateCourse(String uuid, Integer version, String name, String summary, String description,
+            Integer creditHours) {
+        return manager.updateCourse(uuid, version, name, summary, description, creditHours);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -100,4 +112,28 @@ public class CourseManagerServiceTapestryImpl implements CourseManagerService {
         final Course actual = manager.createCourseForTesting(code, name, summary, description, creditHours, testRun);
         return actual;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkResult<Course> createCourses(List<Course> courses) {
+        return manager.createCourses(courses);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkResult<Course> updateCourses(List<Course> courses) {
+        return manager.updateCourses(courses);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkResult<String> deleteCourses(List<String> uuids) {
+        return manager.deleteCourses(uuids);
+    }
 }
@@ -12,7 +12,7 @@ import org.apache.tapestry5.ioc.annotations.Symbol;
 
 import com.invariantproperties.project.student.business.CourseFinderService;
 import com.invariantproperties.project.student.business.CourseManagerService;
-import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.CourseSummary;
 import com.invariantproperties.project.student.maintenance.web.pages.course.Editor.Mode;
 import com.invariantproperties.project.student.maintenance.web.tables.CoursePagedDataSource;
 import com.invariantproperties.project.student.util.StudentUtil;
@@ -43,7 +43,7 @@ public class Index {
     private CourseManagerService courseManagerService;
 
     @Property
-    private Course course;
+    private CourseSummary course;
 
     // our sibling page
     @InjectPage
@@ -68,7 +68,7 @@ public class Index {
         if (!StudentUtil.isPossibleUuid(courseUuid)) {
             alertManager.error("invalid UUID");
         } else {
-            courseManagerService.deleteCourse(courseUuid, 0);
+            courseManagerService.deleteCourse(courseUuid, null);
         }
     }
 
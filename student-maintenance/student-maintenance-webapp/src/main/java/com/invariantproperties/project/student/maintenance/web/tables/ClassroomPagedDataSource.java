@@ -29,6 +29,7 @@ import org.apache.tapestry5.grid.GridDataSource;
 import org.apache.tapestry5.grid.SortConstraint;
 
 import com.invariantproperties.project.student.business.ClassroomFinderService;
+import com.invariantproperties.project.student.business.Paging;
 import com.invariantproperties.project.student.domain.Classroom;
 import com.invariantproperties.project.student.maintenance.query.SortCriterion;
 import com.invariantproperties.project.student.maintenance.query.SortDirection;
@@ -53,13 +54,12 @@ public class ClassroomPagedDataSource implements GridDataSource {
     @Override
     public void prepare(final int startIndex, final int endIndex, final List<SortConstraint> sortConstraints) {
 
-        // Get a page of classrooms - ask business service to find them (from
-        // the
+        // Get a page of classrooms - ask business service to find them (from the
         // database)
-        // List<SortCriterion> sortCriteria = toSortCriteria(sortConstraints);
-        // preparedResults = classroomFinderService.findClassrooms(startIndex,
-        // endIndex - startIndex + 1, sortCriteria);
-        preparedResults = classroomFinderService.findAllClassrooms();
+        final List<SortCriterion> sortCriteria = toSortCriteria(sortConstraints);
+        final Paging paging = Paging.offset(startIndex, endIndex - startIndex + 1,
+                SortCriterion.toOrderBy(sortCriteria));
+        preparedResults = classroomFinderService.findClassrooms(paging).getContent();
 
         this.startIndex = startIndex;
     }
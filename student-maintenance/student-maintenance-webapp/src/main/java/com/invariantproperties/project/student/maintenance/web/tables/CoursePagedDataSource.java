@@ -29,14 +29,15 @@ import org.apache.tapestry5.grid.GridDataSource;
 import org.apache.tapestry5.grid.SortConstraint;
 
 import com.invariantproperties.project.student.business.CourseFinderService;
-import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.domain.CourseSummary;
 import com.invariantproperties.project.student.maintenance.query.SortCriterion;
 import com.invariantproperties.project.student.maintenance.query.SortDirection;
 
 public class CoursePagedDataSource implements GridDataSource {
 
     private int startIndex;
-    private List<Course> preparedResults;
+    private List<CourseSummary> preparedResults;
 
     private final CourseFinderService courseFinderService;
 
@@ -53,12 +54,12 @@ public class CoursePagedDataSource implements GridDataSource {
     @Override
     public void prepare(final int startIndex, final int endIndex, final List<SortConstraint> sortConstraints) {
 
-        // Get a page of courses - ask business service to find them (from the
-        // database)
-        // List<SortCriterion> sortCriteria = toSortCriteria(sortConstraints);
-        // preparedResults = courseFinderService.findCourses(startIndex,
-        // endIndex - startIndex + 1, sortCriteria);
-        preparedResults = courseFinderService.findAllCourses();
+        // Get a page of course summaries - ask business service to find them
+        // (from the database)
+        final List<SortCriterion> sortCriteria = toSortCriteria(sortConstraints);
+        final Paging paging = Paging.offset(startIndex, endIndex - startIndex + 1,
+                SortCriterion.toOrderBy(sortCriteria));
+        preparedResults = courseFinderService.findCourseSummaries(paging).getContent();
 
         this.startIndex = startIndex;
     }
@@ -69,8 +70,8 @@ public class CoursePagedDataSource implements GridDataSource {
     }
 
     @Override
-    public Class<Course> getRowType() {
-        return Course.class;
+    public Class<CourseSummary> getRowType() {
+        return CourseSummary.class;
     }
 
     /**
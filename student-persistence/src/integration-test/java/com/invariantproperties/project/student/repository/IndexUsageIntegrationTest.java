@@ -0,0 +1,169 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Regression test for the 0.0.5 schema indexes. The tables and indexes are
+ * taken from the production script and loaded into H2 in PostgreSQL mode, then
+ * the query plans for the foreign key and filter lookups are checked for table
+ * scans.
+ * 
+ * H2 can't create partial indexes so their 'where' clauses are dropped here,
+ * and the foreign key constraints are dropped so H2 doesn't create indexes of
+ * its own. The partial index predicates are checked against the script text.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class IndexUsageIntegrationTest {
+    private static final String SCRIPT = "../student-webservices/student-ws-webapp/src/main/sql/0.0.5/create.sql";
+    private static final String[] TABLES = { "classroom", "course", "instructor", "section", "student", "term" };
+
+    private static final Pattern CREATE_TABLE = Pattern.compile("create table if not exists .*?\\n    \\);",
+            Pattern.DOTALL);
+    private static final Pattern CREATE_INDEX = Pattern.compile("create index if not exists [^;]*;");
+    private static final Pattern REFERENCES = Pattern.compile(" references \\w+\\(\\w+\\)");
+    private static final Pattern PREDICATE = Pattern.compile(" where .*;");
+
+    private static String script;
+    private static Connection conn;
+
+    @BeforeClass
+    public static void createTables() throws IOException, SQLException {
+        script = new String(Files.readAllBytes(new File(SCRIPT).toPath()), Charset.forName("UTF-8"));
+        conn = DriverManager.getConnection("jdbc:h2:mem:index-usage;MODE=PostgreSQL", "sa", "");
+        for (String sql : extract(CREATE_TABLE)) {
+            execute(REFERENCES.matcher(sql).replaceAll(""));
+        }
+    }
+
+    @AfterClass
+    public static void close() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    public void testIndexesUsed() throws SQLException {
+        // negative control - make sure the plans really show table scans.
+        assertTrue(explain("select * from section where term = 1").contains("tableScan"));
+
+        for (String sql : extract(CREATE_INDEX)) {
+            execute(PREDICATE.matcher(sql).replaceAll(";"));
+        }
+
+        for (String table : TABLES) {
+            assertIndexed("select * from " + table + " where test_run_pkey = 1");
+        }
+
+        assertIndexed("select * from section where term = 1");
+        assertIndexed("select * from section where section = 1");
+        assertIndexed("select * from classroom where term = 1");
+        assertIndexed("select * from classroom where section = 1");
+
+        assertIndexed("select students from section_students where sections = 1");
+        assertIndexed("select sections from section_students where students = 1");
+        assertIndexed("select instructors from section_instructors where sections = 1");
+        assertIndexed("select sections from section_instructors where instructors = 1");
+
+        // the listings sort by (key, id) or by a unique key. H2 can't scan an
+        // index backwards so only the ascending order is checked here.
+        for (String table : TABLES) {
+            assertSorted("select * from " + table + " order by name, " + table + "_pkey limit 10");
+            assertSorted("select * from " + table + " order by creation_date, " + table + "_pkey limit 10");
+            assertSorted("select * from " + table + " order by uuid limit 10");
+        }
+        assertSorted("select * from course order by code limit 10");
+        assertSorted("select * from instructor order by email limit 10");
+        assertSorted("select * from student order by email limit 10");
+    }
+
+    @Test
+    public void testPartialIndexes() {
+        for (String table : TABLES) {
+            assertTrue(table, script.contains("create index if not exists " + table + "_test_run_idx on " + table
+                    + "(test_run_pkey) where test_run_pkey is not null;"));
+            assertTrue(table, script.contains("create index if not exists " + table + "_production_idx on " + table
+                    + "(" + table + "_pkey) where test_run_pkey is null;"));
+        }
+    }
+
+    private static void assertSorted(String query) throws SQLException {
+        final String plan = explain(query);
+        assertTrue(plan, plan.contains("index sorted"));
+    }
+
+    private static void assertIndexed(String query) throws SQLException {
+        final String plan = explain(query);
+        assertFalse(plan, plan.contains("tableScan"));
+    }
+
+    private static List<String> extract(Pattern pattern) {
+        final List<String> statements = new ArrayList<String>();
+        final Matcher m = pattern.matcher(script);
+        while (m.find()) {
+            statements.add(m.group());
+        }
+        assertFalse(statements.isEmpty());
+        return statements;
+    }
+
+    private static void execute(String sql) throws SQLException {
+        final Statement stmt = conn.createStatement();
+        try {
+            stmt.execute(sql);
+        } finally {
+            stmt.close();
+        }
+    }
+
+    private static String explain(String query) throws SQLException {
+        final Statement stmt = conn.createStatement();
+        try {
+            final ResultSet rs = stmt.executeQuery("explain " + query);
+            rs.next();
+            return rs.getString(1);
+        } finally {
+            stmt.close();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+import static org.junit.Assert.assertEquals;
+
+import javax.annotation.Resource;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.invariantproperties.project.student.config.TestPersistenceJpaConfig;
+import com.invariantproperties.project.student.domain.PersistentObject;
+import com.invariantproperties.project.student.domain.Student;
+
+/**
+ * Insert throughput benchmark. With pooled sequence ids Hibernate can batch
+ * the inserts - with IDENTITY ids every insert was its own round trip. This
+ * prints inserts/second, it does not fail on slow machines.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { TestPersistenceJpaConfig.class })
+public class InsertThroughputIntegrationTest {
+    private static final int TOTAL = 100000;
+    private static final int PER_TRANSACTION = 5000;
+    private static final int PER_FLUSH = PersistentObject.ID_ALLOCATION_SIZE;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Resource
+    private PlatformTransactionManager transactionManager;
+
+    @Resource
+    private StudentRepository repository;
+
+    @Test
+    public void testInsertThroughput() {
+        final long before = repository.count();
+        final TransactionTemplate template = new TransactionTemplate(transactionManager);
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < TOTAL; i += PER_TRANSACTION) {
+            final int offset = i;
+            template.execute(new TransactionCallbackWithoutResult() {
+                @Override
+                protected void doInTransactionWithoutResult(TransactionStatus status) {
+                    for (int j = 0; j < PER_TRANSACTION; j++) {
+                        final Student student = new Student();
+                        student.setName("Student " + (offset + j));
+                        student.setEmailAddress("student-" + (offset + j) + "@example.com");
+                        em.persist(student);
+
+                        // keep the persistence context small
+                        if ((j + 1) % PER_FLUSH == 0) {
+                            em.flush();
+                            em.clear();
+                        }
+                    }
+                }
+            });
+        }
+        final long elapsed = System.nanoTime() - start;
+
+        assertEquals(before + TOTAL, repository.count());
+
+        System.out.printf("Inserted %d students in %d ms: %.0f inserts/s%n", TOTAL, elapsed / 1000000,
+                TOTAL * 1e9 / elapsed);
+    }
+}
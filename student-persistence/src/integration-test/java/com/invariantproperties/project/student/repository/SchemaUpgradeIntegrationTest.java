@@ -0,0 +1,172 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Runs the production schema scripts against PostgreSQL: a 0.0.4 database is
+ * upgraded by the 0.0.5 'create.sql' and then converted by
+ * 'compact-uuid.sql'. The scripts are PL/pgSQL so H2 can't stand in here.
+ * 
+ * The test is skipped unless a scratch database is given, e.g.,
+ * 
+ * <pre>
+ * mvn -P integration-test,postgresql -Dpostgresql.url=jdbc:postgresql://localhost/scratch \
+ *     -Dpostgresql.user=student-owner -Dpostgresql.password=...
+ * </pre>
+ * 
+ * The scripts grant privileges to the 'student' role so it must exist. Each
+ * test works in its own schema and drops it afterwards.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class SchemaUpgradeIntegrationTest {
+    private static final String SCRIPTS = "../student-webservices/student-ws-webapp/src/main/sql/";
+    private static final String[] TABLES = { "classroom", "course", "instructor", "section", "student", "term",
+            "test_run" };
+
+    private Connection conn;
+    private String schema;
+
+    @Before
+    public void createSchema() throws SQLException {
+        final String url = System.getProperty("postgresql.url");
+        Assume.assumeNotNull(url);
+
+        conn = DriverManager.getConnection(url, System.getProperty("postgresql.user"),
+                System.getProperty("postgresql.password"));
+        schema = "upgrade_" + UUID.randomUUID().toString().replace('-', '_');
+        execute("create schema " + schema);
+        execute("set search_path to " + schema);
+    }
+
+    @After
+    public void dropSchema() throws SQLException {
+        if (conn != null) {
+            try {
+                execute("drop schema " + schema + " cascade");
+            } finally {
+                conn.close();
+            }
+        }
+    }
+
+    @Test
+    public void testUpgradeFrom004() throws IOException, SQLException {
+        run("0.0.4/create.sql");
+        assertEquals("0.0.4", schemaVersion());
+
+        final String uuid = UUID.randomUUID().toString();
+        execute("insert into course(uuid, creation_date, code, name) values('" + uuid
+                + "', now(), 'UPGRADE101', 'Upgrade')");
+
+        run("0.0.5/create.sql");
+        assertEquals("0.0.5", schemaVersion());
+        assertEquals("integer", dataType("section", "term"));
+        assertEquals("integer", dataType("classroom", "section"));
+
+        run("0.0.5/compact-uuid.sql");
+        for (String table : TABLES) {
+            assertEquals(table, "uuid", dataType(table, "uuid"));
+        }
+        assertEquals("Upgrade", query("select name from course where uuid = '" + uuid + "'::uuid"));
+
+        // the create script is idempotent
+        run("0.0.5/create.sql");
+        assertEquals("0.0.5", schemaVersion());
+        assertEquals("uuid", dataType("course", "uuid"));
+    }
+
+    @Test
+    public void testCreate005() throws IOException, SQLException {
+        run("0.0.5/create.sql");
+        assertEquals("0.0.5", schemaVersion());
+
+        run("0.0.5/compact-uuid.sql");
+        for (String table : TABLES) {
+            assertEquals(table, "uuid", dataType(table, "uuid"));
+        }
+    }
+
+    private String schemaVersion() throws SQLException {
+        return query("select schema_version from schema_version");
+    }
+
+    private String dataType(String table, String column) throws SQLException {
+        final PreparedStatement stmt = conn.prepareStatement("select data_type from information_schema.columns "
+                + "where table_schema = ? and table_name = ? and column_name = ?");
+        try {
+            stmt.setString(1, schema);
+            stmt.setString(2, table);
+            stmt.setString(3, column);
+            final ResultSet rs = stmt.executeQuery();
+            assertTrue(table + "." + column, rs.next());
+            return rs.getString(1);
+        } finally {
+            stmt.close();
+        }
+    }
+
+    private String query(String sql) throws SQLException {
+        final Statement stmt = conn.createStatement();
+        try {
+            final ResultSet rs = stmt.executeQuery(sql);
+            assertTrue(sql, rs.next());
+            return rs.getString(1);
+        } finally {
+            stmt.close();
+        }
+    }
+
+    private void run(String script) throws IOException, SQLException {
+        execute(new String(Files.readAllBytes(new File(SCRIPTS + script).toPath()), Charset.forName("UTF-8")));
+    }
+
+    private void execute(String sql) throws SQLException {
+        final Statement stmt = conn.createStatement();
+        try {
+            stmt.execute(sql);
+        } finally {
+            stmt.close();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+
+import javax.annotation.Resource;
+import javax.sql.DataSource;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.invariantproperties.project.student.config.TestPersistenceJpaConfig;
+import com.invariantproperties.project.student.domain.UuidStrategy;
+
+/**
+ * UUID storage benchmark. Compares random UUIDs in a varchar(40) unique
+ * column, the current schema, with time-ordered UUIDs in a native uuid
+ * column, the optional 0.0.5 schema. Both tables are written and read with
+ * the canonical string form, as the application does. This prints
+ * inserts/second and lookups/second, it does not fail on slow machines.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { TestPersistenceJpaConfig.class })
+public class UuidStorageThroughputIntegrationTest {
+    private static final int TOTAL = 200000;
+    private static final int PER_BATCH = 500;
+    private static final int LOOKUPS = 100000;
+
+    @Resource
+    private DataSource dataSource;
+
+    @Test
+    public void testUuidStorageThroughput() throws SQLException {
+        final Connection conn = dataSource.getConnection();
+        try {
+            run(conn, "uuid_bench_varchar", "varchar(40)", UuidStrategy.RANDOM);
+            run(conn, "uuid_bench_native", "uuid", UuidStrategy.TIME_ORDERED);
+        } finally {
+            conn.close();
+        }
+    }
+
+    private void run(Connection conn, String table, String columnType, UuidStrategy strategy) throws SQLException {
+        final String[] uuids = new String[TOTAL];
+        for (int i = 0; i < TOTAL; i++) {
+            uuids[i] = strategy.nextUuid();
+        }
+
+        final Statement stmt = conn.createStatement();
+        try {
+            stmt.execute("drop table if exists " + table);
+            stmt.execute("create table " + table + " (pkey int primary key, uuid " + columnType
+                    + " unique not null, name varchar(80) not null)");
+
+            final long insertNanos = insert(conn, table, uuids);
+            final long lookupNanos = lookup(conn, table, uuids);
+
+            System.out.printf("%s uuid in %s: %.0f inserts/s, %.0f lookups/s%n", strategy, columnType, TOTAL
+                    * 1e9 / insertNanos, LOOKUPS * 1e9 / lookupNanos);
+
+            stmt.execute("drop table " + table);
+        } finally {
+            stmt.close();
+        }
+    }
+
+    private long insert(Connection conn, String table, String[] uuids) throws SQLException {
+        final boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        final PreparedStatement ps = conn.prepareStatement("insert into " + table
+                + " (pkey, uuid, name) values (?, ?, ?)");
+        try {
+            final long start = System.nanoTime();
+            for (int i = 0; i < uuids.length; i++) {
+                ps.setInt(1, i);
+                ps.setString(2, uuids[i]);
+                ps.setString(3, "name " + i);
+                ps.addBatch();
+                if ((i + 1) % PER_BATCH == 0) {
+                    ps.executeBatch();
+                    conn.commit();
+                }
+            }
+            ps.executeBatch();
+            conn.commit();
+            return System.nanoTime() - start;
+        } finally {
+            ps.close();
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private long lookup(Connection conn, String table, String[] uuids) throws SQLException {
+        final Random random = new Random(0);
+        final PreparedStatement ps = conn.prepareStatement("select pkey, uuid from " + table + " where uuid = ?");
+        try {
+            final long start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                final int index = random.nextInt(uuids.length);
+                ps.setString(1, uuids[index]);
+                final ResultSet rs = ps.executeQuery();
+                try {
+                    rs.next();
+                    assertEquals(index, rs.getInt(1));
+                    assertEquals(uuids[index], rs.getString(2));
+                } finally {
+                    rs.close();
+                }
+            }
+            return System.nanoTime() - start;
+        } finally {
+            ps.close();
+        }
+    }
+}
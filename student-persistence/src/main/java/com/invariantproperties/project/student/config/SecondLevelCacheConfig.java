@@ -0,0 +1,80 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.config;
+
+import java.util.Properties;
+
+import com.invariantproperties.project.student.domain.Classroom;
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.Section;
+import com.invariantproperties.project.student.domain.Term;
+import com.invariantproperties.project.student.repository.SecondLevelCache;
+
+/**
+ * JPA properties that enable the optional Hibernate second-level and query
+ * caches for the reference entities. The entities are marked cacheable here,
+ * rather than with annotations, so the domain classes don't depend on
+ * Hibernate. Region sizes and TTLs are in ehcache-student.xml.
+ * 
+ * Usage: add these properties to the entity manager factory when the
+ * 'student.cache.enabled' property is true. The webapp's persistence.xml
+ * declares the same properties and is filtered on 'student.cache.enabled'
+ * when the war is built, so keep the two in sync.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public final class SecondLevelCacheConfig {
+    public static final String PROPERTY_NAME_CACHE_ENABLED = "student.cache.enabled";
+    public static final String EHCACHE_CONFIGURATION = "/ehcache-student.xml";
+    private static final String READ_WRITE = "read-write";
+    private static final String CLASS_CACHE = "hibernate.ejb.classcache.";
+    private static final String COLLECTION_CACHE = "hibernate.ejb.collectioncache.";
+
+    private SecondLevelCacheConfig() {
+    }
+
+    /**
+     * Get the JPA properties required for the second-level cache.
+     */
+    public static Properties jpaProperties() {
+        final Properties props = new Properties();
+        props.put("hibernate.cache.use_second_level_cache", "true");
+        props.put("hibernate.cache.use_query_cache", "true");
+        props.put("hibernate.cache.region.factory_class", "org.hibernate.cache.ehcache.EhCacheRegionFactory");
+        props.put("net.sf.ehcache.configurationResourceName", EHCACHE_CONFIGURATION);
+        props.put("hibernate.generate_statistics", "true");
+
+        props.put(CLASS_CACHE + Course.class.getName(), READ_WRITE);
+        props.put(CLASS_CACHE + Term.class.getName(), READ_WRITE);
+        props.put(CLASS_CACHE + Classroom.class.getName(), READ_WRITE);
+        // the cached sections collections are useless unless the
+        // sections themselves are cached.
+        props.put(CLASS_CACHE + Section.class.getName(), READ_WRITE);
+
+        props.put(COLLECTION_CACHE + SecondLevelCache.COURSE_SECTIONS, READ_WRITE);
+        props.put(COLLECTION_CACHE + SecondLevelCache.TERM_SECTIONS, READ_WRITE);
+        props.put(COLLECTION_CACHE + SecondLevelCache.TERM_CLASSROOMS, READ_WRITE);
+
+        return props;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.invariantproperties.project.student.domain.PersistentObject;
+
+/**
+ * Base implementation of CachingSpecificationExecutor and
+ * CollectionCacheEvictor.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ * 
+ * @param <T>
+ */
+public abstract class AbstractCachingSpecificationExecutor<T extends PersistentObject> extends AbstractRangeSpecificationExecutor<T> implements
+        CachingSpecificationExecutor<T>, CollectionCacheEvictor {
+    private final String queryRegion;
+    private final String[] collectionRoles;
+
+    /**
+     * Constructor.
+     * 
+     * @param domainClass
+     * @param queryRegion
+     *            query cache region, or null if queries are not cached
+     * @param collectionRoles
+     *            cached collections that may contain this entity
+     */
+    protected AbstractCachingSpecificationExecutor(Class<T> domainClass, String queryRegion,
+            String... collectionRoles) {
+        super(domainClass);
+        this.queryRegion = queryRegion;
+        this.collectionRoles = collectionRoles;
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.repository.CachingSpecificationExecutor#
+     *      findAllCached(org.springframework.data.jpa.domain.Specification)
+     */
+    @Override
+    public List<T> findAllCached(Specification<T> spec) {
+        if (queryRegion == null) {
+            return getEntityManager().createQuery(createQuery(spec, null)).getResultList();
+        }
+
+        return getEntityManager().createQuery(createQuery(spec, null))
+                .setHint(SecondLevelCache.CACHEABLE_HINT, Boolean.TRUE)
+                .setHint(SecondLevelCache.CACHE_REGION_HINT, queryRegion).getResultList();
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.repository.CachingSpecificationExecutor#
+     *      getCacheStatistics()
+     */
+    @Override
+    public Map<String, SecondLevelCacheStatistics> getCacheStatistics() {
+        return SecondLevelCache.getStatistics(getEntityManager());
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.repository.CollectionCacheEvictor#
+     *      evictCollectionCaches()
+     */
+    @Override
+    public void evictCollectionCaches() {
+        if (collectionRoles.length == 0) {
+            return;
+        }
+
+        SecondLevelCache.evictCollections(getEntityManager(), collectionRoles);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    SecondLevelCache.evictCollections(getEntityManager(), collectionRoles);
+                }
+            });
+        }
+    }
+}
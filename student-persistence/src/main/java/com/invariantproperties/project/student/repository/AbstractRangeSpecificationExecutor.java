@@ -0,0 +1,245 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Query;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.invariantproperties.project.student.business.ResultHandler;
+import com.invariantproperties.project.student.domain.PersistentObject;
+import com.invariantproperties.project.student.specification.PersistentObjectSpecifications;
+
+/**
+ * Base implementation of RangeSpecificationExecutor. Spring Data picks up the
+ * concrete 'XRepositoryImpl' subclasses by name.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ * 
+ * @param <T>
+ */
+public abstract class AbstractRangeSpecificationExecutor<T extends PersistentObject> implements
+        RangeSpecificationExecutor<T> {
+    /**
+     * Maximum number of uuids in a single 'in' list. Oracle allows 1000
+     * values, and large lists defeat the statement cache of other databases.
+     */
+    static final int UUID_CHUNK_SIZE = 500;
+
+    private final Class<T> domainClass;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    protected AbstractRangeSpecificationExecutor(Class<T> domainClass) {
+        this.domainClass = domainClass;
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.repository.RangeSpecificationExecutor#
+     *      findRange(org.springframework.data.jpa.domain.Specification,
+     *      org.springframework.data.domain.Sort, int, int)
+     */
+    @Override
+    public List<T> findRange(Specification<T> spec, Sort sort, int firstResult, int maxResults) {
+        return em.createQuery(createQuery(spec, sort)).setFirstResult(firstResult).setMaxResults(maxResults)
+                .getResultList();
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.repository.RangeSpecificationExecutor#
+     *      findRange(org.springframework.data.jpa.domain.Specification,
+     *      org.springframework.data.domain.Sort, int, int,
+     *      com.invariantproperties.project.student.repository.FetchProfile)
+     */
+    @Override
+    public List<T> findRange(Specification<T> spec, Sort sort, int firstResult, int maxResults,
+            FetchProfile<T> profile) {
+        final List<T> results = em.createQuery(createQuery(spec, sort, profile)).setFirstResult(firstResult)
+                .setMaxResults(maxResults).getResultList();
+        profile.initialize(results);
+        return results;
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.repository.RangeSpecificationExecutor#
+     *      findAll(org.springframework.data.jpa.domain.Specification,
+     *      org.springframework.data.domain.Sort,
+     *      com.invariantproperties.project.student.repository.FetchProfile)
+     */
+    @Override
+    public List<T> findAll(Specification<T> spec, Sort sort, FetchProfile<T> profile) {
+        final List<T> results = em.createQuery(createQuery(spec, sort, profile)).getResultList();
+        profile.initialize(results);
+        return results;
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.repository.RangeSpecificationExecutor#
+     *      findRange(org.springframework.data.jpa.domain.Specification,
+     *      org.springframework.data.domain.Sort, int, int,
+     *      com.invariantproperties.project.student.repository.Projection)
+     */
+    @Override
+    public <P> List<P> findRange(Specification<T> spec, Sort sort, int firstResult, int maxResults,
+            Projection<T, P> projection) {
+        return em.createQuery(createQuery(spec, sort, projection)).setFirstResult(firstResult)
+                .setMaxResults(maxResults).getResultList();
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.repository.RangeSpecificationExecutor#
+     *      findAll(org.springframework.data.jpa.domain.Specification,
+     *      org.springframework.data.domain.Sort,
+     *      com.invariantproperties.project.student.repository.Projection)
+     */
+    @Override
+    public <P> List<P> findAll(Specification<T> spec, Sort sort, Projection<T, P> projection) {
+        return em.createQuery(createQuery(spec, sort, projection)).getResultList();
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.repository.RangeSpecificationExecutor#
+     *      findByUuids(java.util.Collection)
+     */
+    @Override
+    public List<T> findByUuids(Collection<String> uuids) {
+        final List<String> distinct = new ArrayList<String>(new LinkedHashSet<String>(uuids));
+        final List<T> results = new ArrayList<T>(distinct.size());
+        for (int i = 0; i < distinct.size(); i += UUID_CHUNK_SIZE) {
+            final List<String> chunk = distinct.subList(i, Math.min(i + UUID_CHUNK_SIZE, distinct.size()));
+            results.addAll(em.createQuery(createQuery(PersistentObjectSpecifications.<T> uuidIn(chunk), null))
+                    .getResultList());
+        }
+        return results;
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.repository.RangeSpecificationExecutor#
+     *      scroll(org.springframework.data.jpa.domain.Specification,
+     *      org.springframework.data.domain.Sort, int,
+     *      com.invariantproperties.project.student.business.ResultHandler)
+     */
+    @Override
+    public void scroll(Specification<T> spec, Sort sort, int fetchSize, ResultHandler<? super T> handler)
+            throws IOException {
+        final Session session = em.unwrap(Session.class);
+        final ScrollableResults results = em.createQuery(createQuery(spec, sort)).unwrap(Query.class)
+                .setFetchSize(fetchSize).setReadOnly(true).setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        try {
+            while (results.next()) {
+                final T row = domainClass.cast(results.get(0));
+                handler.handle(row);
+                session.evict(row);
+            }
+        } finally {
+            results.close();
+        }
+    }
+
+    /**
+     * Create criteria query for the rows matching the specification, in the
+     * specified order. Both arguments may be null.
+     */
+    protected CriteriaQuery<T> createQuery(Specification<T> spec, Sort sort) {
+        return createQuery(spec, sort, (FetchProfile<T>) null);
+    }
+
+    /**
+     * Create criteria query for the rows matching the specification, in the
+     * specified order, with the join fetches of the fetch profile. All
+     * arguments may be null.
+     */
+    protected CriteriaQuery<T> createQuery(Specification<T> spec, Sort sort, FetchProfile<T> profile) {
+        final CriteriaBuilder cb = em.getCriteriaBuilder();
+        final CriteriaQuery<T> query = cb.createQuery(domainClass);
+        final Root<T> root = query.from(domainClass);
+        query.select(root);
+
+        if (profile != null) {
+            profile.fetch(root);
+        }
+
+        if (spec != null) {
+            final Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        if (sort != null) {
+            query.orderBy(toOrders(sort, root, cb));
+        }
+
+        return query;
+    }
+
+    /**
+     * Create criteria query for the projection of the rows matching the
+     * specification, in the specified order. The specification and sort may
+     * be null.
+     */
+    protected <P> CriteriaQuery<P> createQuery(Specification<T> spec, Sort sort, Projection<T, P> projection) {
+        final CriteriaBuilder cb = em.getCriteriaBuilder();
+        final CriteriaQuery<P> query = cb.createQuery(projection.getResultClass());
+        final Root<T> root = query.from(domainClass);
+        query.select(projection.select(root, cb));
+
+        if (spec != null) {
+            final Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        if (sort != null) {
+            query.orderBy(toOrders(sort, root, cb));
+        }
+
+        return query;
+    }
+
+    protected EntityManager getEntityManager() {
+        return em;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Repository fragment for the reference entities (courses, terms and
+ * classrooms) that are read far more often than they are written. The
+ * results are kept in the query cache when the second-level cache is
+ * enabled. See {@link SecondLevelCache}.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ * 
+ * @param <T>
+ */
+public interface CachingSpecificationExecutor<T> {
+
+    /**
+     * Find all rows matching the specification, using the query cache if it
+     * is enabled. Hibernate invalidates the cached results whenever the
+     * underlying table is written.
+     */
+    List<T> findAllCached(Specification<T> spec);
+
+    /**
+     * Get the hit/miss statistics for every second-level cache region, keyed
+     * by region name. The map is empty if statistics are disabled.
+     */
+    Map<String, SecondLevelCacheStatistics> getCacheStatistics();
+}
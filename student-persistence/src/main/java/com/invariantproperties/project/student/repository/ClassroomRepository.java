@@ -22,8 +22,11 @@
  */
 package com.invariantproperties.project.student.repository;
 
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.invariantproperties.project.student.domain.Classroom;
@@ -34,6 +37,9 @@ import com.invariantproperties.project.student.domain.Classroom;
  * @author Bear Giles <bgiles@coyotesong.com>
  */
 @Repository
-public interface ClassroomRepository extends JpaRepository<Classroom, Integer>, JpaSpecificationExecutor<Classroom> {
+public interface ClassroomRepository extends JpaRepository<Classroom, Integer>, JpaSpecificationExecutor<Classroom>,
+        RangeSpecificationExecutor<Classroom>, CachingSpecificationExecutor<Classroom>, CollectionCacheEvictor {
+    @QueryHints({ @QueryHint(name = SecondLevelCache.CACHEABLE_HINT, value = "true"),
+            @QueryHint(name = SecondLevelCache.CACHE_REGION_HINT, value = SecondLevelCache.CLASSROOM_QUERIES) })
     Classroom findClassroomByUuid(String uuid);
 }
@@ -0,0 +1,41 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+/**
+ * Repository fragment for entities that appear in the cached 'sections' and
+ * 'classrooms' collections. Those collections are the inverse side of the
+ * association so Hibernate does not invalidate them when a member is
+ * deleted - the managers must do it.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public interface CollectionCacheEvictor {
+
+    /**
+     * Evict the cached collections that may contain this type of entity. The
+     * eviction is repeated after the current transaction completes so a
+     * concurrent reader can't put the old contents back.
+     */
+    void evictCollectionCaches();
+}
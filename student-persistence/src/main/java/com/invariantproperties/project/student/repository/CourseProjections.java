@@ -0,0 +1,63 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+import java.util.Date;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.CourseSummary;
+
+/**
+ * Projections of courses.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class CourseProjections {
+    private static final Projection<Course, CourseSummary> SUMMARY = new Projection<Course, CourseSummary>() {
+        @Override
+        public Class<CourseSummary> getResultClass() {
+            return CourseSummary.class;
+        }
+
+        @Override
+        public Selection<CourseSummary> select(Root<Course> root, CriteriaBuilder cb) {
+            return cb.construct(CourseSummary.class, root.<Integer> get("id"), root.<Integer> get("version"),
+                    root.<String> get("uuid"), root.<Date> get("creationDate"), root.<String> get("code"),
+                    root.<String> get("name"), root.<Integer> get("creditHours"));
+        }
+    };
+
+    /**
+     * Creates a projection of courses onto course summaries. The summary and
+     * description are not selected.
+     * 
+     * @return
+     */
+    public static Projection<Course, CourseSummary> summary() {
+        return SUMMARY;
+    }
+}
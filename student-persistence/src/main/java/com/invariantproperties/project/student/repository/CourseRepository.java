@@ -22,8 +22,13 @@
  */
 package com.invariantproperties.project.student.repository;
 
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.invariantproperties.project.student.domain.Course;
@@ -34,8 +39,26 @@ import com.invariantproperties.project.student.domain.Course;
  * @author Bear Giles <bgiles@coyotesong.com>
  */
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Integer>, JpaSpecificationExecutor<Course> {
+public interface CourseRepository extends JpaRepository<Course, Integer>, JpaSpecificationExecutor<Course>,
+        RangeSpecificationExecutor<Course>, CachingSpecificationExecutor<Course>, CollectionCacheEvictor {
+    @QueryHints({ @QueryHint(name = SecondLevelCache.CACHEABLE_HINT, value = "true"),
+            @QueryHint(name = SecondLevelCache.CACHE_REGION_HINT, value = SecondLevelCache.COURSE_QUERIES) })
     Course findCourseByUuid(String uuid);
 
+    @QueryHints({ @QueryHint(name = SecondLevelCache.CACHEABLE_HINT, value = "true"),
+            @QueryHint(name = SecondLevelCache.CACHE_REGION_HINT, value = SecondLevelCache.COURSE_QUERIES) })
     Course findCourseByCode(String code);
+
+    /**
+     * Update a course if it still has the specified version. This is a
+     * single statement - the course is not loaded first. The persistence
+     * context is cleared afterwards since it may hold the old version.
+     * 
+     * @return number of rows updated (0 or 1)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Course c set c.name = ?3, c.summary = ?4, c.description = ?5, c.creditHours = ?6, "
+            + "c.version = c.version + 1 where c.uuid = ?1 and c.version = ?2")
+    int updateCourseIfVersion(String uuid, Integer version, String name, String summary, String description,
+            Integer creditHours);
 }
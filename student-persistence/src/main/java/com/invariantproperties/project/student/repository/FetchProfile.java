@@ -0,0 +1,61 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+import java.util.List;
+
+import javax.persistence.criteria.Root;
+
+/**
+ * Named fetch plan for a listing. Associations that can be fetched without
+ * multiplying the rows are join fetched by the query itself, the remaining
+ * lazy associations are initialized before the transaction ends. The latter
+ * rely on Hibernate's batch fetching (hibernate.default_batch_fetch_size) so
+ * they cost a fixed number of statements per batch of rows instead of one
+ * per row.
+ * 
+ * This is similar to a Hibernate fetch profile but it applies to criteria
+ * queries and doesn't require Hibernate annotations on the domain classes.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ * 
+ * @param <T>
+ */
+public interface FetchProfile<T> {
+
+    /**
+     * Get the profile name.
+     */
+    String getName();
+
+    /**
+     * Add the join fetches to the query root.
+     */
+    void fetch(Root<T> root);
+
+    /**
+     * Initialize the lazy associations of the query results. This must be
+     * called within the transaction.
+     */
+    void initialize(List<T> results);
+}
@@ -34,7 +34,8 @@ import com.invariantproperties.project.student.domain.Instructor;
  * @author Bear Giles <bgiles@coyotesong.com>
  */
 @Repository
-public interface InstructorRepository extends JpaRepository<Instructor, Integer>, JpaSpecificationExecutor<Instructor> {
+public interface InstructorRepository extends JpaRepository<Instructor, Integer>, JpaSpecificationExecutor<Instructor>,
+        RangeSpecificationExecutor<Instructor> {
     Instructor findInstructorByUuid(String uuid);
 
     Instructor findInstructorByEmailAddress(String emailAddress);
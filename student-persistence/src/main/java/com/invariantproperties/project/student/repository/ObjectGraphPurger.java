@@ -0,0 +1,55 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+import com.invariantproperties.project.student.business.PurgeListener;
+import com.invariantproperties.project.student.business.PurgeResult;
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.Term;
+import com.invariantproperties.project.student.domain.TestRun;
+
+/**
+ * Repository fragment that deletes an object graph with set-based DELETE
+ * statements in dependency order. The statements bypass the persistence
+ * context so it's flushed first and cleared afterwards. This must be called
+ * within a transaction.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public interface ObjectGraphPurger {
+
+    /**
+     * Delete the test run and every object that belongs to it.
+     */
+    PurgeResult purgeTestRun(TestRun testRun, PurgeListener listener);
+
+    /**
+     * Delete the term and its sections and classrooms.
+     */
+    PurgeResult purgeTerm(Term term, PurgeListener listener);
+
+    /**
+     * Delete the course and its sections.
+     */
+    PurgeResult purgeCourse(Course course, PurgeListener listener);
+}
@@ -0,0 +1,53 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+
+/**
+ * Projection of an entity onto a smaller, read-only result class. The query
+ * only selects the projected columns so large columns, e.g., LOBs, are never
+ * read and the results are not managed by the persistence context.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ * 
+ * @param <T>
+ *            entity class
+ * @param <P>
+ *            result class
+ */
+public interface Projection<T, P> {
+
+    /**
+     * Get the result class.
+     */
+    Class<P> getResultClass();
+
+    /**
+     * Create the selection, normally a constructor expression, from the
+     * query root.
+     */
+    Selection<P> select(Root<T> root, CriteriaBuilder cb);
+}
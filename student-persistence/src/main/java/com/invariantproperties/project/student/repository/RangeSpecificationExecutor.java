@@ -0,0 +1,97 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.invariantproperties.project.student.business.ResultHandler;
+
+/**
+ * Repository fragment that returns a bounded, sorted slice of the rows
+ * matching a specification. Unlike
+ * {@link org.springframework.data.jpa.repository.JpaSpecificationExecutor#findAll(Specification, org.springframework.data.domain.Pageable)}
+ * it does not issue a count query first.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ * 
+ * @param <T>
+ */
+public interface RangeSpecificationExecutor<T> {
+
+    /**
+     * Find up to maxResults rows matching the specification, in the
+     * specified order, skipping the first firstResult rows.
+     */
+    List<T> findRange(Specification<T> spec, Sort sort, int firstResult, int maxResults);
+
+    /**
+     * Find up to maxResults rows matching the specification, in the
+     * specified order, skipping the first firstResult rows. The associations
+     * are loaded as described by the fetch profile.
+     */
+    List<T> findRange(Specification<T> spec, Sort sort, int firstResult, int maxResults, FetchProfile<T> profile);
+
+    /**
+     * Find all rows matching the specification, in the specified order. The
+     * sort may be null. The associations are loaded as described by the
+     * fetch profile.
+     */
+    List<T> findAll(Specification<T> spec, Sort sort, FetchProfile<T> profile);
+
+    /**
+     * Find up to maxResults rows matching the specification, in the
+     * specified order, skipping the first firstResult rows. Only the columns
+     * of the projection are read.
+     */
+    <P> List<P> findRange(Specification<T> spec, Sort sort, int firstResult, int maxResults,
+            Projection<T, P> projection);
+
+    /**
+     * Find all rows matching the specification, in the specified order. The
+     * sort may be null. Only the columns of the projection are read.
+     */
+    <P> List<P> findAll(Specification<T> spec, Sort sort, Projection<T, P> projection);
+
+    /**
+     * Find the rows with any of the specified uuids. The uuids are looked up
+     * with one 'in' query per chunk of uuids so the query stays within the
+     * database limits. Unknown uuids are ignored and the results are in no
+     * particular order.
+     */
+    List<T> findByUuids(Collection<String> uuids);
+
+    /**
+     * Pass each row matching the specification, in the specified order, to
+     * the handler. The rows are read with a forward-only cursor using the
+     * specified JDBC fetch size and each row is evicted from the persistence
+     * context once it has been handled. This must be called within a
+     * transaction.
+     */
+    void scroll(Specification<T> spec, Sort sort, int fetchSize, ResultHandler<? super T> handler)
+            throws IOException;
+}
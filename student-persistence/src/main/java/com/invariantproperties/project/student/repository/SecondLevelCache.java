@@ -0,0 +1,100 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.ejb.HibernateEntityManagerFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.Term;
+
+/**
+ * Names and helper methods for the optional second-level cache. The regions
+ * themselves (size, TTL) are defined in ehcache-student.xml and enabled by
+ * {@link com.invariantproperties.project.student.config.SecondLevelCacheConfig}.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public final class SecondLevelCache {
+    public static final String CACHEABLE_HINT = "org.hibernate.cacheable";
+    public static final String CACHE_REGION_HINT = "org.hibernate.cacheRegion";
+
+    // query cache regions
+    public static final String COURSE_QUERIES = "student.query.course";
+    public static final String TERM_QUERIES = "student.query.term";
+    public static final String CLASSROOM_QUERIES = "student.query.classroom";
+
+    // collection cache regions (the collection roles)
+    public static final String COURSE_SECTIONS = Course.class.getName() + ".sections";
+    public static final String TERM_SECTIONS = Term.class.getName() + ".sections";
+    public static final String TERM_CLASSROOMS = Term.class.getName() + ".classrooms";
+
+    private SecondLevelCache() {
+    }
+
+    /**
+     * Get the Hibernate session factory behind the entity manager.
+     */
+    static SessionFactory getSessionFactory(EntityManager em) {
+        if (em.getEntityManagerFactory() instanceof HibernateEntityManagerFactory) {
+            return ((HibernateEntityManagerFactory) em.getEntityManagerFactory()).getSessionFactory();
+        }
+        return em.unwrap(Session.class).getSessionFactory();
+    }
+
+    /**
+     * Evict all cached instances of the specified collections.
+     */
+    static void evictCollections(EntityManager em, String... roles) {
+        final Cache cache = getSessionFactory(em).getCache();
+        for (String role : roles) {
+            cache.evictCollectionRegion(role);
+        }
+    }
+
+    /**
+     * Get the hit/miss statistics of all second-level cache regions.
+     */
+    static Map<String, SecondLevelCacheStatistics> getStatistics(EntityManager em) {
+        final Statistics stats = getSessionFactory(em).getStatistics();
+        if (!stats.isStatisticsEnabled()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, SecondLevelCacheStatistics> results = new LinkedHashMap<String, SecondLevelCacheStatistics>();
+        for (String region : stats.getSecondLevelCacheRegionNames()) {
+            results.put(region, stats.getSecondLevelCacheStatistics(region));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+import java.util.List;
+
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.Hibernate;
+
+import com.invariantproperties.project.student.domain.Section;
+
+/**
+ * Fetch profiles for sections. All profiles join fetch the course and term,
+ * 'withRoster' also loads the instructors and students and 'withSchedule'
+ * also loads the classrooms.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public enum SectionFetchProfile implements FetchProfile<Section> {
+    SUMMARY("summary"),
+
+    WITH_ROSTER("withRoster") {
+        @Override
+        public void initialize(List<Section> results) {
+            for (Section section : results) {
+                Hibernate.initialize(section.getInstructors());
+                Hibernate.initialize(section.getStudents());
+            }
+        }
+    },
+
+    WITH_SCHEDULE("withSchedule") {
+        @Override
+        public void initialize(List<Section> results) {
+            for (Section section : results) {
+                Hibernate.initialize(section.getClassrooms());
+            }
+        }
+    };
+
+    private final String profileName;
+
+    private SectionFetchProfile(String name) {
+        this.profileName = name;
+    }
+
+    /**
+     * Get the profile with the specified name.
+     * 
+     * @throws IllegalArgumentException
+     *             if the name is not known
+     */
+    public static SectionFetchProfile forName(String name) {
+        for (SectionFetchProfile profile : values()) {
+            if (profile.profileName.equals(name)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("unknown section fetch profile: " + name);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.repository.FetchProfile#getName()
+     */
+    @Override
+    public String getName() {
+        return profileName;
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.repository.FetchProfile#fetch(javax.persistence.criteria.Root)
+     */
+    @Override
+    public void fetch(Root<Section> root) {
+        // the course and term are many-to-one so this doesn't add rows.
+        root.fetch("course", JoinType.LEFT);
+        root.fetch("term", JoinType.LEFT);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.repository.FetchProfile#initialize(java.util.List)
+     */
+    @Override
+    public void initialize(List<Section> results) {
+    }
+}
@@ -34,6 +34,7 @@ import com.invariantproperties.project.student.domain.Section;
  * @author Bear Giles <bgiles@coyotesong.com>
  */
 @Repository
-public interface SectionRepository extends JpaRepository<Section, Integer>, JpaSpecificationExecutor<Section> {
+public interface SectionRepository extends JpaRepository<Section, Integer>, JpaSpecificationExecutor<Section>,
+        RangeSpecificationExecutor<Section>, CollectionCacheEvictor, SectionRosterUpdater {
     Section findSectionByUuid(String uuid);
 }
@@ -0,0 +1,81 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+import javax.persistence.Query;
+
+import org.hibernate.SQLQuery;
+
+import com.invariantproperties.project.student.domain.Section;
+import com.invariantproperties.project.student.domain.Student;
+
+/**
+ * Custom repository methods for sections.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class SectionRepositoryImpl extends AbstractCachingSpecificationExecutor<Section> implements
+        SectionRosterUpdater {
+    private static final String SECTION_STUDENTS = "section_students";
+    private static final String ADD_STUDENT = "insert into section_students (sections, students) select ?, ? "
+            + "where not exists (select 1 from section_students where sections = ? and students = ?)";
+    private static final String REMOVE_STUDENT = "delete from section_students where sections = ? and students = ?";
+
+    public SectionRepositoryImpl() {
+        super(Section.class, null, SecondLevelCache.COURSE_SECTIONS, SecondLevelCache.TERM_SECTIONS);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.repository.SectionRosterUpdater#
+     *      addStudent(com.invariantproperties.project.student.domain.Section,
+     *      com.invariantproperties.project.student.domain.Student)
+     */
+    @Override
+    public boolean addStudent(Section section, Student student) {
+        return createRosterUpdate(ADD_STUDENT, section.getId(), student.getId(), section.getId(), student.getId())
+                .executeUpdate() == 1;
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.repository.SectionRosterUpdater#
+     *      removeStudent(com.invariantproperties.project.student.domain.Section,
+     *      com.invariantproperties.project.student.domain.Student)
+     */
+    @Override
+    public boolean removeStudent(Section section, Student student) {
+        return createRosterUpdate(REMOVE_STUDENT, section.getId(), student.getId()).executeUpdate() == 1;
+    }
+
+    /**
+     * Create a native update of the join table. Declaring the table keeps
+     * Hibernate from invalidating every second-level cache region.
+     */
+    private Query createRosterUpdate(String sql, Object... parameters) {
+        final Query query = getEntityManager().createNativeQuery(sql);
+        query.unwrap(SQLQuery.class).addSynchronizedQuerySpace(SECTION_STUDENTS);
+        for (int i = 0; i < parameters.length; i++) {
+            query.setParameter(i + 1, parameters[i]);
+        }
+        return query;
+    }
+}
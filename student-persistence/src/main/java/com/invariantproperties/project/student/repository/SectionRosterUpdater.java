@@ -0,0 +1,52 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+import com.invariantproperties.project.student.domain.Section;
+import com.invariantproperties.project.student.domain.Student;
+
+/**
+ * Repository fragment that adds or removes a single student to or from a
+ * section's roster. Each call writes at most one section_students row and
+ * does not touch the section itself, so concurrent enrollments in the same
+ * section don't conflict on its version. The section's students collection
+ * is not updated if it has already been loaded.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public interface SectionRosterUpdater {
+
+    /**
+     * Add the student to the section.
+     * 
+     * @return true if the student was added, false if already enrolled
+     */
+    boolean addStudent(Section section, Student student);
+
+    /**
+     * Remove the student from the section.
+     * 
+     * @return true if the student was removed, false if not enrolled
+     */
+    boolean removeStudent(Section section, Student student);
+}
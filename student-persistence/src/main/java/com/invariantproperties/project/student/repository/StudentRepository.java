@@ -34,7 +34,8 @@ import com.invariantproperties.project.student.domain.Student;
  * @author Bear Giles <bgiles@coyotesong.com>
  */
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Integer>, JpaSpecificationExecutor<Student> {
+public interface StudentRepository extends JpaRepository<Student, Integer>, JpaSpecificationExecutor<Student>,
+        RangeSpecificationExecutor<Student> {
     Student findStudentByUuid(String uuid);
 
     Student findStudentByEmailAddress(String emailAddress);
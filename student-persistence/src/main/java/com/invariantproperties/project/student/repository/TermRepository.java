@@ -22,8 +22,11 @@
  */
 package com.invariantproperties.project.student.repository;
 
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.invariantproperties.project.student.domain.Term;
@@ -34,6 +37,9 @@ import com.invariantproperties.project.student.domain.Term;
  * @author Bear Giles <bgiles@coyotesong.com>
  */
 @Repository
-public interface TermRepository extends JpaRepository<Term, Integer>, JpaSpecificationExecutor<Term> {
+public interface TermRepository extends JpaRepository<Term, Integer>, JpaSpecificationExecutor<Term>,
+        RangeSpecificationExecutor<Term>, CachingSpecificationExecutor<Term>, CollectionCacheEvictor {
+    @QueryHints({ @QueryHint(name = SecondLevelCache.CACHEABLE_HINT, value = "true"),
+            @QueryHint(name = SecondLevelCache.CACHE_REGION_HINT, value = SecondLevelCache.TERM_QUERIES) })
     Term findTermByUuid(String uuid);
 }
@@ -33,6 +33,6 @@ import com.invariantproperties.project.student.domain.TestRun;
  * @author Bear Giles <bgiles@coyotesong.com>
  */
 @Repository
-public interface TestRunRepository extends JpaRepository<TestRun, Integer> {
+public interface TestRunRepository extends JpaRepository<TestRun, Integer>, ObjectGraphPurger {
     TestRun findTestRunByUuid(String uuid);
 }
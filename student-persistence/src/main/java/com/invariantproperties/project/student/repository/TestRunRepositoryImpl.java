@@ -0,0 +1,154 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+
+import org.hibernate.SQLQuery;
+
+import com.invariantproperties.project.student.business.PurgeListener;
+import com.invariantproperties.project.student.business.PurgeResult;
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.Term;
+import com.invariantproperties.project.student.domain.TestRun;
+
+/**
+ * Custom repository methods for test runs. Spring Data picks this class up
+ * by name.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class TestRunRepositoryImpl implements ObjectGraphPurger {
+    private static final String SECTION_STUDENTS = "section_students";
+    private static final String SECTION_INSTRUCTORS = "section_instructors";
+    private static final String CLASSROOM = "classroom";
+    private static final String SECTION = "section";
+    private static final String COURSE = "course";
+    private static final String TERM = "term";
+    private static final String STUDENT = "student";
+    private static final String INSTRUCTOR = "instructor";
+    private static final String TEST_RUN = "test_run";
+
+    // the test run's sections, including any that refer to its courses or
+    // terms.
+    private static final String TEST_RUN_SECTIONS = "select section_pkey from section where test_run_pkey = :id "
+            + "or section in (select course_pkey from course where test_run_pkey = :id) "
+            + "or term in (select term_pkey from term where test_run_pkey = :id)";
+    private static final String TERM_SECTIONS = "select section_pkey from section where term = :id";
+    private static final String COURSE_SECTIONS = "select section_pkey from section where section = :id";
+
+    // each step is { table, statement }, in dependency order.
+    private static final String[][] TEST_RUN_STEPS = {
+            { SECTION_STUDENTS, "delete from section_students where sections in (" + TEST_RUN_SECTIONS + ") "
+                    + "or students in (select student_pkey from student where test_run_pkey = :id)" },
+            { SECTION_INSTRUCTORS, "delete from section_instructors where sections in (" + TEST_RUN_SECTIONS + ") "
+                    + "or instructors in (select instructor_pkey from instructor where test_run_pkey = :id)" },
+            { CLASSROOM, "delete from classroom where test_run_pkey = :id or section in (" + TEST_RUN_SECTIONS
+                    + ") or term in (select term_pkey from term where test_run_pkey = :id)" },
+            { SECTION, "delete from section where test_run_pkey = :id "
+                    + "or section in (select course_pkey from course where test_run_pkey = :id) "
+                    + "or term in (select term_pkey from term where test_run_pkey = :id)" },
+            { COURSE, "delete from course where test_run_pkey = :id" },
+            { TERM, "delete from term where test_run_pkey = :id" },
+            { STUDENT, "delete from student where test_run_pkey = :id" },
+            { INSTRUCTOR, "delete from instructor where test_run_pkey = :id" },
+            { TEST_RUN, "delete from test_run where test_run_pkey = :id" } };
+
+    private static final String[][] TERM_STEPS = {
+            { SECTION_STUDENTS, "delete from section_students where sections in (" + TERM_SECTIONS + ")" },
+            { SECTION_INSTRUCTORS, "delete from section_instructors where sections in (" + TERM_SECTIONS + ")" },
+            { CLASSROOM, "delete from classroom where term = :id or section in (" + TERM_SECTIONS + ")" },
+            { SECTION, "delete from section where term = :id" },
+            { TERM, "delete from term where term_pkey = :id" } };
+
+    private static final String[][] COURSE_STEPS = {
+            { SECTION_STUDENTS, "delete from section_students where sections in (" + COURSE_SECTIONS + ")" },
+            { SECTION_INSTRUCTORS, "delete from section_instructors where sections in (" + COURSE_SECTIONS + ")" },
+            { CLASSROOM, "delete from classroom where section in (" + COURSE_SECTIONS + ")" },
+            { SECTION, "delete from section where section = :id" },
+            { COURSE, "delete from course where course_pkey = :id" } };
+
+    @PersistenceContext
+    private EntityManager em;
+
+    /**
+     * @see com.invariantproperties.project.student.repository.ObjectGraphPurger#
+     *      purgeTestRun(com.invariantproperties.project.student.domain.TestRun,
+     *      com.invariantproperties.project.student.business.PurgeListener)
+     */
+    @Override
+    public PurgeResult purgeTestRun(TestRun testRun, PurgeListener listener) {
+        return purge(testRun.getUuid(), testRun.getId(), TEST_RUN_STEPS, listener);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.repository.ObjectGraphPurger#
+     *      purgeTerm(com.invariantproperties.project.student.domain.Term,
+     *      com.invariantproperties.project.student.business.PurgeListener)
+     */
+    @Override
+    public PurgeResult purgeTerm(Term term, PurgeListener listener) {
+        return purge(term.getUuid(), term.getId(), TERM_STEPS, listener);
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.repository.ObjectGraphPurger#
+     *      purgeCourse(com.invariantproperties.project.student.domain.Course,
+     *      com.invariantproperties.project.student.business.PurgeListener)
+     */
+    @Override
+    public PurgeResult purgeCourse(Course course, PurgeListener listener) {
+        return purge(course.getUuid(), course.getId(), COURSE_STEPS, listener);
+    }
+
+    /**
+     * Execute the steps. Each statement declares the table it deletes from
+     * so Hibernate only invalidates the matching second-level cache regions.
+     */
+    private PurgeResult purge(String uuid, Integer id, String[][] steps, PurgeListener listener) {
+        em.flush();
+
+        final Map<String, Integer> deleted = new LinkedHashMap<String, Integer>();
+        for (int i = 0; i < steps.length; i++) {
+            final String table = steps[i][0];
+            final Query query = em.createNativeQuery(steps[i][1]).setParameter("id", id);
+            query.unwrap(SQLQuery.class).addSynchronizedQuerySpace(table);
+            final int rows = query.executeUpdate();
+
+            deleted.put(table, rows);
+            if (listener != null) {
+                listener.deleted(table, rows, i + 1, steps.length);
+            }
+        }
+
+        // the deleted objects may still be in the persistence context.
+        em.clear();
+
+        return new PurgeResult(uuid, deleted);
+    }
+}
@@ -22,17 +22,10 @@
  */
 package com.invariantproperties.project.student.specification;
 
-import javax.persistence.criteria.CriteriaBuilder;
-import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Predicate;
-import javax.persistence.criteria.Root;
-
 import org.springframework.data.jpa.domain.Specification;
 
 import com.invariantproperties.project.student.domain.Classroom;
 import com.invariantproperties.project.student.domain.TestRun;
-import com.invariantproperties.project.student.metamodel.Classroom_;
-import com.invariantproperties.project.student.metamodel.TestRun_;
 
 /**
  * JPA Criteria specifications for classrooms.
@@ -49,18 +42,6 @@ public class ClassroomSpecifications {
      * @return
      */
     public static Specification<Classroom> testRunIs(final TestRun testRun) {
-
-        return new Specification<Classroom>() {
-            @Override
-            public Predicate toPredicate(Root<Classroom> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
-                Predicate p = null;
-                if (testRun == null || testRun.getUuid() == null) {
-                    p = cb.isNull(root.<Classroom_> get("testRun"));
-                } else {
-                    p = cb.equal(root.<Classroom_> get("testRun").<TestRun_> get("uuid"), testRun.getUuid());
-                }
-                return p;
-            }
-        };
+        return PersistentObjectSpecifications.testRunIs(testRun);
     }
 }
\ No newline at end of file
@@ -22,17 +22,10 @@
  */
 package com.invariantproperties.project.student.specification;
 
-import javax.persistence.criteria.CriteriaBuilder;
-import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Predicate;
-import javax.persistence.criteria.Root;
-
 import org.springframework.data.jpa.domain.Specification;
 
 import com.invariantproperties.project.student.domain.Course;
 import com.invariantproperties.project.student.domain.TestRun;
-import com.invariantproperties.project.student.metamodel.Course_;
-import com.invariantproperties.project.student.metamodel.TestRun_;
 
 /**
  * JPA Criteria specifications for courses.
@@ -48,18 +41,6 @@ public class CourseSpecifications {
      * @return
      */
     public static Specification<Course> testRunIs(final TestRun testRun) {
-
-        return new Specification<Course>() {
-            @Override
-            public Predicate toPredicate(Root<Course> courseRoot, CriteriaQuery<?> query, CriteriaBuilder cb) {
-                Predicate p = null;
-                if (testRun == null || testRun.getUuid() == null) {
-                    p = cb.isNull(courseRoot.<Course_> get("testRun"));
-                } else {
-                    p = cb.equal(courseRoot.<Course_> get("testRun").<TestRun_> get("uuid"), testRun.getUuid());
-                }
-                return p;
-            }
-        };
+        return PersistentObjectSpecifications.testRunIs(testRun);
     }
 }
\ No newline at end of file
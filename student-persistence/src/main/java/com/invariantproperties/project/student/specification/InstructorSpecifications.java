@@ -22,17 +22,10 @@
  */
 package com.invariantproperties.project.student.specification;
 
-import javax.persistence.criteria.CriteriaBuilder;
-import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.Predicate;
-import javax.persistence.criteria.Root;
-
 import org.springframework.data.jpa.domain.Specification;
 
 import com.invariantproperties.project.student.domain.Instructor;
 import com.invariantproperties.project.student.domain.TestRun;
-import com.invariantproperties.project.student.metamodel.Instructor_;
-import com.invariantproperties.project.student.metamodel.TestRun_;
 
 /**
  * JPA Criteria specifications for instructors.
@@ -49,18 +42,6 @@ public class InstructorSpecifications {
      * @return
      */
     public static Specification<Instructor> testRunIs(final TestRun testRun) {
-
-        return new Specification<Instructor>() {
-            @Override
-            public Predicate toPredicate(Root<Instructor> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
-                Predicate p = null;
-                if (testRun == null || testRun.getUuid() == null) {
-                    p = cb.isNull(root.<Instructor_> get("testRun"));
-                } else {
-                    p = cb.equal(root.<Instructor_> get("testRun").<TestRun_> get("uuid"), testRun.getUuid());
-                }
-                return p;
-            }
-        };
+        return PersistentObjectSpecifications.testRunIs(testRun);
     }
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.invariantproperties.project.student.business.OrderBy;
+
+/**
+ * JPA Criteria specifications used by paged queries.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class PagingSpecifications {
+
+    /**
+     * Creates a specification that matches the rows that sort strictly after
+     * the row with the specified sort key values. For sort keys (k1, k2, k3)
+     * this is
+     * 
+     * <pre>
+     * (k1 > v1) or (k1 = v1 and k2 > v2) or (k1 = v1 and k2 = v2 and k3 > v3)
+     * </pre>
+     * 
+     * with '<' substituted for descending keys. The keys must be non-null
+     * columns and the last key must be unique for the result to be exact.
+     * 
+     * @param orderBy
+     * @param values
+     * @return
+     */
+    public static <T> Specification<T> keysetAfter(final List<OrderBy> orderBy, final List<?> values) {
+        if (orderBy.size() != values.size()) {
+            throw new IllegalArgumentException("keyset has " + values.size() + " values but there are "
+                    + orderBy.size() + " sort keys");
+        }
+
+        return new Specification<T>() {
+            @SuppressWarnings({ "rawtypes", "unchecked" })
+            @Override
+            public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+                final List<Predicate> alternatives = new ArrayList<Predicate>(orderBy.size());
+                final List<Predicate> prefix = new ArrayList<Predicate>(orderBy.size());
+                for (int i = 0; i < orderBy.size(); i++) {
+                    final OrderBy key = orderBy.get(i);
+                    final Expression<Comparable> path = root.get(key.getProperty());
+                    final Comparable value = (Comparable) values.get(i);
+
+                    final List<Predicate> terms = new ArrayList<Predicate>(prefix);
+                    terms.add(key.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value));
+                    alternatives.add(cb.and(terms.toArray(new Predicate[terms.size()])));
+
+                    prefix.add(cb.equal(path, value));
+                }
+                return cb.or(alternatives.toArray(new Predicate[alternatives.size()]));
+            }
+        };
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.specification;
+
+import java.util.Collection;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.invariantproperties.project.student.domain.PersistentObject;
+import com.invariantproperties.project.student.domain.TestRun;
+import com.invariantproperties.project.student.domain.TestablePersistentObject;
+
+/**
+ * JPA Criteria specifications that apply to all persistent objects.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class PersistentObjectSpecifications {
+
+    /**
+     * Creates a specification used to find the objects with any of the
+     * specified uuids. The caller is responsible for keeping the number of
+     * uuids reasonable.
+     * 
+     * @param uuids
+     * @return
+     */
+    public static <T extends PersistentObject> Specification<T> uuidIn(final Collection<String> uuids) {
+
+        return new Specification<T>() {
+            @Override
+            public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+                if (uuids.isEmpty()) {
+                    // 'in ()' is not valid SQL
+                    return cb.disjunction();
+                }
+                return root.<String> get("uuid").in(uuids);
+            }
+        };
+    }
+
+    /**
+     * Creates a specification used to find the objects that belong to the
+     * specified test run, or to no test run if it is null.
+     * 
+     * @param testRun
+     * @return
+     */
+    public static <T extends TestablePersistentObject> Specification<T> testRunIs(final TestRun testRun) {
+
+        return new Specification<T>() {
+            @Override
+            public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+                return testRunIs(root, cb, testRun);
+            }
+        };
+    }
+
+    /**
+     * Creates a predicate that compares the object's test_run_pkey foreign
+     * key with the test run's id. This does not join the test_run table. A
+     * test run that has not been persisted yet has no id so it falls back to
+     * comparing the test run's uuid.
+     * 
+     * @param path
+     * @param cb
+     * @param testRun
+     * @return
+     */
+    public static Predicate testRunIs(Path<? extends TestablePersistentObject> path, CriteriaBuilder cb,
+            TestRun testRun) {
+        final Path<TestRun> testRunPath = path.get("testRun");
+        if (testRun == null || testRun.getUuid() == null) {
+            return cb.isNull(testRunPath);
+        }
+        if (testRun.getId() != null) {
+            // compared as an entity so the id is bound, not inlined.
+            return cb.equal(testRunPath, testRun);
+        }
+        return cb.equal(testRunPath.<String> get("uuid"), testRun.getUuid());
+    }
+}
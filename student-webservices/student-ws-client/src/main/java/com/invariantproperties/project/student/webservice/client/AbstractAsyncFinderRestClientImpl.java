@@ -0,0 +1,231 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response.Status;
+
+import com.invariantproperties.project.student.business.OrderBy;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
+import com.invariantproperties.project.student.domain.PersistentObject;
+import com.invariantproperties.project.student.domain.TestRun;
+import com.ning.http.client.RequestBuilder;
+import com.ning.http.client.Response;
+
+/**
+ * Abstract implementation of AsyncFinderRestClient. It makes the same requests
+ * as AbstractFinderRestClientImpl but it does not keep an entity tag cache.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class AbstractAsyncFinderRestClientImpl<T extends PersistentObject> implements AsyncFinderRestClient<T> {
+    private final String resource;
+    private final Class<T> objectClass;
+    private final Class<T[]> objectArrayClass;
+
+    /**
+     * Constructor.
+     * 
+     * @param resource
+     */
+    public AbstractAsyncFinderRestClientImpl(final String resource, final Class<T> objectClass,
+            final Class<T[]> objectArrayClass) {
+        this.resource = resource;
+        this.objectClass = objectClass;
+        this.objectArrayClass = objectArrayClass;
+    }
+
+    /**
+     * Helper method for testing.
+     * 
+     * @return
+     */
+    AsyncRestTransport createTransport() {
+        return RestClientFactory.getAsyncTransport();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<Long> count(final RestCallback<Long> callback) {
+        return countByTestRun(null, callback);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<Long> countByTestRun(final TestRun testRun, final RestCallback<Long> callback) {
+        final RequestBuilder builder = get(resource, testRun).addQueryParameter("countOnly", "true");
+
+        return createTransport().execute(builder.build(), new AsyncRestTransport.ResponseReader<Long>() {
+            @Override
+            public Long read(Response response) throws Exception {
+                if (response.getStatusCode() != Status.OK.getStatusCode()) {
+                    throw new RestClientFailureException(resource, objectClass, null, response.getStatusCode());
+                }
+                return AbstractFinderRestClientImpl.parseCount(response.getResponseBody());
+            }
+        }, callback);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<List<T>> findAll(final RestCallback<List<T>> callback) {
+        return findByTestRun(null, callback);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<List<T>> findByTestRun(final TestRun testRun, final RestCallback<List<T>> callback) {
+        final AsyncRestTransport transport = createTransport();
+        return transport.execute(get(resource, testRun).build(), new AsyncRestTransport.ResponseReader<List<T>>() {
+            @Override
+            public List<T> read(Response response) throws Exception {
+                if (response.getStatusCode() != Status.OK.getStatusCode()) {
+                    throw new RestClientFailureException(resource, objectClass, "<none>", response.getStatusCode());
+                }
+                return Arrays.asList(transport.readEntity(response, objectArrayClass));
+            }
+        }, callback);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<ResultPage<T>> find(final Paging paging, final RestCallback<ResultPage<T>> callback) {
+        return findByTestRun(null, paging, callback);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<ResultPage<T>> findByTestRun(final TestRun testRun, final Paging paging,
+            final RestCallback<ResultPage<T>> callback) {
+        if (paging.isKeyset()) {
+            throw new IllegalArgumentException("REST API only supports offset paging");
+        }
+
+        final RequestBuilder builder = get(resource, testRun);
+        builder.addQueryParameter("offset", Integer.toString(paging.getOffset()));
+        builder.addQueryParameter("maxResults", Integer.toString(paging.getMaxResults()));
+        builder.addQueryParameter("orderBy", OrderBy.format(paging.getOrderBy()));
+
+        final AsyncRestTransport transport = createTransport();
+        return transport.execute(builder.build(), new AsyncRestTransport.ResponseReader<ResultPage<T>>() {
+            @Override
+            public ResultPage<T> read(Response response) throws Exception {
+                if (response.getStatusCode() != Status.OK.getStatusCode()) {
+                    throw new RestClientFailureException(resource, objectClass, "<none>", response.getStatusCode());
+                }
+                final List<T> entities = Arrays.asList(transport.readEntity(response, objectArrayClass));
+                Paging next = null;
+                if (AbstractFinderRestClientImpl.hasNextLink(AsyncRestTransport.getHeaders(response))) {
+                    next = Paging.offset(paging.getOffset() + entities.size(), paging.getMaxResults(),
+                            paging.getOrderBy());
+                }
+                return new ResultPage<T>(entities, next);
+            }
+        }, callback);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<T> findByUuid(final String uuid, final RestCallback<T> callback) {
+        final AsyncRestTransport transport = createTransport();
+        return transport.execute(get(resource + uuid, null).build(), new AsyncRestTransport.ResponseReader<T>() {
+            @Override
+            public T read(Response response) throws Exception {
+                if (response.getStatusCode() == Status.OK.getStatusCode()) {
+                    return transport.readEntity(response, objectClass);
+                } else if (response.getStatusCode() == Status.NOT_FOUND.getStatusCode()) {
+                    throw new ObjectNotFoundException(resource, objectClass, uuid);
+                } else {
+                    throw new RestClientFailureException(resource, objectClass, uuid, response.getStatusCode());
+                }
+            }
+        }, callback);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<List<T>> findByUuids(final Collection<String> uuids, final RestCallback<List<T>> callback) {
+        if (uuids.size() > AbstractFinderRestClientImpl.LOOKUP_SIZE) {
+            throw new IllegalArgumentException("no more than " + AbstractFinderRestClientImpl.LOOKUP_SIZE
+                    + " uuids");
+        }
+
+        if (uuids.isEmpty()) {
+            return AsyncRestTransport.<List<T>> completed(new ArrayList<T>(), callback);
+        }
+
+        final RequestBuilder builder = new RequestBuilder("POST").setUrl(resource + "lookup")
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED)
+                .setHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+        for (String uuid : uuids) {
+            builder.addParameter("uuid", uuid);
+        }
+
+        final AsyncRestTransport transport = createTransport();
+        return transport.execute(builder.build(), new AsyncRestTransport.ResponseReader<List<T>>() {
+            @Override
+            public List<T> read(Response response) throws Exception {
+                if (response.getStatusCode() != Status.OK.getStatusCode()) {
+                    throw new RestClientFailureException(resource, objectClass, "<none>", response.getStatusCode());
+                }
+                return Arrays.asList(transport.readEntity(response, objectArrayClass));
+            }
+        }, callback);
+    }
+
+    /**
+     * Create a JSON GET request, optionally restricted to the test run.
+     */
+    private static RequestBuilder get(final String url, final TestRun testRun) {
+        final RequestBuilder builder = new RequestBuilder("GET").setUrl(url).setHeader(HttpHeaders.ACCEPT,
+                MediaType.APPLICATION_JSON);
+        if (testRun != null && testRun.getUuid() != null) {
+            builder.addQueryParameter("testUuid", testRun.getUuid());
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client;
+
+import java.util.concurrent.Future;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response.Status;
+
+import com.invariantproperties.project.student.domain.PersistentObject;
+import com.ning.http.client.RequestBuilder;
+import com.ning.http.client.Response;
+
+/**
+ * Abstract implementation of AsyncManagerRestClient. It makes the same
+ * requests as AbstractManagerRestClientImpl. Subclasses create the JSON for
+ * each object.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public abstract class AbstractAsyncManagerRestClientImpl<T extends PersistentObject> implements
+        AsyncManagerRestClient<T> {
+    private final String resource;
+    private final Class<T> objectClass;
+
+    /**
+     * Constructor.
+     * 
+     * @param resource
+     */
+    public AbstractAsyncManagerRestClientImpl(final String resource, final Class<T> objectClass) {
+        this.resource = resource;
+        this.objectClass = objectClass;
+    }
+
+    /**
+     * Helper method for testing.
+     * 
+     * @return
+     */
+    AsyncRestTransport createTransport() {
+        return RestClientFactory.getAsyncTransport();
+    }
+
+    /**
+     * Create the JSON used to create the object.
+     * 
+     * @param object
+     * @return
+     * @throws IllegalArgumentException
+     *             if a required value is missing
+     */
+    protected abstract JsonEntity createJson(T object);
+
+    /**
+     * Create the JSON used to update the object.
+     * 
+     * @param object
+     * @return
+     * @throws IllegalArgumentException
+     *             if a required value is missing
+     */
+    protected abstract JsonEntity updateJson(T object);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<T> create(final T object, final RestCallback<T> callback) {
+        final JsonEntity json = createJson(object);
+        final RequestBuilder builder = post(resource, json);
+
+        final AsyncRestTransport transport = createTransport();
+        return transport.execute(builder.build(), new AsyncRestTransport.ResponseReader<T>() {
+            @Override
+            public T read(Response response) throws Exception {
+                if (response.getStatusCode() != Status.CREATED.getStatusCode()) {
+                    throw new RestClientFailureException(resource, objectClass, "(" + json + ")",
+                            response.getStatusCode());
+                }
+                return transport.readEntity(response, objectClass);
+            }
+        }, callback);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<T> update(final T object, final RestCallback<T> callback) {
+        final String uuid = object.getUuid();
+        if (uuid == null || uuid.isEmpty()) {
+            throw new IllegalArgumentException("'uuid' is required");
+        }
+        final RequestBuilder builder = post(resource + uuid, updateJson(object));
+
+        final AsyncRestTransport transport = createTransport();
+        return transport.execute(builder.build(), new AsyncRestTransport.ResponseReader<T>() {
+            @Override
+            public T read(Response response) throws Exception {
+                if (response.getStatusCode() == Status.OK.getStatusCode()) {
+                    return transport.readEntity(response, objectClass);
+                } else if (response.getStatusCode() == Status.NOT_FOUND.getStatusCode()) {
+                    throw new ObjectNotFoundException(resource, objectClass, uuid);
+                } else {
+                    throw new RestClientFailureException(resource, objectClass, uuid, response.getStatusCode());
+                }
+            }
+        }, callback);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<Void> delete(final String uuid, final Integer version, final RestCallback<Void> callback) {
+        final RequestBuilder builder = new RequestBuilder("DELETE").setUrl(resource + uuid).setHeader(
+                HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+        if (version != null) {
+            builder.setHeader(HttpHeaders.IF_MATCH, "\"" + uuid + "." + version + "\"");
+        }
+
+        return createTransport().execute(builder.build(), new AsyncRestTransport.ResponseReader<Void>() {
+            @Override
+            public Void read(Response response) throws Exception {
+                final int status = response.getStatusCode();
+                if (status == Status.OK.getStatusCode() || status == Status.NO_CONTENT.getStatusCode()) {
+                    // do nothing
+                } else if (status == Status.NOT_FOUND.getStatusCode()) {
+                    // do nothing - delete is idempotent
+                } else if (status == Status.PRECONDITION_FAILED.getStatusCode()) {
+                    throw new StaleObjectException(resource, objectClass, uuid, version);
+                } else {
+                    throw new RestClientFailureException(resource, objectClass, uuid, status);
+                }
+                return null;
+            }
+        }, callback);
+    }
+
+    /**
+     * Create a JSON POST request. The body is streamed into the request buffer.
+     */
+    private static RequestBuilder post(final String url, final JsonEntity json) {
+        return new RequestBuilder("POST").setUrl(url).setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .setHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON).setBody(json);
+    }
+}
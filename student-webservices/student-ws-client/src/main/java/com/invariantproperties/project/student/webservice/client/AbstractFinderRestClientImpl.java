@@ -22,16 +22,41 @@
  */
 package com.invariantproperties.project.student.webservice.client;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import javax.xml.bind.JAXBException;
 
 import com.invariantproperties.project.student.business.FinderService;
+import com.invariantproperties.project.student.business.OrderBy;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultHandler;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.domain.PersistentObject;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.sun.jersey.api.client.Client;
 import com.sun.jersey.api.client.ClientResponse;
 import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.api.json.JSONJAXBContext;
+import com.sun.jersey.api.json.JSONUnmarshaller;
+import com.sun.jersey.api.representation.Form;
 import com.sun.jersey.core.util.MultivaluedMapImpl;
 
 /**
@@ -40,10 +65,26 @@ import com.sun.jersey.core.util.MultivaluedMapImpl;
  * @author Bear Giles <bgiles@coyotesong.com>
  */
 public class AbstractFinderRestClientImpl<T extends PersistentObject> implements FinderRestClient<T>, FinderService<T> {
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final int CACHE_SIZE = 1000;
+    // maximum number of uuids the server accepts in a single lookup
+    static final int LOOKUP_SIZE = 1000;
+    private static final Pattern COUNT_PATTERN = Pattern.compile("\"count\"\\s*:\\s*(\\d+)");
     private final String resource;
     private final Class<T> objectClass;
     private final Class<T[]> objectArrayClass;
 
+    // least-recently-used cache of objects returned by getObject()
+    @SuppressWarnings("serial")
+    private final Map<String, CachedObject<T>> cache = Collections
+            .synchronizedMap(new LinkedHashMap<String, CachedObject<T>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedObject<T>> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
     /**
      * Constructor.
      * 
@@ -62,7 +103,7 @@ public class AbstractFinderRestClientImpl<T extends PersistentObject> implements
      * @return
      */
     Client createClient() {
-        return Client.create();
+        return RestClientFactory.getClient(resource);
     }
 
     /**
@@ -70,98 +111,337 @@ public class AbstractFinderRestClientImpl<T extends PersistentObject> implements
      */
     @Override
     public long count() {
+        return countByTestRun(null);
+    }
+
+    /**
+     * Count number of objects with specified test uuid
+     */
+    @Override
+    public long countByTestRun(TestRun testRun) {
         final Client client = createClient();
+        final MultivaluedMap<String, String> params = new MultivaluedMapImpl();
+        params.add("countOnly", "true");
+        if (testRun != null && testRun.getUuid() != null) {
+            params.add("testUuid", testRun.getUuid());
+        }
 
+        ClientResponse response = null;
         try {
             final WebResource webResource = client.resource(resource);
-            final ClientResponse response = webResource.queryParam("countOnly", "true")
-                    .accept(MediaType.APPLICATION_JSON).get(ClientResponse.class);
+            response = webResource.queryParams(params).accept(MediaType.APPLICATION_JSON)
+                    .get(ClientResponse.class);
 
             if (response.getStatus() == Response.Status.OK.getStatusCode()) {
-                // final Long entity = response.getEntity(Long.class);
-                Long entity = 0L;
-                return entity;
+                final String entity = response.getEntity(String.class);
+                return parseCount(entity);
             } else {
                 throw new RestClientFailureException(resource, objectClass, null, response);
             }
         } finally {
-            client.destroy();
+            // return the connection to the pool
+            if (response != null) {
+                response.close();
+            }
         }
     }
 
     /**
-     * Count number of objects with specified test uuid
+     * Parse the '{ "count": n }' returned by the server.
      */
-    @Override
-    public long countByTestRun(TestRun testRun) {
-        if (testRun == null || testRun.getUuid() == null) {
-            return count();
+    static long parseCount(final String entity) {
+        final Matcher m = (entity == null) ? null : COUNT_PATTERN.matcher(entity);
+        if (m == null || !m.find()) {
+            throw new IllegalArgumentException("unexpected count: " + entity);
         }
+        return Long.parseLong(m.group(1));
+    }
+
+    /**
+     * List all objects. This is a risky method since there's no attempt at
+     * pagination.
+     */
+    public T[] getAllObjects(final T[] emptyListClass) {
+        return getAllObjects(null, emptyListClass);
+    }
+
+    /**
+     * List all objects with the specified test uuid. This is a risky method
+     * since there's no attempt at pagination.
+     */
+    public T[] getAllObjects(final TestRun testRun, final T[] emptyListClass) {
+        return getAllObjects("", testRun, objectArrayClass);
+    }
 
+    /**
+     * List all objects, or all objects with the specified test uuid, returned
+     * by the specified action, e.g., a summary listing. The action is
+     * appended to the resource and may be empty.
+     */
+    protected <S> S[] getAllObjects(final String action, final TestRun testRun, final Class<S[]> arrayClass) {
         final Client client = createClient();
         final MultivaluedMap<String, String> params = new MultivaluedMapImpl();
-        params.add("countOnly", "true");
-        params.add("testUuid", testRun.getUuid());
+        if (testRun != null && testRun.getUuid() != null) {
+            params.add("testUuid", testRun.getUuid());
+        }
 
+        ClientResponse response = null;
         try {
-            final WebResource webResource = client.resource(resource);
-            final ClientResponse response = webResource.queryParams(params).accept(MediaType.APPLICATION_JSON)
+            final WebResource webResource = client.resource(resource + action);
+            response = webResource.queryParams(params).accept(MediaType.APPLICATION_JSON)
                     .get(ClientResponse.class);
 
             if (response.getStatus() == Response.Status.OK.getStatusCode()) {
-                final Long entity = response.getEntity(Long.class);
-                return entity;
+                final S[] entities = response.getEntity(arrayClass);
+                return entities;
             } else {
-                throw new RestClientFailureException(resource, objectClass, null, response);
+                throw new RestClientFailureException(resource, objectClass, "<none>", response);
             }
         } finally {
-            client.destroy();
+            // return the connection to the pool
+            if (response != null) {
+                response.close();
+            }
         }
     }
 
     /**
-     * List all objects. This is a risky method since there's no attempt at
-     * pagination.
+     * Get a single page of objects. The REST API only supports offset paging.
      */
-    public T[] getAllObjects(final T[] emptyListClass) {
+    public ResultPage<T> getObjects(final Paging paging) {
+        return getObjects(null, paging);
+    }
+
+    /**
+     * Get a single page of objects with the specified test uuid. The REST API
+     * only supports offset paging.
+     */
+    public ResultPage<T> getObjects(final TestRun testRun, final Paging paging) {
+        return getObjects("", testRun, paging, objectArrayClass);
+    }
+
+    /**
+     * Get a single page of the objects returned by the specified action,
+     * e.g., a summary listing, optionally with the specified test uuid. The
+     * action is appended to the resource and may be empty.
+     */
+    protected <S> ResultPage<S> getObjects(final String action, final TestRun testRun, final Paging paging,
+            final Class<S[]> arrayClass) {
+        return getObjects(action, testRun, paging, new MultivaluedMapImpl(), arrayClass);
+    }
+
+    /**
+     * Get a single page of the objects returned by the specified action with
+     * additional query parameters, e.g., a fetch profile.
+     */
+    protected <S> ResultPage<S> getObjects(final String action, final TestRun testRun, final Paging paging,
+            final MultivaluedMap<String, String> query, final Class<S[]> arrayClass) {
+        if (paging.isKeyset()) {
+            throw new IllegalArgumentException("REST API only supports offset paging");
+        }
+
         final Client client = createClient();
+        final MultivaluedMap<String, String> params = new MultivaluedMapImpl();
+        params.putAll(query);
+        if (testRun != null && testRun.getUuid() != null) {
+            params.add("testUuid", testRun.getUuid());
+        }
+        params.add("offset", Integer.toString(paging.getOffset()));
+        params.add("maxResults", Integer.toString(paging.getMaxResults()));
+        params.add("orderBy", OrderBy.format(paging.getOrderBy()));
 
+        ClientResponse response = null;
         try {
-            final WebResource webResource = client.resource(resource);
-            final ClientResponse response = webResource.accept(MediaType.APPLICATION_JSON).get(ClientResponse.class);
+            final WebResource webResource = client.resource(resource + action);
+            response = webResource.queryParams(params).accept(MediaType.APPLICATION_JSON)
+                    .get(ClientResponse.class);
 
             if (response.getStatus() == Response.Status.OK.getStatusCode()) {
-                final T[] entities = response.getEntity(objectArrayClass);
-                return entities;
+                final List<S> entities = Arrays.asList(response.getEntity(arrayClass));
+                Paging next = null;
+                if (hasNextLink(response)) {
+                    next = Paging.offset(paging.getOffset() + entities.size(), paging.getMaxResults(),
+                            paging.getOrderBy());
+                }
+                return new ResultPage<S>(entities, next);
             } else {
                 throw new RestClientFailureException(resource, objectClass, "<none>", response);
             }
         } finally {
-            client.destroy();
+            // return the connection to the pool
+            if (response != null) {
+                response.close();
+            }
+        }
+    }
+
+    /**
+     * Get the objects with the specified uuids. The uuids are posted to the
+     * 'lookup' action so a roster is resolved with a single request instead
+     * of one request per object. Very large lookups are split into several
+     * requests. The results are in the order of the uuids and unknown uuids
+     * are skipped.
+     */
+    public List<T> lookupObjects(final Collection<String> uuids) {
+        final List<String> remaining = new ArrayList<String>(uuids);
+        final List<T> results = new ArrayList<T>(remaining.size());
+        if (remaining.isEmpty()) {
+            return results;
+        }
+
+        final Client client = createClient();
+        for (int i = 0; i < remaining.size(); i += LOOKUP_SIZE) {
+            final Form form = new Form();
+            for (String uuid : remaining.subList(i, Math.min(i + LOOKUP_SIZE, remaining.size()))) {
+                form.add("uuid", uuid);
+            }
+
+            ClientResponse response = null;
+            try {
+                final WebResource webResource = client.resource(resource + "lookup");
+                response = webResource.type(MediaType.APPLICATION_FORM_URLENCODED).accept(MediaType.APPLICATION_JSON)
+                        .post(ClientResponse.class, form);
+
+                if (response.getStatus() == Response.Status.OK.getStatusCode()) {
+                    results.addAll(Arrays.asList(response.getEntity(objectArrayClass)));
+                } else {
+                    throw new RestClientFailureException(resource, objectClass, "<none>", response);
+                }
+            } finally {
+                // return the connection to the pool
+                if (response != null) {
+                    response.close();
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Does the response have a 'next' Link header?
+     */
+    static boolean hasNextLink(final ClientResponse response) {
+        return hasNextLink(response.getHeaders());
+    }
+
+    /**
+     * Do the response headers have a 'next' Link header?
+     */
+    static boolean hasNextLink(final MultivaluedMap<String, String> headers) {
+        final List<String> links = (headers == null) ? null : headers.get("Link");
+        if (links != null) {
+            for (String link : links) {
+                if (link.contains("rel=\"next\"")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stream all objects, or all objects with the specified test uuid, to the
+     * handler. The server sends one object per line so only one object is in
+     * memory at a time.
+     */
+    @Override
+    public void export(final TestRun testRun, final ResultHandler<T> handler) throws IOException {
+        final Client client = createClient();
+        final MultivaluedMap<String, String> params = new MultivaluedMapImpl();
+        if (testRun != null && testRun.getUuid() != null) {
+            params.add("testUuid", testRun.getUuid());
+        }
+
+        ClientResponse response = null;
+        try {
+            final WebResource webResource = client.resource(resource + "export");
+            response = webResource.queryParams(params).accept(APPLICATION_NDJSON).get(ClientResponse.class);
+
+            if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+                throw new RestClientFailureException(resource, objectClass, "<none>", response);
+            }
+
+            final JSONUnmarshaller unmarshaller = new JSONJAXBContext(objectClass).createJSONUnmarshaller();
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(response.getEntityInputStream(),
+                    UTF8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    handler.handle(unmarshaller.unmarshalFromJSON(new StringReader(line), objectClass));
+                }
+            }
+        } catch (JAXBException e) {
+            throw new IOException(e);
+        } finally {
+            // return the connection to the pool
+            if (response != null) {
+                response.close();
+            }
         }
     }
 
     /**
-     * Get a specific object.
+     * Get a specific object. Objects are cached with their entity tag and the
+     * cached copy is revalidated with If-None-Match, so an unchanged object
+     * costs a '304 Not Modified' instead of a full response. Callers must not
+     * modify the returned object.
      */
     public T getObject(String uuid) {
         final Client client = createClient();
+        final CachedObject<T> cached = cache.get(uuid);
 
+        ClientResponse response = null;
         try {
             final WebResource webResource = client.resource(resource + uuid);
-            final ClientResponse response = webResource.accept(MediaType.APPLICATION_JSON).get(ClientResponse.class);
+            WebResource.Builder builder = webResource.accept(MediaType.APPLICATION_JSON);
+            if (cached != null) {
+                builder = builder.header(HttpHeaders.IF_NONE_MATCH, cached.getTag());
+            }
+            response = builder.get(ClientResponse.class);
 
-            if (response.getStatus() == Response.Status.OK.getStatusCode()) {
+            if ((cached != null) && (response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode())) {
+                return cached.getObject();
+            } else if (response.getStatus() == Response.Status.OK.getStatusCode()) {
                 final T entity = response.getEntity(objectClass);
                 // entity.setSelf(resource + entity.getUuid());
+                final EntityTag tag = response.getEntityTag();
+                if (tag != null) {
+                    cache.put(uuid, new CachedObject<T>(tag, entity));
+                }
                 return entity;
             } else if (response.getStatus() == Response.Status.NOT_FOUND.getStatusCode()) {
+                cache.remove(uuid);
                 throw new ObjectNotFoundException(resource, objectClass, uuid);
             } else {
                 throw new RestClientFailureException(resource, objectClass, uuid, response);
             }
         } finally {
-            client.destroy();
+            // return the connection to the pool
+            if (response != null) {
+                response.close();
+            }
+        }
+    }
+
+    /**
+     * Cached object and its entity tag.
+     */
+    static class CachedObject<T> {
+        private final EntityTag tag;
+        private final T object;
+
+        CachedObject(EntityTag tag, T object) {
+            this.tag = tag;
+            this.object = object;
+        }
+
+        EntityTag getTag() {
+            return tag;
+        }
+
+        T getObject() {
+            return object;
         }
     }
 }
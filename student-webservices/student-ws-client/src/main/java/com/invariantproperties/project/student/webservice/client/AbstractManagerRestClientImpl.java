@@ -22,6 +22,8 @@
  */
 package com.invariantproperties.project.student.webservice.client;
 
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
@@ -57,18 +59,20 @@ public class AbstractManagerRestClientImpl<T extends PersistentObject> implement
      * @return
      */
     Client createClient() {
-        return Client.create();
+        return RestClientFactory.getClient(resource);
     }
 
     /**
-     * Create an object with the specified values.
+     * Create an object with the specified values. The JSON is written straight
+     * into the request.
      */
-    public T createObject(final String json) {
+    public T createObject(final JsonEntity json) {
         final Client client = createClient();
 
+        ClientResponse response = null;
         try {
             final WebResource webResource = client.resource(resource);
-            final ClientResponse response = webResource.type(MediaType.APPLICATION_JSON)
+            response = webResource.type(MediaType.APPLICATION_JSON)
                     .accept(MediaType.APPLICATION_JSON).post(ClientResponse.class, json);
 
             if (response.getStatus() == Response.Status.CREATED.getStatusCode()) {
@@ -79,19 +83,23 @@ public class AbstractManagerRestClientImpl<T extends PersistentObject> implement
                 throw new RestClientFailureException(resource, objectClass, "(" + json + ")", response);
             }
         } finally {
-            client.destroy();
+            // return the connection to the pool
+            if (response != null) {
+                response.close();
+            }
         }
     }
 
     /**
      * Update an object with the specified json.
      */
-    public T updateObject(final String json, final String uuid) {
+    public T updateObject(final JsonEntity json, final String uuid) {
         final Client client = createClient();
 
+        ClientResponse response = null;
         try {
             final WebResource webResource = client.resource(resource + uuid);
-            final ClientResponse response = webResource.type(MediaType.APPLICATION_JSON)
+            response = webResource.type(MediaType.APPLICATION_JSON)
                     .accept(MediaType.APPLICATION_JSON).post(ClientResponse.class, json);
 
             if (response.getStatus() == Response.Status.OK.getStatusCode()) {
@@ -104,19 +112,62 @@ public class AbstractManagerRestClientImpl<T extends PersistentObject> implement
                 throw new RestClientFailureException(resource, objectClass, uuid, response);
             }
         } finally {
-            client.destroy();
+            // return the connection to the pool
+            if (response != null) {
+                response.close();
+            }
         }
     }
 
     /**
-     * Delete specified object.
+     * Update the specified version of an object with the specified json. The
+     * server does not read the object first and only applies the update if
+     * the object still has that version.
+     * 
+     * @return the new version
+     */
+    public Integer updateObject(final JsonEntity json, final String uuid, final Integer version) {
+        final Client client = createClient();
+
+        ClientResponse response = null;
+        try {
+            final WebResource webResource = client.resource(resource + uuid);
+            response = webResource.type(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.IF_MATCH, entityTag(uuid, version)).post(ClientResponse.class, json);
+
+            if (response.getStatus() == Response.Status.NO_CONTENT.getStatusCode()) {
+                final String tag = response.getEntityTag().getValue();
+                return Integer.valueOf(tag.substring(tag.lastIndexOf('.') + 1));
+            } else if (response.getStatus() == Response.Status.NOT_FOUND.getStatusCode()) {
+                throw new ObjectNotFoundException(resource, objectClass, uuid);
+            } else if (response.getStatus() == Response.Status.PRECONDITION_FAILED.getStatusCode()) {
+                throw new StaleObjectException(resource, objectClass, uuid, version);
+            } else {
+                throw new RestClientFailureException(resource, objectClass, uuid, response);
+            }
+        } finally {
+            // return the connection to the pool
+            if (response != null) {
+                response.close();
+            }
+        }
+    }
+
+    /**
+     * Delete specified object. If the version is not null the object is only
+     * deleted if it still has that version.
      */
     public void deleteObject(String uuid, Integer version) {
         final Client client = createClient();
 
+        ClientResponse response = null;
         try {
             final WebResource webResource = client.resource(resource + uuid);
-            final ClientResponse response = webResource.accept(MediaType.APPLICATION_JSON).delete(ClientResponse.class);
+            final WebResource.Builder builder = webResource.accept(MediaType.APPLICATION_JSON);
+            if (version != null) {
+                builder.header(HttpHeaders.IF_MATCH, entityTag(uuid, version));
+            }
+            response = builder.delete(ClientResponse.class);
 
             if (response.getStatus() == Response.Status.OK.getStatusCode()) {
                 // do nothing
@@ -124,11 +175,59 @@ public class AbstractManagerRestClientImpl<T extends PersistentObject> implement
                 // do nothing
             } else if (response.getStatus() == Response.Status.NOT_FOUND.getStatusCode()) {
                 // do nothing - delete is idempotent
+            } else if (response.getStatus() == Response.Status.PRECONDITION_FAILED.getStatusCode()) {
+                throw new StaleObjectException(resource, objectClass, uuid, version);
+            } else {
+                throw new RestClientFailureException(resource, objectClass, uuid, response);
+            }
+        } finally {
+            // return the connection to the pool
+            if (response != null) {
+                response.close();
+            }
+        }
+    }
+
+    /**
+     * Add (PUT) or remove (DELETE) a member of one of an object's
+     * collections, e.g., a section's students. The server responds with the
+     * number of entries it changed.
+     * 
+     * @return true if the collection changed
+     */
+    public boolean updateMember(final String uuid, final String collection, final String memberUuid,
+            final boolean add) {
+        final Client client = createClient();
+
+        ClientResponse response = null;
+        try {
+            final WebResource webResource = client.resource(resource + uuid + "/" + collection + "/" + memberUuid);
+            final WebResource.Builder builder = webResource.accept(MediaType.APPLICATION_JSON);
+            response = add ? builder.put(ClientResponse.class) : builder.delete(ClientResponse.class);
+
+            if (response.getStatus() == Response.Status.OK.getStatusCode()) {
+                return AbstractFinderRestClientImpl.parseCount(response.getEntity(String.class)) > 0;
+            } else if (response.getStatus() == Response.Status.NOT_FOUND.getStatusCode()) {
+                throw new ObjectNotFoundException(resource, objectClass, uuid);
             } else {
                 throw new RestClientFailureException(resource, objectClass, uuid, response);
             }
         } finally {
-            client.destroy();
+            // return the connection to the pool
+            if (response != null) {
+                response.close();
+            }
         }
     }
+
+    /**
+     * Entity tag the server uses for the specified version of an object.
+     * 
+     * @param uuid
+     * @param version
+     * @return
+     */
+    EntityTag entityTag(final String uuid, final Integer version) {
+        return new EntityTag(uuid + "." + version);
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
+import com.invariantproperties.project.student.domain.PersistentObject;
+import com.invariantproperties.project.student.domain.TestRun;
+
+/**
+ * Asynchronous finder REST client. Each method sends its request and returns
+ * immediately. The result is available from the returned future and is also
+ * passed to the callback, if there is one. Failures are the exceptions the
+ * blocking clients throw, e.g., ObjectNotFoundException.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public interface AsyncFinderRestClient<T extends PersistentObject> {
+
+    /**
+     * Count all objects.
+     * 
+     * @param callback
+     *            callback, may be null
+     * @return
+     */
+    Future<Long> count(RestCallback<Long> callback);
+
+    /**
+     * Count the objects for the test run.
+     * 
+     * @param testRun
+     * @param callback
+     *            callback, may be null
+     * @return
+     */
+    Future<Long> countByTestRun(TestRun testRun, RestCallback<Long> callback);
+
+    /**
+     * Find all objects.
+     * 
+     * @param callback
+     *            callback, may be null
+     * @return
+     */
+    Future<List<T>> findAll(RestCallback<List<T>> callback);
+
+    /**
+     * Find all objects for the test run.
+     * 
+     * @param testRun
+     * @param callback
+     *            callback, may be null
+     * @return
+     */
+    Future<List<T>> findByTestRun(TestRun testRun, RestCallback<List<T>> callback);
+
+    /**
+     * Find a single page of objects. The REST API only supports offset
+     * paging.
+     * 
+     * @param paging
+     * @param callback
+     *            callback, may be null
+     * @return
+     */
+    Future<ResultPage<T>> find(Paging paging, RestCallback<ResultPage<T>> callback);
+
+    /**
+     * Find a single page of objects for the test run. The REST API only
+     * supports offset paging.
+     * 
+     * @param testRun
+     * @param paging
+     * @param callback
+     *            callback, may be null
+     * @return
+     */
+    Future<ResultPage<T>> findByTestRun(TestRun testRun, Paging paging, RestCallback<ResultPage<T>> callback);
+
+    /**
+     * Find the object with the specified uuid.
+     * 
+     * @param uuid
+     * @param callback
+     *            callback, may be null
+     * @return
+     */
+    Future<T> findByUuid(String uuid, RestCallback<T> callback);
+
+    /**
+     * Find the objects with the specified uuids in a single request. The
+     * results are in the order of the uuids and unknown uuids are skipped.
+     * Larger lookups must be split by the caller.
+     * 
+     * @param uuids
+     *            no more than 1000 uuids
+     * @param callback
+     *            callback, may be null
+     * @return
+     */
+    Future<List<T>> findByUuids(Collection<String> uuids, RestCallback<List<T>> callback);
+}
@@ -0,0 +1,72 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client;
+
+import java.util.concurrent.Future;
+
+import com.invariantproperties.project.student.domain.PersistentObject;
+
+/**
+ * Asynchronous manager REST client. Each method sends its request and returns
+ * immediately. The result is available from the returned future and is also
+ * passed to the callback, if there is one. Invalid arguments are rejected
+ * before the request is sent.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public interface AsyncManagerRestClient<T extends PersistentObject> {
+
+    /**
+     * Create an object with the values of the specified object. The object's
+     * test run, if any, is used as the test run.
+     * 
+     * @param object
+     * @param callback
+     *            callback, may be null
+     * @return
+     */
+    Future<T> create(T object, RestCallback<T> callback);
+
+    /**
+     * Update the object with the same uuid to the values of the specified
+     * object.
+     * 
+     * @param object
+     * @param callback
+     *            callback, may be null
+     * @return
+     */
+    Future<T> update(T object, RestCallback<T> callback);
+
+    /**
+     * Delete the specified object. If the version is not null the object is
+     * only deleted if it still has that version.
+     * 
+     * @param uuid
+     * @param version
+     * @param callback
+     *            callback, may be null
+     * @return
+     */
+    Future<Void> delete(String uuid, Integer version, RestCallback<Void> callback);
+}
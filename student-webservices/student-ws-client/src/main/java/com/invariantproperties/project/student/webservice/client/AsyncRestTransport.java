@@ -0,0 +1,365 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+
+import org.apache.log4j.Logger;
+
+import com.ning.http.client.AsyncCompletionHandler;
+import com.ning.http.client.AsyncHttpClient;
+import com.ning.http.client.AsyncHttpClientConfig;
+import com.ning.http.client.Request;
+import com.ning.http.client.Response;
+import com.ning.http.client.providers.netty.NettyAsyncHttpProvider;
+import com.sun.jersey.api.client.Client;
+import com.sun.jersey.core.util.MultivaluedMapImpl;
+import com.sun.jersey.spi.MessageBodyWorkers;
+
+/**
+ * Non-blocking HTTP transport shared by the asynchronous REST clients. A
+ * small number of NIO threads handle all outstanding requests so a single
+ * caller can keep hundreds of requests in flight.
+ * 
+ * The number of outstanding requests is bounded. A caller that reaches the
+ * limit blocks until an earlier request finishes. This throttles a producer
+ * that issues requests faster than the server can answer them.
+ * 
+ * Responses are decoded with the same Jersey providers as the blocking
+ * clients.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class AsyncRestTransport {
+    private static final Logger LOG = Logger.getLogger(AsyncRestTransport.class);
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+    private final AsyncHttpClient client;
+    private final MessageBodyWorkers workers;
+    private final Semaphore permits;
+    private final int maxInFlight;
+
+    /**
+     * Constructor.
+     * 
+     * @param config
+     */
+    public AsyncRestTransport(final RestClientConfig config) {
+        this(createClient(config), config.getMaxInFlightRequests());
+    }
+
+    /**
+     * Constructor used in unit tests.
+     * 
+     * @param client
+     * @param maxInFlight
+     */
+    AsyncRestTransport(final AsyncHttpClient client, final int maxInFlight) {
+        this.client = client;
+        this.workers = Client.create().getMessageBodyWorkers();
+        this.permits = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Create the HTTP client. Every outstanding request needs its own
+     * connection so the connection limits match the in-flight limit.
+     * 
+     * @param config
+     * @return
+     */
+    static AsyncHttpClient createClient(final RestClientConfig config) {
+        final AsyncHttpClientConfig cc = new AsyncHttpClientConfig.Builder()
+                .setMaximumConnectionsTotal(config.getMaxInFlightRequests())
+                .setMaximumConnectionsPerHost(config.getMaxInFlightRequests())
+                .setConnectionTimeoutInMs(config.getConnectTimeout()).setRequestTimeoutInMs(config.getReadTimeout())
+                .setIdleConnectionInPoolTimeoutInMs(config.getIdleTimeout()).build();
+        return new AsyncHttpClient(new NettyAsyncHttpProvider(cc), cc);
+    }
+
+    /**
+     * Reads the result from a response.
+     */
+    public interface ResponseReader<V> {
+
+        /**
+         * Read the result. Unexpected status codes should be reported by
+         * throwing the same exception as the blocking clients.
+         * 
+         * @param response
+         * @return
+         * @throws Exception
+         */
+        V read(Response response) throws Exception;
+    }
+
+    /**
+     * Send a request. The reader and the callback run when the response has
+     * been received.
+     * 
+     * @param request
+     * @param reader
+     * @param callback
+     *            callback, may be null
+     * @return
+     */
+    public <V> Future<V> execute(final Request request, final ResponseReader<V> reader, final RestCallback<V> callback) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed(e, callback);
+        }
+
+        final ResultFuture<V> future = new ResultFuture<V>();
+        final Handler<V> handler = new Handler<V>(reader, future, callback);
+        try {
+            future.setRequest(client.executeRequest(request, handler));
+        } catch (Exception e) {
+            // e.g., the client has been closed
+            handler.onThrowable(e);
+        }
+        return future;
+    }
+
+    /**
+     * Read the entity from a JSON response.
+     * 
+     * @param response
+     * @param type
+     * @return
+     * @throws IOException
+     */
+    public <S> S readEntity(final Response response, final Class<S> type) throws IOException {
+        final MessageBodyReader<S> reader = workers.getMessageBodyReader(type, type, NO_ANNOTATIONS,
+                MediaType.APPLICATION_JSON_TYPE);
+        if (reader == null) {
+            throw new IOException("no JSON reader for " + type.getName());
+        }
+        return reader.readFrom(type, type, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE, getHeaders(response),
+                response.getResponseBodyAsStream());
+    }
+
+    /**
+     * Get the response headers.
+     * 
+     * @param response
+     * @return
+     */
+    public static MultivaluedMap<String, String> getHeaders(final Response response) {
+        final MultivaluedMap<String, String> headers = new MultivaluedMapImpl();
+        if (response.getHeaders() != null) {
+            for (Map.Entry<String, List<String>> entry : response.getHeaders()) {
+                headers.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * Get the number of outstanding requests.
+     * 
+     * @return
+     */
+    public int getInFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    /**
+     * Get the maximum number of outstanding requests.
+     * 
+     * @return
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Close the HTTP client and its connections.
+     */
+    public void close() {
+        client.close();
+    }
+
+    /**
+     * Get a future for a result that is already known, e.g., an empty
+     * lookup. The callback is called immediately.
+     * 
+     * @param value
+     * @param callback
+     *            callback, may be null
+     * @return
+     */
+    public static <V> Future<V> completed(final V value, final RestCallback<V> callback) {
+        final ResultFuture<V> future = new ResultFuture<V>();
+        future.set(value);
+        if (callback != null) {
+            callback.completed(value);
+        }
+        return future;
+    }
+
+    /**
+     * Get a future for a request that could not be sent. The callback is
+     * called immediately.
+     * 
+     * @param cause
+     * @param callback
+     *            callback, may be null
+     * @return
+     */
+    private static <V> Future<V> failed(final Exception cause, final RestCallback<V> callback) {
+        final ResultFuture<V> future = new ResultFuture<V>();
+        future.setException(cause);
+        if (callback != null) {
+            callback.failed(cause);
+        }
+        return future;
+    }
+
+    /**
+     * Future for the result of a request. It is completed by the request's
+     * handler, so the cause of a failure is the reader's exception, not an
+     * exception wrapped by the HTTP client. Cancelling it cancels the
+     * request.
+     */
+    private static final class ResultFuture<V> extends FutureTask<V> {
+        private volatile Future<?> request;
+
+        ResultFuture() {
+            super(new Callable<V>() {
+                @Override
+                public V call() {
+                    throw new IllegalStateException("the result is set by the request");
+                }
+            });
+        }
+
+        void setRequest(final Future<?> request) {
+            this.request = request;
+            if (isCancelled()) {
+                request.cancel(true);
+            }
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            final boolean cancelled = super.cancel(mayInterruptIfRunning);
+            final Future<?> r = request;
+            if (cancelled && r != null) {
+                r.cancel(true);
+            }
+            return cancelled;
+        }
+
+        @Override
+        protected void set(final V value) {
+            super.set(value);
+        }
+
+        @Override
+        protected void setException(final Throwable t) {
+            super.setException(t);
+        }
+    }
+
+    /**
+     * Completion handler for a single request. It releases the request's
+     * permit, completes the future and calls the callback exactly once, even
+     * if the HTTP client reports a failure after the response.
+     */
+    private final class Handler<V> extends AsyncCompletionHandler<V> {
+        private final ResponseReader<V> reader;
+        private final ResultFuture<V> future;
+        private final RestCallback<V> callback;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        Handler(final ResponseReader<V> reader, final ResultFuture<V> future, final RestCallback<V> callback) {
+            this.reader = reader;
+            this.future = future;
+            this.callback = callback;
+        }
+
+        @Override
+        public V onCompleted(final Response response) {
+            final V value;
+            try {
+                value = reader.read(response);
+            } catch (Exception e) {
+                onThrowable(e);
+                return null;
+            }
+
+            if (finish()) {
+                future.set(value);
+                if (callback != null) {
+                    try {
+                        callback.completed(value);
+                    } catch (RuntimeException e) {
+                        LOG.info("callback failed: " + e.getMessage());
+                    }
+                }
+            }
+            return value;
+        }
+
+        @Override
+        public void onThrowable(final Throwable t) {
+            if (finish()) {
+                future.setException(t);
+                if (callback != null) {
+                    try {
+                        callback.failed(t);
+                    } catch (RuntimeException e) {
+                        LOG.info("callback failed: " + e.getMessage());
+                    }
+                }
+            }
+        }
+
+        /**
+         * Release the permit. The permit is released before the callback is
+         * called so a callback can send another request.
+         * 
+         * @return true the first time this is called
+         */
+        private boolean finish() {
+            if (finished.compareAndSet(false, true)) {
+                permits.release();
+                return true;
+            }
+            return false;
+        }
+    }
+}
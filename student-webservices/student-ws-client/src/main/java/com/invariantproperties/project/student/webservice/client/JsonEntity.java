@@ -0,0 +1,159 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import com.invariantproperties.project.student.domain.TestRun;
+import com.ning.http.client.Request;
+
+/**
+ * JSON request body. The body is written with a JsonWriter straight into the
+ * request entity stream, by Jersey for the blocking clients and by the HTTP
+ * client for the asynchronous clients.
+ * 
+ * The shapes match the request objects the server reads, e.g., CourseInfoRTO.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public abstract class JsonEntity implements StreamingOutput, Request.EntityWriter {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * Empty object.
+     */
+    public static final JsonEntity EMPTY = new JsonEntity() {
+        @Override
+        protected void writeTo(JsonWriter json) throws IOException {
+            json.beginObject().endObject();
+        }
+    };
+
+    /**
+     * Write the body.
+     * 
+     * @param json
+     * @throws IOException
+     */
+    protected abstract void writeTo(JsonWriter json) throws IOException;
+
+    /**
+     * Write the body to the stream (Jersey).
+     */
+    @Override
+    public void write(final OutputStream os) throws IOException {
+        final JsonWriter json = JsonWriter.get(os);
+        writeTo(json);
+        json.flush();
+    }
+
+    /**
+     * Write the body to the stream (async-http-client).
+     */
+    @Override
+    public void writeEntity(final OutputStream os) throws IOException {
+        write(os);
+    }
+
+    /**
+     * Get the body as a string, e.g., for error messages.
+     */
+    @Override
+    public String toString() {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try {
+            write(os);
+        } catch (IOException e) {
+            // can't happen with a ByteArrayOutputStream
+            throw new IllegalStateException(e);
+        }
+        return new String(os.toByteArray(), UTF8);
+    }
+
+    /**
+     * Create a CourseInfoRTO body. Null values are omitted.
+     * 
+     * @param code
+     * @param name
+     * @param summary
+     * @param description
+     * @param creditHours
+     * @param testRun
+     * @return
+     */
+    public static JsonEntity courseInfo(final String code, final String name, final String summary,
+            final String description, final Integer creditHours, final TestRun testRun) {
+        return new JsonEntity() {
+            @Override
+            protected void writeTo(JsonWriter json) throws IOException {
+                json.beginObject().field("code", code).field("name", name).field("summary", summary)
+                        .field("description", description).field("creditHours", creditHours)
+                        .field("testUuid", testUuid(testRun)).endObject();
+            }
+        };
+    }
+
+    /**
+     * Create a NameRTO body.
+     * 
+     * @param name
+     * @param testRun
+     * @return
+     */
+    public static JsonEntity name(final String name, final TestRun testRun) {
+        return new JsonEntity() {
+            @Override
+            protected void writeTo(JsonWriter json) throws IOException {
+                json.beginObject().field("name", name).field("testUuid", testUuid(testRun)).endObject();
+            }
+        };
+    }
+
+    /**
+     * Create a NameAndEmailAddressRTO body.
+     * 
+     * @param name
+     * @param emailAddress
+     * @param testRun
+     * @return
+     */
+    public static JsonEntity nameAndEmailAddress(final String name, final String emailAddress,
+            final TestRun testRun) {
+        return new JsonEntity() {
+            @Override
+            protected void writeTo(JsonWriter json) throws IOException {
+                json.beginObject().field("name", name).field("emailAddress", emailAddress)
+                        .field("testUuid", testUuid(testRun)).endObject();
+            }
+        };
+    }
+
+    private static String testUuid(final TestRun testRun) {
+        return (testRun == null) ? null : testRun.getUuid();
+    }
+}
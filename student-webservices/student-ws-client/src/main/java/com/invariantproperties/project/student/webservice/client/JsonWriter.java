@@ -0,0 +1,256 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Minimal streaming JSON writer for the request bodies sent by the REST
+ * clients. Strings are escaped and encoded as UTF-8 straight into a small
+ * byte buffer that is flushed to the target stream, so no intermediate
+ * strings are created.
+ * 
+ * A writer is not thread-safe. Each thread reuses its own writer, see
+ * {@link #get(OutputStream)}.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public final class JsonWriter {
+    private static final int BUFFER_SIZE = 512;
+    private static final byte[] HEX = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e',
+            'f' };
+    private static final ThreadLocal<JsonWriter> WRITERS = new ThreadLocal<JsonWriter>() {
+        @Override
+        protected JsonWriter initialValue() {
+            return new JsonWriter();
+        }
+    };
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int count;
+    private OutputStream os;
+    private boolean first;
+
+    JsonWriter() {
+    }
+
+    /**
+     * Get the calling thread's writer, reset to write to the specified
+     * stream.
+     * 
+     * @param os
+     * @return
+     */
+    public static JsonWriter get(final OutputStream os) {
+        final JsonWriter writer = WRITERS.get();
+        writer.reset(os);
+        return writer;
+    }
+
+    /**
+     * Discard any unflushed output and write to the specified stream.
+     * 
+     * @param os
+     */
+    void reset(final OutputStream os) {
+        this.os = os;
+        this.count = 0;
+        this.first = true;
+    }
+
+    /**
+     * Start an object.
+     * 
+     * @return
+     * @throws IOException
+     */
+    public JsonWriter beginObject() throws IOException {
+        write('{');
+        first = true;
+        return this;
+    }
+
+    /**
+     * End an object.
+     * 
+     * @return
+     * @throws IOException
+     */
+    public JsonWriter endObject() throws IOException {
+        write('}');
+        first = false;
+        return this;
+    }
+
+    /**
+     * Write a string field. Null values are omitted.
+     * 
+     * @param name
+     * @param value
+     * @return
+     * @throws IOException
+     */
+    public JsonWriter field(final String name, final String value) throws IOException {
+        if (value != null) {
+            writeName(name);
+            writeString(value);
+        }
+        return this;
+    }
+
+    /**
+     * Write a number field. Null values are omitted.
+     * 
+     * @param name
+     * @param value
+     * @return
+     * @throws IOException
+     */
+    public JsonWriter field(final String name, final Integer value) throws IOException {
+        if (value != null) {
+            writeName(name);
+            writeNumber(value.intValue());
+        }
+        return this;
+    }
+
+    /**
+     * Write any buffered output to the stream. The stream itself is not
+     * flushed.
+     * 
+     * @throws IOException
+     */
+    public void flush() throws IOException {
+        if (count > 0) {
+            os.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    private void writeName(final String name) throws IOException {
+        if (!first) {
+            write(',');
+        }
+        first = false;
+        writeString(name);
+        write(':');
+    }
+
+    /**
+     * Write a quoted string. Lone surrogates are written as '?', like
+     * String.getBytes() does.
+     */
+    private void writeString(final String s) throws IOException {
+        write('"');
+        final int length = s.length();
+        for (int i = 0; i < length; i++) {
+            final char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                write('\\');
+                write(c);
+            } else if (c < 0x20) {
+                writeControl(c);
+            } else if (c < 0x80) {
+                write(c);
+            } else if (c < 0x800) {
+                ensure(2);
+                buffer[count++] = (byte) (0xc0 | (c >> 6));
+                buffer[count++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                final int cp = Character.toCodePoint(c, s.charAt(++i));
+                ensure(4);
+                buffer[count++] = (byte) (0xf0 | (cp >> 18));
+                buffer[count++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                buffer[count++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                buffer[count++] = (byte) (0x80 | (cp & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                write('?');
+            } else {
+                ensure(3);
+                buffer[count++] = (byte) (0xe0 | (c >> 12));
+                buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buffer[count++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        write('"');
+    }
+
+    private void writeControl(final char c) throws IOException {
+        write('\\');
+        switch (c) {
+        case '\b':
+            write('b');
+            break;
+        case '\f':
+            write('f');
+            break;
+        case '\n':
+            write('n');
+            break;
+        case '\r':
+            write('r');
+            break;
+        case '\t':
+            write('t');
+            break;
+        default:
+            ensure(5);
+            buffer[count++] = 'u';
+            buffer[count++] = '0';
+            buffer[count++] = '0';
+            buffer[count++] = HEX[c >> 4];
+            buffer[count++] = HEX[c & 0xf];
+        }
+    }
+
+    /**
+     * Write the decimal digits without creating a string.
+     */
+    private void writeNumber(final int value) throws IOException {
+        long v = value;
+        if (v < 0) {
+            write('-');
+            v = -v;
+        }
+        long divisor = 1;
+        while (divisor * 10 <= v) {
+            divisor *= 10;
+        }
+        ensure(10);
+        for (; divisor > 0; divisor /= 10) {
+            buffer[count++] = (byte) ('0' + (v / divisor) % 10);
+        }
+    }
+
+    private void write(final int b) throws IOException {
+        ensure(1);
+        buffer[count++] = (byte) b;
+    }
+
+    private void ensure(final int n) throws IOException {
+        if (count + n > buffer.length) {
+            flush();
+        }
+    }
+}
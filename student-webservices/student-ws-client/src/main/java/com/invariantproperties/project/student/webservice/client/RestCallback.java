@@ -0,0 +1,50 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client;
+
+/**
+ * Callback for the asynchronous REST clients. Exactly one of the methods is
+ * called when the request finishes.
+ * 
+ * Callbacks run on the transport's I/O threads. They should be short and
+ * must not block, e.g., by waiting for another request's future.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public interface RestCallback<V> {
+
+    /**
+     * The request succeeded.
+     * 
+     * @param result
+     */
+    void completed(V result);
+
+    /**
+     * The request failed. This is usually a RestClientException but it may
+     * be a transport error, e.g., a connect timeout.
+     * 
+     * @param cause
+     */
+    void failed(Throwable cause);
+}
@@ -0,0 +1,132 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client;
+
+/**
+ * Settings for the pooled HTTP client shared by the REST clients. The
+ * defaults can be overridden with system properties, e.g.,
+ * -Dstudent.rest.client.maxConnectionsPerRoute=50.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class RestClientConfig {
+    private static final String PREFIX = "student.rest.client.";
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+    public static final int DEFAULT_MAX_CONNECTIONS = 100;
+    public static final int DEFAULT_CONNECT_TIMEOUT = 5000;
+    public static final int DEFAULT_READ_TIMEOUT = 30000;
+    public static final int DEFAULT_IDLE_TIMEOUT = 60000;
+    public static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 200;
+
+    private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+    private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+    private int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    private int readTimeout = DEFAULT_READ_TIMEOUT;
+    private int idleTimeout = DEFAULT_IDLE_TIMEOUT;
+    private int maxInFlightRequests = DEFAULT_MAX_IN_FLIGHT_REQUESTS;
+
+    /**
+     * Create configuration using the defaults and system properties.
+     * 
+     * @return
+     */
+    public static RestClientConfig fromSystemProperties() {
+        final RestClientConfig config = new RestClientConfig();
+        config.setMaxConnectionsPerRoute(Integer.getInteger(PREFIX + "maxConnectionsPerRoute",
+                DEFAULT_MAX_CONNECTIONS_PER_ROUTE));
+        config.setMaxConnections(Integer.getInteger(PREFIX + "maxConnections", DEFAULT_MAX_CONNECTIONS));
+        config.setConnectTimeout(Integer.getInteger(PREFIX + "connectTimeout", DEFAULT_CONNECT_TIMEOUT));
+        config.setReadTimeout(Integer.getInteger(PREFIX + "readTimeout", DEFAULT_READ_TIMEOUT));
+        config.setIdleTimeout(Integer.getInteger(PREFIX + "idleTimeout", DEFAULT_IDLE_TIMEOUT));
+        config.setMaxInFlightRequests(Integer.getInteger(PREFIX + "maxInFlightRequests",
+                DEFAULT_MAX_IN_FLIGHT_REQUESTS));
+        return config;
+    }
+
+    /**
+     * Maximum number of pooled connections to a single host.
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    /**
+     * Maximum number of pooled connections.
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Connect timeout in milliseconds.
+     */
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * Read (socket) timeout in milliseconds.
+     */
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Idle pooled connections are closed after this many milliseconds.
+     */
+    public int getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(int idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Maximum number of outstanding requests made by the asynchronous
+     * clients. Each outstanding request holds its own connection.
+     */
+    public int getMaxInFlightRequests() {
+        return maxInFlightRequests;
+    }
+
+    public void setMaxInFlightRequests(int maxInFlightRequests) {
+        this.maxInFlightRequests = maxInFlightRequests;
+    }
+}
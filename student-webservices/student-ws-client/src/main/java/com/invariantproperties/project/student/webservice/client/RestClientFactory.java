@@ -0,0 +1,199 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
+import org.apache.log4j.Logger;
+
+import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.config.ClientConfig;
+import com.sun.jersey.client.apache4.ApacheHttpClient4;
+import com.sun.jersey.client.apache4.config.ApacheHttpClient4Config;
+import com.sun.jersey.client.apache4.config.DefaultApacheHttpClient4Config;
+
+/**
+ * Source of the shared Jersey clients used by the REST clients. There is one
+ * thread-safe client per base resource, backed by a keep-alive connection
+ * pool. A background thread closes idle and expired connections.
+ * 
+ * Creating a Jersey client is expensive (provider scanning, handler chain) so
+ * clients are never created per request.
+ * 
+ * The asynchronous clients share a single non-blocking transport.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public final class RestClientFactory {
+    private static final Logger LOG = Logger.getLogger(RestClientFactory.class);
+    private static final ConcurrentMap<String, PooledClient> CLIENTS = new ConcurrentHashMap<String, PooledClient>();
+    private static volatile RestClientConfig defaultConfig = RestClientConfig.fromSystemProperties();
+    private static ScheduledExecutorService evictor;
+    private static AsyncRestTransport asyncTransport;
+
+    private RestClientFactory() {
+    }
+
+    /**
+     * Set the configuration used by clients created after this call.
+     * 
+     * @param config
+     */
+    public static void setDefaultConfig(RestClientConfig config) {
+        defaultConfig = config;
+    }
+
+    /**
+     * Get the shared client for the specified base resource.
+     * 
+     * @param resource
+     * @return
+     */
+    public static Client getClient(String resource) {
+        return getClient(resource, defaultConfig);
+    }
+
+    /**
+     * Get the shared client for the specified base resource. The
+     * configuration is only used if the client does not already exist.
+     * 
+     * @param resource
+     * @param config
+     * @return
+     */
+    public static Client getClient(String resource, RestClientConfig config) {
+        PooledClient client = CLIENTS.get(resource);
+        if (client == null) {
+            final PooledClient created = new PooledClient(config);
+            client = CLIENTS.putIfAbsent(resource, created);
+            if (client == null) {
+                client = created;
+                startEvictor(config);
+            } else {
+                created.destroy();
+            }
+        }
+        return client.client;
+    }
+
+    /**
+     * Get the transport shared by the asynchronous clients. The default
+     * configuration is used when the transport is created.
+     * 
+     * @return
+     */
+    public static synchronized AsyncRestTransport getAsyncTransport() {
+        if (asyncTransport == null) {
+            asyncTransport = new AsyncRestTransport(defaultConfig);
+        }
+        return asyncTransport;
+    }
+
+    /**
+     * Release all clients and their connections, e.g., when the webapp is
+     * undeployed. Clients requested later will be recreated.
+     */
+    public static synchronized void shutdown() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+            evictor = null;
+        }
+        if (asyncTransport != null) {
+            asyncTransport.close();
+            asyncTransport = null;
+        }
+        for (String resource : CLIENTS.keySet()) {
+            final PooledClient client = CLIENTS.remove(resource);
+            if (client != null) {
+                client.destroy();
+            }
+        }
+    }
+
+    /**
+     * Close idle and expired connections in all pools.
+     */
+    static void evictIdleConnections() {
+        for (PooledClient client : CLIENTS.values()) {
+            client.connectionManager.closeExpiredConnections();
+            client.connectionManager.closeIdleConnections(client.idleTimeout, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static synchronized void startEvictor(RestClientConfig config) {
+        if (evictor == null) {
+            evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    final Thread thread = new Thread(r, "rest-client-evictor");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            final long period = Math.max(1000, config.getIdleTimeout() / 2);
+            evictor.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        evictIdleConnections();
+                    } catch (RuntimeException e) {
+                        LOG.info("unable to evict idle connections: " + e.getMessage());
+                    }
+                }
+            }, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Jersey client and the connection pool behind it.
+     */
+    private static final class PooledClient {
+        private final ThreadSafeClientConnManager connectionManager;
+        private final Client client;
+        private final long idleTimeout;
+
+        PooledClient(RestClientConfig config) {
+            connectionManager = new ThreadSafeClientConnManager();
+            connectionManager.setMaxTotal(config.getMaxConnections());
+            connectionManager.setDefaultMaxPerRoute(config.getMaxConnectionsPerRoute());
+            idleTimeout = config.getIdleTimeout();
+
+            final DefaultApacheHttpClient4Config cc = new DefaultApacheHttpClient4Config();
+            cc.getProperties().put(ApacheHttpClient4Config.PROPERTY_CONNECTION_MANAGER, connectionManager);
+            cc.getProperties().put(ClientConfig.PROPERTY_CONNECT_TIMEOUT, config.getConnectTimeout());
+            cc.getProperties().put(ClientConfig.PROPERTY_READ_TIMEOUT, config.getReadTimeout());
+            client = ApacheHttpClient4.create(cc);
+        }
+
+        void destroy() {
+            // this also shuts down the connection manager.
+            client.destroy();
+        }
+    }
+}
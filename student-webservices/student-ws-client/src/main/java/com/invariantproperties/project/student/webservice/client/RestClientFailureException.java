@@ -48,11 +48,24 @@ public class RestClientFailureException extends RestClientException {
      */
     public RestClientFailureException(final String resource, final Class<? extends PersistentObject> objectClass,
             final String uuid, final ClientResponse response) {
-        super("rest client received error (" + response.getStatus() + "): " + resource + "[" + uuid + "]");
+        this(resource, objectClass, uuid, response.getStatus());
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param resource
+     * @param objectClass
+     * @param uuid
+     * @param statusCode
+     */
+    public RestClientFailureException(final String resource, final Class<? extends PersistentObject> objectClass,
+            final String uuid, final int statusCode) {
+        super("rest client received error (" + statusCode + "): " + resource + "[" + uuid + "]");
         this.resource = resource;
         this.objectClass = objectClass;
         this.uuid = uuid;
-        this.statusCode = response.getStatus();
+        this.statusCode = statusCode;
     }
 
     public String getResource() {
@@ -0,0 +1,77 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client.impl;
+
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.webservice.client.AbstractAsyncManagerRestClientImpl;
+import com.invariantproperties.project.student.webservice.client.JsonEntity;
+
+/**
+ * Asynchronous Course manager REST client. It sends the same JSON as
+ * CourseManagerRestClientImpl.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class AsyncCourseManagerRestClientImpl extends AbstractAsyncManagerRestClientImpl<Course> {
+    private final CourseManagerRestClientImpl blockingClient;
+
+    /**
+     * Constructor.
+     * 
+     * @param resource
+     */
+    public AsyncCourseManagerRestClientImpl(final String resource) {
+        super(resource, Course.class);
+        this.blockingClient = new CourseManagerRestClientImpl(resource);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected JsonEntity createJson(final Course course) {
+        if (course.getCode() == null || course.getCode().isEmpty()) {
+            throw new IllegalArgumentException("'code' is required");
+        }
+
+        if (course.getName() == null || course.getName().isEmpty()) {
+            throw new IllegalArgumentException("'name' is required");
+        }
+
+        return blockingClient.createJson(course.getCode(), course.getName(), course.getSummary(), course.getDescription(),
+                course.getCreditHours(), course.getTestRun());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected JsonEntity updateJson(final Course course) {
+        if (course.getName() == null || course.getName().isEmpty()) {
+            throw new IllegalArgumentException("'name' is required");
+        }
+
+        return blockingClient.createJson(null, course.getName(), course.getSummary(), course.getDescription(),
+                course.getCreditHours(), null);
+    }
+}
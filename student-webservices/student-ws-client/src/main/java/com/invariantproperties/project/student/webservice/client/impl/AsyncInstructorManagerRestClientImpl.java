@@ -0,0 +1,86 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client.impl;
+
+import com.invariantproperties.project.student.domain.Instructor;
+import com.invariantproperties.project.student.webservice.client.AbstractAsyncManagerRestClientImpl;
+import com.invariantproperties.project.student.webservice.client.JsonEntity;
+
+/**
+ * Asynchronous Instructor manager REST client. It sends the same JSON as
+ * InstructorManagerRestClientImpl.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class AsyncInstructorManagerRestClientImpl extends AbstractAsyncManagerRestClientImpl<Instructor> {
+    private final InstructorManagerRestClientImpl blockingClient;
+
+    /**
+     * Constructor.
+     * 
+     * @param resource
+     */
+    public AsyncInstructorManagerRestClientImpl(final String resource) {
+        super(resource, Instructor.class);
+        this.blockingClient = new InstructorManagerRestClientImpl(resource);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected JsonEntity createJson(final Instructor instructor) {
+        if (instructor.getName() == null || instructor.getName().isEmpty()) {
+            throw new IllegalArgumentException("'name' is required");
+        }
+
+        if (instructor.getEmailAddress() == null || instructor.getEmailAddress().isEmpty()) {
+            throw new IllegalArgumentException("'emailAddress' is required");
+        }
+
+        if (hasTestRun(instructor)) {
+            return blockingClient.createJson(instructor.getName(), instructor.getEmailAddress(), instructor.getTestRun());
+        }
+        return blockingClient.createJson(instructor.getName(), instructor.getEmailAddress());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected JsonEntity updateJson(final Instructor instructor) {
+        if (instructor.getName() == null || instructor.getName().isEmpty()) {
+            throw new IllegalArgumentException("'name' is required");
+        }
+
+        if (instructor.getEmailAddress() == null || instructor.getEmailAddress().isEmpty()) {
+            throw new IllegalArgumentException("'emailAddress' is required");
+        }
+
+        return blockingClient.createJson(instructor.getName(), instructor.getEmailAddress());
+    }
+
+    private static boolean hasTestRun(final Instructor instructor) {
+        return instructor.getTestRun() != null && instructor.getTestRun().getUuid() != null;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client.impl;
+
+import com.invariantproperties.project.student.domain.Student;
+import com.invariantproperties.project.student.webservice.client.AbstractAsyncManagerRestClientImpl;
+import com.invariantproperties.project.student.webservice.client.JsonEntity;
+
+/**
+ * Asynchronous Student manager REST client. It sends the same JSON as
+ * StudentManagerRestClientImpl.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class AsyncStudentManagerRestClientImpl extends AbstractAsyncManagerRestClientImpl<Student> {
+    private final StudentManagerRestClientImpl blockingClient;
+
+    /**
+     * Constructor.
+     * 
+     * @param resource
+     */
+    public AsyncStudentManagerRestClientImpl(final String resource) {
+        super(resource, Student.class);
+        this.blockingClient = new StudentManagerRestClientImpl(resource);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected JsonEntity createJson(final Student student) {
+        if (student.getName() == null || student.getName().isEmpty()) {
+            throw new IllegalArgumentException("'name' is required");
+        }
+
+        if (student.getEmailAddress() == null || student.getEmailAddress().isEmpty()) {
+            throw new IllegalArgumentException("'emailAddress' is required");
+        }
+
+        if (hasTestRun(student)) {
+            return blockingClient.createJson(student.getName(), student.getEmailAddress(), student.getTestRun());
+        }
+        return blockingClient.createJson(student.getName(), student.getEmailAddress());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected JsonEntity updateJson(final Student student) {
+        if (student.getName() == null || student.getName().isEmpty()) {
+            throw new IllegalArgumentException("'name' is required");
+        }
+
+        if (student.getEmailAddress() == null || student.getEmailAddress().isEmpty()) {
+            throw new IllegalArgumentException("'emailAddress' is required");
+        }
+
+        return blockingClient.createJson(student.getName(), student.getEmailAddress());
+    }
+
+    private static boolean hasTestRun(final Student student) {
+        return student.getTestRun() != null && student.getTestRun().getUuid() != null;
+    }
+}
@@ -23,8 +23,11 @@
 package com.invariantproperties.project.student.webservice.client.impl;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.domain.Classroom;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.AbstractFinderRestClientImpl;
@@ -73,10 +76,35 @@ public class ClassroomFinderRestClientImpl extends AbstractFinderRestClientImpl<
         return super.getObject(uuid);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Classroom> findClassroomsByUuids(final Collection<String> uuids) {
+        return super.lookupObjects(uuids);
+    }
+
     /**
      * {@inheritDoc}
      */
     public List<Classroom> findClassroomsByTestRun(TestRun testRun) {
-        throw new UnsupportedOperationException();
+        final Classroom[] classrooms = super.getAllObjects(testRun, EMPTY_CLASSROOM_ARRAY);
+        return Arrays.asList(classrooms);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<Classroom> findClassrooms(final Paging paging) {
+        return super.getObjects(paging);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<Classroom> findClassroomsByTestRun(final TestRun testRun, final Paging paging) {
+        return super.getObjects(testRun, paging);
     }
 }
@@ -22,10 +22,15 @@
  */
 package com.invariantproperties.project.student.webservice.client.impl;
 
+import java.util.List;
+
+import com.invariantproperties.project.student.business.BulkOperation;
+import com.invariantproperties.project.student.business.BulkResult;
 import com.invariantproperties.project.student.domain.Classroom;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.AbstractManagerRestClientImpl;
 import com.invariantproperties.project.student.webservice.client.ClassroomManagerRestClient;
+import com.invariantproperties.project.student.webservice.client.JsonEntity;
 
 /**
  * Implementation of ClassroomManagerRestClient.
@@ -45,24 +50,24 @@ public class ClassroomManagerRestClientImpl extends AbstractManagerRestClientImp
     }
 
     /**
-     * Create JSON string.
+     * Create JSON body.
      * 
      * @param name
      * @return
      */
-    String createJson(final String name) {
-        return String.format("{ \"name\": \"%s\" }", name);
+    JsonEntity createJson(final String name) {
+        return JsonEntity.name(name, null);
     }
 
     /**
-     * Create JSON string.
+     * Create JSON body.
      * 
      * @param name
      * @param testUuid
      * @return
      */
-    String createJson(final String name, final TestRun testRun) {
-        return String.format("{ \"name\": \"%s\", \"testUuid\": \"%s\" }", name, testRun.getUuid());
+    JsonEntity createJson(final String name, final TestRun testRun) {
+        return JsonEntity.name(name, testRun);
     }
 
     /**
@@ -120,4 +125,57 @@ public class ClassroomManagerRestClientImpl extends AbstractManagerRestClientImp
     public void deleteClassroom(String uuid, Integer version) {
         super.deleteObject(uuid, version);
     }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<Classroom> createClassrooms(List<Classroom> classrooms) {
+        return new BulkOperation<Classroom, Classroom>() {
+            @Override
+            public Classroom apply(Classroom item) {
+                if (item.getTestRun() != null) {
+                    return createClassroomForTesting(item.getName(), item.getTestRun());
+                }
+                return createClassroom(item.getName());
+            }
+        }.execute(classrooms);
+    }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<Classroom> updateClassrooms(List<Classroom> classrooms) {
+        return new BulkOperation<Classroom, Classroom>() {
+            @Override
+            public String uuidOf(Classroom item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Classroom apply(Classroom item) {
+                return updateClassroom(item, item.getName());
+            }
+        }.execute(classrooms);
+    }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<String> deleteClassrooms(List<String> uuids) {
+        return new BulkOperation<String, String>() {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                deleteClassroom(uuid, null);
+                return uuid;
+            }
+        }.execute(uuids);
+    }
 }
@@ -23,9 +23,13 @@
 package com.invariantproperties.project.student.webservice.client.impl;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.CourseSummary;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.AbstractFinderRestClientImpl;
 import com.invariantproperties.project.student.webservice.client.CourseFinderRestClient;
@@ -38,6 +42,7 @@ import com.invariantproperties.project.student.webservice.client.ObjectNotFoundE
  */
 public class CourseFinderRestClientImpl extends AbstractFinderRestClientImpl<Course> implements CourseFinderRestClient {
     private static final Course[] EMPTY_COURSE_ARRAY = new Course[0];
+    private static final String SUMMARY = "summary";
 
     /**
      * Constructor.
@@ -73,6 +78,14 @@ public class CourseFinderRestClientImpl extends AbstractFinderRestClientImpl<Cou
         return super.getObject(uuid);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Course> findCoursesByUuids(final Collection<String> uuids) {
+        return super.lookupObjects(uuids);
+    }
+
     /**
      * @{inheritDoc FIXME: implement!
      */
@@ -86,6 +99,56 @@ public class CourseFinderRestClientImpl extends AbstractFinderRestClientImpl<Cou
      */
     @Override
     public List<Course> findCoursesByTestRun(final TestRun testRun) {
-        throw new UnsupportedOperationException();
+        final Course[] courses = super.getAllObjects(testRun, EMPTY_COURSE_ARRAY);
+        return Arrays.asList(courses);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<Course> findCourses(final Paging paging) {
+        return super.getObjects(paging);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<Course> findCoursesByTestRun(final TestRun testRun, final Paging paging) {
+        return super.getObjects(testRun, paging);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<CourseSummary> findAllCourseSummaries() {
+        return findCourseSummariesByTestRun(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<CourseSummary> findCourseSummariesByTestRun(final TestRun testRun) {
+        final CourseSummary[] summaries = super.getAllObjects(SUMMARY, testRun, CourseSummary[].class);
+        return Arrays.asList(summaries);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<CourseSummary> findCourseSummaries(final Paging paging) {
+        return findCourseSummariesByTestRun(null, paging);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<CourseSummary> findCourseSummariesByTestRun(final TestRun testRun, final Paging paging) {
+        return super.getObjects(SUMMARY, testRun, paging, CourseSummary[].class);
     }
 }
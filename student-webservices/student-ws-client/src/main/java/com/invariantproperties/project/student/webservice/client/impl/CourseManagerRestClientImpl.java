@@ -22,10 +22,15 @@
  */
 package com.invariantproperties.project.student.webservice.client.impl;
 
+import java.util.List;
+
+import com.invariantproperties.project.student.business.BulkOperation;
+import com.invariantproperties.project.student.business.BulkResult;
 import com.invariantproperties.project.student.domain.Course;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.AbstractManagerRestClientImpl;
 import com.invariantproperties.project.student.webservice.client.CourseManagerRestClient;
+import com.invariantproperties.project.student.webservice.client.JsonEntity;
 
 /**
  * Implementation of CourseManagerRestClient.
@@ -45,7 +50,7 @@ public class CourseManagerRestClientImpl extends AbstractManagerRestClientImpl<C
     }
 
     /**
-     * Create JSON string.
+     * Create JSON body. Null values are omitted.
      * 
      * @param code
      * @param name
@@ -55,67 +60,9 @@ public class CourseManagerRestClientImpl extends AbstractManagerRestClientImpl<C
      * @param testRun
      * @return
      */
-    String createJson(final String code, final String name, final String summary, final String description,
+    JsonEntity createJson(final String code, final String name, final String summary, final String description,
             final Integer creditHours, final TestRun testRun) {
-        StringBuilder json = new StringBuilder("{ ");
-        boolean first = true;
-        if (code != null) {
-            if (!first) {
-                json.append(", ");
-            } else {
-                first = false;
-            }
-            json.append(String.format("\"code\": \"%s\"", code));
-        }
-
-        if (name != null) {
-            if (!first) {
-                json.append(", ");
-            } else {
-                first = false;
-            }
-            json.append(String.format("\"name\": \"%s\"", name));
-        }
-
-        if (summary != null) {
-            if (!first) {
-                json.append(", ");
-            } else {
-                first = false;
-            }
-            json.append(String.format("\"summary\": \"%s\"", summary));
-        }
-
-        if (description != null) {
-            if (!first) {
-                json.append(", ");
-            } else {
-                first = false;
-            }
-            json.append(String.format("\"description\": \"%s\"", description));
-        }
-
-        if (creditHours != null) {
-            if (!first) {
-                json.append(", ");
-            } else {
-                first = false;
-            }
-            json.append(String.format("\"creditHours\": \"%s\"", creditHours));
-        }
-
-        if (testRun != null && testRun.getUuid() != null) {
-            if (!first) {
-                json.append(", ");
-            } else {
-                first = false;
-            }
-            json.append(String.format("\"testUuid\": \"%s\"", testRun.getUuid()));
-        }
-
-        json.append(" }");
-
-        return json.toString();
+        return JsonEntity.courseInfo(code, name, summary, description, creditHours, testRun);
     }
 
     /**
@@ -149,7 +96,7 @@ public class CourseManagerRestClientImpl extends AbstractManagerRestClientImpl<C
             throw new IllegalArgumentException("'testRun' is required");
         }
 
-        return createObject(createJson(code, name, summary, description, creditHours, null));
+        return createObject(createJson(code, name, summary, description, creditHours, testRun));
     }
 
     /**
@@ -173,6 +120,23 @@ public class CourseManagerRestClientImpl extends AbstractManagerRestClientImpl<C
         return updateCourse(course.getUuid(), name, summary, description, creditHours);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer updateCourse(final String uuid, final Integer version, final String name, final String summary,
+            final String description, final Integer creditHours) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("'name' is required");
+        }
+
+        if (version == null) {
+            throw new IllegalArgumentException("'version' is required");
+        }
+
+        return super.updateObject(createJson(null, name, summary, description, creditHours, null), uuid, version);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -180,4 +144,57 @@ public class CourseManagerRestClientImpl extends AbstractManagerRestClientImpl<C
     public void deleteCourse(String uuid, Integer version) {
         super.deleteObject(uuid, version);
     }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<Course> createCourses(List<Course> courses) {
+        return new BulkOperation<Course, Course>() {
+            @Override
+            public Course apply(Course item) {
+                if (item.getTestRun() != null) {
+                    return createCourseForTesting(item.getCode(), item.getName(), item.getSummary(), item.getDescription(), item.getCreditHours(), item.getTestRun());
+                }
+                return createCourse(item.getCode(), item.getName(), item.getSummary(), item.getDescription(), item.getCreditHours());
+            }
+        }.execute(courses);
+    }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<Course> updateCourses(List<Course> courses) {
+        return new BulkOperation<Course, Course>() {
+            @Override
+            public String uuidOf(Course item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Course apply(Course item) {
+                return updateCourse(item, item.getName(), item.getSummary(), item.getDescription(), item.getCreditHours());
+            }
+        }.execute(courses);
+    }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<String> deleteCourses(List<String> uuids) {
+        return new BulkOperation<String, String>() {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                deleteCourse(uuid, null);
+                return uuid;
+            }
+        }.execute(uuids);
+    }
 }
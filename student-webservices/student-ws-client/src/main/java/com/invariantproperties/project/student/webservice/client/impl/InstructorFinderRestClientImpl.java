@@ -23,8 +23,11 @@
 package com.invariantproperties.project.student.webservice.client.impl;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.domain.Instructor;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.AbstractFinderRestClientImpl;
@@ -74,6 +77,14 @@ public class InstructorFinderRestClientImpl extends AbstractFinderRestClientImpl
         return super.getObject(uuid);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Instructor> findInstructorsByUuids(final Collection<String> uuids) {
+        return super.lookupObjects(uuids);
+    }
+
     /**
      * @{inheritDoc FIXME: implement!
      */
@@ -87,6 +98,23 @@ public class InstructorFinderRestClientImpl extends AbstractFinderRestClientImpl
      */
     @Override
     public List<Instructor> findInstructorsByTestRun(final TestRun testRun) {
-        throw new UnsupportedOperationException();
+        final Instructor[] instructors = super.getAllObjects(testRun, EMPTY_INSTRUCTOR_ARRAY);
+        return Arrays.asList(instructors);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<Instructor> findInstructors(final Paging paging) {
+        return super.getObjects(paging);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<Instructor> findInstructorsByTestRun(final TestRun testRun, final Paging paging) {
+        return super.getObjects(testRun, paging);
     }
 }
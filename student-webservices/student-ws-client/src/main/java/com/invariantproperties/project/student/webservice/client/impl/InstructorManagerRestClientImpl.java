@@ -22,10 +22,15 @@
  */
 package com.invariantproperties.project.student.webservice.client.impl;
 
+import java.util.List;
+
+import com.invariantproperties.project.student.business.BulkOperation;
+import com.invariantproperties.project.student.business.BulkResult;
 import com.invariantproperties.project.student.domain.Instructor;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.AbstractManagerRestClientImpl;
 import com.invariantproperties.project.student.webservice.client.InstructorManagerRestClient;
+import com.invariantproperties.project.student.webservice.client.JsonEntity;
 
 /**
  * Implementation of InstructorManagerRestClient.
@@ -45,25 +50,24 @@ public class InstructorManagerRestClientImpl extends AbstractManagerRestClientIm
     }
 
     /**
-     * Create JSON string.
+     * Create JSON body.
      * 
      * @param name
      * @return
      */
-    String createJson(final String name, final String emailAddress) {
-        return String.format("{ \"name\": \"%s\", \"emailAddress\": \"%s\" }", name, emailAddress);
+    JsonEntity createJson(final String name, final String emailAddress) {
+        return JsonEntity.nameAndEmailAddress(name, emailAddress, null);
     }
 
     /**
-     * Create JSON string.
+     * Create JSON body.
      * 
      * @param name
      * @param testRun
      * @return
      */
-    String createJson(final String name, final String emailAddress, final TestRun testRun) {
-        return String.format("{ \"name\": \"%s\", \"emailAddress\": \"%s\", \"testUuid\": \"%s\" }", name,
-                emailAddress, testRun.getUuid());
+    JsonEntity createJson(final String name, final String emailAddress, final TestRun testRun) {
+        return JsonEntity.nameAndEmailAddress(name, emailAddress, testRun);
     }
 
     /**
@@ -133,4 +137,57 @@ public class InstructorManagerRestClientImpl extends AbstractManagerRestClientIm
     public void deleteInstructor(String uuid, Integer version) {
         super.deleteObject(uuid, version);
     }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<Instructor> createInstructors(List<Instructor> instructors) {
+        return new BulkOperation<Instructor, Instructor>() {
+            @Override
+            public Instructor apply(Instructor item) {
+                if (item.getTestRun() != null) {
+                    return createInstructorForTesting(item.getName(), item.getEmailAddress(), item.getTestRun());
+                }
+                return createInstructor(item.getName(), item.getEmailAddress());
+            }
+        }.execute(instructors);
+    }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<Instructor> updateInstructors(List<Instructor> instructors) {
+        return new BulkOperation<Instructor, Instructor>() {
+            @Override
+            public String uuidOf(Instructor item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Instructor apply(Instructor item) {
+                return updateInstructor(item, item.getName(), item.getEmailAddress());
+            }
+        }.execute(instructors);
+    }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<String> deleteInstructors(List<String> uuids) {
+        return new BulkOperation<String, String>() {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                deleteInstructor(uuid, null);
+                return uuid;
+            }
+        }.execute(uuids);
+    }
 }
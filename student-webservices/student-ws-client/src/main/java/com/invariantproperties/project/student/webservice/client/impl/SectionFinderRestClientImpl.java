@@ -23,12 +23,18 @@
 package com.invariantproperties.project.student.webservice.client.impl;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
+import javax.ws.rs.core.MultivaluedMap;
+
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.domain.Section;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.AbstractFinderRestClientImpl;
 import com.invariantproperties.project.student.webservice.client.SectionFinderRestClient;
+import com.sun.jersey.core.util.MultivaluedMapImpl;
 
 /**
  * Implementation of SectionFinderRestClient.
@@ -73,11 +79,48 @@ public class SectionFinderRestClientImpl extends AbstractFinderRestClientImpl<Se
         return super.getObject(uuid);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Section> findSectionsByUuids(final Collection<String> uuids) {
+        return super.lookupObjects(uuids);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public List<Section> findSectionsByTestRun(final TestRun testRun) {
-        throw new UnsupportedOperationException();
+        final Section[] sections = super.getAllObjects(testRun, EMPTY_COURSE_ARRAY);
+        return Arrays.asList(sections);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<Section> findSections(final Paging paging) {
+        return super.getObjects(paging);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<Section> findSectionsByTestRun(final TestRun testRun, final Paging paging) {
+        return super.getObjects(testRun, paging);
+    }
+
+    /**
+     * {@inheritDoc} An unknown fetch profile is rejected by the server with a
+     * RestClientFailureException.
+     */
+    @Override
+    public ResultPage<Section> findSectionsByTestRun(final TestRun testRun, final Paging paging,
+            final String fetchProfile) {
+        final MultivaluedMap<String, String> query = new MultivaluedMapImpl();
+        query.add("fetchProfile", fetchProfile);
+        return super.getObjects("", testRun, paging, query, Section[].class);
     }
 }
@@ -22,9 +22,14 @@
  */
 package com.invariantproperties.project.student.webservice.client.impl;
 
+import java.util.List;
+
+import com.invariantproperties.project.student.business.BulkOperation;
+import com.invariantproperties.project.student.business.BulkResult;
 import com.invariantproperties.project.student.domain.Section;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.AbstractManagerRestClientImpl;
+import com.invariantproperties.project.student.webservice.client.JsonEntity;
 import com.invariantproperties.project.student.webservice.client.SectionManagerRestClient;
 
 /**
@@ -45,24 +50,24 @@ public class SectionManagerRestClientImpl extends AbstractManagerRestClientImpl<
     }
 
     /**
-     * Create JSON string.
+     * Create JSON body.
      * 
      * @param name
      * @return
      */
-    String createJson(final String name) {
-        return String.format("{ \"name\": \"%s\" }", name);
+    JsonEntity createJson(final String name) {
+        return JsonEntity.name(name, null);
     }
 
     /**
-     * Create JSON string.
+     * Create JSON body.
      * 
      * @param name
      * @param testUuid
      * @return
      */
-    String createJson(final String name, final TestRun testRun) {
-        return String.format("{ \"name\": \"%s\", \"testUuid\": \"%s\" }", name, testRun.getUuid());
+    JsonEntity createJson(final String name, final TestRun testRun) {
+        return JsonEntity.name(name, testRun);
     }
 
     /**
@@ -120,4 +125,73 @@ public class SectionManagerRestClientImpl extends AbstractManagerRestClientImpl<
     public void deleteSection(String uuid, Integer version) {
         super.deleteObject(uuid, version);
     }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<Section> createSections(List<Section> sections) {
+        return new BulkOperation<Section, Section>() {
+            @Override
+            public Section apply(Section item) {
+                if (item.getTestRun() != null) {
+                    return createSectionForTesting(item.getName(), item.getTestRun());
+                }
+                return createSection(item.getName());
+            }
+        }.execute(sections);
+    }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<Section> updateSections(List<Section> sections) {
+        return new BulkOperation<Section, Section>() {
+            @Override
+            public String uuidOf(Section item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Section apply(Section item) {
+                return updateSection(item, item.getName());
+            }
+        }.execute(sections);
+    }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<String> deleteSections(List<String> uuids) {
+        return new BulkOperation<String, String>() {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                deleteSection(uuid, null);
+                return uuid;
+            }
+        }.execute(uuids);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addStudentToSection(final String sectionUuid, final String studentUuid) {
+        return super.updateMember(sectionUuid, "students", studentUuid, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeStudentFromSection(final String sectionUuid, final String studentUuid) {
+        return super.updateMember(sectionUuid, "students", studentUuid, false);
+    }
 }
@@ -23,8 +23,11 @@
 package com.invariantproperties.project.student.webservice.client.impl;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.domain.Student;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.AbstractFinderRestClientImpl;
@@ -74,6 +77,14 @@ public class StudentFinderRestClientImpl extends AbstractFinderRestClientImpl<St
         return super.getObject(uuid);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Student> findStudentsByUuids(final Collection<String> uuids) {
+        return super.lookupObjects(uuids);
+    }
+
     /**
      * {@inheritDoc} FIXME: implement!
      */
@@ -87,6 +98,23 @@ public class StudentFinderRestClientImpl extends AbstractFinderRestClientImpl<St
      */
     @Override
     public List<Student> findStudentsByTestRun(final TestRun testRun) {
-        throw new UnsupportedOperationException();
+        final Student[] students = super.getAllObjects(testRun, EMPTY_STUDENT_ARRAY);
+        return Arrays.asList(students);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<Student> findStudents(final Paging paging) {
+        return super.getObjects(paging);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<Student> findStudentsByTestRun(final TestRun testRun, final Paging paging) {
+        return super.getObjects(testRun, paging);
     }
 }
@@ -22,9 +22,14 @@
  */
 package com.invariantproperties.project.student.webservice.client.impl;
 
+import java.util.List;
+
+import com.invariantproperties.project.student.business.BulkOperation;
+import com.invariantproperties.project.student.business.BulkResult;
 import com.invariantproperties.project.student.domain.Student;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.AbstractManagerRestClientImpl;
+import com.invariantproperties.project.student.webservice.client.JsonEntity;
 import com.invariantproperties.project.student.webservice.client.StudentManagerRestClient;
 
 /**
@@ -45,26 +50,25 @@ public class StudentManagerRestClientImpl extends AbstractManagerRestClientImpl<
     }
 
     /**
-     * Create JSON string.
+     * Create JSON body.
      * 
      * @param name
      * @param emailAddress
      * @return
      */
-    String createJson(final String name, final String emailAddress) {
-        return String.format("{ \"name\": \"%s\", \"emailAddress\": \"%s\" }", name, emailAddress);
+    JsonEntity createJson(final String name, final String emailAddress) {
+        return JsonEntity.nameAndEmailAddress(name, emailAddress, null);
     }
 
     /**
-     * Create JSON string.
+     * Create JSON body.
      * 
      * @param name
      * @param testUuid
      * @return
      */
-    String createJson(final String name, final String emailAddress, final TestRun testRun) {
-        return String.format("{ \"name\": \"%s\", \"emailAddress\": \"%s\", \"testUuid\": \"%s\" }", name,
-                emailAddress, testRun.getUuid());
+    JsonEntity createJson(final String name, final String emailAddress, final TestRun testRun) {
+        return JsonEntity.nameAndEmailAddress(name, emailAddress, testRun);
     }
 
     /**
@@ -134,4 +138,57 @@ public class StudentManagerRestClientImpl extends AbstractManagerRestClientImpl<
     public void deleteStudent(String uuid, Integer version) {
         super.deleteObject(uuid, version);
     }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<Student> createStudents(List<Student> students) {
+        return new BulkOperation<Student, Student>() {
+            @Override
+            public Student apply(Student item) {
+                if (item.getTestRun() != null) {
+                    return createStudentForTesting(item.getName(), item.getEmailAddress(), item.getTestRun());
+                }
+                return createStudent(item.getName(), item.getEmailAddress());
+            }
+        }.execute(students);
+    }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<Student> updateStudents(List<Student> students) {
+        return new BulkOperation<Student, Student>() {
+            @Override
+            public String uuidOf(Student item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Student apply(Student item) {
+                return updateStudent(item, item.getName(), item.getEmailAddress());
+            }
+        }.execute(students);
+    }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<String> deleteStudents(List<String> uuids) {
+        return new BulkOperation<String, String>() {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                deleteStudent(uuid, null);
+                return uuid;
+            }
+        }.execute(uuids);
+    }
 }
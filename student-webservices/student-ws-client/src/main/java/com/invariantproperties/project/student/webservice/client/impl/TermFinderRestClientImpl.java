@@ -23,8 +23,11 @@
 package com.invariantproperties.project.student.webservice.client.impl;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.domain.Term;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.AbstractFinderRestClientImpl;
@@ -72,11 +75,36 @@ public class TermFinderRestClientImpl extends AbstractFinderRestClientImpl<Term>
         return super.getObject(uuid);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Term> findTermsByUuids(final Collection<String> uuids) {
+        return super.lookupObjects(uuids);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public List<Term> findTermsByTestRun(final TestRun testRun) {
-        throw new UnsupportedOperationException();
+        final Term[] terms = super.getAllObjects(testRun, EMPTY_TERM_ARRAY);
+        return Arrays.asList(terms);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<Term> findTerms(final Paging paging) {
+        return super.getObjects(paging);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<Term> findTermsByTestRun(final TestRun testRun, final Paging paging) {
+        return super.getObjects(testRun, paging);
     }
 }
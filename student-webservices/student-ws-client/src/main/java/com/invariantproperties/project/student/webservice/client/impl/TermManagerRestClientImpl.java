@@ -22,9 +22,14 @@
  */
 package com.invariantproperties.project.student.webservice.client.impl;
 
+import java.util.List;
+
+import com.invariantproperties.project.student.business.BulkOperation;
+import com.invariantproperties.project.student.business.BulkResult;
 import com.invariantproperties.project.student.domain.Term;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.AbstractManagerRestClientImpl;
+import com.invariantproperties.project.student.webservice.client.JsonEntity;
 import com.invariantproperties.project.student.webservice.client.TermManagerRestClient;
 
 /**
@@ -44,24 +49,24 @@ public class TermManagerRestClientImpl extends AbstractManagerRestClientImpl<Ter
     }
 
     /**
-     * Create JSON string.
+     * Create JSON body.
      * 
      * @param name
      * @return
      */
-    String createJson(final String name) {
-        return String.format("{ \"name\": \"%s\" }", name);
+    JsonEntity createJson(final String name) {
+        return JsonEntity.name(name, null);
     }
 
     /**
-     * Create JSON string.
+     * Create JSON body.
      * 
      * @param name
      * @param testUuid
      * @return
      */
-    String createJson(final String name, final TestRun testRun) {
-        return String.format("{ \"name\": \"%s\", \"testUuid\": \"%s\" }", name, testRun.getUuid());
+    JsonEntity createJson(final String name, final TestRun testRun) {
+        return JsonEntity.name(name, testRun);
     }
 
     /**
@@ -119,4 +124,57 @@ public class TermManagerRestClientImpl extends AbstractManagerRestClientImpl<Ter
     public void deleteTerm(String uuid, Integer version) {
         super.deleteObject(uuid, version);
     }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<Term> createTerms(List<Term> terms) {
+        return new BulkOperation<Term, Term>() {
+            @Override
+            public Term apply(Term item) {
+                if (item.getTestRun() != null) {
+                    return createTermForTesting(item.getName(), item.getTestRun());
+                }
+                return createTerm(item.getName());
+            }
+        }.execute(terms);
+    }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<Term> updateTerms(List<Term> terms) {
+        return new BulkOperation<Term, Term>() {
+            @Override
+            public String uuidOf(Term item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Term apply(Term item) {
+                return updateTerm(item, item.getName());
+            }
+        }.execute(terms);
+    }
+
+    /**
+     * Each item is a separate REST call.
+     */
+    @Override
+    public BulkResult<String> deleteTerms(List<String> uuids) {
+        return new BulkOperation<String, String>() {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                deleteTerm(uuid, null);
+                return uuid;
+            }
+        }.execute(uuids);
+    }
 }
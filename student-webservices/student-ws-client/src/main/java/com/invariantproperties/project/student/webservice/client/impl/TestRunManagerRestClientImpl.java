@@ -24,6 +24,7 @@ package com.invariantproperties.project.student.webservice.client.impl;
 
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.AbstractManagerRestClientImpl;
+import com.invariantproperties.project.student.webservice.client.JsonEntity;
 import com.invariantproperties.project.student.webservice.client.TestRunManagerRestClient;
 
 /**
@@ -48,7 +49,7 @@ public class TestRunManagerRestClientImpl extends AbstractManagerRestClientImpl<
      */
     @Override
     public TestRun createTestRun() {
-        return super.createObject("{ }");
+        return super.createObject(JsonEntity.EMPTY);
     }
 
     /**
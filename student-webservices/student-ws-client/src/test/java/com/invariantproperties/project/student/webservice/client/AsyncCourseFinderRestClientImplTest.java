@@ -0,0 +1,207 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.invariantproperties.project.student.business.OrderBy;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.TestRun;
+import com.invariantproperties.project.student.webservice.client.impl.AsyncCourseFinderRestClientImpl;
+import com.ning.http.client.FluentCaseInsensitiveStringsMap;
+import com.ning.http.client.Request;
+
+/**
+ * Unit tests for AsyncCourseFinderRestClientImpl.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class AsyncCourseFinderRestClientImplTest {
+    private static final String UUID = "uuid";
+
+    @Test
+    public void testCount() throws Exception {
+        AsyncFinderCourseMock client = new AsyncFinderCourseMock(200, "{ \"count\": 42 }");
+        RecordingCallback<Long> callback = new RecordingCallback<Long>();
+        client.count(callback);
+        assertEquals(Long.valueOf(42), callback.getResult());
+        assertEquals("true", client.getRequest().getQueryParams().getFirstValue("countOnly"));
+    }
+
+    @Test
+    public void testCountByTestRun() throws Exception {
+        TestRun testRun = new TestRun();
+        testRun.setUuid(UUID);
+        AsyncFinderCourseMock client = new AsyncFinderCourseMock(200, "{ \"count\": 3 }");
+        RecordingCallback<Long> callback = new RecordingCallback<Long>();
+        client.countByTestRun(testRun, callback);
+        assertEquals(Long.valueOf(3), callback.getResult());
+        assertEquals(UUID, client.getRequest().getQueryParams().getFirstValue("testUuid"));
+    }
+
+    @Test
+    public void testFindAll() throws Exception {
+        AsyncFinderCourseMock client = new AsyncFinderCourseMock(200, courses(createCourse()));
+        RecordingCallback<List<Course>> callback = new RecordingCallback<List<Course>>();
+        client.findAll(callback);
+        assertEquals(1, callback.getResult().size());
+        assertEquals(UUID, callback.getResult().get(0).getUuid());
+    }
+
+    @Test
+    public void testFindAllError() throws Exception {
+        AsyncFinderCourseMock client = new AsyncFinderCourseMock(500, "");
+        RecordingCallback<List<Course>> callback = new RecordingCallback<List<Course>>();
+        client.findAll(callback);
+        assertTrue(callback.getCause() instanceof RestClientFailureException);
+    }
+
+    @Test
+    public void testFindPaged() throws Exception {
+        FluentCaseInsensitiveStringsMap headers = new FluentCaseInsensitiveStringsMap();
+        headers.add("Link", "<?offset=20&maxResults=10>; rel=\"next\"");
+        AsyncFinderCourseMock client = new AsyncFinderCourseMock(200, courses(createCourse()), headers);
+        RecordingCallback<ResultPage<Course>> callback = new RecordingCallback<ResultPage<Course>>();
+        client.find(Paging.offset(10, 10, Arrays.asList(OrderBy.desc("name"))), callback);
+        assertEquals(1, callback.getResult().getContent().size());
+        assertTrue(callback.getResult().hasNext());
+        assertEquals(11, callback.getResult().getNext().getOffset());
+        assertEquals("10", client.getRequest().getQueryParams().getFirstValue("offset"));
+    }
+
+    @Test
+    public void testFindPagedLastPage() throws Exception {
+        AsyncFinderCourseMock client = new AsyncFinderCourseMock(200, courses());
+        RecordingCallback<ResultPage<Course>> callback = new RecordingCallback<ResultPage<Course>>();
+        client.find(Paging.first(10), callback);
+        assertEquals(0, callback.getResult().getContent().size());
+        assertFalse(callback.getResult().hasNext());
+    }
+
+    @Test
+    public void testFindByUuid() throws Exception {
+        AsyncFinderCourseMock client = new AsyncFinderCourseMock(200, course());
+        RecordingCallback<Course> callback = new RecordingCallback<Course>();
+        client.findByUuid(UUID, callback);
+        assertEquals(UUID, callback.getResult().getUuid());
+        assertEquals("name", callback.getResult().getName());
+        assertEquals(AsyncFinderCourseMock.RESOURCE + UUID, client.getRequest().getUrl());
+    }
+
+    @Test
+    public void testFindByUuidMissing() throws Exception {
+        AsyncFinderCourseMock client = new AsyncFinderCourseMock(404, "");
+        RecordingCallback<Course> callback = new RecordingCallback<Course>();
+        client.findByUuid(UUID, callback);
+        assertTrue(callback.getCause() instanceof ObjectNotFoundException);
+    }
+
+    @Test
+    public void testFindByUuids() throws Exception {
+        AsyncFinderCourseMock client = new AsyncFinderCourseMock(200, courses(createCourse()));
+        RecordingCallback<List<Course>> callback = new RecordingCallback<List<Course>>();
+        client.findByUuids(Arrays.asList(UUID, "unknown"), callback);
+        assertEquals(1, callback.getResult().size());
+
+        Request request = client.getRequest();
+        assertEquals("POST", request.getMethod());
+        assertEquals(AsyncFinderCourseMock.RESOURCE + "lookup", request.getUrl());
+        assertEquals(Arrays.asList(UUID, "unknown"), request.getParams().get("uuid"));
+    }
+
+    @Test
+    public void testFindByUuidsEmpty() throws Exception {
+        AsyncFinderCourseMock client = new AsyncFinderCourseMock(200, courses());
+        RecordingCallback<List<Course>> callback = new RecordingCallback<List<Course>>();
+        assertTrue(client.findByUuids(Collections.<String> emptyList(), callback).get().isEmpty());
+        assertTrue(callback.getResult().isEmpty());
+        assertTrue(client.getRequests().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindByUuidsTooMany() throws Exception {
+        List<String> uuids = new ArrayList<String>();
+        for (int i = 0; i <= AbstractFinderRestClientImpl.LOOKUP_SIZE; i++) {
+            uuids.add(UUID + i);
+        }
+        AsyncFinderCourseMock client = new AsyncFinderCourseMock(200, courses());
+        client.findByUuids(uuids, null);
+    }
+
+    private Course createCourse() {
+        Course course = new Course();
+        course.setUuid(UUID);
+        course.setName("name");
+        return course;
+    }
+
+    private String course() throws IOException {
+        return AsyncTransportMock.toJson(createCourse(), Course.class);
+    }
+
+    private String courses(Course... courses) throws IOException {
+        return AsyncTransportMock.toJson(courses, Course[].class);
+    }
+}
+
+class AsyncFinderCourseMock extends AsyncCourseFinderRestClientImpl {
+    static final String RESOURCE = "http://localhost/rest/course/";
+    private final AsyncTransportMock transport;
+
+    AsyncFinderCourseMock(int status, String body) throws IOException {
+        this(status, body, null);
+    }
+
+    AsyncFinderCourseMock(int status, String body, FluentCaseInsensitiveStringsMap headers) throws IOException {
+        super(RESOURCE);
+        this.transport = new AsyncTransportMock(status, body, headers);
+    }
+
+    @Override
+    AsyncRestTransport createTransport() {
+        return transport.getTransport();
+    }
+
+    List<Request> getRequests() {
+        return transport.getRequests();
+    }
+
+    /**
+     * Get the most recent request.
+     */
+    Request getRequest() {
+        return transport.getRequests().get(transport.getRequests().size() - 1);
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.MessageBodyWriter;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.ning.http.client.AsyncCompletionHandler;
+import com.ning.http.client.AsyncHandler;
+import com.ning.http.client.AsyncHttpClient;
+import com.ning.http.client.FluentCaseInsensitiveStringsMap;
+import com.ning.http.client.ListenableFuture;
+import com.ning.http.client.Request;
+import com.ning.http.client.RequestBuilder;
+import com.ning.http.client.Response;
+import com.sun.jersey.api.client.Client;
+import com.sun.jersey.core.header.OutBoundHeaders;
+
+/**
+ * Unit tests for AsyncRestTransport.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class AsyncRestTransportTest {
+    private static final Request REQUEST = new RequestBuilder("GET").setUrl("http://localhost/rest/course/").build();
+
+    private static final AsyncRestTransport.ResponseReader<Integer> STATUS_READER =
+            new AsyncRestTransport.ResponseReader<Integer>() {
+                @Override
+                public Integer read(Response response) {
+                    return response.getStatusCode();
+                }
+            };
+
+    @Test
+    public void testInFlightLimit() throws Exception {
+        final AsyncHttpClient client = mock(AsyncHttpClient.class);
+        final List<AsyncCompletionHandler<?>> handlers = new ArrayList<AsyncCompletionHandler<?>>();
+        when(client.executeRequest(any(Request.class), any(AsyncHandler.class))).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                synchronized (handlers) {
+                    handlers.add((AsyncCompletionHandler<?>) invocation.getArguments()[1]);
+                }
+                return mock(ListenableFuture.class);
+            }
+        });
+
+        final AsyncRestTransport transport = new AsyncRestTransport(client, 2);
+        transport.execute(REQUEST, STATUS_READER, null);
+        transport.execute(REQUEST, STATUS_READER, null);
+        assertEquals(2, transport.getInFlight());
+
+        // the third request waits for one of the first two to finish
+        final CountDownLatch sent = new CountDownLatch(1);
+        final Thread thread = new Thread() {
+            @Override
+            public void run() {
+                transport.execute(REQUEST, STATUS_READER, null);
+                sent.countDown();
+            }
+        };
+        thread.start();
+        assertFalse(sent.await(200, TimeUnit.MILLISECONDS));
+
+        handlers.get(0).onCompleted(AsyncTransportMock.createResponse(200, "", null));
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        assertEquals(2, transport.getInFlight());
+        assertEquals(2, transport.getMaxInFlight());
+    }
+
+    @Test
+    public void testCallbackCalledOnce() throws Exception {
+        final AsyncHttpClient client = mock(AsyncHttpClient.class);
+        when(client.executeRequest(any(Request.class), any(AsyncHandler.class))).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                final AsyncCompletionHandler<?> handler = (AsyncCompletionHandler<?>) invocation.getArguments()[1];
+                try {
+                    handler.onCompleted(AsyncTransportMock.createResponse(500, "", null));
+                } catch (Exception e) {
+                    fail(e.getMessage());
+                }
+                // e.g., the connection is closed after the response
+                handler.onThrowable(new IOException("closed"));
+                return mock(ListenableFuture.class);
+            }
+        });
+
+        final AsyncRestTransport transport = new AsyncRestTransport(client, 2);
+        final RecordingCallback<Integer> callback = new RecordingCallback<Integer>();
+        final Future<Integer> future = transport.execute(REQUEST, new AsyncRestTransport.ResponseReader<Integer>() {
+            @Override
+            public Integer read(Response response) {
+                throw new RestClientFailureException("resource", null, "<none>", response.getStatusCode());
+            }
+        }, callback);
+
+        try {
+            future.get();
+            fail("future should fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RestClientFailureException);
+        }
+        assertEquals(1, callback.getCalls());
+        assertTrue(callback.getCause() instanceof RestClientFailureException);
+        assertEquals(0, transport.getInFlight());
+    }
+
+    @Test
+    public void testSendFailure() throws Exception {
+        final IOException cause = new IOException("closed");
+        final AsyncHttpClient client = mock(AsyncHttpClient.class);
+        when(client.executeRequest(any(Request.class), any(AsyncHandler.class))).thenThrow(cause);
+
+        final AsyncRestTransport transport = new AsyncRestTransport(client, 2);
+        final RecordingCallback<Integer> callback = new RecordingCallback<Integer>();
+        final Future<Integer> future = transport.execute(REQUEST, STATUS_READER, callback);
+
+        try {
+            future.get();
+            fail("future should fail");
+        } catch (ExecutionException e) {
+            assertSame(cause, e.getCause());
+        }
+        assertSame(cause, callback.getCause());
+        assertEquals(1, callback.getCalls());
+        assertEquals(0, transport.getInFlight());
+    }
+
+    @Test
+    public void testCompleted() throws Exception {
+        final RecordingCallback<String> callback = new RecordingCallback<String>();
+        final Future<String> future = AsyncRestTransport.completed("value", callback);
+        assertTrue(future.isDone());
+        assertEquals("value", future.get());
+        assertEquals("value", callback.getResult());
+    }
+
+    @Test
+    public void testGetHeaders() throws Exception {
+        final FluentCaseInsensitiveStringsMap headers = new FluentCaseInsensitiveStringsMap();
+        headers.add("Link", "<?offset=10>; rel=\"next\"");
+        final Response response = AsyncTransportMock.createResponse(200, "", headers);
+        assertEquals("<?offset=10>; rel=\"next\"", AsyncRestTransport.getHeaders(response).getFirst("Link"));
+    }
+}
+
+/**
+ * Callback that records how it was called.
+ */
+class RecordingCallback<V> implements RestCallback<V> {
+    private V result;
+    private Throwable cause;
+    private int calls;
+
+    @Override
+    public synchronized void completed(V result) {
+        this.result = result;
+        calls++;
+    }
+
+    @Override
+    public synchronized void failed(Throwable cause) {
+        this.cause = cause;
+        calls++;
+    }
+
+    synchronized V getResult() {
+        return result;
+    }
+
+    synchronized Throwable getCause() {
+        return cause;
+    }
+
+    synchronized int getCalls() {
+        return calls;
+    }
+}
+
+/**
+ * Transport whose HTTP client answers every request with the same response.
+ * The response is handled on the caller's thread.
+ */
+class AsyncTransportMock {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private final List<Request> requests = new ArrayList<Request>();
+    private final AsyncRestTransport transport;
+
+    AsyncTransportMock(final int status, final String body) throws IOException {
+        this(status, body, null);
+    }
+
+    AsyncTransportMock(final int status, final String body, final FluentCaseInsensitiveStringsMap headers)
+            throws IOException {
+        final Response response = createResponse(status, body, headers);
+        final AsyncHttpClient client = mock(AsyncHttpClient.class);
+        when(client.executeRequest(any(Request.class), any(AsyncHandler.class))).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                requests.add((Request) invocation.getArguments()[0]);
+                final AsyncCompletionHandler<?> handler = (AsyncCompletionHandler<?>) invocation.getArguments()[1];
+                try {
+                    handler.onCompleted(response);
+                } catch (Exception e) {
+                    handler.onThrowable(e);
+                }
+                return mock(ListenableFuture.class);
+            }
+        });
+        transport = new AsyncRestTransport(client, 10);
+    }
+
+    static Response createResponse(final int status, final String body,
+            final FluentCaseInsensitiveStringsMap headers) throws IOException {
+        final Response response = mock(Response.class);
+        when(response.getStatusCode()).thenReturn(status);
+        when(response.getResponseBody()).thenReturn(body);
+        when(response.getResponseBodyAsStream()).thenAnswer(new Answer<InputStream>() {
+            @Override
+            public InputStream answer(InvocationOnMock invocation) {
+                return new ByteArrayInputStream(body.getBytes(UTF8));
+            }
+        });
+        when(response.getHeaders()).thenReturn(headers);
+        return response;
+    }
+
+    /**
+     * Write the entity as JSON the way the server does.
+     */
+    static <S> String toJson(final S entity, final Class<S> type) throws IOException {
+        final MessageBodyWriter<S> writer = Client.create().getMessageBodyWorkers()
+                .getMessageBodyWriter(type, type, new Annotation[0], MediaType.APPLICATION_JSON_TYPE);
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        writer.writeTo(entity, type, type, new Annotation[0], MediaType.APPLICATION_JSON_TYPE,
+                new OutBoundHeaders(), os);
+        return new String(os.toByteArray(), UTF8);
+    }
+
+    AsyncRestTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Get the requests sent so far.
+     */
+    List<Request> getRequests() {
+        return requests;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.invariantproperties.project.student.domain.Student;
+import com.invariantproperties.project.student.domain.TestRun;
+import com.invariantproperties.project.student.webservice.client.impl.AsyncStudentManagerRestClientImpl;
+import com.ning.http.client.Request;
+
+/**
+ * Unit tests for AsyncStudentManagerRestClientImpl.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class AsyncStudentManagerRestClientImplTest {
+    private static final String UUID = "uuid";
+    private static final String NAME = "name";
+    private static final String EMAIL = "email address";
+
+    @Test
+    public void testCreate() throws Exception {
+        AsyncManagerStudentMock client = new AsyncManagerStudentMock(201, student());
+        RecordingCallback<Student> callback = new RecordingCallback<Student>();
+        client.create(createStudent(null), callback);
+        assertEquals(NAME, callback.getResult().getName());
+        assertEquals(EMAIL, callback.getResult().getEmailAddress());
+
+        Request request = client.getRequest();
+        assertEquals("POST", request.getMethod());
+        assertEquals(AsyncManagerStudentMock.RESOURCE, request.getUrl());
+        assertEquals("{\"name\":\"name\",\"emailAddress\":\"email address\"}", body(request));
+    }
+
+    @Test
+    public void testCreateForTesting() throws Exception {
+        TestRun testRun = new TestRun();
+        testRun.setUuid("test");
+        AsyncManagerStudentMock client = new AsyncManagerStudentMock(201, student());
+        client.create(createStudent(testRun), null);
+        assertTrue(body(client.getRequest()).contains("\"testUuid\":\"test\""));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateMissingEmailAddress() throws Exception {
+        Student student = createStudent(null);
+        student.setEmailAddress(null);
+        AsyncManagerStudentMock client = new AsyncManagerStudentMock(201, student());
+        client.create(student, null);
+    }
+
+    @Test
+    public void testCreateError() throws Exception {
+        AsyncManagerStudentMock client = new AsyncManagerStudentMock(500, "");
+        RecordingCallback<Student> callback = new RecordingCallback<Student>();
+        client.create(createStudent(null), callback);
+        assertTrue(callback.getCause() instanceof RestClientFailureException);
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        AsyncManagerStudentMock client = new AsyncManagerStudentMock(200, student());
+        RecordingCallback<Student> callback = new RecordingCallback<Student>();
+        client.update(createStudent(null), callback);
+        assertEquals(UUID, callback.getResult().getUuid());
+        assertEquals(AsyncManagerStudentMock.RESOURCE + UUID, client.getRequest().getUrl());
+    }
+
+    @Test
+    public void testUpdateMissing() throws Exception {
+        AsyncManagerStudentMock client = new AsyncManagerStudentMock(404, "");
+        RecordingCallback<Student> callback = new RecordingCallback<Student>();
+        client.update(createStudent(null), callback);
+        assertTrue(callback.getCause() instanceof ObjectNotFoundException);
+    }
+
+    @Test
+    public void testDelete() throws Exception {
+        AsyncManagerStudentMock client = new AsyncManagerStudentMock(204, "");
+        RecordingCallback<Void> callback = new RecordingCallback<Void>();
+        client.delete(UUID, 1, callback);
+        assertEquals(1, callback.getCalls());
+        assertNull(callback.getCause());
+
+        Request request = client.getRequest();
+        assertEquals("DELETE", request.getMethod());
+        assertEquals("\"uuid.1\"", request.getHeaders().getFirstValue("If-Match"));
+    }
+
+    @Test
+    public void testDeleteMissing() throws Exception {
+        AsyncManagerStudentMock client = new AsyncManagerStudentMock(404, "");
+        RecordingCallback<Void> callback = new RecordingCallback<Void>();
+        client.delete(UUID, null, callback);
+        assertNull(callback.getCause());
+    }
+
+    @Test
+    public void testDeleteStale() throws Exception {
+        AsyncManagerStudentMock client = new AsyncManagerStudentMock(412, "");
+        RecordingCallback<Void> callback = new RecordingCallback<Void>();
+        client.delete(UUID, 1, callback);
+        assertTrue(callback.getCause() instanceof StaleObjectException);
+    }
+
+    private String student() throws IOException {
+        return AsyncTransportMock.toJson(createStudent(null), Student.class);
+    }
+
+    private String body(Request request) throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        request.getEntityWriter().writeEntity(os);
+        return os.toString("UTF-8");
+    }
+
+    private Student createStudent(TestRun testRun) {
+        Student student = new Student();
+        student.setUuid(UUID);
+        student.setName(NAME);
+        student.setEmailAddress(EMAIL);
+        student.setTestRun(testRun);
+        return student;
+    }
+}
+
+class AsyncManagerStudentMock extends AsyncStudentManagerRestClientImpl {
+    static final String RESOURCE = "http://localhost/rest/student/";
+    private final AsyncTransportMock transport;
+
+    AsyncManagerStudentMock(int status, String body) throws IOException {
+        super(RESOURCE);
+        this.transport = new AsyncTransportMock(status, body);
+    }
+
+    @Override
+    AsyncRestTransport createTransport() {
+        return transport.getTransport();
+    }
+
+    /**
+     * Get the most recent request.
+     */
+    Request getRequest() {
+        final List<Request> requests = transport.getRequests();
+        return requests.get(requests.size() - 1);
+    }
+}
@@ -23,20 +23,31 @@
 package com.invariantproperties.project.student.webservice.client;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import javax.ws.rs.core.MultivaluedMap;
+
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import com.invariantproperties.project.student.business.OrderBy;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.domain.Classroom;
+import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.impl.ClassroomFinderRestClientImpl;
 import com.sun.jersey.api.client.Client;
 import com.sun.jersey.api.client.ClientResponse;
 import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.core.util.MultivaluedMapImpl;
 
 /**
  * Unit tests for ClassroomFinderRestClientImpl. Remember that we want to test
@@ -69,6 +80,86 @@ public class ClassroomFinderRestClientImplTest {
         client.findAllClassrooms();
     }
 
+    @Test
+    public void testCountClassrooms() {
+        ClassroomFinderRestClient client = new FinderClassroomMock(200, "{ \"count\": 42 }");
+        assertEquals(42, client.count());
+    }
+
+    @Test
+    public void testCountClassroomsByTestRun() {
+        TestRun testRun = new TestRun();
+        testRun.setUuid(UUID);
+        ClassroomFinderRestClient client = new FinderClassroomMock(200, "{ \"count\": 3 }");
+        assertEquals(3, client.countByTestRun(testRun));
+    }
+
+    @Test(expected = RestClientFailureException.class)
+    public void testCountClassroomsError() {
+        ClassroomFinderRestClient client = new FinderClassroomMock(500, null);
+        client.count();
+    }
+
+    @Test
+    public void testGetClassroomsByTestRun() {
+        TestRun testRun = new TestRun();
+        testRun.setUuid(UUID);
+        Classroom classroom = new Classroom();
+        classroom.setUuid(UUID);
+        ClassroomFinderRestClient client = new FinderClassroomMock(200, new Classroom[] { classroom });
+        List<Classroom> results = client.findClassroomsByTestRun(testRun);
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    public void testGetClassroomsPaged() {
+        Classroom classroom = new Classroom();
+        classroom.setUuid(UUID);
+        MultivaluedMap<String, String> headers = new MultivaluedMapImpl();
+        headers.add("Link", "<?offset=20&maxResults=10&orderBy=-name>; rel=\"next\"");
+        ClassroomFinderRestClient client = new FinderClassroomMock(200, new Classroom[] { classroom }, headers);
+        ResultPage<Classroom> results = client.findClassrooms(Paging.offset(10, 10, Arrays.asList(OrderBy.desc("name"))));
+        assertEquals(1, results.getContent().size());
+        assertTrue(results.hasNext());
+        assertEquals(11, results.getNext().getOffset());
+    }
+
+    @Test
+    public void testGetClassroomsPagedLastPage() {
+        ClassroomFinderRestClient client = new FinderClassroomMock(200, new Classroom[0]);
+        ResultPage<Classroom> results = client.findClassrooms(Paging.first(10));
+        assertEquals(0, results.getContent().size());
+        assertFalse(results.hasNext());
+    }
+
+    @Test(expected = RestClientFailureException.class)
+    public void testGetClassroomsPagedError() {
+        ClassroomFinderRestClient client = new FinderClassroomMock(500, null);
+        client.findClassrooms(Paging.first(10));
+    }
+
+    @Test
+    public void testLookupClassrooms() {
+        Classroom classroom = new Classroom();
+        classroom.setUuid(UUID);
+        ClassroomFinderRestClient client = new FinderClassroomMock(200, new Classroom[] { classroom });
+        List<Classroom> results = client.findClassroomsByUuids(Arrays.asList(UUID, "missing"));
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    public void testLookupClassroomsEmpty() {
+        ClassroomFinderRestClient client = new FinderClassroomMock(500, null);
+        List<Classroom> results = client.findClassroomsByUuids(Collections.<String> emptyList());
+        assertEquals(0, results.size());
+    }
+
+    @Test(expected = RestClientFailureException.class)
+    public void testLookupClassroomsError() {
+        ClassroomFinderRestClient client = new FinderClassroomMock(500, null);
+        client.findClassroomsByUuids(Arrays.asList(UUID));
+    }
+
     @Test
     public void testGetClassroom() {
         Classroom expected = new Classroom();
@@ -105,11 +196,17 @@ class FinderClassroomMock extends ClassroomFinderRestClientImpl {
     private ClientResponse response;
     private final int status;
     private final Object results;
+    private final MultivaluedMap<String, String> headers;
 
     FinderClassroomMock(int status, Object results) {
+        this(status, results, null);
+    }
+
+    FinderClassroomMock(int status, Object results, MultivaluedMap<String, String> headers) {
         super(RESOURCE);
         this.status = status;
         this.results = results;
+        this.headers = headers;
     }
 
     /**
@@ -125,6 +222,7 @@ class FinderClassroomMock extends ClassroomFinderRestClientImpl {
         webResourceBuilder = Mockito.mock(WebResource.Builder.class);
         response = Mockito.mock(ClientResponse.class);
         when(client.resource(any(String.class))).thenReturn(webResource);
+        when(webResource.queryParams(any(MultivaluedMap.class))).thenReturn(webResource);
         when(webResource.accept(any(String.class))).thenReturn(webResourceBuilder);
         when(webResource.type(any(String.class))).thenReturn(webResourceBuilder);
         when(webResourceBuilder.accept(any(String.class))).thenReturn(webResourceBuilder);
@@ -135,6 +233,7 @@ class FinderClassroomMock extends ClassroomFinderRestClientImpl {
         when(webResourceBuilder.delete(eq(ClientResponse.class))).thenReturn(response);
         when(response.getStatus()).thenReturn(status);
         when(response.getEntity(any(Class.class))).thenReturn(results);
+        when(response.getHeaders()).thenReturn(headers);
         return client;
     }
 }
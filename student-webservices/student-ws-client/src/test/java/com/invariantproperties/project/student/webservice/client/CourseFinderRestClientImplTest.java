@@ -23,20 +23,33 @@
 package com.invariantproperties.project.student.webservice.client;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import javax.ws.rs.core.MultivaluedMap;
+
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import com.invariantproperties.project.student.business.OrderBy;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.CourseSummary;
+import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.impl.CourseFinderRestClientImpl;
 import com.sun.jersey.api.client.Client;
 import com.sun.jersey.api.client.ClientResponse;
 import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.core.util.MultivaluedMapImpl;
 
 /**
  * Unit tests for CourseFinderRestClientImpl. Remember that we want to test the
@@ -69,6 +82,114 @@ public class CourseFinderRestClientImplTest {
         client.findAllCourses();
     }
 
+    @Test
+    public void testCountCourses() {
+        CourseFinderRestClient client = new FinderCourseMock(200, "{ \"count\": 42 }");
+        assertEquals(42, client.count());
+    }
+
+    @Test
+    public void testCountCoursesByTestRun() {
+        TestRun testRun = new TestRun();
+        testRun.setUuid(UUID);
+        CourseFinderRestClient client = new FinderCourseMock(200, "{ \"count\": 3 }");
+        assertEquals(3, client.countByTestRun(testRun));
+    }
+
+    @Test(expected = RestClientFailureException.class)
+    public void testCountCoursesError() {
+        CourseFinderRestClient client = new FinderCourseMock(500, null);
+        client.count();
+    }
+
+    @Test
+    public void testGetCoursesByTestRun() {
+        TestRun testRun = new TestRun();
+        testRun.setUuid(UUID);
+        Course course = new Course();
+        course.setUuid(UUID);
+        CourseFinderRestClient client = new FinderCourseMock(200, new Course[] { course });
+        List<Course> results = client.findCoursesByTestRun(testRun);
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    public void testGetCoursesPaged() {
+        Course course = new Course();
+        course.setUuid(UUID);
+        MultivaluedMap<String, String> headers = new MultivaluedMapImpl();
+        headers.add("Link", "<?offset=20&maxResults=10&orderBy=-name>; rel=\"next\"");
+        CourseFinderRestClient client = new FinderCourseMock(200, new Course[] { course }, headers);
+        ResultPage<Course> results = client.findCourses(Paging.offset(10, 10, Arrays.asList(OrderBy.desc("name"))));
+        assertEquals(1, results.getContent().size());
+        assertTrue(results.hasNext());
+        assertEquals(11, results.getNext().getOffset());
+    }
+
+    @Test
+    public void testGetCoursesPagedLastPage() {
+        CourseFinderRestClient client = new FinderCourseMock(200, new Course[0]);
+        ResultPage<Course> results = client.findCourses(Paging.first(10));
+        assertEquals(0, results.getContent().size());
+        assertFalse(results.hasNext());
+    }
+
+    @Test(expected = RestClientFailureException.class)
+    public void testGetCoursesPagedError() {
+        CourseFinderRestClient client = new FinderCourseMock(500, null);
+        client.findCourses(Paging.first(10));
+    }
+
+    @Test
+    public void testGetAllCourseSummaries() {
+        CourseSummary summary = new CourseSummary();
+        summary.setUuid(UUID);
+        FinderCourseMock client = new FinderCourseMock(200, new CourseSummary[] { summary });
+        List<CourseSummary> results = client.findAllCourseSummaries();
+        assertEquals(1, results.size());
+        verify(client.getClient()).resource(FinderCourseMock.RESOURCE + "summary");
+    }
+
+    @Test
+    public void testGetCourseSummariesPaged() {
+        MultivaluedMap<String, String> headers = new MultivaluedMapImpl();
+        headers.add("Link", "<summary?offset=1&maxResults=1>; rel=\"next\"");
+        FinderCourseMock client = new FinderCourseMock(200, new CourseSummary[] { new CourseSummary() }, headers);
+        ResultPage<CourseSummary> results = client.findCourseSummaries(Paging.first(1));
+        assertEquals(1, results.getContent().size());
+        assertTrue(results.hasNext());
+        verify(client.getClient()).resource(FinderCourseMock.RESOURCE + "summary");
+    }
+
+    @Test(expected = RestClientFailureException.class)
+    public void testGetCourseSummariesError() {
+        CourseFinderRestClient client = new FinderCourseMock(500, null);
+        client.findAllCourseSummaries();
+    }
+
+    @Test
+    public void testLookupCourses() {
+        Course course = new Course();
+        course.setUuid(UUID);
+        FinderCourseMock client = new FinderCourseMock(200, new Course[] { course });
+        List<Course> results = client.findCoursesByUuids(Arrays.asList(UUID, "missing"));
+        assertEquals(1, results.size());
+        verify(client.getClient()).resource(FinderCourseMock.RESOURCE + "lookup");
+    }
+
+    @Test
+    public void testLookupCoursesEmpty() {
+        CourseFinderRestClient client = new FinderCourseMock(500, null);
+        List<Course> results = client.findCoursesByUuids(Collections.<String> emptyList());
+        assertEquals(0, results.size());
+    }
+
+    @Test(expected = RestClientFailureException.class)
+    public void testLookupCoursesError() {
+        CourseFinderRestClient client = new FinderCourseMock(500, null);
+        client.findCoursesByUuids(Arrays.asList(UUID));
+    }
+
     @Test
     public void testGetCourse() {
         Course expected = new Course();
@@ -105,11 +226,17 @@ class FinderCourseMock extends CourseFinderRestClientImpl {
     private ClientResponse response;
     private final int status;
     private final Object results;
+    private final MultivaluedMap<String, String> headers;
 
     FinderCourseMock(int status, Object results) {
+        this(status, results, null);
+    }
+
+    FinderCourseMock(int status, Object results, MultivaluedMap<String, String> headers) {
         super(RESOURCE);
         this.status = status;
         this.results = results;
+        this.headers = headers;
     }
 
     /**
@@ -125,6 +252,7 @@ class FinderCourseMock extends CourseFinderRestClientImpl {
         webResourceBuilder = Mockito.mock(WebResource.Builder.class);
         response = Mockito.mock(ClientResponse.class);
         when(client.resource(any(String.class))).thenReturn(webResource);
+        when(webResource.queryParams(any(MultivaluedMap.class))).thenReturn(webResource);
         when(webResource.accept(any(String.class))).thenReturn(webResourceBuilder);
         when(webResource.type(any(String.class))).thenReturn(webResourceBuilder);
         when(webResourceBuilder.accept(any(String.class))).thenReturn(webResourceBuilder);
@@ -135,6 +263,14 @@ class FinderCourseMock extends CourseFinderRestClientImpl {
         when(webResourceBuilder.delete(eq(ClientResponse.class))).thenReturn(response);
         when(response.getStatus()).thenReturn(status);
         when(response.getEntity(any(Class.class))).thenReturn(results);
+        when(response.getHeaders()).thenReturn(headers);
+        return client;
+    }
+
+    /**
+     * Get the most recently created mock client.
+     */
+    Client getClient() {
         return client;
     }
 }
@@ -23,17 +23,26 @@
 package com.invariantproperties.project.student.webservice.client;
 
 import static com.invariantproperties.project.student.matcher.CourseEquality.equalTo;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
+
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.Response;
 
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import com.invariantproperties.project.student.business.BulkResult;
 import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.impl.CourseManagerRestClientImpl;
 import com.sun.jersey.api.client.Client;
 import com.sun.jersey.api.client.ClientResponse;
@@ -66,6 +75,32 @@ public class CourseManagerRestClientImplTest {
         assertThat(expected, equalTo(actual));
     }
 
+    @Test
+    public void testCreateCourseForTesting() {
+        final TestRun testRun = new TestRun();
+        testRun.setUuid("test-uuid");
+        Course expected = new Course();
+        expected.setCode(CODE);
+        expected.setName(NAME);
+        ManagerCourseMock client = new ManagerCourseMock(Response.Status.CREATED.getStatusCode(), expected);
+        client.createCourseForTesting(CODE, NAME, SUMMARY, DESCRIPTION, HOURS, testRun);
+        assertTrue(client.getPosted(), client.getPosted().contains("\"testUuid\":\"test-uuid\""));
+    }
+
+    @Test
+    public void testCreateCoursesForTesting() {
+        final TestRun testRun = new TestRun();
+        testRun.setUuid("test-uuid");
+        Course expected = new Course();
+        expected.setCode(CODE);
+        expected.setName(NAME);
+        expected.setTestRun(testRun);
+        ManagerCourseMock client = new ManagerCourseMock(Response.Status.CREATED.getStatusCode(), expected);
+        final BulkResult<Course> results = client.createCourses(Collections.singletonList(expected));
+        assertTrue(results.isSuccess());
+        assertTrue(client.getPosted(), client.getPosted().contains("\"testUuid\":\"test-uuid\""));
+    }
+
     @Test(expected = RestClientFailureException.class)
     public void testCreateCourseError() {
         CourseManagerRestClient client = new ManagerCourseMock(500, null);
@@ -98,6 +133,25 @@ public class CourseManagerRestClientImplTest {
         client.updateCourse(UUID, NAME, SUMMARY, DESCRIPTION, HOURS);
     }
 
+    @Test
+    public void testUpdateCourseIfVersion() {
+        CourseManagerRestClient client = new ManagerCourseMock(204, null);
+        Integer actual = client.updateCourse(UUID, 3, NAME, SUMMARY, DESCRIPTION, HOURS);
+        assertEquals(Integer.valueOf(4), actual);
+    }
+
+    @Test(expected = StaleObjectException.class)
+    public void testUpdateCourseIfVersionStale() {
+        CourseManagerRestClient client = new ManagerCourseMock(412, null);
+        client.updateCourse(UUID, 3, NAME, SUMMARY, DESCRIPTION, HOURS);
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
+    public void testUpdateCourseIfVersionMissing() {
+        CourseManagerRestClient client = new ManagerCourseMock(404, null);
+        client.updateCourse(UUID, 3, NAME, SUMMARY, DESCRIPTION, HOURS);
+    }
+
     @Test
     public void testDeleteCourse() {
         Course course = new Course();
@@ -112,6 +166,12 @@ public class CourseManagerRestClientImplTest {
         client.deleteCourse(UUID, 1);
     }
 
+    @Test(expected = StaleObjectException.class)
+    public void testDeleteCourseStale() {
+        CourseManagerRestClient client = new ManagerCourseMock(412, null);
+        client.deleteCourse(UUID, 1);
+    }
+
     @Test(expected = RestClientFailureException.class)
     public void testDeleteCourseError() {
         CourseManagerRestClient client = new ManagerCourseMock(500, null);
@@ -125,6 +185,7 @@ public class CourseManagerRestClientImplTest {
  */
 class ManagerCourseMock extends CourseManagerRestClientImpl {
     static final String RESOURCE = "test://rest/course/";
+    static final EntityTag TAG = new EntityTag("uuid.4");
     private Client client;
     private WebResource webResource;
     private WebResource.Builder webResourceBuilder;
@@ -155,12 +216,23 @@ class ManagerCourseMock extends CourseManagerRestClientImpl {
         when(webResource.type(any(String.class))).thenReturn(webResourceBuilder);
         when(webResourceBuilder.accept(any(String.class))).thenReturn(webResourceBuilder);
         when(webResourceBuilder.type(any(String.class))).thenReturn(webResourceBuilder);
+        when(webResourceBuilder.header(any(String.class), any())).thenReturn(webResourceBuilder);
         when(webResourceBuilder.get(eq(ClientResponse.class))).thenReturn(response);
         when(webResourceBuilder.post(eq(ClientResponse.class), any(String.class))).thenReturn(response);
         when(webResourceBuilder.put(eq(ClientResponse.class), any(String.class))).thenReturn(response);
         when(webResourceBuilder.delete(eq(ClientResponse.class))).thenReturn(response);
         when(response.getStatus()).thenReturn(status);
         when(response.getEntity(any(Class.class))).thenReturn(results);
+        when(response.getEntityTag()).thenReturn(TAG);
         return client;
     }
+
+    /**
+     * The JSON payload of the last POST call.
+     */
+    String getPosted() {
+        final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(webResourceBuilder).post(eq(ClientResponse.class), captor.capture());
+        return captor.getValue().toString();
+    }
 }
@@ -27,8 +27,12 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import javax.ws.rs.core.MultivaluedMap;
+
 import org.junit.Test;
 import org.mockito.Mockito;
 
@@ -69,6 +73,28 @@ public class InstructorFinderRestClientImplTest {
         client.findAllInstructors();
     }
 
+    @Test
+    public void testLookupInstructors() {
+        Instructor instructor = new Instructor();
+        instructor.setUuid(UUID);
+        InstructorFinderRestClient client = new FinderInstructorMock(200, new Instructor[] { instructor });
+        List<Instructor> results = client.findInstructorsByUuids(Arrays.asList(UUID, "missing"));
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    public void testLookupInstructorsEmpty() {
+        InstructorFinderRestClient client = new FinderInstructorMock(500, null);
+        List<Instructor> results = client.findInstructorsByUuids(Collections.<String> emptyList());
+        assertEquals(0, results.size());
+    }
+
+    @Test(expected = RestClientFailureException.class)
+    public void testLookupInstructorsError() {
+        InstructorFinderRestClient client = new FinderInstructorMock(500, null);
+        client.findInstructorsByUuids(Arrays.asList(UUID));
+    }
+
     @Test
     public void testGetInstructor() {
         Instructor expected = new Instructor();
@@ -126,6 +152,7 @@ class FinderInstructorMock extends InstructorFinderRestClientImpl {
         webResourceBuilder = Mockito.mock(WebResource.Builder.class);
         response = Mockito.mock(ClientResponse.class);
         when(client.resource(any(String.class))).thenReturn(webResource);
+        when(webResource.queryParams(any(MultivaluedMap.class))).thenReturn(webResource);
         when(webResource.accept(any(String.class))).thenReturn(webResourceBuilder);
         when(webResource.type(any(String.class))).thenReturn(webResourceBuilder);
         when(webResourceBuilder.accept(any(String.class))).thenReturn(webResourceBuilder);
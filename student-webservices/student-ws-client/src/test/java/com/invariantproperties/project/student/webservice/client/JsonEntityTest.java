@@ -0,0 +1,105 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Test;
+
+import com.invariantproperties.project.student.domain.TestRun;
+
+/**
+ * Unit tests for JsonEntity and JsonWriter.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class JsonEntityTest {
+
+    @Test
+    public void testEmpty() {
+        assertEquals("{}", JsonEntity.EMPTY.toString());
+    }
+
+    @Test
+    public void testName() {
+        assertEquals("{\"name\":\"name\"}", JsonEntity.name("name", null).toString());
+    }
+
+    @Test
+    public void testNameForTesting() {
+        final TestRun testRun = new TestRun();
+        testRun.setUuid("test");
+        assertEquals("{\"name\":\"name\",\"testUuid\":\"test\"}", JsonEntity.name("name", testRun).toString());
+    }
+
+    @Test
+    public void testNameAndEmailAddress() {
+        assertEquals("{\"name\":\"name\",\"emailAddress\":\"email\"}",
+                JsonEntity.nameAndEmailAddress("name", "email", null).toString());
+    }
+
+    @Test
+    public void testCourseInfoOmitsNulls() {
+        assertEquals("{\"name\":\"name\",\"creditHours\":3}",
+                JsonEntity.courseInfo(null, "name", null, null, 3, null).toString());
+    }
+
+    @Test
+    public void testNumbers() {
+        assertEquals("{\"creditHours\":0}", JsonEntity.courseInfo(null, null, null, null, 0, null).toString());
+        assertEquals("{\"creditHours\":-2147483648}",
+                JsonEntity.courseInfo(null, null, null, null, Integer.MIN_VALUE, null).toString());
+        assertEquals("{\"creditHours\":2147483647}",
+                JsonEntity.courseInfo(null, null, null, null, Integer.MAX_VALUE, null).toString());
+    }
+
+    @Test
+    public void testEscaping() {
+        assertEquals("{\"name\":\"a \\\"quoted\\\" \\\\ value\\n\\t\\u0001\"}",
+                JsonEntity.name("a \"quoted\" \\ value\n\t\u0001", null).toString());
+    }
+
+    @Test
+    public void testUnicode() throws Exception {
+        final String name = "café € 😀";
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        JsonEntity.name(name, null).write(os);
+        assertEquals("{\"name\":\"" + name + "\"}", os.toString("UTF-8"));
+    }
+
+    @Test
+    public void testLoneSurrogate() {
+        assertEquals("{\"name\":\"a?b\"}", JsonEntity.name("a\ud83db", null).toString());
+    }
+
+    @Test
+    public void testValueLargerThanBuffer() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            sb.append(i % 2 == 0 ? 'x' : 'é');
+        }
+        assertEquals("{\"name\":\"" + sb + "\"}", JsonEntity.name(sb.toString(), null).toString());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.client;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.sun.jersey.api.client.Client;
+
+/**
+ * Unit tests for RestClientFactory.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class RestClientFactoryTest {
+
+    @After
+    public void shutdown() {
+        RestClientFactory.shutdown();
+    }
+
+    @Test
+    public void testSameResourceSharesClient() {
+        final Client client1 = RestClientFactory.getClient("http://localhost:8080/rest/course/");
+        final Client client2 = RestClientFactory.getClient("http://localhost:8080/rest/course/");
+        assertSame(client1, client2);
+    }
+
+    @Test
+    public void testDifferentResourcesUseDifferentClients() {
+        final Client client1 = RestClientFactory.getClient("http://localhost:8080/rest/course/");
+        final Client client2 = RestClientFactory.getClient("http://localhost:8080/rest/term/");
+        assertNotSame(client1, client2);
+    }
+
+    @Test
+    public void testShutdownReleasesClients() {
+        final Client client1 = RestClientFactory.getClient("http://localhost:8080/rest/course/");
+        RestClientFactory.shutdown();
+        final Client client2 = RestClientFactory.getClient("http://localhost:8080/rest/course/");
+        assertNotSame(client1, client2);
+    }
+
+    @Test
+    public void testEvictIdleConnections() {
+        final RestClientConfig config = new RestClientConfig();
+        config.setIdleTimeout(1);
+        RestClientFactory.getClient("http://localhost:8080/rest/course/", config);
+        RestClientFactory.evictIdleConnections();
+    }
+}
@@ -25,14 +25,23 @@ package com.invariantproperties.project.student.webservice.client;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import javax.ws.rs.core.MultivaluedMap;
+
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.domain.Section;
+import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.impl.SectionFinderRestClientImpl;
 import com.sun.jersey.api.client.Client;
 import com.sun.jersey.api.client.ClientResponse;
@@ -69,6 +78,28 @@ public class SectionFinderRestClientImplTest {
         client.findAllSections();
     }
 
+    @Test
+    public void testLookupSections() {
+        Section section = new Section();
+        section.setUuid(UUID);
+        SectionFinderRestClient client = new FinderSectionMock(200, new Section[] { section });
+        List<Section> results = client.findSectionsByUuids(Arrays.asList(UUID, "missing"));
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    public void testLookupSectionsEmpty() {
+        SectionFinderRestClient client = new FinderSectionMock(500, null);
+        List<Section> results = client.findSectionsByUuids(Collections.<String> emptyList());
+        assertEquals(0, results.size());
+    }
+
+    @Test(expected = RestClientFailureException.class)
+    public void testLookupSectionsError() {
+        SectionFinderRestClient client = new FinderSectionMock(500, null);
+        client.findSectionsByUuids(Arrays.asList(UUID));
+    }
+
     @Test
     public void testGetSection() {
         Section expected = new Section();
@@ -80,6 +111,23 @@ public class SectionFinderRestClientImplTest {
         // actual.getSelf());
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testFindSectionsWithFetchProfile() {
+        Section section = new Section();
+        section.setUuid(UUID);
+        TestRun testRun = new TestRun();
+        testRun.setUuid("test");
+        FinderSectionMock client = new FinderSectionMock(200, new Section[] { section });
+        ResultPage<Section> results = client.findSectionsByTestRun(testRun, Paging.first(10), "withRoster");
+        assertEquals(1, results.getContent().size());
+
+        ArgumentCaptor<MultivaluedMap> params = ArgumentCaptor.forClass(MultivaluedMap.class);
+        verify(client.getWebResource()).queryParams(params.capture());
+        assertEquals("withRoster", params.getValue().getFirst("fetchProfile"));
+        assertEquals("test", params.getValue().getFirst("testUuid"));
+    }
+
     @Test(expected = ObjectNotFoundException.class)
     public void testGetSectionMissing() {
         SectionFinderRestClient client = new FinderSectionMock(404, null);
@@ -125,6 +173,7 @@ class FinderSectionMock extends SectionFinderRestClientImpl {
         webResourceBuilder = Mockito.mock(WebResource.Builder.class);
         response = Mockito.mock(ClientResponse.class);
         when(client.resource(any(String.class))).thenReturn(webResource);
+        when(webResource.queryParams(any(MultivaluedMap.class))).thenReturn(webResource);
         when(webResource.accept(any(String.class))).thenReturn(webResourceBuilder);
         when(webResource.type(any(String.class))).thenReturn(webResourceBuilder);
         when(webResourceBuilder.accept(any(String.class))).thenReturn(webResourceBuilder);
@@ -137,4 +186,11 @@ class FinderSectionMock extends SectionFinderRestClientImpl {
         when(response.getEntity(any(Class.class))).thenReturn(results);
         return client;
     }
+
+    /**
+     * Get the most recently created mock web resource.
+     */
+    WebResource getWebResource() {
+        return webResource;
+    }
 }
@@ -23,6 +23,8 @@
 package com.invariantproperties.project.student.webservice.client;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.when;
@@ -47,6 +49,7 @@ import com.sun.jersey.api.client.WebResource;
 public class SectionManagerRestClientImplTest {
     private static final String UUID = "uuid";
     private static final String NAME = "name";
+    private static final String STUDENT_UUID = "student-uuid";
 
     @Test
     public void testCreateSection() {
@@ -109,6 +112,48 @@ public class SectionManagerRestClientImplTest {
         SectionManagerRestClient client = new ManagerSectionMock(500, null);
         client.deleteSection(UUID, 1);
     }
+
+    @Test
+    public void testAddStudentToSection() {
+        SectionManagerRestClient client = new ManagerSectionMock(200, "{ \"count\": 1 }");
+        assertTrue(client.addStudentToSection(UUID, STUDENT_UUID));
+    }
+
+    @Test
+    public void testAddStudentToSectionAlreadyEnrolled() {
+        SectionManagerRestClient client = new ManagerSectionMock(200, "{ \"count\": 0 }");
+        assertFalse(client.addStudentToSection(UUID, STUDENT_UUID));
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
+    public void testAddStudentToSectionMissing() {
+        SectionManagerRestClient client = new ManagerSectionMock(404, null);
+        client.addStudentToSection(UUID, STUDENT_UUID);
+    }
+
+    @Test(expected = RestClientFailureException.class)
+    public void testAddStudentToSectionError() {
+        SectionManagerRestClient client = new ManagerSectionMock(500, null);
+        client.addStudentToSection(UUID, STUDENT_UUID);
+    }
+
+    @Test
+    public void testRemoveStudentFromSection() {
+        SectionManagerRestClient client = new ManagerSectionMock(200, "{ \"count\": 1 }");
+        assertTrue(client.removeStudentFromSection(UUID, STUDENT_UUID));
+    }
+
+    @Test
+    public void testRemoveStudentFromSectionNotEnrolled() {
+        SectionManagerRestClient client = new ManagerSectionMock(200, "{ \"count\": 0 }");
+        assertFalse(client.removeStudentFromSection(UUID, STUDENT_UUID));
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
+    public void testRemoveStudentFromSectionMissing() {
+        SectionManagerRestClient client = new ManagerSectionMock(404, null);
+        client.removeStudentFromSection(UUID, STUDENT_UUID);
+    }
 }
 
 /**
@@ -150,6 +195,7 @@ class ManagerSectionMock extends SectionManagerRestClientImpl {
         when(webResourceBuilder.get(eq(ClientResponse.class))).thenReturn(response);
         when(webResourceBuilder.post(eq(ClientResponse.class), any(String.class))).thenReturn(response);
         when(webResourceBuilder.put(eq(ClientResponse.class), any(String.class))).thenReturn(response);
+        when(webResourceBuilder.put(eq(ClientResponse.class))).thenReturn(response);
         when(webResourceBuilder.delete(eq(ClientResponse.class))).thenReturn(response);
         when(response.getStatus()).thenReturn(status);
         when(response.getEntity(any(Class.class))).thenReturn(results);
@@ -23,14 +23,24 @@
 package com.invariantproperties.project.student.webservice.client;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import com.invariantproperties.project.student.domain.Student;
 import com.invariantproperties.project.student.webservice.client.impl.StudentFinderRestClientImpl;
@@ -69,6 +79,28 @@ public class StudentFinderRestClientImplTest {
         client.findAllStudents();
     }
 
+    @Test
+    public void testLookupStudents() {
+        Student student = new Student();
+        student.setUuid(UUID);
+        StudentFinderRestClient client = new FinderStudentMock(200, new Student[] { student });
+        List<Student> results = client.findStudentsByUuids(Arrays.asList(UUID, "missing"));
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    public void testLookupStudentsEmpty() {
+        StudentFinderRestClient client = new FinderStudentMock(500, null);
+        List<Student> results = client.findStudentsByUuids(Collections.<String> emptyList());
+        assertEquals(0, results.size());
+    }
+
+    @Test(expected = RestClientFailureException.class)
+    public void testLookupStudentsError() {
+        StudentFinderRestClient client = new FinderStudentMock(500, null);
+        client.findStudentsByUuids(Arrays.asList(UUID));
+    }
+
     @Test
     public void testGetStudent() {
         Student expected = new Student();
@@ -91,6 +123,20 @@ public class StudentFinderRestClientImplTest {
         StudentFinderRestClient client = new FinderStudentMock(500, null);
         client.findStudentByUuid(UUID);
     }
+
+    @Test
+    public void testGetStudentRevalidates() {
+        Student expected = new Student();
+        expected.setUuid(UUID);
+        RevalidatingStudentMock client = new RevalidatingStudentMock(expected);
+
+        Student first = client.findStudentByUuid(UUID);
+        Student second = client.findStudentByUuid(UUID);
+
+        assertEquals(UUID, first.getUuid());
+        assertSame(first, second);
+        assertEquals(Arrays.asList(null, RevalidatingStudentMock.TAG), client.ifNoneMatch);
+    }
 }
 
 /**
@@ -125,6 +171,7 @@ class FinderStudentMock extends StudentFinderRestClientImpl {
         webResourceBuilder = Mockito.mock(WebResource.Builder.class);
         response = Mockito.mock(ClientResponse.class);
         when(client.resource(any(String.class))).thenReturn(webResource);
+        when(webResource.queryParams(any(MultivaluedMap.class))).thenReturn(webResource);
         when(webResource.accept(any(String.class))).thenReturn(webResourceBuilder);
         when(webResource.type(any(String.class))).thenReturn(webResourceBuilder);
         when(webResourceBuilder.accept(any(String.class))).thenReturn(webResourceBuilder);
@@ -138,3 +185,47 @@ class FinderStudentMock extends StudentFinderRestClientImpl {
         return client;
     }
 }
+
+/**
+ * StudentFinderRestClientImpl extended to mock a server that returns an entity
+ * tag and then '304 Not Modified' when the tag is sent back.
+ */
+class RevalidatingStudentMock extends StudentFinderRestClientImpl {
+    static final EntityTag TAG = new EntityTag("uuid.0");
+    final List<EntityTag> ifNoneMatch = new ArrayList<EntityTag>();
+    private final Student student;
+
+    RevalidatingStudentMock(Student student) {
+        super(FinderStudentMock.RESOURCE);
+        this.student = student;
+    }
+
+    @Override
+    Client createClient() {
+        final Client client = Mockito.mock(Client.class);
+        final WebResource webResource = Mockito.mock(WebResource.class);
+        final WebResource.Builder webResourceBuilder = Mockito.mock(WebResource.Builder.class);
+        final ClientResponse response = Mockito.mock(ClientResponse.class);
+        final EntityTag[] sent = new EntityTag[1];
+        when(client.resource(any(String.class))).thenReturn(webResource);
+        when(webResource.accept(any(String.class))).thenReturn(webResourceBuilder);
+        when(webResourceBuilder.header(eq(HttpHeaders.IF_NONE_MATCH), any())).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                sent[0] = (EntityTag) invocation.getArguments()[1];
+                return invocation.getMock();
+            }
+        });
+        when(webResourceBuilder.get(eq(ClientResponse.class))).thenAnswer(new Answer<ClientResponse>() {
+            @Override
+            public ClientResponse answer(InvocationOnMock invocation) {
+                ifNoneMatch.add(sent[0]);
+                when(response.getStatus()).thenReturn(TAG.equals(sent[0]) ? 304 : 200);
+                return response;
+            }
+        });
+        when(response.getEntity(Student.class)).thenReturn(student);
+        when(response.getEntityTag()).thenReturn(TAG);
+        return client;
+    }
+}
@@ -27,8 +27,12 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import javax.ws.rs.core.MultivaluedMap;
+
 import org.junit.Test;
 import org.mockito.Mockito;
 
@@ -69,6 +73,28 @@ public class TermFinderRestClientImplTest {
         client.findAllTerms();
     }
 
+    @Test
+    public void testLookupTerms() {
+        Term term = new Term();
+        term.setUuid(UUID);
+        TermFinderRestClient client = new FinderTermMock(200, new Term[] { term });
+        List<Term> results = client.findTermsByUuids(Arrays.asList(UUID, "missing"));
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    public void testLookupTermsEmpty() {
+        TermFinderRestClient client = new FinderTermMock(500, null);
+        List<Term> results = client.findTermsByUuids(Collections.<String> emptyList());
+        assertEquals(0, results.size());
+    }
+
+    @Test(expected = RestClientFailureException.class)
+    public void testLookupTermsError() {
+        TermFinderRestClient client = new FinderTermMock(500, null);
+        client.findTermsByUuids(Arrays.asList(UUID));
+    }
+
     @Test
     public void testGetTerm() {
         Term expected = new Term();
@@ -125,6 +151,7 @@ class FinderTermMock extends TermFinderRestClientImpl {
         webResourceBuilder = Mockito.mock(WebResource.Builder.class);
         response = Mockito.mock(ClientResponse.class);
         when(client.resource(any(String.class))).thenReturn(webResource);
+        when(webResource.queryParams(any(MultivaluedMap.class))).thenReturn(webResource);
         when(webResource.accept(any(String.class))).thenReturn(webResourceBuilder);
         when(webResource.type(any(String.class))).thenReturn(webResourceBuilder);
         when(webResourceBuilder.accept(any(String.class))).thenReturn(webResourceBuilder);
@@ -23,10 +23,9 @@
 package com.invariantproperties.project.student.webservice.security;
 
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
@@ -39,8 +38,6 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.apache.log4j.Logger;
 
-import com.invariantproperties.project.student.util.StudentUtil;
-
 /**
  * Filter requests based on valid REST parameters.
  * 
@@ -51,11 +48,16 @@ import com.invariantproperties.project.student.util.StudentUtil;
  * well-formed? Do names only contain letters (including non-Latin ones),
  * spaces, apostrophes or dashes?
  * 
+ * The 'valid-nouns' and 'valid-actions' init parameters are comma-separated
+ * lists of the nouns and the non-UUID second path segments, e.g., 'export',
+ * that the REST service accepts.
+ * 
  * @author Bear Giles <bgiles@coyotesong.com>
  */
 public class RestParameterFilter implements Filter {
     private static final Logger LOG = Logger.getLogger(RestParameterFilter.class);
-    private static final Set<String> validNouns = new HashSet<>();
+    private RestPathValidator validator = new RestPathValidator(Collections.<String> emptyList(),
+            Collections.<String> emptyList());
 
     /**
      * @see javax.servlet.Filter#init(javax.servlet.FilterConfig)
@@ -63,13 +65,25 @@ public class RestParameterFilter implements Filter {
     @Override
     public void init(FilterConfig cfg) throws ServletException {
 
-        // learn valid nouns
-        final String nouns = cfg.getInitParameter("valid-nouns");
-        if (nouns != null) {
-            for (String noun : nouns.split(",")) {
-                validNouns.add(noun.trim());
+        // learn valid nouns and actions
+        validator = new RestPathValidator(split(cfg.getInitParameter("valid-nouns")),
+                split(cfg.getInitParameter("valid-actions")));
+    }
+
+    /**
+     * Split a comma-separated init parameter.
+     * 
+     * @param value
+     * @return
+     */
+    static List<String> split(String value) {
+        final List<String> words = new ArrayList<String>();
+        if (value != null) {
+            for (String word : value.split(",")) {
+                words.add(word.trim());
             }
         }
+        return words;
     }
 
     /**
@@ -102,32 +116,25 @@ public class RestParameterFilter implements Filter {
 
     /**
      * Check the pathInfo. We know that all paths should have the form
-     * /{noun}/{uuid}/...
+     * /{noun}/{uuid}/... or /{noun}/{action}/...
      * 
      * @param req
      * @return
      */
     public boolean checkPathInfo(HttpServletRequest req, HttpServletResponse resp) {
-        // this pattern only handles noun and UUID, no additional parameters.
-        Pattern pattern = Pattern.compile("^/([\\p{Alpha}]+)(/?([\\p{XDigit}-]+)?)?");
-        Matcher matcher = pattern.matcher(req.getPathInfo());
-        matcher.find();
-
-        // verify this is a valid noun.
-        if ((matcher.groupCount() >= 1) && !validNouns.contains(matcher.group(1))) {
-            // LOG.info("unrecognized noun");
-            LOG.info("unrecognized noun: '" + matcher.group(1) + "'");
+        switch (validator.check(req.getPathInfo())) {
+        case UNKNOWN_NOUN:
+            LOG.info("unrecognized noun: '" + req.getPathInfo() + "'");
             resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             return false;
-        }
 
-        // verify this is a valid verb.
-        if ((matcher.groupCount() >= 4) && !StudentUtil.isPossibleUuid(matcher.group(4))) {
+        case INVALID_UUID:
             LOG.info("invalid UUID");
             resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             return false;
-        }
 
-        return true;
+        default:
+            return true;
+        }
     }
 }
@@ -0,0 +1,169 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.invariantproperties.project.student.util.StudentUtil;
+
+/**
+ * Single-pass validator for REST paths of the form /{noun}/{uuid}/... where
+ * the second segment may also be one of a fixed set of actions, e.g.,
+ * 'export'. Anything after the second segment is left to the resource.
+ * 
+ * The nouns and actions are indexed by length when the validator is created
+ * so checking a path never creates substrings or matchers.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public final class RestPathValidator {
+    private static final String[] NONE = new String[0];
+
+    /**
+     * Result of checking a path.
+     */
+    public enum Result {
+        VALID, UNKNOWN_NOUN, INVALID_UUID
+    }
+
+    private final String[][] nounsByLength;
+    private final String[][] actionsByLength;
+
+    /**
+     * Constructor.
+     * 
+     * @param nouns
+     *            valid nouns, e.g., 'classroom'
+     * @param actions
+     *            valid non-UUID second segments, e.g., 'export'
+     */
+    public RestPathValidator(Collection<String> nouns, Collection<String> actions) {
+        this.nounsByLength = index(nouns);
+        this.actionsByLength = index(actions);
+    }
+
+    /**
+     * Build a table of words indexed by their length.
+     * 
+     * @param words
+     * @return
+     */
+    static String[][] index(Collection<String> words) {
+        int maxLength = 0;
+        for (String word : words) {
+            maxLength = Math.max(maxLength, word.length());
+        }
+
+        final List<List<String>> lists = new ArrayList<List<String>>();
+        for (int i = 0; i <= maxLength; i++) {
+            lists.add(new ArrayList<String>());
+        }
+        for (String word : words) {
+            if (!word.isEmpty() && !lists.get(word.length()).contains(word)) {
+                lists.get(word.length()).add(word);
+            }
+        }
+
+        final String[][] table = new String[maxLength + 1][];
+        for (int i = 0; i <= maxLength; i++) {
+            table[i] = lists.get(i).isEmpty() ? NONE : lists.get(i).toArray(new String[lists.get(i).size()]);
+        }
+
+        return table;
+    }
+
+    /**
+     * Check a request's path info. A missing path or '/' is the root resource
+     * and is always valid.
+     * 
+     * @param path
+     * @return
+     */
+    public Result check(String path) {
+        if ((path == null) || path.isEmpty() || "/".equals(path)) {
+            return Result.VALID;
+        }
+
+        if (path.charAt(0) != '/') {
+            return Result.UNKNOWN_NOUN;
+        }
+
+        final int length = path.length();
+        int start = 1;
+        int end = segmentEnd(path, start);
+        if (!contains(nounsByLength, path, start, end)) {
+            return Result.UNKNOWN_NOUN;
+        }
+
+        // '/noun' or '/noun/'
+        start = end + 1;
+        if (start >= length) {
+            return Result.VALID;
+        }
+
+        end = segmentEnd(path, start);
+        if (StudentUtil.isPossibleUuid(path, start, end) || contains(actionsByLength, path, start, end)) {
+            return Result.VALID;
+        }
+
+        return Result.INVALID_UUID;
+    }
+
+    /**
+     * Find the end of the path segment that starts at 'start'.
+     * 
+     * @param path
+     * @param start
+     * @return
+     */
+    private static int segmentEnd(String path, int start) {
+        final int end = path.indexOf('/', start);
+        return (end < 0) ? path.length() : end;
+    }
+
+    /**
+     * Is the region of the path one of the words in the table?
+     * 
+     * @param table
+     * @param path
+     * @param start
+     * @param end
+     * @return
+     */
+    private static boolean contains(String[][] table, String path, int start, int end) {
+        final int length = end - start;
+        if (length >= table.length) {
+            return false;
+        }
+
+        for (String word : table[length]) {
+            if (path.regionMatches(start, word, 0, length)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
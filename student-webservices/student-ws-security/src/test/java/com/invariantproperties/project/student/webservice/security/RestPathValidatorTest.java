@@ -0,0 +1,91 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.security;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.invariantproperties.project.student.webservice.security.RestPathValidator.Result;
+
+/**
+ * Unit tests for RestPathValidator.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class RestPathValidatorTest {
+    private static final String UUID = "63c7d688-705c-4374-937c-6628952b41e1";
+
+    private final RestPathValidator validator = new RestPathValidator(Arrays.asList("classroom", "course",
+            "testRun"), Arrays.asList("export", "import"));
+
+    @Test
+    public void testRoot() {
+        assertEquals(Result.VALID, validator.check(null));
+        assertEquals(Result.VALID, validator.check(""));
+        assertEquals(Result.VALID, validator.check("/"));
+    }
+
+    @Test
+    public void testNoun() {
+        assertEquals(Result.VALID, validator.check("/course"));
+        assertEquals(Result.VALID, validator.check("/course/"));
+        assertEquals(Result.VALID, validator.check("/testRun"));
+    }
+
+    @Test
+    public void testUnknownNoun() {
+        assertEquals(Result.UNKNOWN_NOUN, validator.check("/student"));
+        assertEquals(Result.UNKNOWN_NOUN, validator.check("/courses"));
+        assertEquals(Result.UNKNOWN_NOUN, validator.check("/cours"));
+        assertEquals(Result.UNKNOWN_NOUN, validator.check("/Course"));
+        assertEquals(Result.UNKNOWN_NOUN, validator.check("//course"));
+        assertEquals(Result.UNKNOWN_NOUN, validator.check("course"));
+        assertEquals(Result.UNKNOWN_NOUN, validator.check("/application.wadl"));
+    }
+
+    @Test
+    public void testUuid() {
+        assertEquals(Result.VALID, validator.check("/course/" + UUID));
+        assertEquals(Result.VALID, validator.check("/course/" + UUID + "/"));
+        assertEquals(Result.VALID, validator.check("/course/" + UUID + "/anything"));
+    }
+
+    @Test
+    public void testInvalidUuid() {
+        assertEquals(Result.INVALID_UUID, validator.check("/course/" + UUID.substring(1)));
+        assertEquals(Result.INVALID_UUID, validator.check("/course/" + UUID + "0"));
+        assertEquals(Result.INVALID_UUID, validator.check("/course/1234"));
+        assertEquals(Result.INVALID_UUID, validator.check("/course//"));
+    }
+
+    @Test
+    public void testAction() {
+        assertEquals(Result.VALID, validator.check("/course/export"));
+        assertEquals(Result.VALID, validator.check("/classroom/import"));
+        assertEquals(Result.INVALID_UUID, validator.check("/course/exports"));
+        assertEquals(Result.INVALID_UUID, validator.check("/course/delete"));
+    }
+}
@@ -22,7 +22,9 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -76,6 +78,19 @@ public class DummyClassroomService implements ClassroomFinderService, ClassroomM
         return cache.get(uuid);
     }
 
+    @Override
+    public List<Classroom> findClassroomsByUuids(Collection<String> uuids) {
+        log.debug("ClassroomServer: findClassroomsByUuids()");
+        final List<Classroom> results = new ArrayList<Classroom>();
+        for (String uuid : uuids) {
+            final Classroom classroom = cache.get(uuid);
+            if (classroom != null) {
+                results.add(classroom);
+            }
+        }
+        return results;
+    }
+
     @Override
     public List<Classroom> findClassroomsByTestRun(TestRun testRun) {
         log.debug("ClassroomServer: findClassroomsByTestRun()");
@@ -88,6 +103,32 @@ public class DummyClassroomService implements ClassroomFinderService, ClassroomM
         return results;
     }
 
+    @Override
+    public ResultPage<Classroom> findClassrooms(Paging paging) {
+        log.debug("ClassroomServer: findClassrooms()");
+        return toPage(findAllClassrooms(), paging);
+    }
+
+    @Override
+    public ResultPage<Classroom> findClassroomsByTestRun(TestRun testRun, Paging paging) {
+        log.debug("ClassroomServer: findClassroomsByTestRun()");
+        return toPage(findClassroomsByTestRun(testRun), paging);
+    }
+
+    @Override
+    public void export(TestRun testRun, ResultHandler<Classroom> handler) throws IOException {
+        final List<Classroom> classrooms = (testRun == null) ? findAllClassrooms() : findClassroomsByTestRun(testRun);
+        for (Classroom classroom : classrooms) {
+            handler.handle(classroom);
+        }
+    }
+
+    private ResultPage<Classroom> toPage(List<Classroom> classrooms, Paging paging) {
+        final int from = Math.min(paging.getOffset(), classrooms.size());
+        final int to = Math.min(from + paging.getMaxResults(), classrooms.size());
+        return new ResultPage<Classroom>(classrooms.subList(from, to), null);
+    }
+
     @Override
     public Classroom createClassroom(String name) {
         log.debug("ClassroomServer: createClassroom()");
@@ -126,4 +167,48 @@ public class DummyClassroomService implements ClassroomFinderService, ClassroomM
             cache.remove(uuid);
         }
     }
+
+    @Override
+    public BulkResult<Classroom> createClassrooms(List<Classroom> classrooms) {
+        return new BulkOperation<Classroom, Classroom>() {
+            @Override
+            public Classroom apply(Classroom item) {
+                if (item.getTestRun() != null) {
+                    return createClassroomForTesting(item.getName(), item.getTestRun());
+                }
+                return createClassroom(item.getName());
+            }
+        }.execute(classrooms);
+    }
+
+    @Override
+    public BulkResult<Classroom> updateClassrooms(List<Classroom> classrooms) {
+        return new BulkOperation<Classroom, Classroom>() {
+            @Override
+            public String uuidOf(Classroom item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Classroom apply(Classroom item) {
+                return updateClassroom(item, item.getName());
+            }
+        }.execute(classrooms);
+    }
+
+    @Override
+    public BulkResult<String> deleteClassrooms(List<String> uuids) {
+        return new BulkOperation<String, String>() {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                deleteClassroom(uuid, null);
+                return uuid;
+            }
+        }.execute(uuids);
+    }
 }
@@ -22,7 +22,9 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -32,6 +34,7 @@ import java.util.UUID;
 import org.apache.log4j.Logger;
 
 import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.CourseSummary;
 import com.invariantproperties.project.student.domain.TestRun;
 
 public class DummyCourseService implements CourseFinderService, CourseManagerService {
@@ -82,6 +85,19 @@ public class DummyCourseService implements CourseFinderService, CourseManagerSer
         return cache.get(uuid);
     }
 
+    @Override
+    public List<Course> findCoursesByUuids(Collection<String> uuids) {
+        log.debug("CourseServer: findCoursesByUuids()");
+        final List<Course> results = new ArrayList<Course>();
+        for (String uuid : uuids) {
+            final Course course = cache.get(uuid);
+            if (course != null) {
+                results.add(course);
+            }
+        }
+        return results;
+    }
+
     @Override
     public Course findCourseByCode(String code) {
         log.debug("CourseServer: findCourseByCode()");
@@ -103,6 +119,64 @@ public class DummyCourseService implements CourseFinderService, CourseManagerSer
         return results;
     }
 
+    @Override
+    public ResultPage<Course> findCourses(Paging paging) {
+        log.debug("CourseServer: findCourses()");
+        return toPage(findAllCourses(), paging);
+    }
+
+    @Override
+    public ResultPage<Course> findCoursesByTestRun(TestRun testRun, Paging paging) {
+        log.debug("CourseServer: findCoursesByTestRun()");
+        return toPage(findCoursesByTestRun(testRun), paging);
+    }
+
+    @Override
+    public void export(TestRun testRun, ResultHandler<Course> handler) throws IOException {
+        final List<Course> courses = (testRun == null) ? findAllCourses() : findCoursesByTestRun(testRun);
+        for (Course course : courses) {
+            handler.handle(course);
+        }
+    }
+
+    @Override
+    public List<CourseSummary> findAllCourseSummaries() {
+        log.debug("CourseServer: findAllCourseSummaries()");
+        return toSummaries(findAllCourses());
+    }
+
+    @Override
+    public List<CourseSummary> findCourseSummariesByTestRun(TestRun testRun) {
+        log.debug("CourseServer: findCourseSummariesByTestRun()");
+        return toSummaries(findCoursesByTestRun(testRun));
+    }
+
+    @Override
+    public ResultPage<CourseSummary> findCourseSummaries(Paging paging) {
+        log.debug("CourseServer: findCourseSummaries()");
+        return toPage(findAllCourseSummaries(), paging);
+    }
+
+    @Override
+    public ResultPage<CourseSummary> findCourseSummariesByTestRun(TestRun testRun, Paging paging) {
+        log.debug("CourseServer: findCourseSummariesByTestRun()");
+        return toPage(findCourseSummariesByTestRun(testRun), paging);
+    }
+
+    private List<CourseSummary> toSummaries(List<Course> courses) {
+        final List<CourseSummary> results = new ArrayList<CourseSummary>(courses.size());
+        for (Course course : courses) {
+            results.add(new CourseSummary(course));
+        }
+        return results;
+    }
+
+    private <T> ResultPage<T> toPage(List<T> rows, Paging paging) {
+        final int from = Math.min(paging.getOffset(), rows.size());
+        final int to = Math.min(from + paging.getMaxResults(), rows.size());
+        return new ResultPage<T>(rows.subList(from, to), null);
+    }
+
     @Override
     public Course createCourse(String code, String name, String summary, String description, Integer creditHours) {
         log.debug("CourseServer: createCourse()");
@@ -143,6 +217,27 @@ public class DummyCourseService implements CourseFinderService, CourseManagerSer
         return course;
     }
 
+    @Override
+    public Integer updateCourse(String uuid, Integer version, String name, String summary, String description,
+            Integer creditHours) {
+        log.debug("CourseServer: updateCourse(version)");
+        if (!cache.containsKey(uuid)) {
+            throw new ObjectNotFoundException(uuid);
+        }
+
+        Course course = cache.get(uuid);
+        final Integer current = (course.getVersion() == null) ? Integer.valueOf(0) : course.getVersion();
+        if (!current.equals(version)) {
+            throw new StaleObjectException(uuid, version);
+        }
+        course.setName(name);
+        course.setSummary(summary);
+        course.setDescription(description);
+        course.setCreditHours(creditHours);
+        course.setVersion(current + 1);
+        return course.getVersion();
+    }
+
     @Override
     public void deleteCourse(String uuid, Integer version) {
         log.debug("CourseServer: deleteCourse()");
@@ -150,4 +245,48 @@ public class DummyCourseService implements CourseFinderService, CourseManagerSer
             cache.remove(uuid);
         }
     }
+
+    @Override
+    public BulkResult<Course> createCourses(List<Course> courses) {
+        return new BulkOperation<Course, Course>() {
+            @Override
+            public Course apply(Course item) {
+                if (item.getTestRun() != null) {
+                    return createCourseForTesting(item.getCode(), item.getName(), item.getSummary(), item.getDescription(), item.getCreditHours(), item.getTestRun());
+                }
+                return createCourse(item.getCode(), item.getName(), item.getSummary(), item.getDescription(), item.getCreditHours());
+            }
+        }.execute(courses);
+    }
+
+    @Override
+    public BulkResult<Course> updateCourses(List<Course> courses) {
+        return new BulkOperation<Course, Course>() {
+            @Override
+            public String uuidOf(Course item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Course apply(Course item) {
+                return updateCourse(item, item.getName(), item.getSummary(), item.getDescription(), item.getCreditHours());
+            }
+        }.execute(courses);
+    }
+
+    @Override
+    public BulkResult<String> deleteCourses(List<String> uuids) {
+        return new BulkOperation<String, String>() {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                deleteCourse(uuid, null);
+                return uuid;
+            }
+        }.execute(uuids);
+    }
 }
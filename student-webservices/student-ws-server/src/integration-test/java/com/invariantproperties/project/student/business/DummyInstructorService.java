@@ -22,7 +22,9 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -69,6 +71,18 @@ public class DummyInstructorService implements InstructorFinderService, Instruct
         return cache.get(uuid);
     }
 
+    @Override
+    public List<Instructor> findInstructorsByUuids(Collection<String> uuids) {
+        final List<Instructor> results = new ArrayList<Instructor>();
+        for (String uuid : uuids) {
+            final Instructor instructor = cache.get(uuid);
+            if (instructor != null) {
+                results.add(instructor);
+            }
+        }
+        return results;
+    }
+
     @Override
     public List<Instructor> findInstructorsByTestRun(TestRun testRun) {
         final List<Instructor> results = new ArrayList<Instructor>();
@@ -85,6 +99,30 @@ public class DummyInstructorService implements InstructorFinderService, Instruct
         throw new ObjectNotFoundException("[email]");
     }
 
+    @Override
+    public ResultPage<Instructor> findInstructors(Paging paging) {
+        return toPage(findAllInstructors(), paging);
+    }
+
+    @Override
+    public ResultPage<Instructor> findInstructorsByTestRun(TestRun testRun, Paging paging) {
+        return toPage(findInstructorsByTestRun(testRun), paging);
+    }
+
+    @Override
+    public void export(TestRun testRun, ResultHandler<Instructor> handler) throws IOException {
+        final List<Instructor> instructors = (testRun == null) ? findAllInstructors() : findInstructorsByTestRun(testRun);
+        for (Instructor instructor : instructors) {
+            handler.handle(instructor);
+        }
+    }
+
+    private ResultPage<Instructor> toPage(List<Instructor> instructors, Paging paging) {
+        final int from = Math.min(paging.getOffset(), instructors.size());
+        final int to = Math.min(from + paging.getMaxResults(), instructors.size());
+        return new ResultPage<Instructor>(instructors.subList(from, to), null);
+    }
+
     @Override
     public Instructor createInstructor(String name, String emailAddress) {
         final Instructor instructor = new Instructor();
@@ -122,4 +160,48 @@ public class DummyInstructorService implements InstructorFinderService, Instruct
             cache.remove(uuid);
         }
     }
+
+    @Override
+    public BulkResult<Instructor> createInstructors(List<Instructor> instructors) {
+        return new BulkOperation<Instructor, Instructor>() {
+            @Override
+            public Instructor apply(Instructor item) {
+                if (item.getTestRun() != null) {
+                    return createInstructorForTesting(item.getName(), item.getEmailAddress(), item.getTestRun());
+                }
+                return createInstructor(item.getName(), item.getEmailAddress());
+            }
+        }.execute(instructors);
+    }
+
+    @Override
+    public BulkResult<Instructor> updateInstructors(List<Instructor> instructors) {
+        return new BulkOperation<Instructor, Instructor>() {
+            @Override
+            public String uuidOf(Instructor item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Instructor apply(Instructor item) {
+                return updateInstructor(item, item.getName(), item.getEmailAddress());
+            }
+        }.execute(instructors);
+    }
+
+    @Override
+    public BulkResult<String> deleteInstructors(List<String> uuids) {
+        return new BulkOperation<String, String>() {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                deleteInstructor(uuid, null);
+                return uuid;
+            }
+        }.execute(uuids);
+    }
 }
@@ -22,11 +22,15 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import org.apache.log4j.Logger;
@@ -37,6 +41,7 @@ import com.invariantproperties.project.student.domain.TestRun;
 public class DummySectionService implements SectionFinderService, SectionManagerService {
     private static final Logger log = Logger.getLogger(DummySectionService.class);
     private Map<String, Section> cache = Collections.synchronizedMap(new HashMap<String, Section>());
+    private Set<String> rosters = Collections.synchronizedSet(new HashSet<String>());
 
     @Override
     public long count() {
@@ -76,6 +81,19 @@ public class DummySectionService implements SectionFinderService, SectionManager
         return cache.get(uuid);
     }
 
+    @Override
+    public List<Section> findSectionsByUuids(Collection<String> uuids) {
+        log.debug("SectionServer: findSectionsByUuids()");
+        final List<Section> results = new ArrayList<Section>();
+        for (String uuid : uuids) {
+            final Section section = cache.get(uuid);
+            if (section != null) {
+                results.add(section);
+            }
+        }
+        return results;
+    }
+
     @Override
     public List<Section> findSectionsByTestRun(TestRun testRun) {
         final List<Section> results = new ArrayList<Section>();
@@ -87,6 +105,38 @@ public class DummySectionService implements SectionFinderService, SectionManager
         return results;
     }
 
+    @Override
+    public ResultPage<Section> findSections(Paging paging) {
+        log.debug("SectionServer: findSections()");
+        return toPage(findAllSections(), paging);
+    }
+
+    @Override
+    public ResultPage<Section> findSectionsByTestRun(TestRun testRun, Paging paging) {
+        log.debug("SectionServer: findSectionsByTestRun()");
+        return toPage(findSectionsByTestRun(testRun), paging);
+    }
+
+    @Override
+    public ResultPage<Section> findSectionsByTestRun(TestRun testRun, Paging paging, String fetchProfile) {
+        log.debug("SectionServer: findSectionsByTestRun(fetchProfile)");
+        return findSectionsByTestRun(testRun, paging);
+    }
+
+    @Override
+    public void export(TestRun testRun, ResultHandler<Section> handler) throws IOException {
+        final List<Section> sections = (testRun == null) ? findAllSections() : findSectionsByTestRun(testRun);
+        for (Section section : sections) {
+            handler.handle(section);
+        }
+    }
+
+    private ResultPage<Section> toPage(List<Section> sections, Paging paging) {
+        final int from = Math.min(paging.getOffset(), sections.size());
+        final int to = Math.min(from + paging.getMaxResults(), sections.size());
+        return new ResultPage<Section>(sections.subList(from, to), null);
+    }
+
     @Override
     public Section createSection(String name) {
         log.debug("SectionServer: createSection()");
@@ -125,4 +175,66 @@ public class DummySectionService implements SectionFinderService, SectionManager
             cache.remove(uuid);
         }
     }
+
+    @Override
+    public boolean addStudentToSection(String sectionUuid, String studentUuid) {
+        log.debug("SectionServer: addStudentToSection()");
+        if (!cache.containsKey(sectionUuid)) {
+            throw new ObjectNotFoundException(sectionUuid);
+        }
+        return rosters.add(sectionUuid + "/" + studentUuid);
+    }
+
+    @Override
+    public boolean removeStudentFromSection(String sectionUuid, String studentUuid) {
+        log.debug("SectionServer: removeStudentFromSection()");
+        if (!cache.containsKey(sectionUuid)) {
+            throw new ObjectNotFoundException(sectionUuid);
+        }
+        return rosters.remove(sectionUuid + "/" + studentUuid);
+    }
+
+    @Override
+    public BulkResult<Section> createSections(List<Section> sections) {
+        return new BulkOperation<Section, Section>() {
+            @Override
+            public Section apply(Section item) {
+                if (item.getTestRun() != null) {
+                    return createSectionForTesting(item.getName(), item.getTestRun());
+                }
+                return createSection(item.getName());
+            }
+        }.execute(sections);
+    }
+
+    @Override
+    public BulkResult<Section> updateSections(List<Section> sections) {
+        return new BulkOperation<Section, Section>() {
+            @Override
+            public String uuidOf(Section item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Section apply(Section item) {
+                return updateSection(item, item.getName());
+            }
+        }.execute(sections);
+    }
+
+    @Override
+    public BulkResult<String> deleteSections(List<String> uuids) {
+        return new BulkOperation<String, String>() {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                deleteSection(uuid, null);
+                return uuid;
+            }
+        }.execute(uuids);
+    }
 }
@@ -22,7 +22,9 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -69,6 +71,18 @@ public class DummyStudentService implements StudentFinderService, StudentManager
         return cache.get(uuid);
     }
 
+    @Override
+    public List<Student> findStudentsByUuids(Collection<String> uuids) {
+        final List<Student> results = new ArrayList<Student>();
+        for (String uuid : uuids) {
+            final Student student = cache.get(uuid);
+            if (student != null) {
+                results.add(student);
+            }
+        }
+        return results;
+    }
+
     @Override
     public List<Student> findStudentsByTestRun(TestRun testRun) {
         final List<Student> results = new ArrayList<Student>();
@@ -85,6 +99,30 @@ public class DummyStudentService implements StudentFinderService, StudentManager
         throw new ObjectNotFoundException("[email]");
     }
 
+    @Override
+    public ResultPage<Student> findStudents(Paging paging) {
+        return toPage(findAllStudents(), paging);
+    }
+
+    @Override
+    public ResultPage<Student> findStudentsByTestRun(TestRun testRun, Paging paging) {
+        return toPage(findStudentsByTestRun(testRun), paging);
+    }
+
+    @Override
+    public void export(TestRun testRun, ResultHandler<Student> handler) throws IOException {
+        final List<Student> students = (testRun == null) ? findAllStudents() : findStudentsByTestRun(testRun);
+        for (Student student : students) {
+            handler.handle(student);
+        }
+    }
+
+    private ResultPage<Student> toPage(List<Student> students, Paging paging) {
+        final int from = Math.min(paging.getOffset(), students.size());
+        final int to = Math.min(from + paging.getMaxResults(), students.size());
+        return new ResultPage<Student>(students.subList(from, to), null);
+    }
+
     @Override
     public Student createStudent(String name, String emailAddress) {
         final Student student = new Student();
@@ -122,4 +160,48 @@ public class DummyStudentService implements StudentFinderService, StudentManager
             cache.remove(uuid);
         }
     }
+
+    @Override
+    public BulkResult<Student> createStudents(List<Student> students) {
+        return new BulkOperation<Student, Student>() {
+            @Override
+            public Student apply(Student item) {
+                if (item.getTestRun() != null) {
+                    return createStudentForTesting(item.getName(), item.getEmailAddress(), item.getTestRun());
+                }
+                return createStudent(item.getName(), item.getEmailAddress());
+            }
+        }.execute(students);
+    }
+
+    @Override
+    public BulkResult<Student> updateStudents(List<Student> students) {
+        return new BulkOperation<Student, Student>() {
+            @Override
+            public String uuidOf(Student item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Student apply(Student item) {
+                return updateStudent(item, item.getName(), item.getEmailAddress());
+            }
+        }.execute(students);
+    }
+
+    @Override
+    public BulkResult<String> deleteStudents(List<String> uuids) {
+        return new BulkOperation<String, String>() {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                deleteStudent(uuid, null);
+                return uuid;
+            }
+        }.execute(uuids);
+    }
 }
@@ -22,7 +22,9 @@
  */
 package com.invariantproperties.project.student.business;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -76,6 +78,19 @@ public class DummyTermService implements TermFinderService, TermManagerService {
         return cache.get(uuid);
     }
 
+    @Override
+    public List<Term> findTermsByUuids(Collection<String> uuids) {
+        log.debug("TermServer: findTermsByUuids()");
+        final List<Term> results = new ArrayList<Term>();
+        for (String uuid : uuids) {
+            final Term term = cache.get(uuid);
+            if (term != null) {
+                results.add(term);
+            }
+        }
+        return results;
+    }
+
     @Override
     public List<Term> findTermsByTestRun(TestRun testRun) {
         log.debug("TermServer: findTermByTestRun()");
@@ -88,6 +103,32 @@ public class DummyTermService implements TermFinderService, TermManagerService {
         return results;
     }
 
+    @Override
+    public ResultPage<Term> findTerms(Paging paging) {
+        log.debug("TermServer: findTerms()");
+        return toPage(findAllTerms(), paging);
+    }
+
+    @Override
+    public ResultPage<Term> findTermsByTestRun(TestRun testRun, Paging paging) {
+        log.debug("TermServer: findTermsByTestRun()");
+        return toPage(findTermsByTestRun(testRun), paging);
+    }
+
+    @Override
+    public void export(TestRun testRun, ResultHandler<Term> handler) throws IOException {
+        final List<Term> terms = (testRun == null) ? findAllTerms() : findTermsByTestRun(testRun);
+        for (Term term : terms) {
+            handler.handle(term);
+        }
+    }
+
+    private ResultPage<Term> toPage(List<Term> terms, Paging paging) {
+        final int from = Math.min(paging.getOffset(), terms.size());
+        final int to = Math.min(from + paging.getMaxResults(), terms.size());
+        return new ResultPage<Term>(terms.subList(from, to), null);
+    }
+
     @Override
     public Term createTerm(String name) {
         log.debug("TermServer: createTerm()");
@@ -127,4 +168,48 @@ public class DummyTermService implements TermFinderService, TermManagerService {
             cache.remove(uuid);
         }
     }
+
+    @Override
+    public BulkResult<Term> createTerms(List<Term> terms) {
+        return new BulkOperation<Term, Term>() {
+            @Override
+            public Term apply(Term item) {
+                if (item.getTestRun() != null) {
+                    return createTermForTesting(item.getName(), item.getTestRun());
+                }
+                return createTerm(item.getName());
+            }
+        }.execute(terms);
+    }
+
+    @Override
+    public BulkResult<Term> updateTerms(List<Term> terms) {
+        return new BulkOperation<Term, Term>() {
+            @Override
+            public String uuidOf(Term item) {
+                return item.getUuid();
+            }
+
+            @Override
+            public Term apply(Term item) {
+                return updateTerm(item, item.getName());
+            }
+        }.execute(terms);
+    }
+
+    @Override
+    public BulkResult<String> deleteTerms(List<String> uuids) {
+        return new BulkOperation<String, String>() {
+            @Override
+            public String uuidOf(String uuid) {
+                return uuid;
+            }
+
+            @Override
+            public String apply(String uuid) {
+                deleteTerm(uuid, null);
+                return uuid;
+            }
+        }.execute(uuids);
+    }
 }
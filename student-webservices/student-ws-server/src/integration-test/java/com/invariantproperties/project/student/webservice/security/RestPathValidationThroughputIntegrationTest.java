@@ -0,0 +1,143 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.security;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import com.invariantproperties.project.student.util.StudentUtil;
+
+/**
+ * Rough comparison of the regular expression path and UUID checks that
+ * RestParameterFilter and StudentUtil used to do with the single-pass
+ * RestPathValidator and StudentUtil.isPossibleUuid(). This is a benchmark,
+ * not a correctness test - it only prints nanoseconds/call.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class RestPathValidationThroughputIntegrationTest {
+    private static final int WARMUP = 200000;
+    private static final int CALLS = 2000000;
+    private static final List<String> NOUNS = Arrays.asList("classroom", "course", "instructor", "section",
+            "student", "term", "testRun");
+    private static final Pattern UUID_PATTERN = Pattern
+            .compile("^\\p{XDigit}{8}+-\\p{XDigit}{4}+-\\p{XDigit}{4}-\\p{XDigit}{4}+-\\p{XDigit}{12}$");
+
+    private final Set<String> validNouns = new HashSet<String>(NOUNS);
+    private final RestPathValidator validator = new RestPathValidator(NOUNS, Arrays.asList("export", "import"));
+    private final String uuid = UUID.randomUUID().toString();
+    private final String[] paths = { "/course", "/student/" + uuid, "/testRun/" + uuid, "/classroom/export" };
+
+    @Test
+    public void testValidationOverhead() {
+        // warm up both paths (class loading, JIT)
+        for (int i = 0; i < 3; i++) {
+            runRegexPaths(WARMUP);
+            runValidatorPaths(WARMUP);
+            runRegexUuid(WARMUP);
+            runUuid(WARMUP);
+        }
+
+        System.out.printf("REST path validation, ns/call (regex vs single pass):%n");
+        System.out.printf("  path: %6.1f vs %6.1f%n", runRegexPaths(CALLS), runValidatorPaths(CALLS));
+        System.out.printf("  uuid: %6.1f vs %6.1f%n", runRegexUuid(CALLS), runUuid(CALLS));
+    }
+
+    /**
+     * The former RestParameterFilter.checkPathInfo(), with the UUID check on
+     * the third group that it meant to make.
+     */
+    private boolean regexCheck(String path) {
+        final Pattern pattern = Pattern.compile("^/([\\p{Alpha}]+)(/?([\\p{XDigit}-]+)?)?");
+        final Matcher matcher = pattern.matcher(path);
+        matcher.find();
+
+        if (!validNouns.contains(matcher.group(1))) {
+            return false;
+        }
+
+        final String id = matcher.group(3);
+        return (id == null) || "e".equals(id) || UUID_PATTERN.matcher(id).matches();
+    }
+
+    private double runRegexPaths(int count) {
+        int valid = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            if (regexCheck(paths[i & 3])) {
+                valid++;
+            }
+        }
+        final double elapsed = (double) (System.nanoTime() - start) / count;
+        assertEquals(count, valid);
+        return elapsed;
+    }
+
+    private double runValidatorPaths(int count) {
+        int valid = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            if (validator.check(paths[i & 3]) == RestPathValidator.Result.VALID) {
+                valid++;
+            }
+        }
+        final double elapsed = (double) (System.nanoTime() - start) / count;
+        assertEquals(count, valid);
+        return elapsed;
+    }
+
+    private double runRegexUuid(int count) {
+        int valid = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            if (UUID_PATTERN.matcher(uuid).matches()) {
+                valid++;
+            }
+        }
+        final double elapsed = (double) (System.nanoTime() - start) / count;
+        assertEquals(count, valid);
+        return elapsed;
+    }
+
+    private double runUuid(int count) {
+        int valid = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            if (StudentUtil.isPossibleUuid(uuid)) {
+                valid++;
+            }
+        }
+        final double elapsed = (double) (System.nanoTime() - start) / count;
+        assertEquals(count, valid);
+        return elapsed;
+    }
+}
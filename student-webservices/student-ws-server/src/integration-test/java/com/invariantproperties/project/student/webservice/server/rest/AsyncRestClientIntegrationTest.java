@@ -0,0 +1,174 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.server.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Resource;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.invariantproperties.project.student.domain.Student;
+import com.invariantproperties.project.student.webservice.client.AsyncFinderRestClient;
+import com.invariantproperties.project.student.webservice.client.AsyncManagerRestClient;
+import com.invariantproperties.project.student.webservice.client.AsyncRestTransport;
+import com.invariantproperties.project.student.webservice.client.ObjectNotFoundException;
+import com.invariantproperties.project.student.webservice.client.RestCallback;
+import com.invariantproperties.project.student.webservice.client.RestClientFactory;
+import com.invariantproperties.project.student.webservice.client.StudentFinderRestClient;
+import com.invariantproperties.project.student.webservice.client.impl.AsyncStudentFinderRestClientImpl;
+import com.invariantproperties.project.student.webservice.client.impl.AsyncStudentManagerRestClientImpl;
+import com.invariantproperties.project.student.webservice.client.impl.StudentFinderRestClientImpl;
+import com.invariantproperties.project.student.webservice.config.TestRestApplicationContext;
+
+/**
+ * Integration tests for the asynchronous REST clients. The throughput test
+ * compares one thread making blocking calls with one thread keeping many
+ * requests in flight. It prints requests/second.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { TestRestApplicationContext.class })
+public class AsyncRestClientIntegrationTest {
+    private static final int REQUESTS = 1000;
+
+    @Resource
+    private String resourceBase;
+    private AsyncFinderRestClient<Student> finderClient;
+    private AsyncManagerRestClient<Student> managerClient;
+    private StudentFinderRestClient blockingFinderClient;
+
+    @Before
+    public void init() {
+        this.finderClient = new AsyncStudentFinderRestClientImpl(resourceBase + "student/");
+        this.managerClient = new AsyncStudentManagerRestClientImpl(resourceBase + "student/");
+        this.blockingFinderClient = new StudentFinderRestClientImpl(resourceBase + "student/");
+    }
+
+    @Test
+    public void testLifecycle() throws Exception {
+        final Student student = new Student();
+        student.setName("Alice");
+        student.setEmailAddress("alice@example.com");
+        final Student expected = managerClient.create(student, null).get();
+        assertEquals("Alice", expected.getName());
+
+        final Student actual = finderClient.findByUuid(expected.getUuid(), null).get();
+        assertEquals(expected.getEmailAddress(), actual.getEmailAddress());
+
+        final List<Student> students = finderClient.findByUuids(Arrays.asList(expected.getUuid()), null).get();
+        assertEquals(1, students.size());
+
+        actual.setName("Bob");
+        assertEquals("Bob", managerClient.update(actual, null).get().getName());
+
+        managerClient.delete(actual.getUuid(), 1, null).get();
+        try {
+            finderClient.findByUuid(expected.getUuid(), null).get();
+            fail("should have thrown exception");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ObjectNotFoundException);
+        }
+    }
+
+    @Test
+    public void testThroughput() throws Exception {
+        final Student student = new Student();
+        student.setName("Carol");
+        student.setEmailAddress("carol@example.com");
+        final String uuid = managerClient.create(student, null).get().getUuid();
+
+        // warm up both paths (class loading, JIT, connections)
+        runBlocking(uuid, 200);
+        runAsync(uuid, 200);
+
+        final double blocking = runBlocking(uuid, REQUESTS);
+        final double async = runAsync(uuid, REQUESTS);
+
+        System.out.printf("REST client throughput from one thread: blocking %.0f req/s, async %.0f req/s%n",
+                blocking, async);
+
+        managerClient.delete(uuid, null, null).get();
+    }
+
+    /**
+     * Make 'count' blocking calls and return requests per second.
+     */
+    private double runBlocking(final String uuid, final int count) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            blockingFinderClient.findStudentByUuid(uuid);
+        }
+        return count * 1e9 / (System.nanoTime() - start);
+    }
+
+    /**
+     * Send 'count' requests without waiting for the responses and return
+     * requests per second.
+     */
+    private double runAsync(final String uuid, final int count) throws Exception {
+        final AsyncRestTransport transport = RestClientFactory.getAsyncTransport();
+        final CountDownLatch done = new CountDownLatch(count);
+        final AtomicInteger failures = new AtomicInteger();
+        final RestCallback<Student> callback = new RestCallback<Student>() {
+            @Override
+            public void completed(Student result) {
+                done.countDown();
+            }
+
+            @Override
+            public void failed(Throwable cause) {
+                failures.incrementAndGet();
+                done.countDown();
+            }
+        };
+
+        int maxInFlight = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            finderClient.findByUuid(uuid, callback);
+            maxInFlight = Math.max(maxInFlight, transport.getInFlight());
+        }
+        assertTrue(done.await(60, TimeUnit.SECONDS));
+        final long elapsed = System.nanoTime() - start;
+
+        assertEquals(0, failures.get());
+        assertTrue(maxInFlight > 1);
+        assertTrue(maxInFlight <= transport.getMaxInFlight());
+        return count * 1e9 / elapsed;
+    }
+}
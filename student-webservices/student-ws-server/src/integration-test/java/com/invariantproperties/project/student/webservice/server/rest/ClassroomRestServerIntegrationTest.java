@@ -120,6 +120,6 @@ public class ClassroomRestServerIntegrationTest {
             // do nothing
         }
 
-        testClient.deleteTestRun(testRun.getUuid(), 1);
+        testClient.deleteTestRun(testRun.getUuid(), testRun.getVersion());
     }
 }
@@ -23,6 +23,7 @@
 package com.invariantproperties.project.student.webservice.server.rest;
 
 import static com.invariantproperties.project.student.matcher.CourseEquality.equalTo;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -45,6 +46,7 @@ import com.invariantproperties.project.student.webservice.client.CourseFinderRes
 import com.invariantproperties.project.student.webservice.client.CourseManagerRestClient;
 import com.invariantproperties.project.student.webservice.client.ObjectNotFoundException;
 import com.invariantproperties.project.student.webservice.client.RestClientException;
+import com.invariantproperties.project.student.webservice.client.StaleObjectException;
 import com.invariantproperties.project.student.webservice.client.TestRunManagerRestClient;
 import com.invariantproperties.project.student.webservice.client.impl.CourseFinderRestClientImpl;
 import com.invariantproperties.project.student.webservice.client.impl.CourseManagerRestClientImpl;
@@ -130,6 +132,16 @@ public class CourseRestServerIntegrationTest {
         final Course actual2 = managerClient.updateCourse(actual1.getUuid(), name2, summary2, description2, hours2);
         assertThat(expected, equalTo(actual2));
 
+        // conditional update - only the first one can succeed
+        assertEquals(Integer.valueOf(1),
+                managerClient.updateCourse(actual1.getUuid(), 0, name2, summary2, description2, hours2));
+        try {
+            managerClient.updateCourse(actual1.getUuid(), 0, name2, summary2, description2, hours2);
+            fail("should have thrown exception");
+        } catch (StaleObjectException e) {
+            // do nothing
+        }
+
         managerClient.deleteCourse(actual1.getUuid(), 1);
         try {
             finderClient.findCourseByUuid(expected.getUuid());
@@ -138,6 +150,6 @@ public class CourseRestServerIntegrationTest {
             // do nothing
         }
 
-        testClient.deleteTestRun(testRun.getUuid(), 1);
+        testClient.deleteTestRun(testRun.getUuid(), testRun.getVersion());
     }
 }
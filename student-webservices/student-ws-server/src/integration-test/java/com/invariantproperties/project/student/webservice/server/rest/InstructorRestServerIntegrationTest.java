@@ -119,6 +119,6 @@ public class InstructorRestServerIntegrationTest {
             // do nothing
         }
 
-        testClient.deleteTestRun(testRun.getUuid(), 1);
+        testClient.deleteTestRun(testRun.getUuid(), testRun.getVersion());
     }
 }
@@ -0,0 +1,127 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.server.rest;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import javax.annotation.Resource;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.webservice.client.CourseManagerRestClient;
+import com.invariantproperties.project.student.webservice.client.JsonEntity;
+import com.invariantproperties.project.student.webservice.client.impl.CourseManagerRestClientImpl;
+import com.invariantproperties.project.student.webservice.config.TestRestApplicationContext;
+
+/**
+ * Rough comparison of the bytes allocated to build a create/update request
+ * body with String.format (the old behavior) and with the streaming
+ * JsonEntity. This is a benchmark, not a correctness test - apart from the
+ * escaping round trip it only prints bytes/call.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { TestRestApplicationContext.class })
+public class JsonEntityAllocationIntegrationTest {
+    private static final int CALLS = 100000;
+    private static final String CODE = "PHYS101";
+    private static final String NAME = "Physics 101";
+    private static final String SUMMARY = "summary";
+    private static final String DESCRIPTION = "An introduction to classical mechanics.";
+    private static final Integer HOURS = 3;
+
+    @Resource
+    private String resourceBase;
+
+    @Test
+    public void testAllocation() throws Exception {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream(1024);
+
+        // warm up both paths (class loading, JIT)
+        run(os, false, CALLS);
+        run(os, true, CALLS);
+
+        final double format = run(os, false, CALLS);
+        final double streaming = run(os, true, CALLS);
+
+        System.out.printf("JSON request body allocation: String.format %.0f bytes/call, JsonEntity %.0f bytes/call%n",
+                format, streaming);
+    }
+
+    @Test
+    public void testEscapedValuesRoundTrip() throws IOException {
+        final CourseManagerRestClient managerClient = new CourseManagerRestClientImpl(resourceBase + "course/");
+        final String description = "a \"quoted\" \\ description\nwith a second line";
+
+        final Course course = managerClient.createCourse(CODE, NAME, SUMMARY, description, HOURS);
+        assertEquals(description, course.getDescription());
+        managerClient.deleteCourse(course.getUuid(), course.getVersion());
+    }
+
+    /**
+     * Build 'count' course bodies into the stream and return the bytes
+     * allocated per call by this thread.
+     */
+    private double run(final ByteArrayOutputStream os, final boolean streaming, final int count) throws IOException {
+        final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        final long id = Thread.currentThread().getId();
+
+        final long start = bean.getThreadAllocatedBytes(id);
+        for (int i = 0; i < count; i++) {
+            os.reset();
+            if (streaming) {
+                JsonEntity.courseInfo(CODE, NAME, SUMMARY, DESCRIPTION, HOURS, null).write(os);
+            } else {
+                os.write(formatJson(CODE, NAME, SUMMARY, DESCRIPTION, HOURS).getBytes("UTF-8"));
+            }
+        }
+        final long allocated = bean.getThreadAllocatedBytes(id) - start;
+
+        return (double) allocated / count;
+    }
+
+    /**
+     * The String.format body the manager clients used to build.
+     */
+    private static String formatJson(final String code, final String name, final String summary,
+            final String description, final Integer creditHours) {
+        final StringBuilder json = new StringBuilder("{ ");
+        json.append(String.format("\"code\": \"%s\"", code));
+        json.append(", ").append(String.format("\"name\": \"%s\"", name));
+        json.append(", ").append(String.format("\"summary\": \"%s\"", summary));
+        json.append(", ").append(String.format("\"description\": \"%s\"", description));
+        json.append(", ").append(String.format("\"creditHours\": \"%s\"", creditHours));
+        json.append(" }");
+        return json.toString();
+    }
+}
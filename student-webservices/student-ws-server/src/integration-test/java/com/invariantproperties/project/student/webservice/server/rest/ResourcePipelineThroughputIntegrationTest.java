@@ -0,0 +1,237 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.server.rest;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.apache.log4j.Logger;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.invariantproperties.project.student.business.DummyCourseService;
+import com.invariantproperties.project.student.business.DummyTestRunService;
+import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.util.StudentUtil;
+import com.sun.jersey.api.model.AbstractResourceMethod;
+import com.sun.jersey.core.util.MultivaluedMapImpl;
+import com.sun.jersey.server.impl.modelapi.annotation.IntrospectionModeller;
+import com.sun.jersey.spi.container.ResourceFilter;
+
+/**
+ * Rough comparison of the per-request overhead of the old Spring AOP proxy
+ * pipeline and the precomputed request filter plus exception mapper. Both
+ * call the same CourseResource backed by the dummy services so the
+ * difference is the cost of the pipeline itself. This is a benchmark, not a
+ * correctness test - it only prints nanoseconds/call.
+ * 
+ * The aspects below reproduce the removed CheckPostValues and
+ * UnexpectedResourceExceptionHandler advice for the find and delete methods.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class ResourcePipelineThroughputIntegrationTest {
+    private static final int WARMUP = 50000;
+    private static final int CALLS = 500000;
+    private static final String MISSING_UUID = "11111111-1111-1111-1111-111111111111";
+
+    private CourseResource resource;
+    private CourseResource proxy;
+    private ResourceMethodFilter getFilter;
+    private ResourceMethodFilter deleteFilter;
+    private final ObjectNotFoundExceptionMapper notFoundMapper = new ObjectNotFoundExceptionMapper();
+    private String uuid;
+
+    /**
+     * Old parameter checks and entry logging.
+     */
+    @Aspect
+    public static class LegacyCheckPostValues {
+        @Around("target(com.invariantproperties.project.student.webservice.server.rest.AbstractResource) && args(uuid,ifMatch) && execution(* *.delete*(..))")
+        public Object checkParametersDelete(ProceedingJoinPoint pjp, String uuid, String ifMatch) throws Throwable {
+            final Logger log = Logger.getLogger(pjp.getSignature().getDeclaringType());
+            final String name = pjp.getSignature().getName();
+
+            if (!StudentUtil.isPossibleUuid(uuid)) {
+                if (log.isInfoEnabled()) {
+                    log.info(String.format("%s(): uuid", name));
+                }
+                return Response.status(Status.BAD_REQUEST).build();
+            }
+
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("%s(%s): entry", name, Arrays.toString(pjp.getArgs())));
+            }
+            return pjp.proceed(pjp.getArgs());
+        }
+
+        @Around("target(com.invariantproperties.project.student.webservice.server.rest.AbstractResource) && execution(* *.get*(..))")
+        public Object checkParametersFind(ProceedingJoinPoint pjp) throws Throwable {
+            final Logger log = Logger.getLogger(pjp.getSignature().getDeclaringType());
+
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("%s(%s): entry", pjp.getSignature().getName(),
+                        Arrays.toString(pjp.getArgs())));
+            }
+            return pjp.proceed(pjp.getArgs());
+        }
+    }
+
+    /**
+     * Old exception handling.
+     */
+    @Aspect
+    public static class LegacyExceptionHandler {
+        @Around("target(com.invariantproperties.project.student.webservice.server.rest.AbstractResource)")
+        public Object checkForUnhandledException(ProceedingJoinPoint pjp) throws Throwable {
+            final Logger log = Logger.getLogger(pjp.getSignature().getClass());
+
+            try {
+                return pjp.proceed(pjp.getArgs());
+            } catch (ObjectNotFoundException e) {
+                final String args = Arrays.toString(pjp.getArgs());
+                if (log.isDebugEnabled()) {
+                    log.debug("object not found: " + args);
+                }
+                return Response.status(Status.NOT_FOUND).entity("object not found: " + args).build();
+            }
+        }
+    }
+
+    @Before
+    public void init() {
+        final DummyCourseService service = new DummyCourseService();
+        final Course course = service.createCourse("ABC101", "name", "summary", "description", 3);
+        uuid = course.getUuid();
+
+        resource = new CourseResource();
+        resource.setServices(service, service, new DummyTestRunService());
+
+        final AspectJProxyFactory factory = new AspectJProxyFactory(resource);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LegacyCheckPostValues());
+        factory.addAspect(new LegacyExceptionHandler());
+        proxy = factory.getProxy();
+
+        final ResourceMethodFilterFactory filterFactory = new ResourceMethodFilterFactory(null);
+        for (AbstractResourceMethod method : IntrospectionModeller.createResource(CourseResource.class)
+                .getSubResourceMethods()) {
+            for (ResourceFilter filter : filterFactory.create(method)) {
+                final ResourceMethodFilter f = (ResourceMethodFilter) filter;
+                if ("getCourse".equals(f.getName())) {
+                    getFilter = f;
+                } else if ("deleteCourse".equals(f.getName())) {
+                    deleteFilter = f;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPipelineOverhead() {
+        final MultivaluedMap<String, String> found = pathParameters(uuid);
+        final MultivaluedMap<String, String> missing = pathParameters(MISSING_UUID);
+
+        // warm up both paths (class loading, JIT)
+        for (int i = 0; i < 3; i++) {
+            runProxy(uuid, WARMUP);
+            runFilter(uuid, found, WARMUP);
+        }
+
+        System.out.printf("REST resource pipeline, ns/call (AOP proxy vs filter + mapper):%n");
+        System.out.printf("  getCourse found:   %6.0f vs %6.0f%n", runProxy(uuid, CALLS),
+                runFilter(uuid, found, CALLS));
+        System.out.printf("  getCourse missing: %6.0f vs %6.0f%n", runProxy(MISSING_UUID, CALLS),
+                runFilter(MISSING_UUID, missing, CALLS));
+        System.out.printf("  deleteCourse:      %6.0f vs %6.0f%n", runProxyDelete(CALLS),
+                runFilterDelete(missing, CALLS));
+    }
+
+    private MultivaluedMap<String, String> pathParameters(String id) {
+        final MultivaluedMap<String, String> parameters = new MultivaluedMapImpl();
+        parameters.add("courseId", id);
+        return parameters;
+    }
+
+    private double runProxy(String id, int count) {
+        final int expected = uuid.equals(id) ? 200 : 404;
+        final long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            assertStatus(expected, proxy.getCourse(id, null));
+        }
+        return (double) (System.nanoTime() - start) / count;
+    }
+
+    private double runFilter(String id, MultivaluedMap<String, String> pathParameters, int count) {
+        final int expected = uuid.equals(id) ? 200 : 404;
+        final long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            Response response = getFilter.check(pathParameters);
+            if (response == null) {
+                try {
+                    response = resource.getCourse(id, null);
+                } catch (ObjectNotFoundException e) {
+                    response = notFoundMapper.toResponse(e);
+                }
+            }
+            assertStatus(expected, response);
+        }
+        return (double) (System.nanoTime() - start) / count;
+    }
+
+    private double runProxyDelete(int count) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            assertStatus(204, proxy.deleteCourse(MISSING_UUID, null));
+        }
+        return (double) (System.nanoTime() - start) / count;
+    }
+
+    private double runFilterDelete(MultivaluedMap<String, String> pathParameters, int count) {
+        final long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            Response response = deleteFilter.check(pathParameters);
+            if (response == null) {
+                response = resource.deleteCourse(MISSING_UUID, null);
+            }
+            assertStatus(204, response);
+        }
+        return (double) (System.nanoTime() - start) / count;
+    }
+
+    private void assertStatus(int expected, Response response) {
+        if (response.getStatus() != expected) {
+            assertEquals(expected, response.getStatus());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.server.rest;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.Resource;
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import com.invariantproperties.project.student.webservice.client.RestClientFactory;
+import com.invariantproperties.project.student.webservice.config.TestRestApplicationContext;
+import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientResponse;
+
+/**
+ * Rough throughput comparison between a new Jersey client per request (the
+ * old behavior) and the pooled keep-alive client from RestClientFactory. This
+ * is a benchmark, not a correctness test - it only prints requests/second.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { TestRestApplicationContext.class })
+public class RestClientThroughputIntegrationTest {
+    private static final int THREADS = 8;
+    private static final int REQUESTS = 800;
+
+    @Resource
+    private String resourceBase;
+
+    @Test
+    public void testThroughput() throws Exception {
+        final String resource = resourceBase + "course/";
+
+        // warm up both paths (class loading, JIT, server side)
+        run(resource, false, 200);
+        run(resource, true, 200);
+
+        final double unpooled = run(resource, false, REQUESTS);
+        final double pooled = run(resource, true, REQUESTS);
+
+        System.out.printf("REST client throughput: per-request client %.0f req/s, pooled client %.0f req/s%n",
+                unpooled, pooled);
+    }
+
+    /**
+     * Issue 'count' GET requests from THREADS threads and return requests per
+     * second.
+     */
+    private double run(final String resource, final boolean pooled, final int count) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+            for (int i = 0; i < THREADS; i++) {
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        for (int j = 0; j < count / THREADS; j++) {
+                            get(resource, pooled);
+                        }
+                        return null;
+                    }
+                });
+            }
+
+            final long start = System.nanoTime();
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+            final long elapsed = System.nanoTime() - start;
+
+            return (count / THREADS) * THREADS * 1e9 / elapsed;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void get(final String resource, final boolean pooled) {
+        final Client client = pooled ? RestClientFactory.getClient(resource) : Client.create();
+        final ClientResponse response = client.resource(resource).accept(MediaType.APPLICATION_JSON)
+                .get(ClientResponse.class);
+        try {
+            assertEquals(ClientResponse.Status.OK.getStatusCode(), response.getStatus());
+            response.getEntity(String.class);
+        } finally {
+            response.close();
+            if (!pooled) {
+                client.destroy();
+            }
+        }
+    }
+}
@@ -23,6 +23,7 @@
 package com.invariantproperties.project.student.webservice.server.rest;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -38,6 +39,8 @@ import org.junit.runner.RunWith;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.domain.Section;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.ObjectNotFoundException;
@@ -113,6 +116,40 @@ public class SectionRestServerIntegrationTest {
             // do nothing
         }
 
-        testClient.deleteTestRun(testRun.getUuid(), 1);
+        testClient.deleteTestRun(testRun.getUuid(), testRun.getVersion());
+    }
+
+    @Test
+    public void testFindSectionsWithFetchProfile() throws IOException {
+        final TestRun testRun = testClient.createTestRun();
+        final Section expected = managerClient.createSectionForTesting("Physics 201 : " + testRun.getUuid(), testRun);
+
+        final ResultPage<Section> page = finderClient.findSectionsByTestRun(testRun, Paging.first(10), "withRoster");
+        assertEquals(1, page.getContent().size());
+        assertEquals(expected.getUuid(), page.getContent().get(0).getUuid());
+
+        managerClient.deleteSection(expected.getUuid(), expected.getVersion());
+        testClient.deleteTestRun(testRun.getUuid(), testRun.getVersion());
+    }
+
+    @Test
+    public void testRoster() throws IOException {
+        final TestRun testRun = testClient.createTestRun();
+        final Section section = managerClient.createSectionForTesting("Physics 201 : " + testRun.getUuid(), testRun);
+        final String studentUuid = "22222222-2222-2222-2222-222222222222";
+
+        assertTrue(managerClient.addStudentToSection(section.getUuid(), studentUuid));
+        assertFalse(managerClient.addStudentToSection(section.getUuid(), studentUuid));
+        assertTrue(managerClient.removeStudentFromSection(section.getUuid(), studentUuid));
+        assertFalse(managerClient.removeStudentFromSection(section.getUuid(), studentUuid));
+
+        managerClient.deleteSection(section.getUuid(), section.getVersion());
+        testClient.deleteTestRun(testRun.getUuid(), testRun.getVersion());
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
+    public void testRosterUnknownSection() throws IOException {
+        managerClient.addStudentToSection("11111111-1111-1111-1111-111111111111",
+                "22222222-2222-2222-2222-222222222222");
     }
 }
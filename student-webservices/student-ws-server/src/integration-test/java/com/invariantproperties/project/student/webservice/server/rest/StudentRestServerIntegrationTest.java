@@ -28,6 +28,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.annotation.Resource;
@@ -38,6 +39,9 @@ import org.junit.runner.RunWith;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import com.sun.jersey.api.client.Client;
+
+import com.invariantproperties.project.student.business.ResultHandler;
 import com.invariantproperties.project.student.domain.Student;
 import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.client.ObjectNotFoundException;
@@ -118,6 +122,36 @@ public class StudentRestServerIntegrationTest {
             // do nothing
         }
 
-        testClient.deleteTestRun(testRun.getUuid(), 1);
+        testClient.deleteTestRun(testRun.getUuid(), testRun.getVersion());
+    }
+
+    @Test
+    public void testImportCsv() {
+        final String body = "name,emailAddress\nAlice,alice@example.com\nBob,not an address\n";
+        final String results = Client.create().resource(resourceBase + "student/import")
+                .type(RecordImporter.TEXT_CSV_TYPE).post(String.class, body);
+        final String[] lines = results.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0], lines[0].startsWith("{\"line\":2,\"status\":\"created\",\"uuid\":"));
+        assertEquals("{\"line\":3,\"status\":\"invalid\",\"message\":\"emailAddress is missing or malformed\"}",
+                lines[1]);
+    }
+
+    @Test
+    public void testExport() throws IOException {
+        final TestRun testRun = testClient.createTestRun();
+        final Student student = managerClient.createStudentForTesting("Alice", "alice@example.com", testRun);
+
+        final List<Student> students = new ArrayList<Student>();
+        finderClient.export(testRun, new ResultHandler<Student>() {
+            @Override
+            public void handle(Student item) {
+                students.add(item);
+            }
+        });
+
+        assertEquals(1, students.size());
+        assertEquals(student.getUuid(), students.get(0).getUuid());
+        assertEquals("Alice", students.get(0).getName());
     }
 }
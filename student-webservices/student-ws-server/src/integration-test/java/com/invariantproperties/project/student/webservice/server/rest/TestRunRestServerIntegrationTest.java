@@ -92,7 +92,7 @@ public class TestRunRestServerIntegrationTest {
         final List<TestRun> testRuns = finderClient.findAllTestRuns();
         assertTrue(testRuns.size() > 0);
 
-        managerClient.deleteTestRun(actual.getUuid(), 1);
+        managerClient.deleteTestRun(actual.getUuid(), actual.getVersion());
         try {
             finderClient.findTestRunByUuid(expected.getUuid());
             fail("should have thrown exception");
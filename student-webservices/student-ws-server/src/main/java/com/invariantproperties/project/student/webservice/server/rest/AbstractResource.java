@@ -22,9 +22,29 @@
  */
 package com.invariantproperties.project.student.webservice.server.rest;
 
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.Response.Status;
+
+import org.apache.log4j.Logger;
+
+import com.invariantproperties.project.student.business.OrderBy;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
+import com.invariantproperties.project.student.business.StaleObjectException;
 import com.invariantproperties.project.student.domain.Classroom;
 import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.CourseSummary;
 import com.invariantproperties.project.student.domain.Instructor;
+import com.invariantproperties.project.student.domain.PersistentObject;
 import com.invariantproperties.project.student.domain.Section;
 import com.invariantproperties.project.student.domain.Student;
 import com.invariantproperties.project.student.domain.Term;
@@ -34,11 +54,253 @@ import com.invariantproperties.project.student.domain.TestRun;
  * @author Bear Giles <bgiles@coyotesong.com>
  */
 public abstract class AbstractResource {
+    private static final Logger LOG = Logger.getLogger(AbstractResource.class);
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * Maximum number of uuids in a single lookup request.
+     */
+    public static final int MAX_LOOKUP_SIZE = 1000;
 
     public String scrubCount(final long count) {
         return String.format("{ \"count\": %d }", count);
     }
 
+    /**
+     * Convert the paging query parameters to a Paging request.
+     * 
+     * @param offset
+     *            first row, defaults to 0
+     * @param maxResults
+     *            number of rows
+     * @param orderBy
+     *            comma-separated list of properties with '-' prefix for
+     *            descending order
+     * @return
+     * @throws IllegalArgumentException
+     *             if the parameters are invalid
+     */
+    public Paging toPaging(final Integer offset, final Integer maxResults, final String orderBy) {
+        return Paging.offset((offset == null) ? 0 : offset, maxResults, OrderBy.parse(orderBy));
+    }
+
+    /**
+     * Add a 'next' Link header if there is a following page. The link is
+     * relative to the request URI.
+     * 
+     * @param builder
+     * @param paging
+     * @param page
+     * @return
+     */
+    public ResponseBuilder nextLink(final ResponseBuilder builder, final Paging paging, final ResultPage<?> page) {
+        if (page.hasNext()) {
+            try {
+                final String link = String.format("<?offset=%d&maxResults=%d&orderBy=%s>; rel=\"next\"",
+                        paging.getOffset() + page.getContent().size(), paging.getMaxResults(),
+                        URLEncoder.encode(OrderBy.format(paging.getOrderBy()), "UTF-8"));
+                builder.header("Link", link);
+            } catch (UnsupportedEncodingException e) {
+                // can't happen - UTF-8 is always supported
+                throw new IllegalStateException(e);
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * Strong entity tag for a single object. The version is incremented on
+     * every update so the uuid and version identify the representation.
+     * 
+     * @param object
+     * @return
+     */
+    public EntityTag entityTag(final PersistentObject object) {
+        return entityTag(object.getUuid(), object.getVersion());
+    }
+
+    /**
+     * Strong entity tag for the specified version of an object.
+     * 
+     * @param uuid
+     * @param version
+     * @return
+     */
+    public EntityTag entityTag(final String uuid, final Integer version) {
+        return new EntityTag(uuid + "." + version);
+    }
+
+    /**
+     * Strong entity tag for a list of objects. The tag is a digest of the
+     * uuid and version of each object, in order, and whether there is a
+     * following page. It changes whenever an object is added, removed or
+     * updated.
+     * 
+     * @param objects
+     * @param hasNext
+     * @return
+     */
+    public EntityTag entityTag(final List<? extends PersistentObject> objects, final boolean hasNext) {
+        final MessageDigest digest = newDigest();
+        for (PersistentObject object : objects) {
+            update(digest, object.getUuid(), object.getVersion());
+        }
+        return toEntityTag(digest, hasNext);
+    }
+
+    /**
+     * Strong entity tag for a list of course summaries. See
+     * {@link #entityTag(List, boolean)}.
+     * 
+     * @param summaries
+     * @param hasNext
+     * @return
+     */
+    public EntityTag summaryEntityTag(final List<CourseSummary> summaries, final boolean hasNext) {
+        final MessageDigest digest = newDigest();
+        for (CourseSummary summary : summaries) {
+            update(digest, summary.getUuid(), summary.getVersion());
+        }
+        return toEntityTag(digest, hasNext);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            // can't happen - SHA-1 is always supported
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(final MessageDigest digest, final String uuid, final Integer version) {
+        digest.update(uuid.getBytes(UTF8));
+        digest.update((byte) '.');
+        digest.update(String.valueOf(version).getBytes(UTF8));
+        digest.update((byte) ',');
+    }
+
+    private static EntityTag toEntityTag(final MessageDigest digest, final boolean hasNext) {
+        digest.update(hasNext ? (byte) '+' : (byte) '.');
+
+        final StringBuilder sb = new StringBuilder(40);
+        for (byte b : digest.digest()) {
+            sb.append(Character.forDigit((b >> 4) & 0x0f, 16)).append(Character.forDigit(b & 0x0f, 16));
+        }
+
+        return new EntityTag(sb.toString());
+    }
+
+    /**
+     * Does an If-None-Match header match the entity tag? Weak comparison is
+     * used, as required for If-None-Match.
+     * 
+     * @param ifNoneMatch
+     *            header value, may be null
+     * @param tag
+     * @return
+     */
+    public boolean isNotModified(final String ifNoneMatch, final EntityTag tag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        final String expected = "\"" + tag.getValue() + "\"";
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if ("*".equals(candidate) || expected.equals(candidate)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Return '304 Not Modified' if the If-None-Match header matches the
+     * entity tag, otherwise '200 OK' with the entity. Both carry the entity
+     * tag.
+     * 
+     * @param ifNoneMatch
+     * @param tag
+     * @param entity
+     * @return
+     */
+    public ResponseBuilder okOrNotModified(final String ifNoneMatch, final EntityTag tag, final Object entity) {
+        if (isNotModified(ifNoneMatch, tag)) {
+            return Response.notModified(tag);
+        }
+        return Response.ok(entity).tag(tag);
+    }
+
+    /**
+     * Get the version named by an If-Match header. Only a single strong tag,
+     * as created by entityTag(), is supported since the version is passed on
+     * to a conditional update or delete.
+     * 
+     * @param uuid
+     * @param ifMatch
+     *            header value, may be null
+     * @return version, or null if there is no header or it is '*'
+     * @throws StaleObjectException
+     *             if the tag can't match the object
+     */
+    public Integer matchVersion(final String uuid, final String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+
+        final String candidate = ifMatch.trim();
+        if ("*".equals(candidate)) {
+            return null;
+        }
+
+        final String prefix = "\"" + uuid + ".";
+        if (candidate.startsWith(prefix) && candidate.endsWith("\"") && candidate.length() > prefix.length() + 1) {
+            try {
+                return Integer.valueOf(candidate.substring(prefix.length(), candidate.length() - 1));
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+        }
+
+        throw new StaleObjectException(uuid, null);
+    }
+
+    /**
+     * Response for a payload that failed validation. The payload itself isn't
+     * logged since it hasn't been checked.
+     * 
+     * TODO: tell caller what the problems were
+     * 
+     * @param rto
+     * @return
+     */
+    public Response badPayload(final Validatable rto) {
+        if (LOG.isInfoEnabled()) {
+            LOG.info(String.format("%s: bad %s payload", getClass().getSimpleName(), rto.getClass().getSimpleName()));
+        }
+
+        return Response.status(Status.BAD_REQUEST).build();
+    }
+
+    /**
+     * Response for a lookup with too many uuids.
+     * 
+     * @param uuids
+     * @return
+     */
+    public Response badLookup(final List<String> uuids) {
+        if (LOG.isInfoEnabled()) {
+            LOG.info(String.format("%s: lookup of %d uuids", getClass().getSimpleName(), uuids.size()));
+        }
+
+        return Response.status(Status.BAD_REQUEST).entity("no more than " + MAX_LOOKUP_SIZE + " uuids").build();
+    }
+
     public Classroom scrubClassroom(final Classroom dirty) {
         final Classroom clean = new Classroom();
         clean.setUuid(dirty.getUuid());
@@ -63,6 +325,23 @@ public abstract class AbstractResource {
         return clean;
     }
 
+    /**
+     * Copy a course summary without the database id.
+     * 
+     * @param dirty
+     * @return
+     */
+    public CourseSummary scrubCourseSummary(final CourseSummary dirty) {
+        final CourseSummary clean = new CourseSummary();
+        clean.setUuid(dirty.getUuid());
+        clean.setCode(dirty.getCode());
+        clean.setName(dirty.getName());
+        clean.setCreditHours(dirty.getCreditHours());
+        clean.setVersion(dirty.getVersion());
+        clean.setCreationDate(dirty.getCreationDate());
+        return clean;
+    }
+
     public Instructor scrubInstructor(final Instructor dirty) {
         final Instructor clean = new Instructor();
         clean.setUuid(dirty.getUuid());
@@ -22,6 +22,7 @@
  */
 package com.invariantproperties.project.student.webservice.server.rest;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
@@ -29,12 +30,18 @@ import java.util.List;
 import javax.annotation.Resource;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.FormParam;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
@@ -44,9 +51,12 @@ import javax.ws.rs.core.UriInfo;
 import org.apache.log4j.Logger;
 import org.springframework.stereotype.Service;
 
+import com.invariantproperties.project.student.business.BulkResult;
 import com.invariantproperties.project.student.business.ClassroomFinderService;
 import com.invariantproperties.project.student.business.ClassroomManagerService;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.business.TestRunService;
 import com.invariantproperties.project.student.domain.Classroom;
 import com.invariantproperties.project.student.domain.TestRun;
@@ -80,7 +90,7 @@ public class ClassroomResource extends AbstractResource {
     }
 
     /**
-     * Set values used in unit tests. (Required due to AOP)
+     * Set values used in unit tests.
      * 
      * @param finder
      * @param manager
@@ -93,21 +103,127 @@ public class ClassroomResource extends AbstractResource {
     }
 
     /**
-     * Get all Classrooms.
+     * Get all Classrooms, or a single page of Classrooms if maxResults is specified.
+     * If countOnly is set only the number of Classrooms is returned.
      * 
+     * @param countOnly
+     * @param testUuid
+     * @param offset
+     * @param maxResults
+     * @param orderBy
+     * @param ifNoneMatch
      * @return
      */
     @GET
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
-    public Response findAllClassrooms() {
-        final List<Classroom> classrooms = finder.findAllClassrooms();
+    public Response findAllClassrooms(@QueryParam("countOnly") @DefaultValue("false") boolean countOnly,
+            @QueryParam("testUuid") String testUuid, @QueryParam("offset") Integer offset,
+            @QueryParam("maxResults") Integer maxResults, @QueryParam("orderBy") String orderBy,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+
+        TestRun testRun = null;
+        if (testUuid != null) {
+            // 'object not found' handled by exception mapper
+            testRun = testRunService.findTestRunByUuid(testUuid);
+            if (testRun == null) {
+                return Response.status(Status.BAD_REQUEST).entity("unknown test UUID").build();
+            }
+        }
+
+        if (countOnly) {
+            final long count = (testRun == null) ? finder.count() : finder.countByTestRun(testRun);
+            return Response.ok(scrubCount(count), MediaType.APPLICATION_JSON).build();
+        }
+
+        if (maxResults != null) {
+            return findClassrooms(testRun, offset, maxResults, orderBy, ifNoneMatch);
+        }
+
+        final List<Classroom> classrooms;
+        if (testRun == null) {
+            classrooms = finder.findAllClassrooms();
+        } else {
+            classrooms = finder.findClassroomsByTestRun(testRun);
+        }
 
         final List<Classroom> results = new ArrayList<Classroom>(classrooms.size());
         for (Classroom classroom : classrooms) {
             results.add(scrubClassroom(classroom));
         }
 
-        final Response response = Response.ok(results.toArray(EMPTY_CLASSROOM_ARRAY)).build();
+        final Response response = okOrNotModified(ifNoneMatch, entityTag(results, false),
+                results.toArray(EMPTY_CLASSROOM_ARRAY)).build();
+
+        return response;
+    }
+
+    /**
+     * Export all Classrooms, or all Classrooms in a test run. The results are a JSON
+     * array, or NDJSON if the client accepts it, and are streamed from the
+     * database so memory use doesn't depend on the number of Classrooms.
+     * 
+     * @param testUuid
+     * @param accept
+     * @return
+     */
+    @Path("/export")
+    @GET
+    @Produces({ MediaType.APPLICATION_JSON, RecordImporter.APPLICATION_NDJSON })
+    public Response exportClassrooms(@QueryParam("testUuid") String testUuid,
+            @HeaderParam(HttpHeaders.ACCEPT) String accept) {
+        TestRun testRun = null;
+        if (testUuid != null) {
+            // 'object not found' handled by exception mapper
+            testRun = testRunService.findTestRunByUuid(testUuid);
+            if (testRun == null) {
+                return Response.status(Status.BAD_REQUEST).entity("unknown test UUID").build();
+            }
+        }
+
+        final boolean ndjson = (accept != null) && accept.contains(RecordImporter.APPLICATION_NDJSON);
+        final RecordExporter<Classroom> exporter;
+        exporter = new RecordExporter<Classroom>(finder, testRun, Classroom.class, ndjson) {
+            @Override
+            protected Classroom scrub(Classroom dirty) {
+                return scrubClassroom(dirty);
+            }
+        };
+
+        return Response.ok(exporter, ndjson ? RecordImporter.APPLICATION_NDJSON : MediaType.APPLICATION_JSON).build();
+    }
+
+    /**
+     * Get a single page of Classrooms.
+     * 
+     * @param testRun
+     * @param offset
+     * @param maxResults
+     * @param orderBy
+     * @param ifNoneMatch
+     * @return
+     */
+    Response findClassrooms(TestRun testRun, Integer offset, Integer maxResults, String orderBy, String ifNoneMatch) {
+        final Paging paging;
+        final ResultPage<Classroom> page;
+        try {
+            paging = toPaging(offset, maxResults, orderBy);
+            if (testRun == null) {
+                page = finder.findClassrooms(paging);
+            } else {
+                page = finder.findClassroomsByTestRun(testRun, paging);
+            }
+        } catch (IllegalArgumentException e) {
+            return Response.status(Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+
+        final List<Classroom> results = new ArrayList<Classroom>(page.getContent().size());
+        for (Classroom classroom : page.getContent()) {
+            results.add(scrubClassroom(classroom));
+        }
+
+        final EntityTag tag = entityTag(results, page.hasNext());
+        final Response response = nextLink(okOrNotModified(ifNoneMatch, tag, results.toArray(EMPTY_CLASSROOM_ARRAY)),
+                paging, page).build();
 
         return response;
     }
@@ -124,6 +240,10 @@ public class ClassroomResource extends AbstractResource {
     @Consumes({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     public Response createClassroom(NameRTO req) {
+        if (!req.validate()) {
+            return badPayload(req);
+        }
+
         final String name = req.getName();
 
         Response response = null;
@@ -150,20 +270,92 @@ public class ClassroomResource extends AbstractResource {
         return response;
     }
 
+    /**
+     * Import Classrooms from an NDJSON or CSV upload. Records are validated and
+     * created in batches as they're read and the per-record results are
+     * streamed back as NDJSON.
+     * 
+     * @param contentType
+     * @param body
+     * @return
+     */
+    @Path("/import")
+    @POST
+    @Consumes({ RecordImporter.APPLICATION_NDJSON, RecordImporter.TEXT_CSV })
+    @Produces(RecordImporter.APPLICATION_NDJSON)
+    public Response importClassrooms(@HeaderParam(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) {
+        final RecordImporter<NameRTO, Classroom> importer = new RecordImporter<NameRTO, Classroom>(
+                NameRTO.class, body, contentType, testRunService, RecordImporter.DEFAULT_BATCH_SIZE) {
+            @Override
+            protected Classroom toEntity(NameRTO rto, TestRun testRun) {
+                final Classroom classroom = new Classroom();
+                classroom.setName(rto.getName());
+                classroom.setTestRun(testRun);
+                return classroom;
+            }
+
+            @Override
+            protected String getTestUuid(NameRTO rto) {
+                return rto.getTestUuid();
+            }
+
+            @Override
+            protected BulkResult<Classroom> create(List<Classroom> batch) {
+                return manager.createClassrooms(batch);
+            }
+
+            @Override
+            protected String uuidOf(Classroom created) {
+                return created.getUuid();
+            }
+        };
+
+        return Response.ok(importer, RecordImporter.APPLICATION_NDJSON_TYPE).build();
+    }
+
+    /**
+     * Get the Classrooms with the specified uuids in a single request. The
+     * uuids are form parameters so a large lookup isn't limited by the URL
+     * length. The results are in the order of the uuids and unknown uuids are
+     * skipped.
+     * 
+     * @param uuids
+     * @return
+     */
+    @Path("/lookup")
+    @POST
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
+    public Response lookupClassrooms(@FormParam("uuid") List<String> uuids) {
+        if (uuids.size() > MAX_LOOKUP_SIZE) {
+            return badLookup(uuids);
+        }
+
+        final List<Classroom> classrooms = finder.findClassroomsByUuids(uuids);
+        final List<Classroom> results = new ArrayList<Classroom>(classrooms.size());
+        for (Classroom classroom : classrooms) {
+            results.add(scrubClassroom(classroom));
+        }
+
+        return Response.ok(results.toArray(EMPTY_CLASSROOM_ARRAY)).build();
+    }
+
     /**
      * Get a specific Classroom.
      * 
      * @param uuid
+     * @param ifNoneMatch
      * @return
      */
     @Path("/{classroomId}")
     @GET
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
-    public Response getClassroom(@PathParam("classroomId") String id) {
+    public Response getClassroom(@PathParam("classroomId") String id,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
 
-        // 'object not found' handled by AOP
+        // 'object not found' handled by exception mapper
         final Classroom classroom = finder.findClassroomByUuid(id);
-        final Response response = Response.ok(scrubClassroom(classroom)).build();
+        final Response response = okOrNotModified(ifNoneMatch, entityTag(classroom), scrubClassroom(classroom)).build();
 
         return response;
     }
@@ -182,12 +374,17 @@ public class ClassroomResource extends AbstractResource {
     @Consumes({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     public Response updateClassroom(@PathParam("classroomId") String id, NameRTO req) {
+        if (!req.validate()) {
+            return badPayload(req);
+        }
+
         final String name = req.getName();
 
-        // 'object not found' handled by AOP
+        // 'object not found' handled by exception mapper
         final Classroom classroom = finder.findClassroomByUuid(id);
         final Classroom updatedClassroom = manager.updateClassroom(classroom, name);
-        final Response response = Response.ok(scrubClassroom(updatedClassroom)).build();
+        final Response response = Response.ok(scrubClassroom(updatedClassroom)).tag(entityTag(updatedClassroom))
+                .build();
 
         return response;
     }
@@ -196,15 +393,18 @@ public class ClassroomResource extends AbstractResource {
      * Delete a Classroom.
      * 
      * @param id
+     * @param ifMatch
+     *            entity tag of the version to delete, optional
      * @return
      */
     @Path("/{classroomId}")
     @DELETE
-    public Response deleteClassroom(@PathParam("classroomId") String id, @PathParam("version") Integer version) {
+    public Response deleteClassroom(@PathParam("classroomId") String id,
+            @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch) {
 
-        // we don't use AOP handler since it's okay for there to be no match
+        // we don't use the exception mapper since it's okay for there to be no match
         try {
-            manager.deleteClassroom(id, version);
+            manager.deleteClassroom(id, matchVersion(id, ifMatch));
         } catch (ObjectNotFoundException exception) {
             LOG.debug("classroom not found: " + id);
         }
@@ -106,21 +106,29 @@ public class CourseInfoRTO implements Validatable {
      */
     @Override
     public boolean validate() {
+        return validationMessage() == null;
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.webservice.server.rest.Validatable#validationMessage()
+     */
+    @Override
+    public String validationMessage() {
         // should be non-null on creation, null on updates
         // TODO: check pattern, e.g., \\p{Alpha}{4}-\\p{Digit}{4}
         // if ((code == null) || code.isEmpty()) {
-        // return false;
+        // return "code is required";
         // }
 
         if ((name == null) || name.isEmpty()) {
-            return false;
+            return "name is required";
         }
 
         if ((testUuid != null) && !StudentUtil.isPossibleUuid(testUuid)) {
-            return false;
+            return "testUuid is not a valid UUID";
         }
 
-        return true;
+        return null;
     }
 
     @Override
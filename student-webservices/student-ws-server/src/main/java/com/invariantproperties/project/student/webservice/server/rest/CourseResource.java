@@ -22,6 +22,7 @@
  */
 package com.invariantproperties.project.student.webservice.server.rest;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
@@ -29,26 +30,37 @@ import java.util.List;
 import javax.annotation.Resource;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.FormParam;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 
 import org.apache.log4j.Logger;
 import org.springframework.stereotype.Service;
 
+import com.invariantproperties.project.student.business.BulkResult;
 import com.invariantproperties.project.student.business.CourseFinderService;
 import com.invariantproperties.project.student.business.CourseManagerService;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.business.TestRunService;
 import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.CourseSummary;
 import com.invariantproperties.project.student.domain.TestRun;
 
 @Service
@@ -56,6 +68,7 @@ import com.invariantproperties.project.student.domain.TestRun;
 public class CourseResource extends AbstractResource {
     private static final Logger LOG = Logger.getLogger(CourseResource.class);
     private static final Course[] EMPTY_COURSE_ARRAY = new Course[0];
+    private static final CourseSummary[] EMPTY_COURSE_SUMMARY_ARRAY = new CourseSummary[0];
 
     @Context
     UriInfo uriInfo;
@@ -80,7 +93,7 @@ public class CourseResource extends AbstractResource {
     }
 
     /**
-     * Set values used in unit tests. (Required due to AOP)
+     * Set values used in unit tests.
      * 
      * @param finder
      * @param manager
@@ -93,25 +106,187 @@ public class CourseResource extends AbstractResource {
     }
 
     /**
-     * Get all Courses.
+     * Get all Courses, or a single page of Courses if maxResults is specified.
+     * If countOnly is set only the number of Courses is returned.
      * 
+     * @param countOnly
+     * @param testUuid
+     * @param offset
+     * @param maxResults
+     * @param orderBy
+     * @param ifNoneMatch
      * @return
      */
     @GET
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
-    public Response findAllCourses() {
-        final List<Course> courses = finder.findAllCourses();
+    public Response findAllCourses(@QueryParam("countOnly") @DefaultValue("false") boolean countOnly,
+            @QueryParam("testUuid") String testUuid, @QueryParam("offset") Integer offset,
+            @QueryParam("maxResults") Integer maxResults, @QueryParam("orderBy") String orderBy,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+
+        TestRun testRun = null;
+        if (testUuid != null) {
+            // 'object not found' handled by exception mapper
+            testRun = testRunService.findTestRunByUuid(testUuid);
+            if (testRun == null) {
+                return Response.status(Status.BAD_REQUEST).entity("unknown test UUID").build();
+            }
+        }
+
+        if (countOnly) {
+            final long count = (testRun == null) ? finder.count() : finder.countByTestRun(testRun);
+            return Response.ok(scrubCount(count), MediaType.APPLICATION_JSON).build();
+        }
+
+        if (maxResults != null) {
+            return findCourses(testRun, offset, maxResults, orderBy, ifNoneMatch);
+        }
+
+        final List<Course> courses;
+        if (testRun == null) {
+            courses = finder.findAllCourses();
+        } else {
+            courses = finder.findCoursesByTestRun(testRun);
+        }
 
         final List<Course> results = new ArrayList<Course>(courses.size());
         for (Course course : courses) {
             results.add(scrubCourse(course));
         }
 
-        final Response response = Response.ok(results.toArray(EMPTY_COURSE_ARRAY)).build();
+        final Response response = okOrNotModified(ifNoneMatch, entityTag(results, false),
+                results.toArray(EMPTY_COURSE_ARRAY)).build();
+
+        return response;
+    }
+
+    /**
+     * Export all Courses, or all Courses in a test run. The results are a JSON
+     * array, or NDJSON if the client accepts it, and are streamed from the
+     * database so memory use doesn't depend on the number of Courses.
+     * 
+     * @param testUuid
+     * @param accept
+     * @return
+     */
+    @Path("/export")
+    @GET
+    @Produces({ MediaType.APPLICATION_JSON, RecordImporter.APPLICATION_NDJSON })
+    public Response exportCourses(@QueryParam("testUuid") String testUuid,
+            @HeaderParam(HttpHeaders.ACCEPT) String accept) {
+        TestRun testRun = null;
+        if (testUuid != null) {
+            // 'object not found' handled by exception mapper
+            testRun = testRunService.findTestRunByUuid(testUuid);
+            if (testRun == null) {
+                return Response.status(Status.BAD_REQUEST).entity("unknown test UUID").build();
+            }
+        }
+
+        final boolean ndjson = (accept != null) && accept.contains(RecordImporter.APPLICATION_NDJSON);
+        final RecordExporter<Course> exporter = new RecordExporter<Course>(finder, testRun, Course.class, ndjson) {
+            @Override
+            protected Course scrub(Course dirty) {
+                return scrubCourse(dirty);
+            }
+        };
+
+        return Response.ok(exporter, ndjson ? RecordImporter.APPLICATION_NDJSON : MediaType.APPLICATION_JSON).build();
+    }
+
+    /**
+     * Get a single page of Courses.
+     * 
+     * @param testRun
+     * @param offset
+     * @param maxResults
+     * @param orderBy
+     * @param ifNoneMatch
+     * @return
+     */
+    Response findCourses(TestRun testRun, Integer offset, Integer maxResults, String orderBy, String ifNoneMatch) {
+        final Paging paging;
+        final ResultPage<Course> page;
+        try {
+            paging = toPaging(offset, maxResults, orderBy);
+            if (testRun == null) {
+                page = finder.findCourses(paging);
+            } else {
+                page = finder.findCoursesByTestRun(testRun, paging);
+            }
+        } catch (IllegalArgumentException e) {
+            return Response.status(Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+
+        final List<Course> results = new ArrayList<Course>(page.getContent().size());
+        for (Course course : page.getContent()) {
+            results.add(scrubCourse(course));
+        }
+
+        final EntityTag tag = entityTag(results, page.hasNext());
+        final Response response = nextLink(okOrNotModified(ifNoneMatch, tag, results.toArray(EMPTY_COURSE_ARRAY)),
+                paging, page).build();
 
         return response;
     }
 
+    /**
+     * Get summaries of all Courses, or a single page of summaries if
+     * maxResults is specified. The summaries don't include the course summary
+     * and description text so they should be used for listings.
+     * 
+     * @param testUuid
+     * @param offset
+     * @param maxResults
+     * @param orderBy
+     * @param ifNoneMatch
+     * @return
+     */
+    @Path("/summary")
+    @GET
+    @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
+    public Response findCourseSummaries(@QueryParam("testUuid") String testUuid,
+            @QueryParam("offset") Integer offset, @QueryParam("maxResults") Integer maxResults,
+            @QueryParam("orderBy") String orderBy, @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+
+        TestRun testRun = null;
+        if (testUuid != null) {
+            // 'object not found' handled by exception mapper
+            testRun = testRunService.findTestRunByUuid(testUuid);
+            if (testRun == null) {
+                return Response.status(Status.BAD_REQUEST).entity("unknown test UUID").build();
+            }
+        }
+
+        Paging paging = null;
+        final List<CourseSummary> summaries;
+        ResultPage<CourseSummary> page = null;
+        try {
+            if (maxResults == null) {
+                summaries = (testRun == null) ? finder.findAllCourseSummaries() : finder
+                        .findCourseSummariesByTestRun(testRun);
+            } else {
+                paging = toPaging(offset, maxResults, orderBy);
+                page = (testRun == null) ? finder.findCourseSummaries(paging) : finder.findCourseSummariesByTestRun(
+                        testRun, paging);
+                summaries = page.getContent();
+            }
+        } catch (IllegalArgumentException e) {
+            return Response.status(Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+
+        final List<CourseSummary> results = new ArrayList<CourseSummary>(summaries.size());
+        for (CourseSummary summary : summaries) {
+            results.add(scrubCourseSummary(summary));
+        }
+
+        final boolean hasNext = (page != null) && page.hasNext();
+        final ResponseBuilder builder = okOrNotModified(ifNoneMatch, summaryEntityTag(results, hasNext),
+                results.toArray(EMPTY_COURSE_SUMMARY_ARRAY));
+
+        return ((page == null) ? builder : nextLink(builder, paging, page)).build();
+    }
+
     /**
      * Create a Course.
      * 
@@ -124,6 +299,10 @@ public class CourseResource extends AbstractResource {
     @Consumes({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     public Response createCourse(CourseInfoRTO req) {
+        if (!req.validate()) {
+            return badPayload(req);
+        }
+
         final String code = req.getCode();
         final String name = req.getName();
 
@@ -150,20 +329,96 @@ public class CourseResource extends AbstractResource {
         return response;
     }
 
+    /**
+     * Import Courses from an NDJSON or CSV upload. Records are validated and
+     * created in batches as they're read and the per-record results are
+     * streamed back as NDJSON.
+     * 
+     * @param contentType
+     * @param body
+     * @return
+     */
+    @Path("/import")
+    @POST
+    @Consumes({ RecordImporter.APPLICATION_NDJSON, RecordImporter.TEXT_CSV })
+    @Produces(RecordImporter.APPLICATION_NDJSON)
+    public Response importCourses(@HeaderParam(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) {
+        final RecordImporter<CourseInfoRTO, Course> importer = new RecordImporter<CourseInfoRTO, Course>(
+                CourseInfoRTO.class, body, contentType, testRunService, RecordImporter.DEFAULT_BATCH_SIZE) {
+            @Override
+            protected Course toEntity(CourseInfoRTO rto, TestRun testRun) {
+                final Course course = new Course();
+                course.setCode(rto.getCode());
+                course.setName(rto.getName());
+                course.setSummary(rto.getSummary());
+                course.setDescription(rto.getDescription());
+                course.setCreditHours(rto.getCreditHours());
+                course.setTestRun(testRun);
+                return course;
+            }
+
+            @Override
+            protected String getTestUuid(CourseInfoRTO rto) {
+                return rto.getTestUuid();
+            }
+
+            @Override
+            protected BulkResult<Course> create(List<Course> batch) {
+                return manager.createCourses(batch);
+            }
+
+            @Override
+            protected String uuidOf(Course created) {
+                return created.getUuid();
+            }
+        };
+
+        return Response.ok(importer, RecordImporter.APPLICATION_NDJSON_TYPE).build();
+    }
+
+    /**
+     * Get the Courses with the specified uuids in a single request. The
+     * uuids are form parameters so a large lookup isn't limited by the URL
+     * length. The results are in the order of the uuids and unknown uuids are
+     * skipped.
+     * 
+     * @param uuids
+     * @return
+     */
+    @Path("/lookup")
+    @POST
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
+    public Response lookupCourses(@FormParam("uuid") List<String> uuids) {
+        if (uuids.size() > MAX_LOOKUP_SIZE) {
+            return badLookup(uuids);
+        }
+
+        final List<Course> courses = finder.findCoursesByUuids(uuids);
+        final List<Course> results = new ArrayList<Course>(courses.size());
+        for (Course course : courses) {
+            results.add(scrubCourse(course));
+        }
+
+        return Response.ok(results.toArray(EMPTY_COURSE_ARRAY)).build();
+    }
+
     /**
      * Get a specific Course.
      * 
      * @param uuid
+     * @param ifNoneMatch
      * @return
      */
     @Path("/{courseId}")
     @GET
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
-    public Response getCourse(@PathParam("courseId") String id) {
+    public Response getCourse(@PathParam("courseId") String id,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
 
-        // 'object not found' handled by AOP
+        // 'object not found' handled by exception mapper
         Course course = finder.findCourseByUuid(id);
-        final Response response = Response.ok(scrubCourse(course)).build();
+        final Response response = okOrNotModified(ifNoneMatch, entityTag(course), scrubCourse(course)).build();
 
         return response;
     }
@@ -171,25 +426,44 @@ public class CourseResource extends AbstractResource {
     /**
      * Update a Course.
      * 
+     * If there is an If-Match header the course is updated by a single
+     * conditional statement instead of being read first. The response is then
+     * '204 No Content' with the new entity tag, or '412 Precondition Failed'
+     * if the course has been modified.
+     * 
      * FIXME: what about uniqueness violations?
      * 
      * @param id
      * @param req
+     * @param ifMatch
+     *            entity tag of the version to update, optional
      * @return
      */
     @Path("/{courseId}")
     @POST
     @Consumes({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
-    public Response updateCourse(@PathParam("courseId") String id, CourseInfoRTO req) {
+    public Response updateCourse(@PathParam("courseId") String id, CourseInfoRTO req,
+            @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch) {
+        if (!req.validate()) {
+            return badPayload(req);
+        }
 
         final String name = req.getName();
 
-        // 'object not found' handled by AOP
+        // 'object not found' and 'stale object' handled by exception mappers
+        final Integer version = matchVersion(id, ifMatch);
+        if (version != null) {
+            final Integer updatedVersion = manager.updateCourse(id, version, name, req.getSummary(),
+                    req.getDescription(), req.getCreditHours());
+            return Response.noContent().tag(entityTag(id, updatedVersion)).build();
+        }
+
+        // 'object not found' handled by exception mapper
         final Course course = finder.findCourseByUuid(id);
         final Course updatedCourse = manager.updateCourse(course, name, req.getSummary(), req.getDescription(),
                 req.getCreditHours());
-        final Response response = Response.ok(scrubCourse(updatedCourse)).build();
+        final Response response = Response.ok(scrubCourse(updatedCourse)).tag(entityTag(updatedCourse)).build();
 
         return response;
     }
@@ -198,15 +472,18 @@ public class CourseResource extends AbstractResource {
      * Delete a Course.
      * 
      * @param id
+     * @param ifMatch
+     *            entity tag of the version to delete, optional
      * @return
      */
     @Path("/{courseId}")
     @DELETE
-    public Response deleteCourse(@PathParam("courseId") String id, @PathParam("version") Integer version) {
+    public Response deleteCourse(@PathParam("courseId") String id,
+            @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch) {
 
-        // we don't use AOP handler since it's okay for there to be no match
+        // we don't use the exception mapper since it's okay for there to be no match
         try {
-            manager.deleteCourse(id, version);
+            manager.deleteCourse(id, matchVersion(id, ifMatch));
         } catch (ObjectNotFoundException exception) {
             LOG.debug("course not found: " + id);
         }
@@ -22,6 +22,7 @@
  */
 package com.invariantproperties.project.student.webservice.server.rest;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
@@ -29,12 +30,18 @@ import java.util.List;
 import javax.annotation.Resource;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.FormParam;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
@@ -44,9 +51,12 @@ import javax.ws.rs.core.UriInfo;
 import org.apache.log4j.Logger;
 import org.springframework.stereotype.Service;
 
+import com.invariantproperties.project.student.business.BulkResult;
 import com.invariantproperties.project.student.business.InstructorFinderService;
 import com.invariantproperties.project.student.business.InstructorManagerService;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.business.TestRunService;
 import com.invariantproperties.project.student.domain.Instructor;
 import com.invariantproperties.project.student.domain.TestRun;
@@ -80,7 +90,7 @@ public class InstructorResource extends AbstractResource {
     }
 
     /**
-     * Set values used in unit tests. (Required due to AOP)
+     * Set values used in unit tests.
      * 
      * @param finder
      * @param manager
@@ -93,22 +103,127 @@ public class InstructorResource extends AbstractResource {
     }
 
     /**
-     * Get all Instructors.
+     * Get all Instructors, or a single page of Instructors if maxResults is specified.
+     * If countOnly is set only the number of Instructors is returned.
      * 
+     * @param countOnly
+     * @param testUuid
+     * @param offset
+     * @param maxResults
+     * @param orderBy
+     * @param ifNoneMatch
      * @return
      */
     @GET
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
-    public Response findAllInstructors() {
+    public Response findAllInstructors(@QueryParam("countOnly") @DefaultValue("false") boolean countOnly,
+            @QueryParam("testUuid") String testUuid, @QueryParam("offset") Integer offset,
+            @QueryParam("maxResults") Integer maxResults, @QueryParam("orderBy") String orderBy,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+
+        TestRun testRun = null;
+        if (testUuid != null) {
+            // 'object not found' handled by exception mapper
+            testRun = testService.findTestRunByUuid(testUuid);
+            if (testRun == null) {
+                return Response.status(Status.BAD_REQUEST).entity("unknown test UUID").build();
+            }
+        }
 
-        final List<Instructor> instructors = finder.findAllInstructors();
+        if (countOnly) {
+            final long count = (testRun == null) ? finder.count() : finder.countByTestRun(testRun);
+            return Response.ok(scrubCount(count), MediaType.APPLICATION_JSON).build();
+        }
+
+        if (maxResults != null) {
+            return findInstructors(testRun, offset, maxResults, orderBy, ifNoneMatch);
+        }
+
+        final List<Instructor> instructors;
+        if (testRun == null) {
+            instructors = finder.findAllInstructors();
+        } else {
+            instructors = finder.findInstructorsByTestRun(testRun);
+        }
 
         final List<Instructor> results = new ArrayList<Instructor>(instructors.size());
         for (Instructor instructor : instructors) {
             results.add(scrubInstructor(instructor));
         }
 
-        final Response response = Response.ok(results.toArray(EMPTY_INSTRUCTOR_ARRAY)).build();
+        final Response response = okOrNotModified(ifNoneMatch, entityTag(results, false),
+                results.toArray(EMPTY_INSTRUCTOR_ARRAY)).build();
+
+        return response;
+    }
+
+    /**
+     * Export all Instructors, or all Instructors in a test run. The results are a JSON
+     * array, or NDJSON if the client accepts it, and are streamed from the
+     * database so memory use doesn't depend on the number of Instructors.
+     * 
+     * @param testUuid
+     * @param accept
+     * @return
+     */
+    @Path("/export")
+    @GET
+    @Produces({ MediaType.APPLICATION_JSON, RecordImporter.APPLICATION_NDJSON })
+    public Response exportInstructors(@QueryParam("testUuid") String testUuid,
+            @HeaderParam(HttpHeaders.ACCEPT) String accept) {
+        TestRun testRun = null;
+        if (testUuid != null) {
+            // 'object not found' handled by exception mapper
+            testRun = testService.findTestRunByUuid(testUuid);
+            if (testRun == null) {
+                return Response.status(Status.BAD_REQUEST).entity("unknown test UUID").build();
+            }
+        }
+
+        final boolean ndjson = (accept != null) && accept.contains(RecordImporter.APPLICATION_NDJSON);
+        final RecordExporter<Instructor> exporter;
+        exporter = new RecordExporter<Instructor>(finder, testRun, Instructor.class, ndjson) {
+            @Override
+            protected Instructor scrub(Instructor dirty) {
+                return scrubInstructor(dirty);
+            }
+        };
+
+        return Response.ok(exporter, ndjson ? RecordImporter.APPLICATION_NDJSON : MediaType.APPLICATION_JSON).build();
+    }
+
+    /**
+     * Get a single page of Instructors.
+     * 
+     * @param testRun
+     * @param offset
+     * @param maxResults
+     * @param orderBy
+     * @param ifNoneMatch
+     * @return
+     */
+    Response findInstructors(TestRun testRun, Integer offset, Integer maxResults, String orderBy, String ifNoneMatch) {
+        final Paging paging;
+        final ResultPage<Instructor> page;
+        try {
+            paging = toPaging(offset, maxResults, orderBy);
+            if (testRun == null) {
+                page = finder.findInstructors(paging);
+            } else {
+                page = finder.findInstructorsByTestRun(testRun, paging);
+            }
+        } catch (IllegalArgumentException e) {
+            return Response.status(Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+
+        final List<Instructor> results = new ArrayList<Instructor>(page.getContent().size());
+        for (Instructor instructor : page.getContent()) {
+            results.add(scrubInstructor(instructor));
+        }
+
+        final EntityTag tag = entityTag(results, page.hasNext());
+        final Response response = nextLink(okOrNotModified(ifNoneMatch, tag, results.toArray(EMPTY_INSTRUCTOR_ARRAY)),
+                paging, page).build();
 
         return response;
     }
@@ -125,6 +240,9 @@ public class InstructorResource extends AbstractResource {
     @Consumes({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     public Response createInstructor(NameAndEmailAddressRTO req) {
+        if (!req.validate()) {
+            return badPayload(req);
+        }
 
         final String name = req.getName();
         final String email = req.getEmailAddress();
@@ -153,20 +271,96 @@ public class InstructorResource extends AbstractResource {
         return response;
     }
 
+    /**
+     * Import Instructors from an NDJSON or CSV upload. Records are validated and
+     * created in batches as they're read and the per-record results are
+     * streamed back as NDJSON.
+     * 
+     * @param contentType
+     * @param body
+     * @return
+     */
+    @Path("/import")
+    @POST
+    @Consumes({ RecordImporter.APPLICATION_NDJSON, RecordImporter.TEXT_CSV })
+    @Produces(RecordImporter.APPLICATION_NDJSON)
+    public Response importInstructors(@HeaderParam(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        final RecordImporter<NameAndEmailAddressRTO, Instructor> importer;
+        importer = new RecordImporter<NameAndEmailAddressRTO, Instructor>(NameAndEmailAddressRTO.class, body,
+                contentType, testService, RecordImporter.DEFAULT_BATCH_SIZE) {
+            @Override
+            protected Instructor toEntity(NameAndEmailAddressRTO rto, TestRun testRun) {
+                final Instructor instructor = new Instructor();
+                instructor.setName(rto.getName());
+                instructor.setEmailAddress(rto.getEmailAddress());
+                instructor.setTestRun(testRun);
+                return instructor;
+            }
+
+            @Override
+            protected String getTestUuid(NameAndEmailAddressRTO rto) {
+                return rto.getTestUuid();
+            }
+
+            @Override
+            protected BulkResult<Instructor> create(List<Instructor> batch) {
+                return manager.createInstructors(batch);
+            }
+
+            @Override
+            protected String uuidOf(Instructor created) {
+                return created.getUuid();
+            }
+        };
+
+        return Response.ok(importer, RecordImporter.APPLICATION_NDJSON_TYPE).build();
+    }
+
+    /**
+     * Get the Instructors with the specified uuids in a single request. The
+     * uuids are form parameters so a large lookup isn't limited by the URL
+     * length. The results are in the order of the uuids and unknown uuids are
+     * skipped.
+     * 
+     * @param uuids
+     * @return
+     */
+    @Path("/lookup")
+    @POST
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
+    public Response lookupInstructors(@FormParam("uuid") List<String> uuids) {
+        if (uuids.size() > MAX_LOOKUP_SIZE) {
+            return badLookup(uuids);
+        }
+
+        final List<Instructor> instructors = finder.findInstructorsByUuids(uuids);
+        final List<Instructor> results = new ArrayList<Instructor>(instructors.size());
+        for (Instructor instructor : instructors) {
+            results.add(scrubInstructor(instructor));
+        }
+
+        return Response.ok(results.toArray(EMPTY_INSTRUCTOR_ARRAY)).build();
+    }
+
     /**
      * Get a specific Instructor.
      * 
      * @param uuid
+     * @param ifNoneMatch
      * @return
      */
     @Path("/{instructorId}")
     @GET
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
-    public Response getInstructor(@PathParam("instructorId") String id) {
+    public Response getInstructor(@PathParam("instructorId") String id,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
 
-        // 'object not found' handled by AOP
+        // 'object not found' handled by exception mapper
         Instructor instructor = finder.findInstructorByUuid(id);
-        final Response response = Response.ok(scrubInstructor(instructor)).build();
+        final Response response = okOrNotModified(ifNoneMatch, entityTag(instructor), scrubInstructor(instructor))
+                .build();
 
         return response;
     }
@@ -185,14 +379,18 @@ public class InstructorResource extends AbstractResource {
     @Consumes({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     public Response updateInstructor(@PathParam("instructorId") String id, NameAndEmailAddressRTO req) {
+        if (!req.validate()) {
+            return badPayload(req);
+        }
 
         final String name = req.getName();
         final String email = req.getEmailAddress();
 
-        // 'object not found' handled by AOP
+        // 'object not found' handled by exception mapper
         final Instructor instructor = finder.findInstructorByUuid(id);
         final Instructor updatedInstructor = manager.updateInstructor(instructor, name, email);
-        final Response response = Response.ok(scrubInstructor(updatedInstructor)).build();
+        final Response response = Response.ok(scrubInstructor(updatedInstructor)).tag(entityTag(updatedInstructor))
+                .build();
 
         return response;
     }
@@ -201,15 +399,18 @@ public class InstructorResource extends AbstractResource {
      * Delete a Instructor.
      * 
      * @param id
+     * @param ifMatch
+     *            entity tag of the version to delete, optional
      * @return
      */
     @Path("/{instructorId}")
     @DELETE
-    public Response deleteInstructor(@PathParam("instructorId") String id, @PathParam("version") Integer version) {
+    public Response deleteInstructor(@PathParam("instructorId") String id,
+            @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch) {
 
-        // we don't use AOP handler since it's okay for there to be no match
+        // we don't use the exception mapper since it's okay for there to be no match
         try {
-            manager.deleteInstructor(id, version);
+            manager.deleteInstructor(id, matchVersion(id, ifMatch));
         } catch (ObjectNotFoundException exception) {
             LOG.debug("instructor not found: " + id);
         }
@@ -79,19 +79,27 @@ public class NameAndEmailAddressRTO implements Validatable {
      */
     @Override
     public boolean validate() {
+        return validationMessage() == null;
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.webservice.server.rest.Validatable#validationMessage()
+     */
+    @Override
+    public String validationMessage() {
         if ((name == null) || !NAME_PATTERN.matcher(name).matches()) {
-            return false;
+            return "name is missing or contains invalid characters";
         }
 
         if ((emailAddress == null) || !EMAIL_PATTERN.matcher(emailAddress).matches()) {
-            return false;
+            return "emailAddress is missing or malformed";
         }
 
         if ((testUuid != null) && !StudentUtil.isPossibleUuid(testUuid)) {
-            return false;
+            return "testUuid is not a valid UUID";
         }
 
-        return true;
+        return null;
     }
 
     @Override
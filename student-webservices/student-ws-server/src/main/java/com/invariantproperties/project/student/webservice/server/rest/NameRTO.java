@@ -55,15 +55,23 @@ public class NameRTO implements Validatable {
      */
     @Override
     public boolean validate() {
+        return validationMessage() == null;
+    }
+
+    /**
+     * @see com.invariantproperties.project.student.webservice.server.rest.Validatable#validationMessage()
+     */
+    @Override
+    public String validationMessage() {
         if ((name == null) || name.isEmpty()) {
-            return false;
+            return "name is required";
         }
 
         if ((testUuid != null) && !StudentUtil.isPossibleUuid(testUuid)) {
-            return false;
+            return "testUuid is not a valid UUID";
         }
 
-        return true;
+        return null;
     }
 
     @Override
@@ -0,0 +1,151 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.server.rest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+import javax.xml.bind.JAXBException;
+
+import com.invariantproperties.project.student.business.FinderService;
+import com.invariantproperties.project.student.business.ResultHandler;
+import com.invariantproperties.project.student.domain.PersistentObject;
+import com.invariantproperties.project.student.domain.TestRun;
+import com.sun.jersey.api.json.JSONJAXBContext;
+import com.sun.jersey.api.json.JSONMarshaller;
+
+/**
+ * Streaming export of an entire collection. Objects are read from the
+ * database with a forward-only cursor, scrubbed and written to the response
+ * one at a time so memory use does not depend on the size of the table.
+ * 
+ * The output is either a JSON array, in the same format as the 'find all'
+ * methods, or NDJSON with one object per line.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public abstract class RecordExporter<T extends PersistentObject> implements StreamingOutput {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final ConcurrentMap<Class<?>, JSONJAXBContext> CONTEXTS =
+            new ConcurrentHashMap<Class<?>, JSONJAXBContext>();
+
+    private final FinderService<T> finder;
+    private final TestRun testRun;
+    private final Class<T> objectClass;
+    private final boolean ndjson;
+
+    /**
+     * Constructor.
+     * 
+     * @param finder
+     * @param testRun
+     *            test run or null for all objects
+     * @param objectClass
+     * @param ndjson
+     *            write NDJSON instead of a JSON array
+     */
+    public RecordExporter(FinderService<T> finder, TestRun testRun, Class<T> objectClass, boolean ndjson) {
+        this.finder = finder;
+        this.testRun = testRun;
+        this.objectClass = objectClass;
+        this.ndjson = ndjson;
+    }
+
+    /**
+     * Remove the values that should not be exposed.
+     * 
+     * @param dirty
+     * @return
+     */
+    protected abstract T scrub(T dirty);
+
+    /**
+     * @see javax.ws.rs.core.StreamingOutput#write(java.io.OutputStream)
+     */
+    @Override
+    public void write(OutputStream output) throws IOException, WebApplicationException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(output, UTF8));
+        final JSONMarshaller marshaller;
+        try {
+            marshaller = getContext(objectClass).createJSONMarshaller();
+        } catch (JAXBException e) {
+            throw new WebApplicationException(e);
+        }
+
+        if (!ndjson) {
+            writer.write('[');
+        }
+
+        finder.export(testRun, new ResultHandler<T>() {
+            private boolean first = true;
+
+            @Override
+            public void handle(T item) throws IOException {
+                if (!ndjson && !first) {
+                    writer.write(',');
+                }
+                first = false;
+
+                try {
+                    marshaller.marshallToJSON(scrub(item), writer);
+                } catch (JAXBException e) {
+                    throw new IOException(e);
+                }
+
+                if (ndjson) {
+                    writer.write('\n');
+                }
+            }
+        });
+
+        if (!ndjson) {
+            writer.write(']');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Get the (thread-safe) JAXB context for a class. These are expensive to
+     * create so we only create one per class.
+     * 
+     * @param objectClass
+     * @return
+     * @throws JAXBException
+     */
+    static JSONJAXBContext getContext(Class<?> objectClass) throws JAXBException {
+        JSONJAXBContext context = CONTEXTS.get(objectClass);
+        if (context == null) {
+            CONTEXTS.putIfAbsent(objectClass, new JSONJAXBContext(objectClass));
+            context = CONTEXTS.get(objectClass);
+        }
+        return context;
+    }
+}
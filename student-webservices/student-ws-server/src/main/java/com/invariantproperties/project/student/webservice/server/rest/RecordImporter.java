@@ -0,0 +1,395 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.server.rest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.apache.log4j.Logger;
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.map.DeserializationConfig;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.util.MinimalPrettyPrinter;
+
+import com.invariantproperties.project.student.business.BulkResult;
+import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.TestRunService;
+import com.invariantproperties.project.student.domain.TestRun;
+
+/**
+ * Streaming import of NDJSON (one JSON object per line) or CSV (header line
+ * followed by one record per line) uploads. Records are read one line at a
+ * time, validated with the RTO's {@link Validatable#validationMessage()} and
+ * handed to the bulk manager method in fixed-size batches. Results are written
+ * and flushed to the client every batch-size records, valid or not, so a large
+ * upload never sits in memory.
+ * 
+ * The response is NDJSON with one result per input record, in input order,
+ * e.g., <code>{"line":2,"status":"created","uuid":"..."}</code>. The status is
+ * 'created', 'invalid' or 'failed'. 'invalid' and 'failed' results include a
+ * message.
+ * 
+ * CSV fields may be quoted but quoted fields can't span lines.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public abstract class RecordImporter<R extends Validatable, T> implements StreamingOutput {
+    private static final Logger LOG = Logger.getLogger(RecordImporter.class);
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final ObjectMapper MAPPER = new ObjectMapper().configure(
+            DeserializationConfig.Feature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    public static final MediaType APPLICATION_NDJSON_TYPE = MediaType.valueOf(APPLICATION_NDJSON);
+    public static final String TEXT_CSV = "text/csv";
+    public static final MediaType TEXT_CSV_TYPE = MediaType.valueOf(TEXT_CSV);
+    public static final int DEFAULT_BATCH_SIZE = 250;
+
+    private final Class<R> rtoClass;
+    private final InputStream input;
+    private final boolean csv;
+    private final TestRunService testService;
+    private final int batchSize;
+    private final Map<String, TestRun> testRuns = new HashMap<String, TestRun>();
+
+    /**
+     * Constructor.
+     * 
+     * @param rtoClass
+     *            class of the per-record payload
+     * @param input
+     *            request body
+     * @param contentType
+     *            request content type, CSV or anything else for NDJSON
+     * @param testService
+     *            used to resolve per-record test UUIDs
+     * @param batchSize
+     *            number of records per bulk call
+     */
+    public RecordImporter(Class<R> rtoClass, InputStream input, MediaType contentType, TestRunService testService,
+            int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batch size must be positive");
+        }
+        this.rtoClass = rtoClass;
+        this.input = input;
+        this.csv = (contentType != null) && TEXT_CSV_TYPE.isCompatible(contentType);
+        this.testService = testService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Convert a validated record to a (transient) domain object.
+     * 
+     * @param rto
+     * @param testRun
+     *            test run or null
+     * @return
+     */
+    protected abstract T toEntity(R rto, TestRun testRun);
+
+    /**
+     * Persist a batch of domain objects.
+     * 
+     * @param batch
+     * @return
+     */
+    protected abstract BulkResult<T> create(List<T> batch);
+
+    /**
+     * Get the UUID of a persisted domain object.
+     * 
+     * @param created
+     * @return
+     */
+    protected abstract String uuidOf(T created);
+
+    /**
+     * @see javax.ws.rs.core.StreamingOutput#write(java.io.OutputStream)
+     */
+    @Override
+    public void write(OutputStream output) throws IOException, WebApplicationException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(input, UTF8));
+        final JsonGenerator generator = JSON_FACTORY.createJsonGenerator(output, JsonEncoding.UTF8);
+        generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        // each result is terminated by a newline instead of separated by a space
+        generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+
+        // invalid records are held as nulls so results stay in input order
+        final List<Integer> lines = new ArrayList<Integer>(batchSize);
+        final List<T> pending = new ArrayList<T>(batchSize);
+        final List<String> problems = new ArrayList<String>(batchSize);
+        final List<T> batch = new ArrayList<T>(batchSize);
+        String[] header = null;
+        int lineNumber = 0;
+
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                if (csv && (header == null)) {
+                    header = parseCsvLine(line);
+                    continue;
+                }
+
+                lines.add(lineNumber);
+                try {
+                    final T entity = parse(line, header);
+                    pending.add(entity);
+                    problems.add(null);
+                    batch.add(entity);
+                } catch (InvalidRecordException e) {
+                    pending.add(null);
+                    problems.add(e.getMessage());
+                }
+
+                if (pending.size() == batchSize) {
+                    writeBatch(generator, lines, pending, problems, batch);
+                    generator.flush();
+                }
+            }
+
+            writeBatch(generator, lines, pending, problems, batch);
+        } finally {
+            generator.close();
+            reader.close();
+        }
+    }
+
+    /**
+     * Parse and validate a single record.
+     * 
+     * @param line
+     * @param header
+     *            CSV column names or null for NDJSON
+     * @return domain object
+     * @throws InvalidRecordException
+     *             if the record is invalid
+     */
+    T parse(String line, String[] header) throws InvalidRecordException {
+        final R rto;
+        try {
+            if (header == null) {
+                rto = MAPPER.readValue(line, rtoClass);
+            } else {
+                final String[] values = parseCsvLine(line);
+                final Map<String, String> fields = new LinkedHashMap<String, String>();
+                for (int i = 0; (i < header.length) && (i < values.length); i++) {
+                    if (!values[i].isEmpty()) {
+                        fields.put(header[i], values[i]);
+                    }
+                }
+                rto = MAPPER.convertValue(fields, rtoClass);
+            }
+        } catch (IOException e) {
+            throw new InvalidRecordException("malformed record");
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecordException("malformed record");
+        }
+
+        final String message = rto.validationMessage();
+        if (message != null) {
+            throw new InvalidRecordException(message);
+        }
+
+        final String testUuid = getTestUuid(rto);
+        TestRun testRun = null;
+        if (testUuid != null) {
+            testRun = findTestRun(testUuid);
+            if (testRun == null) {
+                throw new InvalidRecordException("unknown testUuid");
+            }
+        }
+
+        return toEntity(rto, testRun);
+    }
+
+    /**
+     * Get the test UUID from the record, if any.
+     * 
+     * @param rto
+     * @return
+     */
+    protected abstract String getTestUuid(R rto);
+
+    /**
+     * Look up a test run. Uploads normally use a single test run so we only
+     * look each one up once.
+     * 
+     * @param testUuid
+     * @return
+     */
+    TestRun findTestRun(String testUuid) {
+        if (!testRuns.containsKey(testUuid)) {
+            TestRun testRun = null;
+            try {
+                testRun = testService.findTestRunByUuid(testUuid);
+            } catch (ObjectNotFoundException e) {
+                LOG.debug("unknown test UUID: " + testUuid);
+            }
+            testRuns.put(testUuid, testRun);
+        }
+        return testRuns.get(testUuid);
+    }
+
+    /**
+     * Persist the current batch and write one result per pending record.
+     * 
+     * @param generator
+     * @param lines
+     *            line number of each pending record
+     * @param pending
+     *            pending records, null if the record was invalid
+     * @param problems
+     *            reason each pending record is invalid, null if it is valid
+     * @param batch
+     *            the valid pending records
+     * @throws IOException
+     */
+    void writeBatch(JsonGenerator generator, List<Integer> lines, List<T> pending, List<String> problems,
+            List<T> batch) throws IOException {
+        final String[] messages = new String[batch.size()];
+        List<T> succeeded = Collections.emptyList();
+
+        if (!batch.isEmpty()) {
+            final BulkResult<T> results = create(batch);
+            for (BulkResult.Failure failure : results.getFailures()) {
+                messages[failure.getIndex()] = failure.getMessage();
+            }
+            succeeded = results.getSucceeded();
+        }
+
+        // failures are reported by index, successes in order of the remaining
+        // items.
+        int index = 0;
+        int created = 0;
+        for (int i = 0; i < pending.size(); i++) {
+            if (pending.get(i) == null) {
+                writeResult(generator, lines.get(i), "invalid", null, problems.get(i));
+            } else if (messages[index++] == null) {
+                final String uuid = uuidOf(succeeded.get(created++));
+                writeResult(generator, lines.get(i), "created", uuid, null);
+            } else {
+                writeResult(generator, lines.get(i), "failed", null, messages[index - 1]);
+            }
+        }
+
+        lines.clear();
+        pending.clear();
+        problems.clear();
+        batch.clear();
+    }
+
+    /**
+     * Write a single result line.
+     * 
+     * @param generator
+     * @param line
+     * @param status
+     * @param uuid
+     * @param message
+     * @throws IOException
+     */
+    void writeResult(JsonGenerator generator, int line, String status, String uuid, String message)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("line", line);
+        generator.writeStringField("status", status);
+        if (uuid != null) {
+            generator.writeStringField("uuid", uuid);
+        }
+        if (message != null) {
+            generator.writeStringField("message", message);
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * Split a CSV line. Fields may be quoted with double quotes and a quote
+     * within a quoted field is doubled.
+     * 
+     * @param line
+     * @return
+     */
+    static String[] parseCsvLine(String line) {
+        final List<String> fields = new ArrayList<String>();
+        final StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    sb.append(c);
+                } else if ((i + 1 < line.length()) && (line.charAt(i + 1) == '"')) {
+                    sb.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(sb.toString().trim());
+                sb.setLength(0);
+            } else {
+                sb.append(c);
+            }
+        }
+        fields.add(sb.toString().trim());
+
+        return fields.toArray(new String[fields.size()]);
+    }
+
+    /**
+     * A record that can't be parsed or fails validation.
+     */
+    static class InvalidRecordException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        InvalidRecordException(String message) {
+            super(message);
+        }
+    }
+}
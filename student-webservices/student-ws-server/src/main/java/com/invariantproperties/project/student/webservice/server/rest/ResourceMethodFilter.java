@@ -0,0 +1,151 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.server.rest;
+
+import java.util.List;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.UriInfo;
+
+import org.apache.log4j.Logger;
+
+import com.invariantproperties.project.student.util.StudentUtil;
+import com.sun.jersey.spi.container.ContainerRequest;
+import com.sun.jersey.spi.container.ContainerRequestFilter;
+import com.sun.jersey.spi.container.ContainerResponseFilter;
+import com.sun.jersey.spi.container.ResourceFilter;
+
+/**
+ * Request filter for a single resource method. Everything we need to know
+ * about the method - its logger, its name and the path parameters that must
+ * be UUIDs - is determined once, by {@link ResourceMethodFilterFactory}, when
+ * the application starts. The per-request work is limited to checking those
+ * path parameters and logging method entry.
+ * 
+ * Payloads are checked by the resource methods themselves since the filter
+ * runs before the entity is read.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class ResourceMethodFilter implements ResourceFilter, ContainerRequestFilter {
+    private static final String[] NO_PARAMETERS = new String[0];
+
+    private final Logger log;
+    private final String name;
+    private final String[] uuidParameters;
+    private final UriInfo uriInfo;
+
+    /**
+     * Constructor.
+     * 
+     * @param log
+     *            logger for the resource class
+     * @param name
+     *            method name
+     * @param uuidParameters
+     *            names of path parameters that must be UUIDs, may be null
+     * @param uriInfo
+     *            (proxy for) the current request's URI information
+     */
+    public ResourceMethodFilter(Logger log, String name, String[] uuidParameters, UriInfo uriInfo) {
+        this.log = log;
+        this.name = name;
+        this.uuidParameters = (uuidParameters == null) ? NO_PARAMETERS : uuidParameters;
+        this.uriInfo = uriInfo;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String[] getUuidParameters() {
+        return uuidParameters.clone();
+    }
+
+    /**
+     * @see com.sun.jersey.spi.container.ResourceFilter#getRequestFilter()
+     */
+    @Override
+    public ContainerRequestFilter getRequestFilter() {
+        return this;
+    }
+
+    /**
+     * @see com.sun.jersey.spi.container.ResourceFilter#getResponseFilter()
+     */
+    @Override
+    public ContainerResponseFilter getResponseFilter() {
+        return null;
+    }
+
+    /**
+     * Check the request before the resource method is called.
+     * 
+     * @see com.sun.jersey.spi.container.ContainerRequestFilter#filter(com.sun.jersey.spi.container.ContainerRequest)
+     */
+    @Override
+    public ContainerRequest filter(ContainerRequest request) {
+        if ((uuidParameters.length > 0) || log.isDebugEnabled()) {
+            final Response response = check(uriInfo.getPathParameters());
+            if (response != null) {
+                throw new WebApplicationException(response);
+            }
+        }
+
+        return request;
+    }
+
+    /**
+     * Check the path parameters and log method entry.
+     * 
+     * @param pathParameters
+     * @return '400 Bad Request' response if a parameter isn't a UUID, or null
+     *         if the method can be called
+     */
+    Response check(MultivaluedMap<String, String> pathParameters) {
+        for (String parameter : uuidParameters) {
+            final List<String> values = pathParameters.get(parameter);
+            if (values != null) {
+                for (String value : values) {
+                    if (!StudentUtil.isPossibleUuid(value)) {
+                        // this is a possible attack.
+                        if (log.isInfoEnabled()) {
+                            log.info(String.format("%s(): %s", name, parameter));
+                        }
+                        return Response.status(Status.BAD_REQUEST).build();
+                    }
+                }
+            }
+        }
+
+        // this should be safe since parameters have been validated.
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("%s(%s): entry", name, pathParameters));
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.server.rest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.UriInfo;
+
+import org.apache.log4j.Logger;
+
+import com.sun.jersey.api.model.AbstractMethod;
+import com.sun.jersey.api.model.AbstractResourceMethod;
+import com.sun.jersey.api.model.Parameter;
+import com.sun.jersey.spi.container.ResourceFilter;
+import com.sun.jersey.spi.container.ResourceFilterFactory;
+
+/**
+ * Factory for the per-method request filters. Jersey calls this once for each
+ * resource method when it builds its model of the application so the method
+ * metadata is computed at startup instead of on every request.
+ * 
+ * Methods that write - update and delete methods, and any PUT or DELETE
+ * method - must have UUIDs in all of their path parameters.
+ * 
+ * This factory must be listed in the
+ * 'com.sun.jersey.spi.container.ResourceFilters' init-param of the Jersey
+ * servlet.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class ResourceMethodFilterFactory implements ResourceFilterFactory {
+
+    @Context
+    private UriInfo uriInfo;
+
+    /**
+     * Default constructor.
+     */
+    public ResourceMethodFilterFactory() {
+
+    }
+
+    /**
+     * Constructor used in unit tests.
+     * 
+     * @param uriInfo
+     */
+    ResourceMethodFilterFactory(UriInfo uriInfo) {
+        this.uriInfo = uriInfo;
+    }
+
+    /**
+     * @see com.sun.jersey.spi.container.ResourceFilterFactory#create(com.sun.jersey.api.model.AbstractMethod)
+     */
+    @Override
+    public List<ResourceFilter> create(AbstractMethod am) {
+        final Class<?> resourceClass = am.getResource().getResourceClass();
+        if (!(am instanceof AbstractResourceMethod) || !AbstractResource.class.isAssignableFrom(resourceClass)) {
+            return null;
+        }
+
+        final String name = am.getMethod().getName();
+        final String httpMethod = ((AbstractResourceMethod) am).getHttpMethod();
+        String[] uuidParameters = null;
+        if (name.startsWith("update") || name.startsWith("delete") || HttpMethod.PUT.equals(httpMethod)
+                || HttpMethod.DELETE.equals(httpMethod)) {
+            final List<String> names = new ArrayList<String>();
+            for (Parameter parameter : ((AbstractResourceMethod) am).getParameters()) {
+                if (parameter.getSource() == Parameter.Source.PATH) {
+                    names.add(parameter.getSourceName());
+                }
+            }
+            uuidParameters = names.toArray(new String[names.size()]);
+        }
+
+        final ResourceFilter filter = new ResourceMethodFilter(Logger.getLogger(resourceClass), name, uuidParameters,
+                uriInfo);
+
+        return Collections.singletonList(filter);
+    }
+}
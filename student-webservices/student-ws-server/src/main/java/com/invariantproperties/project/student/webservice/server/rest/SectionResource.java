@@ -22,6 +22,7 @@
  */
 package com.invariantproperties.project.student.webservice.server.rest;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
@@ -29,12 +30,19 @@ import java.util.List;
 import javax.annotation.Resource;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.FormParam;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
+import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
@@ -44,11 +52,18 @@ import javax.ws.rs.core.UriInfo;
 import org.apache.log4j.Logger;
 import org.springframework.stereotype.Service;
 
+import com.invariantproperties.project.student.business.BulkResult;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.business.SectionFinderService;
 import com.invariantproperties.project.student.business.SectionManagerService;
 import com.invariantproperties.project.student.business.TestRunService;
+import com.invariantproperties.project.student.domain.Classroom;
+import com.invariantproperties.project.student.domain.Instructor;
+import com.invariantproperties.project.student.domain.PersistentObject;
 import com.invariantproperties.project.student.domain.Section;
+import com.invariantproperties.project.student.domain.Student;
 import com.invariantproperties.project.student.domain.TestRun;
 
 @Service
@@ -56,6 +71,8 @@ import com.invariantproperties.project.student.domain.TestRun;
 public class SectionResource extends AbstractResource {
     private static final Logger LOG = Logger.getLogger(SectionResource.class);
     private static final Section[] EMPTY_SECTION_ARRAY = new Section[0];
+    private static final String WITH_ROSTER = "withRoster";
+    private static final String WITH_SCHEDULE = "withSchedule";
 
     @Context
     UriInfo uriInfo;
@@ -80,7 +97,7 @@ public class SectionResource extends AbstractResource {
     }
 
     /**
-     * Set values used in unit tests. (Required due to AOP)
+     * Set values used in unit tests.
      * 
      * @param finder
      * @param manager
@@ -93,26 +110,223 @@ public class SectionResource extends AbstractResource {
     }
 
     /**
-     * Get all Sections.
+     * Get all Sections, or a single page of Sections if maxResults is specified.
+     * If countOnly is set only the number of Sections is returned.
      * 
+     * A page of Sections in a test run may name a fetch profile, e.g.,
+     * 'withRoster'. The Sections then include the associations loaded by that
+     * profile, see SectionFinderService.
+     * 
+     * @param countOnly
+     * @param testUuid
+     * @param offset
+     * @param maxResults
+     * @param orderBy
+     * @param fetchProfile
+     * @param ifNoneMatch
      * @return
      */
     @GET
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
-    public Response findAllSections() {
+    public Response findAllSections(@QueryParam("countOnly") @DefaultValue("false") boolean countOnly,
+            @QueryParam("testUuid") String testUuid, @QueryParam("offset") Integer offset,
+            @QueryParam("maxResults") Integer maxResults, @QueryParam("orderBy") String orderBy,
+            @QueryParam("fetchProfile") String fetchProfile,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+
+        TestRun testRun = null;
+        if (testUuid != null) {
+            // 'object not found' handled by exception mapper
+            testRun = testService.findTestRunByUuid(testUuid);
+            if (testRun == null) {
+                return Response.status(Status.BAD_REQUEST).entity("unknown test UUID").build();
+            }
+        }
+
+        if (countOnly) {
+            final long count = (testRun == null) ? finder.count() : finder.countByTestRun(testRun);
+            return Response.ok(scrubCount(count), MediaType.APPLICATION_JSON).build();
+        }
 
-        List<Section> sections = finder.findAllSections();
+        if (fetchProfile != null) {
+            if ((testRun == null) || (maxResults == null)) {
+                return Response.status(Status.BAD_REQUEST).entity("fetchProfile requires testUuid and maxResults")
+                        .build();
+            }
+            return findSections(testRun, offset, maxResults, orderBy, fetchProfile, ifNoneMatch);
+        }
 
-        List<Section> results = new ArrayList<Section>(sections.size());
+        if (maxResults != null) {
+            return findSections(testRun, offset, maxResults, orderBy, ifNoneMatch);
+        }
+
+        final List<Section> sections;
+        if (testRun == null) {
+            sections = finder.findAllSections();
+        } else {
+            sections = finder.findSectionsByTestRun(testRun);
+        }
+
+        final List<Section> results = new ArrayList<Section>(sections.size());
         for (Section section : sections) {
             results.add(scrubSection(section));
         }
 
-        final Response response = Response.ok(results.toArray(EMPTY_SECTION_ARRAY)).build();
+        final Response response = okOrNotModified(ifNoneMatch, entityTag(results, false),
+                results.toArray(EMPTY_SECTION_ARRAY)).build();
+
+        return response;
+    }
+
+    /**
+     * Export all Sections, or all Sections in a test run. The results are a JSON
+     * array, or NDJSON if the client accepts it, and are streamed from the
+     * database so memory use doesn't depend on the number of Sections.
+     * 
+     * @param testUuid
+     * @param accept
+     * @return
+     */
+    @Path("/export")
+    @GET
+    @Produces({ MediaType.APPLICATION_JSON, RecordImporter.APPLICATION_NDJSON })
+    public Response exportSections(@QueryParam("testUuid") String testUuid,
+            @HeaderParam(HttpHeaders.ACCEPT) String accept) {
+        TestRun testRun = null;
+        if (testUuid != null) {
+            // 'object not found' handled by exception mapper
+            testRun = testService.findTestRunByUuid(testUuid);
+            if (testRun == null) {
+                return Response.status(Status.BAD_REQUEST).entity("unknown test UUID").build();
+            }
+        }
+
+        final boolean ndjson = (accept != null) && accept.contains(RecordImporter.APPLICATION_NDJSON);
+        final RecordExporter<Section> exporter = new RecordExporter<Section>(finder, testRun, Section.class, ndjson) {
+            @Override
+            protected Section scrub(Section dirty) {
+                return scrubSection(dirty);
+            }
+        };
+
+        return Response.ok(exporter, ndjson ? RecordImporter.APPLICATION_NDJSON : MediaType.APPLICATION_JSON).build();
+    }
+
+    /**
+     * Get a single page of Sections.
+     * 
+     * @param testRun
+     * @param offset
+     * @param maxResults
+     * @param orderBy
+     * @param ifNoneMatch
+     * @return
+     */
+    Response findSections(TestRun testRun, Integer offset, Integer maxResults, String orderBy, String ifNoneMatch) {
+        final Paging paging;
+        final ResultPage<Section> page;
+        try {
+            paging = toPaging(offset, maxResults, orderBy);
+            if (testRun == null) {
+                page = finder.findSections(paging);
+            } else {
+                page = finder.findSectionsByTestRun(testRun, paging);
+            }
+        } catch (IllegalArgumentException e) {
+            return Response.status(Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+
+        final List<Section> results = new ArrayList<Section>(page.getContent().size());
+        for (Section section : page.getContent()) {
+            results.add(scrubSection(section));
+        }
+
+        final EntityTag tag = entityTag(results, page.hasNext());
+        final Response response = nextLink(okOrNotModified(ifNoneMatch, tag, results.toArray(EMPTY_SECTION_ARRAY)),
+                paging, page).build();
+
+        return response;
+    }
+
+    /**
+     * Get a single page of Sections in a test run with the associations loaded
+     * by the fetch profile.
+     * 
+     * @param testRun
+     * @param offset
+     * @param maxResults
+     * @param orderBy
+     * @param fetchProfile
+     * @param ifNoneMatch
+     * @return
+     */
+    Response findSections(TestRun testRun, Integer offset, Integer maxResults, String orderBy, String fetchProfile,
+            String ifNoneMatch) {
+        final Paging paging;
+        final ResultPage<Section> page;
+        try {
+            paging = toPaging(offset, maxResults, orderBy);
+            page = finder.findSectionsByTestRun(testRun, paging, fetchProfile);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+
+        // the tag covers the associations as well as the sections
+        final List<Section> results = new ArrayList<Section>(page.getContent().size());
+        final List<PersistentObject> tagged = new ArrayList<PersistentObject>();
+        for (Section section : page.getContent()) {
+            results.add(scrubSection(section, fetchProfile, tagged));
+        }
+
+        final EntityTag tag = entityTag(tagged, page.hasNext());
+        final Response response = nextLink(okOrNotModified(ifNoneMatch, tag, results.toArray(EMPTY_SECTION_ARRAY)),
+                paging, page).build();
 
         return response;
     }
 
+    /**
+     * Scrub a Section and the associations loaded by the fetch profile. The
+     * course and term are included by every profile.
+     * 
+     * @param dirty
+     * @param fetchProfile
+     * @param tagged
+     *            receives the section and each included association
+     * @return
+     */
+    Section scrubSection(Section dirty, String fetchProfile, List<PersistentObject> tagged) {
+        final Section clean = scrubSection(dirty);
+        tagged.add(dirty);
+
+        if (dirty.getCourse() != null) {
+            clean.setCourse(scrubCourse(dirty.getCourse()));
+            tagged.add(dirty.getCourse());
+        }
+        if (dirty.getTerm() != null) {
+            clean.setTerm(scrubTerm(dirty.getTerm()));
+            tagged.add(dirty.getTerm());
+        }
+
+        if (WITH_ROSTER.equals(fetchProfile)) {
+            for (Instructor instructor : dirty.getInstructors()) {
+                clean.getInstructors().add(scrubInstructor(instructor));
+                tagged.add(instructor);
+            }
+            for (Student student : dirty.getStudents()) {
+                clean.getStudents().add(scrubStudent(student));
+                tagged.add(student);
+            }
+        } else if (WITH_SCHEDULE.equals(fetchProfile)) {
+            for (Classroom classroom : dirty.getClassrooms()) {
+                clean.getClassrooms().add(scrubClassroom(classroom));
+                tagged.add(classroom);
+            }
+        }
+
+        return clean;
+    }
+
     /**
      * Create a Section.
      * 
@@ -125,6 +339,9 @@ public class SectionResource extends AbstractResource {
     @Consumes({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     public Response createSection(NameRTO req) {
+        if (!req.validate()) {
+            return badPayload(req);
+        }
 
         final String name = req.getName();
 
@@ -151,20 +368,92 @@ public class SectionResource extends AbstractResource {
         return response;
     }
 
+    /**
+     * Import Sections from an NDJSON or CSV upload. Records are validated and
+     * created in batches as they're read and the per-record results are
+     * streamed back as NDJSON.
+     * 
+     * @param contentType
+     * @param body
+     * @return
+     */
+    @Path("/import")
+    @POST
+    @Consumes({ RecordImporter.APPLICATION_NDJSON, RecordImporter.TEXT_CSV })
+    @Produces(RecordImporter.APPLICATION_NDJSON)
+    public Response importSections(@HeaderParam(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) {
+        final RecordImporter<NameRTO, Section> importer = new RecordImporter<NameRTO, Section>(
+                NameRTO.class, body, contentType, testService, RecordImporter.DEFAULT_BATCH_SIZE) {
+            @Override
+            protected Section toEntity(NameRTO rto, TestRun testRun) {
+                final Section section = new Section();
+                section.setName(rto.getName());
+                section.setTestRun(testRun);
+                return section;
+            }
+
+            @Override
+            protected String getTestUuid(NameRTO rto) {
+                return rto.getTestUuid();
+            }
+
+            @Override
+            protected BulkResult<Section> create(List<Section> batch) {
+                return manager.createSections(batch);
+            }
+
+            @Override
+            protected String uuidOf(Section created) {
+                return created.getUuid();
+            }
+        };
+
+        return Response.ok(importer, RecordImporter.APPLICATION_NDJSON_TYPE).build();
+    }
+
+    /**
+     * Get the Sections with the specified uuids in a single request. The
+     * uuids are form parameters so a large lookup isn't limited by the URL
+     * length. The results are in the order of the uuids and unknown uuids are
+     * skipped.
+     * 
+     * @param uuids
+     * @return
+     */
+    @Path("/lookup")
+    @POST
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
+    public Response lookupSections(@FormParam("uuid") List<String> uuids) {
+        if (uuids.size() > MAX_LOOKUP_SIZE) {
+            return badLookup(uuids);
+        }
+
+        final List<Section> sections = finder.findSectionsByUuids(uuids);
+        final List<Section> results = new ArrayList<Section>(sections.size());
+        for (Section section : sections) {
+            results.add(scrubSection(section));
+        }
+
+        return Response.ok(results.toArray(EMPTY_SECTION_ARRAY)).build();
+    }
+
     /**
      * Get a specific Section.
      * 
      * @param uuid
+     * @param ifNoneMatch
      * @return
      */
     @Path("/{sectionId}")
     @GET
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
-    public Response getSection(@PathParam("sectionId") String id) {
+    public Response getSection(@PathParam("sectionId") String id,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
 
-        // 'object not found' handled by AOP
+        // 'object not found' handled by exception mapper
         Section section = finder.findSectionByUuid(id);
-        final Response response = Response.ok(scrubSection(section)).build();
+        final Response response = okOrNotModified(ifNoneMatch, entityTag(section), scrubSection(section)).build();
 
         return response;
     }
@@ -183,13 +472,16 @@ public class SectionResource extends AbstractResource {
     @Consumes({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     public Response updateSection(@PathParam("sectionId") String id, NameRTO req) {
+        if (!req.validate()) {
+            return badPayload(req);
+        }
 
         final String name = req.getName();
 
-        // 'object not found' handled by AOP
+        // 'object not found' handled by exception mapper
         final Section section = finder.findSectionByUuid(id);
         final Section updatedSection = manager.updateSection(section, name);
-        final Response response = Response.ok(scrubSection(updatedSection)).build();
+        final Response response = Response.ok(scrubSection(updatedSection)).tag(entityTag(updatedSection)).build();
 
         return response;
     }
@@ -198,15 +490,18 @@ public class SectionResource extends AbstractResource {
      * Delete a Section.
      * 
      * @param id
+     * @param ifMatch
+     *            entity tag of the version to delete, optional
      * @return
      */
     @Path("/{sectionId}")
     @DELETE
-    public Response deleteSection(@PathParam("sectionId") String id, @PathParam("version") Integer version) {
+    public Response deleteSection(@PathParam("sectionId") String id,
+            @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch) {
 
-        // we don't use AOP handler since it's okay for there to be no match
+        // we don't use the exception mapper since it's okay for there to be no match
         try {
-            manager.deleteSection(id, version);
+            manager.deleteSection(id, matchVersion(id, ifMatch));
         } catch (ObjectNotFoundException exception) {
             LOG.debug("section not found: " + id);
         }
@@ -215,4 +510,45 @@ public class SectionResource extends AbstractResource {
 
         return response;
     }
+
+    /**
+     * Add a Student to a Section's roster. The response is the number of
+     * roster entries added, i.e., 0 if the student was already enrolled.
+     * 
+     * @param id
+     * @param studentId
+     * @return
+     */
+    @Path("/{sectionId}/students/{studentId}")
+    @PUT
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response addStudentToSection(@PathParam("sectionId") String id, @PathParam("studentId") String studentId) {
+
+        // 'object not found' handled by exception mapper
+        final boolean added = manager.addStudentToSection(id, studentId);
+        final Response response = Response.ok(scrubCount(added ? 1 : 0), MediaType.APPLICATION_JSON).build();
+
+        return response;
+    }
+
+    /**
+     * Remove a Student from a Section's roster. The response is the number of
+     * roster entries removed, i.e., 0 if the student was not enrolled.
+     * 
+     * @param id
+     * @param studentId
+     * @return
+     */
+    @Path("/{sectionId}/students/{studentId}")
+    @DELETE
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response removeStudentFromSection(@PathParam("sectionId") String id,
+            @PathParam("studentId") String studentId) {
+
+        // 'object not found' handled by exception mapper
+        final boolean removed = manager.removeStudentFromSection(id, studentId);
+        final Response response = Response.ok(scrubCount(removed ? 1 : 0), MediaType.APPLICATION_JSON).build();
+
+        return response;
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.server.rest;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+import org.apache.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+import com.invariantproperties.project.student.business.StaleObjectException;
+
+/**
+ * Map a failed version check to '412 Precondition Failed'.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+@Component
+@Provider
+public class StaleObjectExceptionMapper implements ExceptionMapper<StaleObjectException> {
+    private static final Logger LOG = Logger.getLogger(StaleObjectExceptionMapper.class);
+
+    /**
+     * @see javax.ws.rs.ext.ExceptionMapper#toResponse(java.lang.Throwable)
+     */
+    @Override
+    public Response toResponse(StaleObjectException e) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("stale object: " + e.getUuid());
+        }
+
+        return Response.status(Status.PRECONDITION_FAILED).entity("object has been modified").build();
+    }
+}
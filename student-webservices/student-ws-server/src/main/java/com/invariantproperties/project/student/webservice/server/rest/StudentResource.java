@@ -22,6 +22,7 @@
  */
 package com.invariantproperties.project.student.webservice.server.rest;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
@@ -29,12 +30,18 @@ import java.util.List;
 import javax.annotation.Resource;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.FormParam;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
@@ -44,7 +51,10 @@ import javax.ws.rs.core.UriInfo;
 import org.apache.log4j.Logger;
 import org.springframework.stereotype.Service;
 
+import com.invariantproperties.project.student.business.BulkResult;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.business.StudentFinderService;
 import com.invariantproperties.project.student.business.StudentManagerService;
 import com.invariantproperties.project.student.business.TestRunService;
@@ -80,7 +90,7 @@ public class StudentResource extends AbstractResource {
     }
 
     /**
-     * Set values used in unit tests. (Required due to AOP)
+     * Set values used in unit tests.
      * 
      * @param finder
      * @param manager
@@ -93,22 +103,126 @@ public class StudentResource extends AbstractResource {
     }
 
     /**
-     * Get all Students.
+     * Get all Students, or a single page of Students if maxResults is specified.
+     * If countOnly is set only the number of Students is returned.
      * 
+     * @param countOnly
+     * @param testUuid
+     * @param offset
+     * @param maxResults
+     * @param orderBy
+     * @param ifNoneMatch
      * @return
      */
     @GET
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
-    public Response findAllStudents() {
+    public Response findAllStudents(@QueryParam("countOnly") @DefaultValue("false") boolean countOnly,
+            @QueryParam("testUuid") String testUuid, @QueryParam("offset") Integer offset,
+            @QueryParam("maxResults") Integer maxResults, @QueryParam("orderBy") String orderBy,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+
+        TestRun testRun = null;
+        if (testUuid != null) {
+            // 'object not found' handled by exception mapper
+            testRun = testService.findTestRunByUuid(testUuid);
+            if (testRun == null) {
+                return Response.status(Status.BAD_REQUEST).entity("unknown test UUID").build();
+            }
+        }
 
-        final List<Student> students = finder.findAllStudents();
+        if (countOnly) {
+            final long count = (testRun == null) ? finder.count() : finder.countByTestRun(testRun);
+            return Response.ok(scrubCount(count), MediaType.APPLICATION_JSON).build();
+        }
+
+        if (maxResults != null) {
+            return findStudents(testRun, offset, maxResults, orderBy, ifNoneMatch);
+        }
+
+        final List<Student> students;
+        if (testRun == null) {
+            students = finder.findAllStudents();
+        } else {
+            students = finder.findStudentsByTestRun(testRun);
+        }
 
         final List<Student> results = new ArrayList<Student>(students.size());
         for (Student student : students) {
             results.add(scrubStudent(student));
         }
 
-        final Response response = Response.ok(results.toArray(EMPTY_STUDENT_ARRAY)).build();
+        final Response response = okOrNotModified(ifNoneMatch, entityTag(results, false),
+                results.toArray(EMPTY_STUDENT_ARRAY)).build();
+
+        return response;
+    }
+
+    /**
+     * Export all Students, or all Students in a test run. The results are a JSON
+     * array, or NDJSON if the client accepts it, and are streamed from the
+     * database so memory use doesn't depend on the number of Students.
+     * 
+     * @param testUuid
+     * @param accept
+     * @return
+     */
+    @Path("/export")
+    @GET
+    @Produces({ MediaType.APPLICATION_JSON, RecordImporter.APPLICATION_NDJSON })
+    public Response exportStudents(@QueryParam("testUuid") String testUuid,
+            @HeaderParam(HttpHeaders.ACCEPT) String accept) {
+        TestRun testRun = null;
+        if (testUuid != null) {
+            // 'object not found' handled by exception mapper
+            testRun = testService.findTestRunByUuid(testUuid);
+            if (testRun == null) {
+                return Response.status(Status.BAD_REQUEST).entity("unknown test UUID").build();
+            }
+        }
+
+        final boolean ndjson = (accept != null) && accept.contains(RecordImporter.APPLICATION_NDJSON);
+        final RecordExporter<Student> exporter = new RecordExporter<Student>(finder, testRun, Student.class, ndjson) {
+            @Override
+            protected Student scrub(Student dirty) {
+                return scrubStudent(dirty);
+            }
+        };
+
+        return Response.ok(exporter, ndjson ? RecordImporter.APPLICATION_NDJSON : MediaType.APPLICATION_JSON).build();
+    }
+
+    /**
+     * Get a single page of Students.
+     * 
+     * @param testRun
+     * @param offset
+     * @param maxResults
+     * @param orderBy
+     * @param ifNoneMatch
+     * @return
+     */
+    Response findStudents(TestRun testRun, Integer offset, Integer maxResults, String orderBy, String ifNoneMatch) {
+        final Paging paging;
+        final ResultPage<Student> page;
+        try {
+            paging = toPaging(offset, maxResults, orderBy);
+            if (testRun == null) {
+                page = finder.findStudents(paging);
+            } else {
+                page = finder.findStudentsByTestRun(testRun, paging);
+            }
+        } catch (IllegalArgumentException e) {
+            return Response.status(Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+
+        final List<Student> results = new ArrayList<Student>(page.getContent().size());
+        for (Student student : page.getContent()) {
+            results.add(scrubStudent(student));
+        }
+
+        final EntityTag tag = entityTag(results, page.hasNext());
+        final Response response = nextLink(okOrNotModified(ifNoneMatch, tag, results.toArray(EMPTY_STUDENT_ARRAY)),
+                paging, page).build();
 
         return response;
     }
@@ -125,6 +239,9 @@ public class StudentResource extends AbstractResource {
     @Consumes({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     public Response createStudent(NameAndEmailAddressRTO req) {
+        if (!req.validate()) {
+            return badPayload(req);
+        }
 
         final String name = req.getName();
 
@@ -153,20 +270,95 @@ public class StudentResource extends AbstractResource {
         return response;
     }
 
+    /**
+     * Import Students from an NDJSON or CSV upload. Records are validated and
+     * created in batches as they're read and the per-record results are
+     * streamed back as NDJSON.
+     * 
+     * @param contentType
+     * @param body
+     * @return
+     */
+    @Path("/import")
+    @POST
+    @Consumes({ RecordImporter.APPLICATION_NDJSON, RecordImporter.TEXT_CSV })
+    @Produces(RecordImporter.APPLICATION_NDJSON)
+    public Response importStudents(@HeaderParam(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        final RecordImporter<NameAndEmailAddressRTO, Student> importer;
+        importer = new RecordImporter<NameAndEmailAddressRTO, Student>(NameAndEmailAddressRTO.class, body, contentType,
+                testService, RecordImporter.DEFAULT_BATCH_SIZE) {
+            @Override
+            protected Student toEntity(NameAndEmailAddressRTO rto, TestRun testRun) {
+                final Student student = new Student();
+                student.setName(rto.getName());
+                student.setEmailAddress(rto.getEmailAddress());
+                student.setTestRun(testRun);
+                return student;
+            }
+
+            @Override
+            protected String getTestUuid(NameAndEmailAddressRTO rto) {
+                return rto.getTestUuid();
+            }
+
+            @Override
+            protected BulkResult<Student> create(List<Student> batch) {
+                return manager.createStudents(batch);
+            }
+
+            @Override
+            protected String uuidOf(Student created) {
+                return created.getUuid();
+            }
+        };
+
+        return Response.ok(importer, RecordImporter.APPLICATION_NDJSON_TYPE).build();
+    }
+
+    /**
+     * Get the Students with the specified uuids in a single request. The
+     * uuids are form parameters so a large lookup isn't limited by the URL
+     * length. The results are in the order of the uuids and unknown uuids are
+     * skipped.
+     * 
+     * @param uuids
+     * @return
+     */
+    @Path("/lookup")
+    @POST
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
+    public Response lookupStudents(@FormParam("uuid") List<String> uuids) {
+        if (uuids.size() > MAX_LOOKUP_SIZE) {
+            return badLookup(uuids);
+        }
+
+        final List<Student> students = finder.findStudentsByUuids(uuids);
+        final List<Student> results = new ArrayList<Student>(students.size());
+        for (Student student : students) {
+            results.add(scrubStudent(student));
+        }
+
+        return Response.ok(results.toArray(EMPTY_STUDENT_ARRAY)).build();
+    }
+
     /**
      * Get a specific Student.
      * 
      * @param uuid
+     * @param ifNoneMatch
      * @return
      */
     @Path("/{studentId}")
     @GET
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
-    public Response getStudent(@PathParam("studentId") String id) {
+    public Response getStudent(@PathParam("studentId") String id,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
 
-        // 'object not found' handled by AOP
+        // 'object not found' handled by exception mapper
         Student student = finder.findStudentByUuid(id);
-        final Response response = Response.ok(scrubStudent(student)).build();
+        final Response response = okOrNotModified(ifNoneMatch, entityTag(student), scrubStudent(student)).build();
 
         return response;
     }
@@ -185,14 +377,17 @@ public class StudentResource extends AbstractResource {
     @Consumes({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     public Response updateStudent(@PathParam("studentId") String id, NameAndEmailAddressRTO req) {
+        if (!req.validate()) {
+            return badPayload(req);
+        }
 
         final String name = req.getName();
         final String email = req.getEmailAddress();
 
-        // 'object not found' handled by AOP
+        // 'object not found' handled by exception mapper
         final Student student = finder.findStudentByUuid(id);
         final Student updatedStudent = manager.updateStudent(student, name, email);
-        final Response response = Response.ok(scrubStudent(updatedStudent)).build();
+        final Response response = Response.ok(scrubStudent(updatedStudent)).tag(entityTag(updatedStudent)).build();
 
         return response;
     }
@@ -201,15 +396,18 @@ public class StudentResource extends AbstractResource {
      * Delete a Student.
      * 
      * @param id
+     * @param ifMatch
+     *            entity tag of the version to delete, optional
      * @return
      */
     @Path("/{studentId}")
     @DELETE
-    public Response deleteStudent(@PathParam("studentId") String id, @PathParam("version") Integer version) {
+    public Response deleteStudent(@PathParam("studentId") String id,
+            @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch) {
 
-        // we don't use AOP handler since it's okay for there to be no match
+        // we don't use the exception mapper since it's okay for there to be no match
         try {
-            manager.deleteStudent(id, version);
+            manager.deleteStudent(id, matchVersion(id, ifMatch));
         } catch (ObjectNotFoundException exception) {
             LOG.debug("student not found" + id);
         }
@@ -22,6 +22,7 @@
  */
 package com.invariantproperties.project.student.webservice.server.rest;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
@@ -29,12 +30,18 @@ import java.util.List;
 import javax.annotation.Resource;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.FormParam;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
@@ -44,7 +51,10 @@ import javax.ws.rs.core.UriInfo;
 import org.apache.log4j.Logger;
 import org.springframework.stereotype.Service;
 
+import com.invariantproperties.project.student.business.BulkResult;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.business.TermFinderService;
 import com.invariantproperties.project.student.business.TermManagerService;
 import com.invariantproperties.project.student.business.TestRunService;
@@ -80,7 +90,7 @@ public class TermResource extends AbstractResource {
     }
 
     /**
-     * Set values used in unit tests. (Required due to AOP)
+     * Set values used in unit tests.
      * 
      * @param finder
      * @param manager
@@ -93,22 +103,126 @@ public class TermResource extends AbstractResource {
     }
 
     /**
-     * Get all Terms.
+     * Get all Terms, or a single page of Terms if maxResults is specified.
+     * If countOnly is set only the number of Terms is returned.
      * 
+     * @param countOnly
+     * @param testUuid
+     * @param offset
+     * @param maxResults
+     * @param orderBy
+     * @param ifNoneMatch
      * @return
      */
     @GET
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
-    public Response findAllTerms() {
+    public Response findAllTerms(@QueryParam("countOnly") @DefaultValue("false") boolean countOnly,
+            @QueryParam("testUuid") String testUuid, @QueryParam("offset") Integer offset,
+            @QueryParam("maxResults") Integer maxResults, @QueryParam("orderBy") String orderBy,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+
+        TestRun testRun = null;
+        if (testUuid != null) {
+            // 'object not found' handled by exception mapper
+            testRun = testService.findTestRunByUuid(testUuid);
+            if (testRun == null) {
+                return Response.status(Status.BAD_REQUEST).entity("unknown test UUID").build();
+            }
+        }
 
-        final List<Term> terms = finder.findAllTerms();
+        if (countOnly) {
+            final long count = (testRun == null) ? finder.count() : finder.countByTestRun(testRun);
+            return Response.ok(scrubCount(count), MediaType.APPLICATION_JSON).build();
+        }
+
+        if (maxResults != null) {
+            return findTerms(testRun, offset, maxResults, orderBy, ifNoneMatch);
+        }
+
+        final List<Term> terms;
+        if (testRun == null) {
+            terms = finder.findAllTerms();
+        } else {
+            terms = finder.findTermsByTestRun(testRun);
+        }
 
         final List<Term> results = new ArrayList<Term>(terms.size());
         for (Term term : terms) {
             results.add(scrubTerm(term));
         }
 
-        final Response response = Response.ok(results.toArray(EMPTY_TERM_ARRAY)).build();
+        final Response response = okOrNotModified(ifNoneMatch, entityTag(results, false),
+                results.toArray(EMPTY_TERM_ARRAY)).build();
+
+        return response;
+    }
+
+    /**
+     * Export all Terms, or all Terms in a test run. The results are a JSON
+     * array, or NDJSON if the client accepts it, and are streamed from the
+     * database so memory use doesn't depend on the number of Terms.
+     * 
+     * @param testUuid
+     * @param accept
+     * @return
+     */
+    @Path("/export")
+    @GET
+    @Produces({ MediaType.APPLICATION_JSON, RecordImporter.APPLICATION_NDJSON })
+    public Response exportTerms(@QueryParam("testUuid") String testUuid,
+            @HeaderParam(HttpHeaders.ACCEPT) String accept) {
+        TestRun testRun = null;
+        if (testUuid != null) {
+            // 'object not found' handled by exception mapper
+            testRun = testService.findTestRunByUuid(testUuid);
+            if (testRun == null) {
+                return Response.status(Status.BAD_REQUEST).entity("unknown test UUID").build();
+            }
+        }
+
+        final boolean ndjson = (accept != null) && accept.contains(RecordImporter.APPLICATION_NDJSON);
+        final RecordExporter<Term> exporter = new RecordExporter<Term>(finder, testRun, Term.class, ndjson) {
+            @Override
+            protected Term scrub(Term dirty) {
+                return scrubTerm(dirty);
+            }
+        };
+
+        return Response.ok(exporter, ndjson ? RecordImporter.APPLICATION_NDJSON : MediaType.APPLICATION_JSON).build();
+    }
+
+    /**
+     * Get a single page of Terms.
+     * 
+     * @param testRun
+     * @param offset
+     * @param maxResults
+     * @param orderBy
+     * @param ifNoneMatch
+     * @return
+     */
+    Response findTerms(TestRun testRun, Integer offset, Integer maxResults, String orderBy, String ifNoneMatch) {
+        final Paging paging;
+        final ResultPage<Term> page;
+        try {
+            paging = toPaging(offset, maxResults, orderBy);
+            if (testRun == null) {
+                page = finder.findTerms(paging);
+            } else {
+                page = finder.findTermsByTestRun(testRun, paging);
+            }
+        } catch (IllegalArgumentException e) {
+            return Response.status(Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+
+        final List<Term> results = new ArrayList<Term>(page.getContent().size());
+        for (Term term : page.getContent()) {
+            results.add(scrubTerm(term));
+        }
+
+        final EntityTag tag = entityTag(results, page.hasNext());
+        final Response response = nextLink(okOrNotModified(ifNoneMatch, tag, results.toArray(EMPTY_TERM_ARRAY)),
+                paging, page).build();
 
         return response;
     }
@@ -125,6 +239,9 @@ public class TermResource extends AbstractResource {
     @Consumes({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     public Response createTerm(NameRTO req) {
+        if (!req.validate()) {
+            return badPayload(req);
+        }
 
         final String name = req.getName();
 
@@ -151,20 +268,92 @@ public class TermResource extends AbstractResource {
         return response;
     }
 
+    /**
+     * Import Terms from an NDJSON or CSV upload. Records are validated and
+     * created in batches as they're read and the per-record results are
+     * streamed back as NDJSON.
+     * 
+     * @param contentType
+     * @param body
+     * @return
+     */
+    @Path("/import")
+    @POST
+    @Consumes({ RecordImporter.APPLICATION_NDJSON, RecordImporter.TEXT_CSV })
+    @Produces(RecordImporter.APPLICATION_NDJSON)
+    public Response importTerms(@HeaderParam(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) {
+        final RecordImporter<NameRTO, Term> importer = new RecordImporter<NameRTO, Term>(
+                NameRTO.class, body, contentType, testService, RecordImporter.DEFAULT_BATCH_SIZE) {
+            @Override
+            protected Term toEntity(NameRTO rto, TestRun testRun) {
+                final Term term = new Term();
+                term.setName(rto.getName());
+                term.setTestRun(testRun);
+                return term;
+            }
+
+            @Override
+            protected String getTestUuid(NameRTO rto) {
+                return rto.getTestUuid();
+            }
+
+            @Override
+            protected BulkResult<Term> create(List<Term> batch) {
+                return manager.createTerms(batch);
+            }
+
+            @Override
+            protected String uuidOf(Term created) {
+                return created.getUuid();
+            }
+        };
+
+        return Response.ok(importer, RecordImporter.APPLICATION_NDJSON_TYPE).build();
+    }
+
+    /**
+     * Get the Terms with the specified uuids in a single request. The
+     * uuids are form parameters so a large lookup isn't limited by the URL
+     * length. The results are in the order of the uuids and unknown uuids are
+     * skipped.
+     * 
+     * @param uuids
+     * @return
+     */
+    @Path("/lookup")
+    @POST
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
+    public Response lookupTerms(@FormParam("uuid") List<String> uuids) {
+        if (uuids.size() > MAX_LOOKUP_SIZE) {
+            return badLookup(uuids);
+        }
+
+        final List<Term> terms = finder.findTermsByUuids(uuids);
+        final List<Term> results = new ArrayList<Term>(terms.size());
+        for (Term term : terms) {
+            results.add(scrubTerm(term));
+        }
+
+        return Response.ok(results.toArray(EMPTY_TERM_ARRAY)).build();
+    }
+
     /**
      * Get a specific Term.
      * 
      * @param uuid
+     * @param ifNoneMatch
      * @return
      */
     @Path("/{termId}")
     @GET
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
-    public Response getTerm(@PathParam("termId") String id) {
+    public Response getTerm(@PathParam("termId") String id,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
 
-        // 'object not found' handled by AOP
+        // 'object not found' handled by exception mapper
         Term term = finder.findTermByUuid(id);
-        final Response response = Response.ok(scrubTerm(term)).build();
+        final Response response = okOrNotModified(ifNoneMatch, entityTag(term), scrubTerm(term)).build();
 
         return response;
     }
@@ -183,13 +372,16 @@ public class TermResource extends AbstractResource {
     @Consumes({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     public Response updateTerm(@PathParam("termId") String id, NameRTO req) {
+        if (!req.validate()) {
+            return badPayload(req);
+        }
 
         final String name = req.getName();
 
-        // 'object not found' handled by AOP
+        // 'object not found' handled by exception mapper
         final Term term = finder.findTermByUuid(id);
         final Term updatedTerm = manager.updateTerm(term, name);
-        final Response response = Response.ok(scrubTerm(updatedTerm)).build();
+        final Response response = Response.ok(scrubTerm(updatedTerm)).tag(entityTag(updatedTerm)).build();
 
         return response;
     }
@@ -198,15 +390,18 @@ public class TermResource extends AbstractResource {
      * Delete a Term.
      * 
      * @param id
+     * @param ifMatch
+     *            entity tag of the version to delete, optional
      * @return
      */
     @Path("/{termId}")
     @DELETE
-    public Response deleteTerm(@PathParam("termId") String id, @PathParam("version") Integer version) {
+    public Response deleteTerm(@PathParam("termId") String id,
+            @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch) {
 
-        // we don't use AOP handler since it's okay for there to be no match
+        // we don't use the exception mapper since it's okay for there to be no match
         try {
-            manager.deleteTerm(id, version);
+            manager.deleteTerm(id, matchVersion(id, ifMatch));
         } catch (ObjectNotFoundException exception) {
             LOG.debug("term not found: " + id);
         }
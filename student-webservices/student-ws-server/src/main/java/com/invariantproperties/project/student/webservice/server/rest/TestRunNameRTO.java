@@ -47,6 +47,14 @@ public class TestRunNameRTO implements Validatable {
         return true;
     }
 
+    /**
+     * @see com.invariantproperties.project.student.webservice.server.rest.Validatable#validationMessage()
+     */
+    @Override
+    public String validationMessage() {
+        return null;
+    }
+
     @Override
     public String toString() {
         // FIXME: this is unsafe!
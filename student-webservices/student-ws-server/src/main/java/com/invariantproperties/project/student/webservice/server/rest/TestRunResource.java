@@ -29,12 +29,16 @@ import java.util.List;
 import javax.annotation.Resource;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
@@ -45,6 +49,7 @@ import org.apache.log4j.Logger;
 import org.springframework.stereotype.Service;
 
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.StaleObjectException;
 import com.invariantproperties.project.student.business.TestRunService;
 import com.invariantproperties.project.student.domain.TestRun;
 
@@ -80,15 +85,21 @@ public class TestRunResource extends AbstractResource {
     }
 
     /**
-     * Get all TestRuns.
+     * Get all TestRuns. If countOnly is set only the number of TestRuns is
+     * returned. (There is no count query since there are few test runs.)
      * 
+     * @param countOnly
      * @return
      */
     @GET
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
-    public Response findAllTestRuns() {
+    public Response findAllTestRuns(@QueryParam("countOnly") @DefaultValue("false") boolean countOnly) {
         final List<TestRun> testRuns = service.findAllTestRuns();
 
+        if (countOnly) {
+            return Response.ok(scrubCount(testRuns.size()), MediaType.APPLICATION_JSON).build();
+        }
+
         final List<TestRun> results = new ArrayList<TestRun>(testRuns.size());
         for (TestRun testRun : testRuns) {
             results.add(scrubTestRun(testRun));
@@ -109,6 +120,10 @@ public class TestRunResource extends AbstractResource {
     @Consumes({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
     public Response createTestRun(TestRunNameRTO req) {
+        if (!req.validate()) {
+            return badPayload(req);
+        }
+
         LOG.debug("TestRunResource: createTestRun()");
 
         Response response = null;
@@ -132,16 +147,18 @@ public class TestRunResource extends AbstractResource {
      * Get a specific TestRun.
      * 
      * @param uuid
+     * @param ifNoneMatch
      * @return
      */
     @Path("/{testRunId}")
     @GET
     @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_XML })
-    public Response getTestRun(@PathParam("testRunId") String id) {
+    public Response getTestRun(@PathParam("testRunId") String id,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
 
-        // 'object not found' handled by AOP
+        // 'object not found' handled by exception mapper
         TestRun testRun = service.findTestRunByUuid(id);
-        final Response response = Response.ok(scrubTestRun(testRun)).build();
+        final Response response = okOrNotModified(ifNoneMatch, entityTag(testRun), scrubTestRun(testRun)).build();
 
         return response;
     }
@@ -150,14 +167,21 @@ public class TestRunResource extends AbstractResource {
      * Delete a TestRun.
      * 
      * @param id
+     * @param ifMatch
+     *            entity tag of the version to delete, optional
      * @return
      */
     @Path("/{testRunId}")
     @DELETE
-    public Response deleteTestRun(@PathParam("testRunId") String id, @PathParam("version") Integer version) {
+    public Response deleteTestRun(@PathParam("testRunId") String id,
+            @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch) {
 
-        // we don't use AOP handler since it's okay for there to be no match
+        // we don't use the exception mapper since it's okay for there to be no match
         try {
+            final Integer version = matchVersion(id, ifMatch);
+            if ((version != null) && !version.equals(service.findTestRunByUuid(id).getVersion())) {
+                throw new StaleObjectException(id, version);
+            }
             service.deleteTestRun(id);
         } catch (ObjectNotFoundException exception) {
             LOG.debug("testrun not found: " + id);
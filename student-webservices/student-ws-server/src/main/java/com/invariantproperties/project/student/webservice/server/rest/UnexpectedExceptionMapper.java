@@ -0,0 +1,68 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.server.rest;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+import org.apache.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Map any other exception to '500 Server Internal Error' instead of letting it
+ * blow up in the container. Exceptions that already carry a response, e.g.,
+ * from the request filters, keep it.
+ * 
+ * Jersey picks the mapper for the closest superclass so the more specific
+ * mappers take precedence over this one.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+@Component
+@Provider
+public class UnexpectedExceptionMapper implements ExceptionMapper<Exception> {
+    private static final Logger LOG = Logger.getLogger(UnexpectedExceptionMapper.class);
+
+    /**
+     * @see javax.ws.rs.ext.ExceptionMapper#toResponse(java.lang.Throwable)
+     */
+    @Override
+    public Response toResponse(Exception e) {
+        if (e instanceof WebApplicationException) {
+            return ((WebApplicationException) e).getResponse();
+        }
+
+        if (!(e instanceof UnitTestException)) {
+            if (LOG.isInfoEnabled()) {
+                LOG.info("unhandled exception: " + e.getMessage(), e);
+            }
+        } else if (LOG.isTraceEnabled()) {
+            LOG.trace("unit test exception: " + e.getMessage());
+        }
+
+        return Response.status(Status.INTERNAL_SERVER_ERROR).build();
+    }
+}
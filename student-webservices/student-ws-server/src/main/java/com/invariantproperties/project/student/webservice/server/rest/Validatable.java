@@ -25,11 +25,16 @@ package com.invariantproperties.project.student.webservice.server.rest;
 /**
  * XML/JSON payloads that can be validated.
  * 
- * TODO: add way to get list of issues.
- * 
  * @author Bear Giles <bgiles@coyotesong.com>
  */
 public interface Validatable {
 
     boolean validate();
+
+    /**
+     * Describe the first invalid value.
+     * 
+     * @return message or null if the values are valid
+     */
+    String validationMessage();
 }
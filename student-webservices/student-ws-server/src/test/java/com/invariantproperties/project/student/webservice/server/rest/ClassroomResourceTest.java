@@ -24,16 +24,20 @@ package com.invariantproperties.project.student.webservice.server.rest;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 import javax.annotation.Resource;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import org.junit.Before;
@@ -46,8 +50,12 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import com.invariantproperties.project.student.business.ClassroomFinderService;
 import com.invariantproperties.project.student.business.ClassroomManagerService;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.OrderBy;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.business.TestRunService;
 import com.invariantproperties.project.student.domain.Classroom;
+import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.config.TestRestApplicationContext1;
 
 /**
@@ -85,7 +93,7 @@ public class ClassroomResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllClassrooms();
+        final Response response = resource.findAllClassrooms(false, null, null, null, null, null);
 
         assertEquals(200, response.getStatus());
         final Classroom[] actual = (Classroom[]) response.getEntity();
@@ -105,14 +113,14 @@ public class ClassroomResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllClassrooms();
+        final Response response = resource.findAllClassrooms(false, null, null, null, null, null);
 
         assertEquals(200, response.getStatus());
         final Classroom[] actual = (Classroom[]) response.getEntity();
         assertEquals(0, actual.length);
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testFindAllClassroomsFailure() {
         final ClassroomFinderService finder = Mockito.mock(ClassroomFinderService.class);
         when(finder.findAllClassrooms()).thenThrow(new UnitTestException());
@@ -120,9 +128,129 @@ public class ClassroomResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllClassrooms();
+        resource.findAllClassrooms(false, null, null, null, null, null);
+    }
 
-        assertEquals(500, response.getStatus());
+    @Test
+    public void testFindClassroomsPaged() {
+        final Classroom classroom = new Classroom();
+        classroom.setName("name");
+        classroom.setUuid(UUID.randomUUID().toString());
+        final Paging paging = Paging.offset(10, 1, Arrays.asList(OrderBy.desc("name")));
+        final ResultPage<Classroom> page = new ResultPage<Classroom>(Arrays.asList(classroom), paging);
+
+        final ClassroomFinderService finder = Mockito.mock(ClassroomFinderService.class);
+        when(finder.findClassrooms(any(Paging.class))).thenReturn(page);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllClassrooms(false, null, 10, 1, "-name", null);
+
+        assertEquals(200, response.getStatus());
+        final Classroom[] actual = (Classroom[]) response.getEntity();
+        assertEquals(1, actual.length);
+        assertEquals(classroom.getUuid(), actual[0].getUuid());
+        assertEquals("<?offset=11&maxResults=1&orderBy=-name>; rel=\"next\"", response.getMetadata().getFirst("Link"));
+    }
+
+    @Test
+    public void testFindClassroomsPagedBadRequest() {
+        final ClassroomFinderService finder = Mockito.mock(ClassroomFinderService.class);
+        when(finder.findClassrooms(any(Paging.class))).thenThrow(new IllegalArgumentException());
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllClassrooms(false, null, 0, 10, "bogus", null);
+
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    public void testCountClassrooms() {
+        final ClassroomFinderService finder = Mockito.mock(ClassroomFinderService.class);
+        when(finder.count()).thenReturn(3L);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllClassrooms(true, null, null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("{ \"count\": 3 }", response.getEntity());
+    }
+
+    @Test
+    public void testCountClassroomsByTestRun() {
+        final TestRun testRun = new TestRun();
+        testRun.setUuid(UUID.randomUUID().toString());
+
+        final ClassroomFinderService finder = Mockito.mock(ClassroomFinderService.class);
+        when(finder.countByTestRun(testRun)).thenReturn(2L);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+        when(testService.findTestRunByUuid(testRun.getUuid())).thenReturn(testRun);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllClassrooms(true, testRun.getUuid(), null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("{ \"count\": 2 }", response.getEntity());
+    }
+
+    @Test
+    public void testFindClassroomsByTestRun() {
+        final TestRun testRun = new TestRun();
+        testRun.setUuid(UUID.randomUUID().toString());
+        final Classroom classroom = new Classroom();
+        classroom.setUuid(UUID.randomUUID().toString());
+
+        final ClassroomFinderService finder = Mockito.mock(ClassroomFinderService.class);
+        when(finder.findClassroomsByTestRun(testRun)).thenReturn(Arrays.asList(classroom));
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+        when(testService.findTestRunByUuid(testRun.getUuid())).thenReturn(testRun);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllClassrooms(false, testRun.getUuid(), null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        final Classroom[] actual = (Classroom[]) response.getEntity();
+        assertEquals(1, actual.length);
+        assertEquals(classroom.getUuid(), actual[0].getUuid());
+    }
+
+    @Test
+    public void testLookupClassrooms() {
+        final List<String> uuids = Arrays.asList(eng202.getUuid(), eng201.getUuid());
+
+        final ClassroomFinderService finder = Mockito.mock(ClassroomFinderService.class);
+        when(finder.findClassroomsByUuids(uuids)).thenReturn(Arrays.asList(eng202, eng201));
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.lookupClassrooms(uuids);
+
+        assertEquals(200, response.getStatus());
+        final Classroom[] actual = (Classroom[]) response.getEntity();
+        assertEquals(2, actual.length);
+        assertNull(actual[0].getId());
+        assertEquals(eng202.getUuid(), actual[0].getUuid());
+        assertEquals(eng201.getUuid(), actual[1].getUuid());
+    }
+
+    @Test
+    public void testLookupClassroomsTooMany() {
+        final ClassroomFinderService finder = Mockito.mock(ClassroomFinderService.class);
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.lookupClassrooms(Collections.nCopies(AbstractResource.MAX_LOOKUP_SIZE + 1,
+                eng201.getUuid()));
+
+        assertEquals(400, response.getStatus());
     }
 
     @Test
@@ -135,7 +263,7 @@ public class ClassroomResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getClassroom(expected.getUuid());
+        final Response response = resource.getClassroom(expected.getUuid(), null);
 
         assertEquals(200, response.getStatus());
         final Classroom actual = (Classroom) response.getEntity();
@@ -145,6 +273,30 @@ public class ClassroomResourceTest {
     }
 
     @Test
+    public void testGetClassroomNotModified() {
+        final Classroom expected = eng201;
+        expected.setVersion(1);
+
+        final ClassroomFinderService finder = Mockito.mock(ClassroomFinderService.class);
+        when(finder.findClassroomByUuid(expected.getUuid())).thenReturn(expected);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response first = resource.getClassroom(expected.getUuid(), null);
+        final EntityTag tag = (EntityTag) first.getMetadata().getFirst(HttpHeaders.ETAG);
+        final Response response = resource.getClassroom(expected.getUuid(), "\"" + tag.getValue() + "\"");
+
+        assertEquals(304, response.getStatus());
+        assertNull(response.getEntity());
+        assertEquals(tag, response.getMetadata().getFirst(HttpHeaders.ETAG));
+
+        // a new version has a new tag
+        expected.setVersion(2);
+        assertEquals(200, resource.getClassroom(expected.getUuid(), "\"" + tag.getValue() + "\"").getStatus());
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
     public void testGetClassroomMissing() {
         final ClassroomFinderService finder = Mockito.mock(ClassroomFinderService.class);
         when(finder.findClassroomByUuid(eng201.getUuid())).thenThrow(new ObjectNotFoundException(eng201.getUuid()));
@@ -152,12 +304,10 @@ public class ClassroomResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getClassroom(eng201.getUuid());
-
-        assertEquals(404, response.getStatus());
+        resource.getClassroom(eng201.getUuid(), null);
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testGetClassroomFailure() {
         final ClassroomFinderService finder = Mockito.mock(ClassroomFinderService.class);
         when(finder.findClassroomByUuid(eng201.getUuid())).thenThrow(new UnitTestException());
@@ -165,9 +315,7 @@ public class ClassroomResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getClassroom(eng201.getUuid());
-
-        assertEquals(500, response.getStatus());
+        resource.getClassroom(eng201.getUuid(), null);
     }
 
     @Test
@@ -227,7 +375,7 @@ public class ClassroomResourceTest {
         assertEquals(500, response.getStatus());
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testCreateClassroomFailure() {
         final Classroom expected = eng201;
         final NameRTO name = new NameRTO();
@@ -239,9 +387,7 @@ public class ClassroomResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.createClassroom(name);
-
-        assertEquals(500, response.getStatus());
+        resource.createClassroom(name);
     }
 
     @Test
@@ -334,12 +480,12 @@ public class ClassroomResourceTest {
         final Classroom expected = eng201;
 
         final ClassroomManagerService manager = Mockito.mock(ClassroomManagerService.class);
-        doNothing().when(manager).deleteClassroom(expected.getUuid(), 0);
+        doNothing().when(manager).deleteClassroom(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.deleteClassroom(expected.getUuid(), 0);
+        final Response response = resource.deleteClassroom(expected.getUuid(), null);
 
         assertEquals(204, response.getStatus());
     }
@@ -351,28 +497,26 @@ public class ClassroomResourceTest {
         name.setName(expected.getName());
 
         final ClassroomManagerService manager = Mockito.mock(ClassroomManagerService.class);
-        doThrow(new ObjectNotFoundException(expected.getUuid())).when(manager).deleteClassroom(expected.getUuid(), 0);
+        doThrow(new ObjectNotFoundException(expected.getUuid())).when(manager).deleteClassroom(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.deleteClassroom(expected.getUuid(), 0);
+        final Response response = resource.deleteClassroom(expected.getUuid(), null);
 
         assertEquals(204, response.getStatus());
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testDeleteClassroomFailure() {
         final Classroom expected = eng201;
 
         final ClassroomManagerService manager = Mockito.mock(ClassroomManagerService.class);
-        doThrow(new UnitTestException()).when(manager).deleteClassroom(expected.getUuid(), 0);
+        doThrow(new UnitTestException()).when(manager).deleteClassroom(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.deleteClassroom(expected.getUuid(), 0);
-
-        assertEquals(500, response.getStatus());
+        resource.deleteClassroom(expected.getUuid(), null);
     }
 }
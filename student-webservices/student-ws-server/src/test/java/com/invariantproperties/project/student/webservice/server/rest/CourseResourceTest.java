@@ -24,17 +24,25 @@ package com.invariantproperties.project.student.webservice.server.rest;
 
 import static com.invariantproperties.project.student.matcher.CourseEquality.equalTo;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 import javax.annotation.Resource;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import org.junit.Before;
@@ -47,8 +55,14 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import com.invariantproperties.project.student.business.CourseFinderService;
 import com.invariantproperties.project.student.business.CourseManagerService;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.OrderBy;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
+import com.invariantproperties.project.student.business.StaleObjectException;
 import com.invariantproperties.project.student.business.TestRunService;
 import com.invariantproperties.project.student.domain.Course;
+import com.invariantproperties.project.student.domain.CourseSummary;
+import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.config.TestRestApplicationContext1;
 
 /**
@@ -94,7 +108,7 @@ public class CourseResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllCourses();
+        final Response response = resource.findAllCourses(false, null, null, null, null, null);
 
         assertEquals(200, response.getStatus());
         final Course[] actual = (Course[]) response.getEntity();
@@ -115,14 +129,14 @@ public class CourseResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllCourses();
+        final Response response = resource.findAllCourses(false, null, null, null, null, null);
 
         assertEquals(200, response.getStatus());
         final Course[] actual = (Course[]) response.getEntity();
         assertEquals(0, actual.length);
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testFindAllCoursesFailure() {
         final CourseFinderService finder = Mockito.mock(CourseFinderService.class);
         when(finder.findAllCourses()).thenThrow(new UnitTestException());
@@ -130,9 +144,202 @@ public class CourseResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllCourses();
+        resource.findAllCourses(false, null, null, null, null, null);
+    }
 
-        assertEquals(500, response.getStatus());
+    @Test
+    public void testFindCoursesPaged() {
+        final Course course = new Course();
+        course.setName("name");
+        course.setUuid(UUID.randomUUID().toString());
+        final Paging paging = Paging.offset(10, 1, Arrays.asList(OrderBy.desc("name")));
+        final ResultPage<Course> page = new ResultPage<Course>(Arrays.asList(course), paging);
+
+        final CourseFinderService finder = Mockito.mock(CourseFinderService.class);
+        when(finder.findCourses(any(Paging.class))).thenReturn(page);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllCourses(false, null, 10, 1, "-name", null);
+
+        assertEquals(200, response.getStatus());
+        final Course[] actual = (Course[]) response.getEntity();
+        assertEquals(1, actual.length);
+        assertEquals(course.getUuid(), actual[0].getUuid());
+        assertEquals("<?offset=11&maxResults=1&orderBy=-name>; rel=\"next\"", response.getMetadata().getFirst("Link"));
+    }
+
+    @Test
+    public void testFindCoursesPagedBadRequest() {
+        final CourseFinderService finder = Mockito.mock(CourseFinderService.class);
+        when(finder.findCourses(any(Paging.class))).thenThrow(new IllegalArgumentException());
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllCourses(false, null, 0, 10, "bogus", null);
+
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    public void testFindCourseSummaries() {
+        final List<CourseSummary> expected = Arrays.asList(new CourseSummary(physics));
+
+        final CourseFinderService finder = Mockito.mock(CourseFinderService.class);
+        when(finder.findAllCourseSummaries()).thenReturn(expected);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findCourseSummaries(null, null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        final CourseSummary[] actual = (CourseSummary[]) response.getEntity();
+        assertEquals(1, actual.length);
+        assertNull(actual[0].getId());
+        assertEquals(physics.getUuid(), actual[0].getUuid());
+        assertEquals(physics.getCode(), actual[0].getCode());
+        assertEquals(physics.getName(), actual[0].getName());
+        assertEquals(physics.getCreditHours(), actual[0].getCreditHours());
+        verify(finder, never()).findAllCourses();
+    }
+
+    @Test
+    public void testFindCourseSummariesPaged() {
+        final Paging paging = Paging.offset(10, 1, Arrays.asList(OrderBy.desc("name")));
+        final ResultPage<CourseSummary> page = new ResultPage<CourseSummary>(Arrays.asList(new CourseSummary(
+                mechanics)), paging);
+
+        final CourseFinderService finder = Mockito.mock(CourseFinderService.class);
+        when(finder.findCourseSummaries(any(Paging.class))).thenReturn(page);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findCourseSummaries(null, 10, 1, "-name", null);
+
+        assertEquals(200, response.getStatus());
+        final CourseSummary[] actual = (CourseSummary[]) response.getEntity();
+        assertEquals(1, actual.length);
+        assertEquals(mechanics.getUuid(), actual[0].getUuid());
+        assertEquals("<?offset=11&maxResults=1&orderBy=-name>; rel=\"next\"", response.getMetadata().getFirst("Link"));
+    }
+
+    @Test
+    public void testFindCourseSummariesNotModified() {
+        final CourseFinderService finder = Mockito.mock(CourseFinderService.class);
+        when(finder.findAllCourseSummaries()).thenReturn(Arrays.asList(new CourseSummary(physics)));
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response first = resource.findCourseSummaries(null, null, null, null, null);
+        final EntityTag tag = (EntityTag) first.getMetadata().getFirst(HttpHeaders.ETAG);
+        final Response response = resource.findCourseSummaries(null, null, null, null, "\"" + tag.getValue() + "\"");
+
+        assertEquals(304, response.getStatus());
+        assertNull(response.getEntity());
+    }
+
+    @Test
+    public void testFindCourseSummariesBadRequest() {
+        final CourseFinderService finder = Mockito.mock(CourseFinderService.class);
+        when(finder.findCourseSummaries(any(Paging.class))).thenThrow(new IllegalArgumentException());
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findCourseSummaries(null, 0, 10, "bogus", null);
+
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    public void testCountCourses() {
+        final CourseFinderService finder = Mockito.mock(CourseFinderService.class);
+        when(finder.count()).thenReturn(3L);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllCourses(true, null, null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("{ \"count\": 3 }", response.getEntity());
+    }
+
+    @Test
+    public void testCountCoursesByTestRun() {
+        final TestRun testRun = new TestRun();
+        testRun.setUuid(UUID.randomUUID().toString());
+
+        final CourseFinderService finder = Mockito.mock(CourseFinderService.class);
+        when(finder.countByTestRun(testRun)).thenReturn(2L);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+        when(testService.findTestRunByUuid(testRun.getUuid())).thenReturn(testRun);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllCourses(true, testRun.getUuid(), null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("{ \"count\": 2 }", response.getEntity());
+    }
+
+    @Test
+    public void testFindCoursesByTestRun() {
+        final TestRun testRun = new TestRun();
+        testRun.setUuid(UUID.randomUUID().toString());
+        final Course course = new Course();
+        course.setUuid(UUID.randomUUID().toString());
+
+        final CourseFinderService finder = Mockito.mock(CourseFinderService.class);
+        when(finder.findCoursesByTestRun(testRun)).thenReturn(Arrays.asList(course));
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+        when(testService.findTestRunByUuid(testRun.getUuid())).thenReturn(testRun);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllCourses(false, testRun.getUuid(), null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        final Course[] actual = (Course[]) response.getEntity();
+        assertEquals(1, actual.length);
+        assertEquals(course.getUuid(), actual[0].getUuid());
+    }
+
+    @Test
+    public void testLookupCourses() {
+        final List<String> uuids = Arrays.asList(mechanics.getUuid(), physics.getUuid());
+
+        final CourseFinderService finder = Mockito.mock(CourseFinderService.class);
+        when(finder.findCoursesByUuids(uuids)).thenReturn(Arrays.asList(mechanics, physics));
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.lookupCourses(uuids);
+
+        assertEquals(200, response.getStatus());
+        final Course[] actual = (Course[]) response.getEntity();
+        assertEquals(2, actual.length);
+        assertNull(actual[0].getId());
+        assertEquals(mechanics.getUuid(), actual[0].getUuid());
+        assertEquals(physics.getUuid(), actual[1].getUuid());
+    }
+
+    @Test
+    public void testLookupCoursesTooMany() {
+        final CourseFinderService finder = Mockito.mock(CourseFinderService.class);
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.lookupCourses(Collections.nCopies(AbstractResource.MAX_LOOKUP_SIZE + 1,
+                physics.getUuid()));
+
+        assertEquals(400, response.getStatus());
     }
 
     @Test
@@ -145,7 +352,7 @@ public class CourseResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getCourse(expected.getUuid());
+        final Response response = resource.getCourse(expected.getUuid(), null);
 
         assertEquals(200, response.getStatus());
         final Course actual = (Course) response.getEntity();
@@ -156,6 +363,30 @@ public class CourseResourceTest {
     }
 
     @Test
+    public void testGetCourseNotModified() {
+        final Course expected = physics;
+        expected.setVersion(1);
+
+        final CourseFinderService finder = Mockito.mock(CourseFinderService.class);
+        when(finder.findCourseByUuid(expected.getUuid())).thenReturn(expected);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response first = resource.getCourse(expected.getUuid(), null);
+        final EntityTag tag = (EntityTag) first.getMetadata().getFirst(HttpHeaders.ETAG);
+        final Response response = resource.getCourse(expected.getUuid(), "\"" + tag.getValue() + "\"");
+
+        assertEquals(304, response.getStatus());
+        assertNull(response.getEntity());
+        assertEquals(tag, response.getMetadata().getFirst(HttpHeaders.ETAG));
+
+        // a new version has a new tag
+        expected.setVersion(2);
+        assertEquals(200, resource.getCourse(expected.getUuid(), "\"" + tag.getValue() + "\"").getStatus());
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
     public void testGetCourseMissing() {
         final CourseFinderService finder = Mockito.mock(CourseFinderService.class);
         when(finder.findCourseByUuid(physics.getUuid())).thenThrow(new ObjectNotFoundException(physics.getUuid()));
@@ -163,12 +394,10 @@ public class CourseResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getCourse(physics.getUuid());
-
-        assertEquals(404, response.getStatus());
+        resource.getCourse(physics.getUuid(), null);
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testGetCourseFailure() {
         final CourseFinderService finder = Mockito.mock(CourseFinderService.class);
         when(finder.findCourseByUuid(physics.getUuid())).thenThrow(new UnitTestException());
@@ -176,9 +405,7 @@ public class CourseResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getCourse(physics.getUuid());
-
-        assertEquals(500, response.getStatus());
+        resource.getCourse(physics.getUuid(), null);
     }
 
     @Test
@@ -245,7 +472,7 @@ public class CourseResourceTest {
         assertEquals(500, response.getStatus());
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testCreateCourseFailure() {
         final Course expected = physics;
         final CourseInfoRTO info = new CourseInfoRTO(expected);
@@ -258,9 +485,7 @@ public class CourseResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.createCourse(info);
-
-        assertEquals(500, response.getStatus());
+        resource.createCourse(info);
     }
 
     @Test
@@ -286,7 +511,7 @@ public class CourseResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, manager, testService);
-        final Response response = resource.updateCourse(expected.getUuid(), info);
+        final Response response = resource.updateCourse(expected.getUuid(), info, null);
 
         assertEquals(200, response.getStatus());
         final Course actual = (Course) response.getEntity();
@@ -309,7 +534,7 @@ public class CourseResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.updateCourse(expected.getUuid(), info);
+        final Response response = resource.updateCourse(expected.getUuid(), info, null);
 
         assertEquals(400, response.getStatus());
     }
@@ -353,17 +578,100 @@ public class CourseResourceTest {
         assertEquals(500, response.getStatus());
     }
 
+    @Test
+    public void testUpdateCourseIfMatch() {
+        final Course expected = physics;
+        final CourseInfoRTO info = new CourseInfoRTO(mechanics);
+        final String ifMatch = "\"" + expected.getUuid() + ".3\"";
+
+        final CourseFinderService finder = Mockito.mock(CourseFinderService.class);
+        final CourseManagerService manager = Mockito.mock(CourseManagerService.class);
+        when(
+                manager.updateCourse(expected.getUuid(), 3, mechanics.getName(), mechanics.getSummary(),
+                        mechanics.getDescription(), mechanics.getCreditHours())).thenReturn(4);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, manager, testService);
+        final Response response = resource.updateCourse(expected.getUuid(), info, ifMatch);
+
+        assertEquals(204, response.getStatus());
+        assertEquals(new EntityTag(expected.getUuid() + ".4"), response.getMetadata().getFirst(HttpHeaders.ETAG));
+        verify(finder, never()).findCourseByUuid(any(String.class));
+    }
+
+    @Test(expected = StaleObjectException.class)
+    public void testUpdateCourseIfMatchStale() {
+        final Course expected = physics;
+        final CourseInfoRTO info = new CourseInfoRTO(mechanics);
+        final String ifMatch = "\"" + expected.getUuid() + ".3\"";
+
+        final CourseManagerService manager = Mockito.mock(CourseManagerService.class);
+        when(
+                manager.updateCourse(expected.getUuid(), 3, mechanics.getName(), mechanics.getSummary(),
+                        mechanics.getDescription(), mechanics.getCreditHours())).thenThrow(
+                new StaleObjectException(expected.getUuid(), 3));
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(null, manager, testService);
+        resource.updateCourse(expected.getUuid(), info, ifMatch);
+    }
+
+    @Test(expected = StaleObjectException.class)
+    public void testUpdateCourseIfMatchOtherObject() {
+        final Course expected = physics;
+        final CourseInfoRTO info = new CourseInfoRTO(mechanics);
+        final String ifMatch = "\"" + mechanics.getUuid() + ".3\"";
+
+        final CourseManagerService manager = Mockito.mock(CourseManagerService.class);
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(null, manager, testService);
+        resource.updateCourse(expected.getUuid(), info, ifMatch);
+        verifyZeroInteractions(manager);
+    }
+
+    @Test
+    public void testDeleteCourseIfMatch() {
+        final Course expected = physics;
+        final String ifMatch = "\"" + expected.getUuid() + ".3\"";
+
+        final CourseManagerService manager = Mockito.mock(CourseManagerService.class);
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(null, manager, testService);
+        final Response response = resource.deleteCourse(expected.getUuid(), ifMatch);
+
+        assertEquals(204, response.getStatus());
+        verify(manager).deleteCourse(expected.getUuid(), 3);
+    }
+
+    @Test(expected = StaleObjectException.class)
+    public void testDeleteCourseIfMatchStale() {
+        final Course expected = physics;
+        final String ifMatch = "\"" + expected.getUuid() + ".3\"";
+
+        final CourseManagerService manager = Mockito.mock(CourseManagerService.class);
+        doThrow(new StaleObjectException(expected.getUuid(), 3)).when(manager).deleteCourse(expected.getUuid(), 3);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(null, manager, testService);
+        resource.deleteCourse(expected.getUuid(), ifMatch);
+    }
+
     @Test
     public void testDeleteCourse() {
         final Course expected = physics;
 
         final CourseManagerService manager = Mockito.mock(CourseManagerService.class);
-        doNothing().when(manager).deleteCourse(expected.getUuid(), 0);
+        doNothing().when(manager).deleteCourse(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.deleteCourse(expected.getUuid(), 0);
+        final Response response = resource.deleteCourse(expected.getUuid(), null);
 
         assertEquals(204, response.getStatus());
     }
@@ -373,17 +681,17 @@ public class CourseResourceTest {
         final Course expected = physics;
 
         final CourseManagerService manager = Mockito.mock(CourseManagerService.class);
-        doThrow(new ObjectNotFoundException(expected.getUuid())).when(manager).deleteCourse(expected.getUuid(), 0);
+        doThrow(new ObjectNotFoundException(expected.getUuid())).when(manager).deleteCourse(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.deleteCourse(expected.getUuid(), 0);
+        final Response response = resource.deleteCourse(expected.getUuid(), null);
 
         assertEquals(204, response.getStatus());
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testDeleteCourseFailure() {
         final Course expected = physics;
 
@@ -391,13 +699,11 @@ public class CourseResourceTest {
         when(finder.findCourseByUuid(expected.getUuid())).thenReturn(expected);
 
         final CourseManagerService manager = Mockito.mock(CourseManagerService.class);
-        doThrow(new UnitTestException()).when(manager).deleteCourse(expected.getUuid(), 0);
+        doThrow(new UnitTestException()).when(manager).deleteCourse(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, manager, testService);
-        final Response response = resource.deleteCourse(expected.getUuid(), 0);
-
-        assertEquals(500, response.getStatus());
+        resource.deleteCourse(expected.getUuid(), null);
     }
 }
@@ -0,0 +1,78 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.server.rest;
+
+import static org.junit.Assert.assertEquals;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+
+import org.junit.Test;
+
+import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.StaleObjectException;
+
+/**
+ * Unit tests for the resource exception mappers.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class ExceptionMapperTest {
+    private static final String UUID = "11111111-1111-1111-1111-111111111111";
+
+    @Test
+    public void testObjectNotFound() {
+        final Response response = new ObjectNotFoundExceptionMapper().toResponse(new ObjectNotFoundException(UUID));
+
+        assertEquals(404, response.getStatus());
+        assertEquals("object not found: [" + UUID + "]", response.getEntity());
+    }
+
+    @Test
+    public void testStaleObject() {
+        final Response response = new StaleObjectExceptionMapper().toResponse(new StaleObjectException(UUID, 3));
+
+        assertEquals(412, response.getStatus());
+    }
+
+    @Test
+    public void testUnexpected() {
+        final Response response = new UnexpectedExceptionMapper().toResponse(new UnitTestException());
+
+        assertEquals(500, response.getStatus());
+    }
+
+    @Test
+    public void testUnexpectedChecked() {
+        final Response response = new UnexpectedExceptionMapper().toResponse(new Exception("checked"));
+
+        assertEquals(500, response.getStatus());
+    }
+
+    @Test
+    public void testWebApplicationException() {
+        final Response response = new UnexpectedExceptionMapper().toResponse(new WebApplicationException(400));
+
+        assertEquals(400, response.getStatus());
+    }
+}
@@ -24,16 +24,20 @@ package com.invariantproperties.project.student.webservice.server.rest;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 import javax.annotation.Resource;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import org.junit.Before;
@@ -46,8 +50,12 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import com.invariantproperties.project.student.business.InstructorFinderService;
 import com.invariantproperties.project.student.business.InstructorManagerService;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.OrderBy;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.business.TestRunService;
 import com.invariantproperties.project.student.domain.Instructor;
+import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.config.TestRestApplicationContext1;
 
 /**
@@ -87,7 +95,7 @@ public class InstructorResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllInstructors();
+        final Response response = resource.findAllInstructors(false, null, null, null, null, null);
 
         assertEquals(200, response.getStatus());
         final Instructor[] actual = (Instructor[]) response.getEntity();
@@ -108,14 +116,14 @@ public class InstructorResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllInstructors();
+        final Response response = resource.findAllInstructors(false, null, null, null, null, null);
 
         assertEquals(200, response.getStatus());
         final Instructor[] actual = (Instructor[]) response.getEntity();
         assertEquals(0, actual.length);
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testFindAllInstructorsFailure() {
         final InstructorFinderService finder = Mockito.mock(InstructorFinderService.class);
         when(finder.findAllInstructors()).thenThrow(new UnitTestException());
@@ -123,9 +131,129 @@ public class InstructorResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllInstructors();
+        resource.findAllInstructors(false, null, null, null, null, null);
+    }
 
-        assertEquals(500, response.getStatus());
+    @Test
+    public void testFindInstructorsPaged() {
+        final Instructor instructor = new Instructor();
+        instructor.setName("name");
+        instructor.setUuid(UUID.randomUUID().toString());
+        final Paging paging = Paging.offset(10, 1, Arrays.asList(OrderBy.desc("name")));
+        final ResultPage<Instructor> page = new ResultPage<Instructor>(Arrays.asList(instructor), paging);
+
+        final InstructorFinderService finder = Mockito.mock(InstructorFinderService.class);
+        when(finder.findInstructors(any(Paging.class))).thenReturn(page);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllInstructors(false, null, 10, 1, "-name", null);
+
+        assertEquals(200, response.getStatus());
+        final Instructor[] actual = (Instructor[]) response.getEntity();
+        assertEquals(1, actual.length);
+        assertEquals(instructor.getUuid(), actual[0].getUuid());
+        assertEquals("<?offset=11&maxResults=1&orderBy=-name>; rel=\"next\"", response.getMetadata().getFirst("Link"));
+    }
+
+    @Test
+    public void testFindInstructorsPagedBadRequest() {
+        final InstructorFinderService finder = Mockito.mock(InstructorFinderService.class);
+        when(finder.findInstructors(any(Paging.class))).thenThrow(new IllegalArgumentException());
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllInstructors(false, null, 0, 10, "bogus", null);
+
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    public void testCountInstructors() {
+        final InstructorFinderService finder = Mockito.mock(InstructorFinderService.class);
+        when(finder.count()).thenReturn(3L);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllInstructors(true, null, null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("{ \"count\": 3 }", response.getEntity());
+    }
+
+    @Test
+    public void testCountInstructorsByTestRun() {
+        final TestRun testRun = new TestRun();
+        testRun.setUuid(UUID.randomUUID().toString());
+
+        final InstructorFinderService finder = Mockito.mock(InstructorFinderService.class);
+        when(finder.countByTestRun(testRun)).thenReturn(2L);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+        when(testService.findTestRunByUuid(testRun.getUuid())).thenReturn(testRun);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllInstructors(true, testRun.getUuid(), null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("{ \"count\": 2 }", response.getEntity());
+    }
+
+    @Test
+    public void testFindInstructorsByTestRun() {
+        final TestRun testRun = new TestRun();
+        testRun.setUuid(UUID.randomUUID().toString());
+        final Instructor instructor = new Instructor();
+        instructor.setUuid(UUID.randomUUID().toString());
+
+        final InstructorFinderService finder = Mockito.mock(InstructorFinderService.class);
+        when(finder.findInstructorsByTestRun(testRun)).thenReturn(Arrays.asList(instructor));
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+        when(testService.findTestRunByUuid(testRun.getUuid())).thenReturn(testRun);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllInstructors(false, testRun.getUuid(), null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        final Instructor[] actual = (Instructor[]) response.getEntity();
+        assertEquals(1, actual.length);
+        assertEquals(instructor.getUuid(), actual[0].getUuid());
+    }
+
+    @Test
+    public void testLookupInstructors() {
+        final List<String> uuids = Arrays.asList(edith.getUuid(), david.getUuid());
+
+        final InstructorFinderService finder = Mockito.mock(InstructorFinderService.class);
+        when(finder.findInstructorsByUuids(uuids)).thenReturn(Arrays.asList(edith, david));
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.lookupInstructors(uuids);
+
+        assertEquals(200, response.getStatus());
+        final Instructor[] actual = (Instructor[]) response.getEntity();
+        assertEquals(2, actual.length);
+        assertNull(actual[0].getId());
+        assertEquals(edith.getUuid(), actual[0].getUuid());
+        assertEquals(david.getUuid(), actual[1].getUuid());
+    }
+
+    @Test
+    public void testLookupInstructorsTooMany() {
+        final InstructorFinderService finder = Mockito.mock(InstructorFinderService.class);
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.lookupInstructors(Collections.nCopies(AbstractResource.MAX_LOOKUP_SIZE + 1,
+                david.getUuid()));
+
+        assertEquals(400, response.getStatus());
     }
 
     @Test
@@ -138,7 +266,7 @@ public class InstructorResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getInstructor(expected.getUuid());
+        final Response response = resource.getInstructor(expected.getUuid(), null);
 
         assertEquals(200, response.getStatus());
         final Instructor actual = (Instructor) response.getEntity();
@@ -149,6 +277,30 @@ public class InstructorResourceTest {
     }
 
     @Test
+    public void testGetInstructorNotModified() {
+        final Instructor expected = david;
+        expected.setVersion(1);
+
+        final InstructorFinderService finder = Mockito.mock(InstructorFinderService.class);
+        when(finder.findInstructorByUuid(expected.getUuid())).thenReturn(expected);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response first = resource.getInstructor(expected.getUuid(), null);
+        final EntityTag tag = (EntityTag) first.getMetadata().getFirst(HttpHeaders.ETAG);
+        final Response response = resource.getInstructor(expected.getUuid(), "\"" + tag.getValue() + "\"");
+
+        assertEquals(304, response.getStatus());
+        assertNull(response.getEntity());
+        assertEquals(tag, response.getMetadata().getFirst(HttpHeaders.ETAG));
+
+        // a new version has a new tag
+        expected.setVersion(2);
+        assertEquals(200, resource.getInstructor(expected.getUuid(), "\"" + tag.getValue() + "\"").getStatus());
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
     public void testGetInstructorMissing() {
         final InstructorFinderService finder = Mockito.mock(InstructorFinderService.class);
         when(finder.findInstructorByUuid(david.getUuid())).thenThrow(new ObjectNotFoundException(david.getUuid()));
@@ -156,12 +308,10 @@ public class InstructorResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getInstructor(david.getUuid());
-
-        assertEquals(404, response.getStatus());
+        resource.getInstructor(david.getUuid(), null);
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testGetInstructorFailure() {
         final InstructorFinderService finder = Mockito.mock(InstructorFinderService.class);
         when(finder.findInstructorByUuid(david.getUuid())).thenThrow(new UnitTestException());
@@ -169,9 +319,7 @@ public class InstructorResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getInstructor(david.getUuid());
-
-        assertEquals(500, response.getStatus());
+        resource.getInstructor(david.getUuid(), null);
     }
 
     @Test
@@ -219,7 +367,7 @@ public class InstructorResourceTest {
         assertEquals(500, response.getStatus());
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testCreateInstructorFailure() {
         final Instructor expected = david;
         final NameAndEmailAddressRTO req = new NameAndEmailAddressRTO();
@@ -232,9 +380,7 @@ public class InstructorResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.createInstructor(req);
-
-        assertEquals(500, response.getStatus());
+        resource.createInstructor(req);
     }
 
     @Test
@@ -313,12 +459,12 @@ public class InstructorResourceTest {
         final Instructor expected = david;
 
         final InstructorManagerService manager = Mockito.mock(InstructorManagerService.class);
-        doNothing().when(manager).deleteInstructor(expected.getUuid(), 0);
+        doNothing().when(manager).deleteInstructor(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.deleteInstructor(expected.getUuid(), 0);
+        final Response response = resource.deleteInstructor(expected.getUuid(), null);
 
         assertEquals(204, response.getStatus());
     }
@@ -330,30 +476,28 @@ public class InstructorResourceTest {
         name.setName(expected.getName());
 
         final InstructorManagerService manager = Mockito.mock(InstructorManagerService.class);
-        doThrow(new ObjectNotFoundException(expected.getUuid())).when(manager).deleteInstructor(expected.getUuid(), 0);
+        doThrow(new ObjectNotFoundException(expected.getUuid())).when(manager).deleteInstructor(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.deleteInstructor(expected.getUuid(), 0);
+        final Response response = resource.deleteInstructor(expected.getUuid(), null);
 
         assertEquals(204, response.getStatus());
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testDeleteInstructorFailure() {
         final Instructor expected = david;
 
         final InstructorFinderService finder = Mockito.mock(InstructorFinderService.class);
 
         final InstructorManagerService manager = Mockito.mock(InstructorManagerService.class);
-        doThrow(new UnitTestException()).when(manager).deleteInstructor(expected.getUuid(), 0);
+        doThrow(new UnitTestException()).when(manager).deleteInstructor(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, manager, testService);
-        final Response response = resource.deleteInstructor(expected.getUuid(), 0);
-
-        assertEquals(500, response.getStatus());
+        resource.deleteInstructor(expected.getUuid(), null);
     }
 }
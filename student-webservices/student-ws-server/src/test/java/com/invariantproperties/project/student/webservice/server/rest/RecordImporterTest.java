@@ -0,0 +1,209 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.server.rest;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.ws.rs.core.MediaType;
+
+import org.codehaus.jackson.JsonGenerator;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.invariantproperties.project.student.business.BulkResult;
+import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.TestRunService;
+import com.invariantproperties.project.student.domain.Student;
+import com.invariantproperties.project.student.domain.TestRun;
+
+/**
+ * Unit tests for RecordImporter.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class RecordImporterTest {
+    private static final String TEST_UUID = "11111111-1111-1111-1111-111111111111";
+    private static final String UNKNOWN_UUID = "22222222-2222-2222-2222-222222222222";
+
+    /**
+     * Importer that rejects the 'duplicate@example.com' email address and
+     * records the size of each batch and the number of results written each
+     * time.
+     */
+    static class TestImporter extends RecordImporter<NameAndEmailAddressRTO, Student> {
+        final List<Integer> batchSizes = new ArrayList<Integer>();
+        final List<Integer> resultCounts = new ArrayList<Integer>();
+
+        TestImporter(String body, MediaType contentType, TestRunService testService) throws Exception {
+            super(NameAndEmailAddressRTO.class, new ByteArrayInputStream(body.getBytes("UTF-8")), contentType,
+                    testService, 2);
+        }
+
+        @Override
+        protected Student toEntity(NameAndEmailAddressRTO rto, TestRun testRun) {
+            final Student student = new Student();
+            student.setName(rto.getName());
+            student.setEmailAddress(rto.getEmailAddress());
+            student.setTestRun(testRun);
+            return student;
+        }
+
+        @Override
+        protected String getTestUuid(NameAndEmailAddressRTO rto) {
+            return rto.getTestUuid();
+        }
+
+        @Override
+        protected BulkResult<Student> create(List<Student> batch) {
+            batchSizes.add(batch.size());
+            final List<Student> succeeded = new ArrayList<Student>();
+            final List<BulkResult.Failure> failures = new ArrayList<BulkResult.Failure>();
+            for (int i = 0; i < batch.size(); i++) {
+                final Student student = batch.get(i);
+                if ("duplicate@example.com".equals(student.getEmailAddress())) {
+                    failures.add(new BulkResult.Failure(i, null, "duplicate key"));
+                } else {
+                    student.setUuid(student.getName().toLowerCase());
+                    succeeded.add(student);
+                }
+            }
+            return new BulkResult<Student>(succeeded, failures);
+        }
+
+        @Override
+        protected String uuidOf(Student created) {
+            return created.getUuid();
+        }
+
+        @Override
+        void writeBatch(JsonGenerator generator, List<Integer> lines, List<Student> pending, List<String> problems,
+                List<Student> batch) throws IOException {
+            resultCounts.add(pending.size());
+            super.writeBatch(generator, lines, pending, problems, batch);
+        }
+
+        String run() throws Exception {
+            final ByteArrayOutputStream os = new ByteArrayOutputStream();
+            write(os);
+            return os.toString("UTF-8");
+        }
+    }
+
+    @Test
+    public void testImportNdjson() throws Exception {
+        final String body = "{\"name\":\"Alice\",\"emailAddress\":\"alice@example.com\"}\n"
+                + "{\"name\":\"Bob\",\"emailAddress\":\"duplicate@example.com\"}\n" + "\n"
+                + "{\"name\":\"Carol\",\"emailAddress\":\"not an address\"}\n" + "not json\n"
+                + "{\"name\":\"Dave\",\"emailAddress\":\"dave@example.com\"}\n";
+
+        final TestImporter importer = new TestImporter(body, RecordImporter.APPLICATION_NDJSON_TYPE, null);
+        final String actual = importer.run();
+
+        assertEquals("{\"line\":1,\"status\":\"created\",\"uuid\":\"alice\"}\n"
+                + "{\"line\":2,\"status\":\"failed\",\"message\":\"duplicate key\"}\n"
+                + "{\"line\":4,\"status\":\"invalid\",\"message\":\"emailAddress is missing or malformed\"}\n"
+                + "{\"line\":5,\"status\":\"invalid\",\"message\":\"malformed record\"}\n"
+                + "{\"line\":6,\"status\":\"created\",\"uuid\":\"dave\"}\n", actual);
+        assertEquals(2, importer.batchSizes.size());
+        assertEquals(Integer.valueOf(2), importer.batchSizes.get(0));
+        assertEquals(Integer.valueOf(1), importer.batchSizes.get(1));
+    }
+
+    @Test
+    public void testImportCsv() throws Exception {
+        final String body = "emailAddress,name,testUuid\n" + "alice@example.com,\"Alice O'Brien\"," + TEST_UUID
+                + "\n" + "bob@example.com,Bob," + UNKNOWN_UUID + "\n" + "carol@example.com,Carol,\n"
+                + "dave@example.com,Dave," + TEST_UUID + "\n";
+
+        final TestRun testRun = new TestRun();
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+        when(testService.findTestRunByUuid(TEST_UUID)).thenReturn(testRun);
+        when(testService.findTestRunByUuid(UNKNOWN_UUID)).thenThrow(new ObjectNotFoundException(UNKNOWN_UUID));
+
+        final TestImporter importer = new TestImporter(body, RecordImporter.TEXT_CSV_TYPE, testService);
+        final String actual = importer.run();
+
+        assertEquals("{\"line\":2,\"status\":\"created\",\"uuid\":\"alice o'brien\"}\n"
+                + "{\"line\":3,\"status\":\"invalid\",\"message\":\"unknown testUuid\"}\n"
+                + "{\"line\":4,\"status\":\"created\",\"uuid\":\"carol\"}\n"
+                + "{\"line\":5,\"status\":\"created\",\"uuid\":\"dave\"}\n", actual);
+        verify(testService, times(1)).findTestRunByUuid(TEST_UUID);
+    }
+
+    @Test
+    public void testInvalidRecordsAreNotBuffered() throws Exception {
+        final String body = "not json\n" + "not json\n" + "not json\n" + "not json\n" + "not json\n";
+
+        final TestImporter importer = new TestImporter(body, RecordImporter.APPLICATION_NDJSON_TYPE, null);
+        importer.run();
+
+        assertEquals(3, importer.resultCounts.size());
+        assertEquals(Integer.valueOf(2), importer.resultCounts.get(0));
+        assertEquals(Integer.valueOf(2), importer.resultCounts.get(1));
+        assertEquals(Integer.valueOf(1), importer.resultCounts.get(2));
+        assertTrue(importer.batchSizes.isEmpty());
+    }
+
+    @Test
+    public void testParseCsvLine() {
+        assertArrayEquals(new String[] { "a", "b c", "" }, RecordImporter.parseCsvLine("a, b c ,"));
+        assertArrayEquals(new String[] { "x, \"y\"", "z" }, RecordImporter.parseCsvLine("\"x, \"\"y\"\"\",z"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadBatchSize() {
+        new RecordImporter<NameRTO, String>(NameRTO.class, null, null, null, 0) {
+            @Override
+            protected String toEntity(NameRTO rto, TestRun testRun) {
+                return rto.getName();
+            }
+
+            @Override
+            protected String getTestUuid(NameRTO rto) {
+                return rto.getTestUuid();
+            }
+
+            @Override
+            protected BulkResult<String> create(List<String> batch) {
+                return null;
+            }
+
+            @Override
+            protected String uuidOf(String created) {
+                return UUID.randomUUID().toString();
+            }
+        };
+    }
+}
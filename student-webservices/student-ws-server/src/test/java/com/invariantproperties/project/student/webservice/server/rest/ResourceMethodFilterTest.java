@@ -0,0 +1,136 @@
+/*
+ * This code was written by Bear Giles <bgiles@coyotesong.com> and he
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the
+ * License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Any contributions made by others are licensed to this project under
+ * one or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ * 
+ * Copyright (c) 2013 Bear Giles <bgiles@coyotesong.com>
+ */
+package com.invariantproperties.project.student.webservice.server.rest;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.sun.jersey.api.model.AbstractResourceMethod;
+import com.sun.jersey.core.util.MultivaluedMapImpl;
+import com.sun.jersey.server.impl.modelapi.annotation.IntrospectionModeller;
+import com.sun.jersey.spi.container.ContainerRequest;
+import com.sun.jersey.spi.container.ResourceFilter;
+
+/**
+ * Unit tests for ResourceMethodFilterFactory and ResourceMethodFilter.
+ * 
+ * @author Bear Giles <bgiles@coyotesong.com>
+ */
+public class ResourceMethodFilterTest {
+    private static final String UUID = "11111111-1111-1111-1111-111111111111";
+
+    private UriInfo uriInfo;
+    private Map<String, ResourceMethodFilter> filters;
+
+    @Before
+    public void init() {
+        uriInfo = Mockito.mock(UriInfo.class);
+
+        final ResourceMethodFilterFactory factory = new ResourceMethodFilterFactory(uriInfo);
+        final com.sun.jersey.api.model.AbstractResource model = IntrospectionModeller
+                .createResource(CourseResource.class);
+
+        filters = new HashMap<String, ResourceMethodFilter>();
+        for (AbstractResourceMethod method : model.getResourceMethods()) {
+            addFilter(factory.create(method));
+        }
+        for (AbstractResourceMethod method : model.getSubResourceMethods()) {
+            addFilter(factory.create(method));
+        }
+    }
+
+    private void addFilter(List<ResourceFilter> list) {
+        assertEquals(1, list.size());
+        final ResourceMethodFilter filter = (ResourceMethodFilter) list.get(0);
+        filters.put(filter.getName(), filter);
+    }
+
+    private MultivaluedMap<String, String> pathParameters(String id) {
+        final MultivaluedMap<String, String> parameters = new MultivaluedMapImpl();
+        parameters.add("courseId", id);
+        return parameters;
+    }
+
+    @Test
+    public void testMetadata() {
+        assertArrayEquals(new String[0], filters.get("findAllCourses").getUuidParameters());
+        assertArrayEquals(new String[0], filters.get("getCourse").getUuidParameters());
+        assertArrayEquals(new String[] { "courseId" }, filters.get("updateCourse").getUuidParameters());
+        assertArrayEquals(new String[] { "courseId" }, filters.get("deleteCourse").getUuidParameters());
+    }
+
+    @Test
+    public void testCheckUuid() {
+        assertNull(filters.get("deleteCourse").check(pathParameters(UUID)));
+    }
+
+    @Test
+    public void testCheckBadUuid() {
+        final Response response = filters.get("deleteCourse").check(pathParameters("bad-uuid"));
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    public void testCheckNotUuidMethod() {
+        assertNull(filters.get("getCourse").check(pathParameters("bad-uuid")));
+    }
+
+    @Test
+    public void testFilter() {
+        final ContainerRequest request = Mockito.mock(ContainerRequest.class);
+        when(uriInfo.getPathParameters()).thenReturn(pathParameters(UUID));
+
+        assertSame(request, filters.get("updateCourse").filter(request));
+    }
+
+    @Test
+    public void testFilterBadUuid() {
+        final ContainerRequest request = Mockito.mock(ContainerRequest.class);
+        when(uriInfo.getPathParameters()).thenReturn(pathParameters("bad-uuid"));
+
+        try {
+            filters.get("updateCourse").filter(request);
+        } catch (WebApplicationException e) {
+            assertEquals(400, e.getResponse().getStatus());
+            return;
+        }
+
+        throw new AssertionError("expected WebApplicationException");
+    }
+}
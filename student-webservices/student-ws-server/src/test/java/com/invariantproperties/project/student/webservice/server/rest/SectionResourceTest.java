@@ -24,17 +24,26 @@ package com.invariantproperties.project.student.webservice.server.rest;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 import javax.annotation.Resource;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -44,11 +53,21 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.OrderBy;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.business.SectionFinderService;
 import com.invariantproperties.project.student.business.SectionManagerService;
 import com.invariantproperties.project.student.business.TestRunService;
+import com.invariantproperties.project.student.domain.Classroom;
+import com.invariantproperties.project.student.domain.Course;
 import com.invariantproperties.project.student.domain.Section;
+import com.invariantproperties.project.student.domain.Student;
+import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.config.TestRestApplicationContext1;
+import com.sun.jersey.api.model.AbstractResourceMethod;
+import com.sun.jersey.core.util.MultivaluedMapImpl;
+import com.sun.jersey.server.impl.modelapi.annotation.IntrospectionModeller;
 
 /**
  * Unit tests for SectionResource.
@@ -85,7 +104,7 @@ public class SectionResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllSections();
+        final Response response = resource.findAllSections(false, null, null, null, null, null, null);
 
         assertEquals(200, response.getStatus());
         final Section[] actual = (Section[]) response.getEntity();
@@ -105,14 +124,14 @@ public class SectionResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllSections();
+        final Response response = resource.findAllSections(false, null, null, null, null, null, null);
 
         assertEquals(200, response.getStatus());
         final Section[] actual = (Section[]) response.getEntity();
         assertEquals(0, actual.length);
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testFindAllSectionsFailure() {
         final SectionFinderService finder = Mockito.mock(SectionFinderService.class);
         when(finder.findAllSections()).thenThrow(new UnitTestException());
@@ -120,9 +139,197 @@ public class SectionResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllSections();
+        resource.findAllSections(false, null, null, null, null, null, null);
+    }
 
-        assertEquals(500, response.getStatus());
+    @Test
+    public void testFindSectionsPaged() {
+        final Section section = new Section();
+        section.setName("name");
+        section.setUuid(UUID.randomUUID().toString());
+        final Paging paging = Paging.offset(10, 1, Arrays.asList(OrderBy.desc("name")));
+        final ResultPage<Section> page = new ResultPage<Section>(Arrays.asList(section), paging);
+
+        final SectionFinderService finder = Mockito.mock(SectionFinderService.class);
+        when(finder.findSections(any(Paging.class))).thenReturn(page);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllSections(false, null, 10, 1, "-name", null, null);
+
+        assertEquals(200, response.getStatus());
+        final Section[] actual = (Section[]) response.getEntity();
+        assertEquals(1, actual.length);
+        assertEquals(section.getUuid(), actual[0].getUuid());
+        assertEquals("<?offset=11&maxResults=1&orderBy=-name>; rel=\"next\"", response.getMetadata().getFirst("Link"));
+    }
+
+    @Test
+    public void testFindSectionsPagedBadRequest() {
+        final SectionFinderService finder = Mockito.mock(SectionFinderService.class);
+        when(finder.findSections(any(Paging.class))).thenThrow(new IllegalArgumentException());
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllSections(false, null, 0, 10, "bogus", null, null);
+
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    public void testCountSections() {
+        final SectionFinderService finder = Mockito.mock(SectionFinderService.class);
+        when(finder.count()).thenReturn(3L);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllSections(true, null, null, null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("{ \"count\": 3 }", response.getEntity());
+    }
+
+    @Test
+    public void testCountSectionsByTestRun() {
+        final TestRun testRun = new TestRun();
+        testRun.setUuid(UUID.randomUUID().toString());
+
+        final SectionFinderService finder = Mockito.mock(SectionFinderService.class);
+        when(finder.countByTestRun(testRun)).thenReturn(2L);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+        when(testService.findTestRunByUuid(testRun.getUuid())).thenReturn(testRun);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllSections(true, testRun.getUuid(), null, null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("{ \"count\": 2 }", response.getEntity());
+    }
+
+    @Test
+    public void testFindSectionsByTestRun() {
+        final TestRun testRun = new TestRun();
+        testRun.setUuid(UUID.randomUUID().toString());
+        final Section section = new Section();
+        section.setUuid(UUID.randomUUID().toString());
+
+        final SectionFinderService finder = Mockito.mock(SectionFinderService.class);
+        when(finder.findSectionsByTestRun(testRun)).thenReturn(Arrays.asList(section));
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+        when(testService.findTestRunByUuid(testRun.getUuid())).thenReturn(testRun);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllSections(false, testRun.getUuid(), null, null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        final Section[] actual = (Section[]) response.getEntity();
+        assertEquals(1, actual.length);
+        assertEquals(section.getUuid(), actual[0].getUuid());
+    }
+
+    @Test
+    public void testFindSectionsWithRoster() {
+        final TestRun testRun = new TestRun();
+        testRun.setUuid(UUID.randomUUID().toString());
+        final Course course = new Course();
+        course.setUuid(UUID.randomUUID().toString());
+        course.setName("physics");
+        final Student student = new Student();
+        student.setId(3);
+        student.setUuid(UUID.randomUUID().toString());
+        student.setName("student");
+        final Classroom classroom = new Classroom();
+        classroom.setUuid(UUID.randomUUID().toString());
+        physicsFall2013.setCourse(course);
+        physicsFall2013.getStudents().add(student);
+        physicsFall2013.getClassrooms().add(classroom);
+        final ResultPage<Section> page = new ResultPage<Section>(Arrays.asList(physicsFall2013), null);
+
+        final SectionFinderService finder = Mockito.mock(SectionFinderService.class);
+        when(finder.findSectionsByTestRun(eq(testRun), any(Paging.class), eq("withRoster"))).thenReturn(page);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+        when(testService.findTestRunByUuid(testRun.getUuid())).thenReturn(testRun);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllSections(false, testRun.getUuid(), 0, 10, null, "withRoster",
+                null);
+
+        assertEquals(200, response.getStatus());
+        final Section[] actual = (Section[]) response.getEntity();
+        assertEquals(1, actual.length);
+        assertEquals(course.getName(), actual[0].getCourse().getName());
+        assertEquals(1, actual[0].getStudents().size());
+        final Student actualStudent = actual[0].getStudents().iterator().next();
+        assertEquals(student.getUuid(), actualStudent.getUuid());
+        assertNull(actualStudent.getId());
+        assertTrue(actual[0].getClassrooms().isEmpty());
+    }
+
+    @Test
+    public void testFindSectionsUnknownFetchProfile() {
+        final TestRun testRun = new TestRun();
+        testRun.setUuid(UUID.randomUUID().toString());
+
+        final SectionFinderService finder = Mockito.mock(SectionFinderService.class);
+        when(finder.findSectionsByTestRun(eq(testRun), any(Paging.class), eq("bogus"))).thenThrow(
+                new IllegalArgumentException());
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+        when(testService.findTestRunByUuid(testRun.getUuid())).thenReturn(testRun);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllSections(false, testRun.getUuid(), 0, 10, null, "bogus", null);
+
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    public void testFindSectionsFetchProfileRequiresPage() {
+        final SectionFinderService finder = Mockito.mock(SectionFinderService.class);
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllSections(false, null, 0, 10, null, "withRoster", null);
+
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    public void testLookupSections() {
+        final List<String> uuids = Arrays.asList(physicsFall2014.getUuid(), physicsFall2013.getUuid());
+
+        final SectionFinderService finder = Mockito.mock(SectionFinderService.class);
+        when(finder.findSectionsByUuids(uuids)).thenReturn(Arrays.asList(physicsFall2014, physicsFall2013));
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.lookupSections(uuids);
+
+        assertEquals(200, response.getStatus());
+        final Section[] actual = (Section[]) response.getEntity();
+        assertEquals(2, actual.length);
+        assertNull(actual[0].getId());
+        assertEquals(physicsFall2014.getUuid(), actual[0].getUuid());
+        assertEquals(physicsFall2013.getUuid(), actual[1].getUuid());
+    }
+
+    @Test
+    public void testLookupSectionsTooMany() {
+        final SectionFinderService finder = Mockito.mock(SectionFinderService.class);
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.lookupSections(Collections.nCopies(AbstractResource.MAX_LOOKUP_SIZE + 1,
+                physicsFall2013.getUuid()));
+
+        assertEquals(400, response.getStatus());
     }
 
     @Test
@@ -135,7 +342,7 @@ public class SectionResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getSection(expected.getUuid());
+        final Response response = resource.getSection(expected.getUuid(), null);
 
         assertEquals(200, response.getStatus());
         final Section actual = (Section) response.getEntity();
@@ -145,6 +352,30 @@ public class SectionResourceTest {
     }
 
     @Test
+    public void testGetSectionNotModified() {
+        final Section expected = physicsFall2013;
+        expected.setVersion(1);
+
+        final SectionFinderService finder = Mockito.mock(SectionFinderService.class);
+        when(finder.findSectionByUuid(expected.getUuid())).thenReturn(expected);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response first = resource.getSection(expected.getUuid(), null);
+        final EntityTag tag = (EntityTag) first.getMetadata().getFirst(HttpHeaders.ETAG);
+        final Response response = resource.getSection(expected.getUuid(), "\"" + tag.getValue() + "\"");
+
+        assertEquals(304, response.getStatus());
+        assertNull(response.getEntity());
+        assertEquals(tag, response.getMetadata().getFirst(HttpHeaders.ETAG));
+
+        // a new version has a new tag
+        expected.setVersion(2);
+        assertEquals(200, resource.getSection(expected.getUuid(), "\"" + tag.getValue() + "\"").getStatus());
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
     public void testGetSectionMissing() {
         final SectionFinderService finder = Mockito.mock(SectionFinderService.class);
         when(finder.findSectionByUuid(physicsFall2013.getUuid())).thenThrow(
@@ -153,12 +384,10 @@ public class SectionResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getSection(physicsFall2013.getUuid());
-
-        assertEquals(404, response.getStatus());
+        resource.getSection(physicsFall2013.getUuid(), null);
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testGetSectionFailure() {
         final SectionFinderService finder = Mockito.mock(SectionFinderService.class);
         when(finder.findSectionByUuid(physicsFall2013.getUuid())).thenThrow(new UnitTestException());
@@ -166,9 +395,7 @@ public class SectionResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getSection(physicsFall2013.getUuid());
-
-        assertEquals(500, response.getStatus());
+        resource.getSection(physicsFall2013.getUuid(), null);
     }
 
     @Test
@@ -228,7 +455,7 @@ public class SectionResourceTest {
         assertEquals(500, response.getStatus());
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testCreateSectionFailure() {
         final Section expected = physicsFall2013;
         final NameRTO name = new NameRTO();
@@ -240,9 +467,7 @@ public class SectionResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.createSection(name);
-
-        assertEquals(500, response.getStatus());
+        resource.createSection(name);
     }
 
     @Test
@@ -332,12 +557,12 @@ public class SectionResourceTest {
         final Section expected = physicsFall2013;
 
         final SectionManagerService manager = Mockito.mock(SectionManagerService.class);
-        doNothing().when(manager).deleteSection(expected.getUuid(), 0);
+        doNothing().when(manager).deleteSection(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.deleteSection(expected.getUuid(), 0);
+        final Response response = resource.deleteSection(expected.getUuid(), null);
 
         assertEquals(204, response.getStatus());
     }
@@ -349,17 +574,17 @@ public class SectionResourceTest {
         name.setName(expected.getName());
 
         final SectionManagerService manager = Mockito.mock(SectionManagerService.class);
-        doThrow(new ObjectNotFoundException(expected.getUuid())).when(manager).deleteSection(expected.getUuid(), 0);
+        doThrow(new ObjectNotFoundException(expected.getUuid())).when(manager).deleteSection(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.deleteSection(expected.getUuid(), 0);
+        final Response response = resource.deleteSection(expected.getUuid(), null);
 
         assertEquals(204, response.getStatus());
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testDeleteSectionFailure() {
         final Section expected = physicsFall2013;
 
@@ -367,13 +592,134 @@ public class SectionResourceTest {
         when(finder.findSectionByUuid(expected.getUuid())).thenReturn(expected);
 
         final SectionManagerService manager = Mockito.mock(SectionManagerService.class);
-        doThrow(new UnitTestException()).when(manager).deleteSection(expected.getUuid(), 0);
+        doThrow(new UnitTestException()).when(manager).deleteSection(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.deleteSection(expected.getUuid(), 0);
+        resource.deleteSection(expected.getUuid(), null);
+    }
 
-        assertEquals(500, response.getStatus());
+    @Test
+    public void testAddStudentToSection() {
+        final Section expected = physicsFall2013;
+        final String studentUuid = UUID.randomUUID().toString();
+
+        final SectionManagerService manager = Mockito.mock(SectionManagerService.class);
+        when(manager.addStudentToSection(expected.getUuid(), studentUuid)).thenReturn(true);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(null, manager, testService);
+        final Response response = resource.addStudentToSection(expected.getUuid(), studentUuid);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(resource.scrubCount(1), response.getEntity());
+    }
+
+    @Test
+    public void testAddStudentToSectionAlreadyEnrolled() {
+        final Section expected = physicsFall2013;
+        final String studentUuid = UUID.randomUUID().toString();
+
+        final SectionManagerService manager = Mockito.mock(SectionManagerService.class);
+        when(manager.addStudentToSection(expected.getUuid(), studentUuid)).thenReturn(false);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(null, manager, testService);
+        final Response response = resource.addStudentToSection(expected.getUuid(), studentUuid);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(resource.scrubCount(0), response.getEntity());
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
+    public void testAddStudentToSectionMissing() {
+        final Section expected = physicsFall2013;
+        final String studentUuid = UUID.randomUUID().toString();
+
+        final SectionManagerService manager = Mockito.mock(SectionManagerService.class);
+        when(manager.addStudentToSection(expected.getUuid(), studentUuid)).thenThrow(
+                new ObjectNotFoundException(studentUuid));
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(null, manager, testService);
+        resource.addStudentToSection(expected.getUuid(), studentUuid);
+    }
+
+    @Test
+    public void testRemoveStudentFromSection() {
+        final Section expected = physicsFall2013;
+        final String studentUuid = UUID.randomUUID().toString();
+
+        final SectionManagerService manager = Mockito.mock(SectionManagerService.class);
+        when(manager.removeStudentFromSection(expected.getUuid(), studentUuid)).thenReturn(true);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(null, manager, testService);
+        final Response response = resource.removeStudentFromSection(expected.getUuid(), studentUuid);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(resource.scrubCount(1), response.getEntity());
+    }
+
+    @Test
+    public void testRemoveStudentFromSectionNotEnrolled() {
+        final Section expected = physicsFall2013;
+        final String studentUuid = UUID.randomUUID().toString();
+
+        final SectionManagerService manager = Mockito.mock(SectionManagerService.class);
+        when(manager.removeStudentFromSection(expected.getUuid(), studentUuid)).thenReturn(false);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(null, manager, testService);
+        final Response response = resource.removeStudentFromSection(expected.getUuid(), studentUuid);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(resource.scrubCount(0), response.getEntity());
+    }
+
+    @Test
+    public void testRosterBadStudentUuid() {
+        final SectionManagerService manager = Mockito.mock(SectionManagerService.class);
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+        resource.setServices(null, manager, testService);
+
+        final MultivaluedMap<String, String> parameters = new MultivaluedMapImpl();
+        parameters.add("sectionId", physicsFall2013.getUuid());
+        parameters.add("studentId", "bad-uuid");
+
+        // Jersey runs the filter before the resource method
+        assertEquals(400, filter("addStudentToSection").check(parameters).getStatus());
+        assertEquals(400, filter("removeStudentFromSection").check(parameters).getStatus());
+        verifyZeroInteractions(manager);
+    }
+
+    @Test
+    public void testRosterStudentUuid() {
+        final MultivaluedMap<String, String> parameters = new MultivaluedMapImpl();
+        parameters.add("sectionId", physicsFall2013.getUuid());
+        parameters.add("studentId", UUID.randomUUID().toString());
+
+        assertNull(filter("addStudentToSection").check(parameters));
+        assertNull(filter("removeStudentFromSection").check(parameters));
+    }
+
+    /**
+     * The request filter Jersey creates for the specified method.
+     */
+    private ResourceMethodFilter filter(String name) {
+        final ResourceMethodFilterFactory factory = new ResourceMethodFilterFactory(Mockito.mock(UriInfo.class));
+        for (AbstractResourceMethod method : IntrospectionModeller.createResource(SectionResource.class)
+                .getSubResourceMethods()) {
+            if (method.getMethod().getName().equals(name)) {
+                return (ResourceMethodFilter) factory.create(method).get(0);
+            }
+        }
+        throw new AssertionError("no method " + name);
     }
 }
@@ -23,31 +23,49 @@
 package com.invariantproperties.project.student.webservice.server.rest;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 import javax.annotation.Resource;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import com.invariantproperties.project.student.business.BulkResult;
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.OrderBy;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultHandler;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.business.StudentFinderService;
 import com.invariantproperties.project.student.business.StudentManagerService;
 import com.invariantproperties.project.student.business.TestRunService;
 import com.invariantproperties.project.student.domain.Student;
+import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.config.TestRestApplicationContext1;
 
 /**
@@ -87,7 +105,7 @@ public class StudentResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllStudents();
+        final Response response = resource.findAllStudents(false, null, null, null, null, null);
 
         assertEquals(200, response.getStatus());
         final Student[] actual = (Student[]) response.getEntity();
@@ -98,6 +116,28 @@ public class StudentResourceTest {
         assertEquals(expected.get(0).getUuid(), actual[0].getUuid());
     }
 
+    @Test
+    public void testFindAllStudentsNotModified() {
+        final List<Student> expected = Arrays.asList(david, edith);
+
+        final StudentFinderService finder = Mockito.mock(StudentFinderService.class);
+        when(finder.findAllStudents()).thenReturn(expected);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response first = resource.findAllStudents(false, null, null, null, null, null);
+        final EntityTag tag = (EntityTag) first.getMetadata().getFirst(HttpHeaders.ETAG);
+        final String ifNoneMatch = "W/\"other\", \"" + tag.getValue() + "\"";
+
+        assertEquals(304, resource.findAllStudents(false, null, null, null, null, ifNoneMatch).getStatus());
+
+        // an updated student changes the collection tag
+        edith.setVersion(1);
+        assertEquals(200, resource.findAllStudents(false, null, null, null, null, ifNoneMatch).getStatus());
+        assertEquals(304, resource.findAllStudents(false, null, null, null, null, "*").getStatus());
+    }
+
     @Test
     public void testFindAllStudentsEmpty() {
         final List<Student> expected = new ArrayList<>();
@@ -108,14 +148,14 @@ public class StudentResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllStudents();
+        final Response response = resource.findAllStudents(false, null, null, null, null, null);
 
         assertEquals(200, response.getStatus());
         final Student[] actual = (Student[]) response.getEntity();
         assertEquals(0, actual.length);
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testFindAllStudentsFailure() {
         final StudentFinderService finder = Mockito.mock(StudentFinderService.class);
         when(finder.findAllStudents()).thenThrow(new UnitTestException());
@@ -123,9 +163,129 @@ public class StudentResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllStudents();
+        resource.findAllStudents(false, null, null, null, null, null);
+    }
 
-        assertEquals(500, response.getStatus());
+    @Test
+    public void testFindStudentsPaged() {
+        final Student student = new Student();
+        student.setName("name");
+        student.setUuid(UUID.randomUUID().toString());
+        final Paging paging = Paging.offset(10, 1, Arrays.asList(OrderBy.desc("name")));
+        final ResultPage<Student> page = new ResultPage<Student>(Arrays.asList(student), paging);
+
+        final StudentFinderService finder = Mockito.mock(StudentFinderService.class);
+        when(finder.findStudents(any(Paging.class))).thenReturn(page);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllStudents(false, null, 10, 1, "-name", null);
+
+        assertEquals(200, response.getStatus());
+        final Student[] actual = (Student[]) response.getEntity();
+        assertEquals(1, actual.length);
+        assertEquals(student.getUuid(), actual[0].getUuid());
+        assertEquals("<?offset=11&maxResults=1&orderBy=-name>; rel=\"next\"", response.getMetadata().getFirst("Link"));
+    }
+
+    @Test
+    public void testFindStudentsPagedBadRequest() {
+        final StudentFinderService finder = Mockito.mock(StudentFinderService.class);
+        when(finder.findStudents(any(Paging.class))).thenThrow(new IllegalArgumentException());
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllStudents(false, null, 0, 10, "bogus", null);
+
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    public void testCountStudents() {
+        final StudentFinderService finder = Mockito.mock(StudentFinderService.class);
+        when(finder.count()).thenReturn(3L);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllStudents(true, null, null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("{ \"count\": 3 }", response.getEntity());
+    }
+
+    @Test
+    public void testCountStudentsByTestRun() {
+        final TestRun testRun = new TestRun();
+        testRun.setUuid(UUID.randomUUID().toString());
+
+        final StudentFinderService finder = Mockito.mock(StudentFinderService.class);
+        when(finder.countByTestRun(testRun)).thenReturn(2L);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+        when(testService.findTestRunByUuid(testRun.getUuid())).thenReturn(testRun);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllStudents(true, testRun.getUuid(), null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("{ \"count\": 2 }", response.getEntity());
+    }
+
+    @Test
+    public void testFindStudentsByTestRun() {
+        final TestRun testRun = new TestRun();
+        testRun.setUuid(UUID.randomUUID().toString());
+        final Student student = new Student();
+        student.setUuid(UUID.randomUUID().toString());
+
+        final StudentFinderService finder = Mockito.mock(StudentFinderService.class);
+        when(finder.findStudentsByTestRun(testRun)).thenReturn(Arrays.asList(student));
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+        when(testService.findTestRunByUuid(testRun.getUuid())).thenReturn(testRun);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllStudents(false, testRun.getUuid(), null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        final Student[] actual = (Student[]) response.getEntity();
+        assertEquals(1, actual.length);
+        assertEquals(student.getUuid(), actual[0].getUuid());
+    }
+
+    @Test
+    public void testLookupStudents() {
+        final List<String> uuids = Arrays.asList(edith.getUuid(), david.getUuid());
+
+        final StudentFinderService finder = Mockito.mock(StudentFinderService.class);
+        when(finder.findStudentsByUuids(uuids)).thenReturn(Arrays.asList(edith, david));
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.lookupStudents(uuids);
+
+        assertEquals(200, response.getStatus());
+        final Student[] actual = (Student[]) response.getEntity();
+        assertEquals(2, actual.length);
+        assertNull(actual[0].getId());
+        assertEquals(edith.getUuid(), actual[0].getUuid());
+        assertEquals(david.getUuid(), actual[1].getUuid());
+    }
+
+    @Test
+    public void testLookupStudentsTooMany() {
+        final StudentFinderService finder = Mockito.mock(StudentFinderService.class);
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.lookupStudents(Collections.nCopies(AbstractResource.MAX_LOOKUP_SIZE + 1,
+                david.getUuid()));
+
+        assertEquals(400, response.getStatus());
     }
 
     @Test
@@ -138,7 +298,7 @@ public class StudentResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getStudent(expected.getUuid());
+        final Response response = resource.getStudent(expected.getUuid(), null);
 
         assertEquals(200, response.getStatus());
         final Student actual = (Student) response.getEntity();
@@ -149,6 +309,30 @@ public class StudentResourceTest {
     }
 
     @Test
+    public void testGetStudentNotModified() {
+        final Student expected = david;
+        expected.setVersion(1);
+
+        final StudentFinderService finder = Mockito.mock(StudentFinderService.class);
+        when(finder.findStudentByUuid(expected.getUuid())).thenReturn(expected);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response first = resource.getStudent(expected.getUuid(), null);
+        final EntityTag tag = (EntityTag) first.getMetadata().getFirst(HttpHeaders.ETAG);
+        final Response response = resource.getStudent(expected.getUuid(), "\"" + tag.getValue() + "\"");
+
+        assertEquals(304, response.getStatus());
+        assertNull(response.getEntity());
+        assertEquals(tag, response.getMetadata().getFirst(HttpHeaders.ETAG));
+
+        // a new version has a new tag
+        expected.setVersion(2);
+        assertEquals(200, resource.getStudent(expected.getUuid(), "\"" + tag.getValue() + "\"").getStatus());
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
     public void testGetStudentMissing() {
         final StudentFinderService finder = Mockito.mock(StudentFinderService.class);
         when(finder.findStudentByUuid(david.getUuid())).thenThrow(new ObjectNotFoundException(david.getUuid()));
@@ -156,12 +340,10 @@ public class StudentResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getStudent(david.getUuid());
-
-        assertEquals(404, response.getStatus());
+        resource.getStudent(david.getUuid(), null);
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testGetStudentFailure() {
         final StudentFinderService finder = Mockito.mock(StudentFinderService.class);
         when(finder.findStudentByUuid(david.getUuid())).thenThrow(new UnitTestException());
@@ -169,9 +351,7 @@ public class StudentResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getStudent(david.getUuid());
-
-        assertEquals(500, response.getStatus());
+        resource.getStudent(david.getUuid(), null);
     }
 
     @Test
@@ -196,6 +376,56 @@ public class StudentResourceTest {
         assertEquals(expected.getEmailAddress(), actual.getEmailAddress());
     }
 
+    @Test
+    public void testExportStudents() throws Exception {
+        final StudentFinderService finder = Mockito.mock(StudentFinderService.class);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                @SuppressWarnings("unchecked")
+                final ResultHandler<Student> handler = (ResultHandler<Student>) invocation.getArguments()[1];
+                handler.handle(david);
+                handler.handle(edith);
+                return null;
+            }
+        }).when(finder).export(any(TestRun.class), any(ResultHandler.class));
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.exportStudents(null, RecordImporter.APPLICATION_NDJSON);
+
+        assertEquals(200, response.getStatus());
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(os);
+        final String[] lines = os.toString("UTF-8").split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains(david.getUuid()));
+        assertFalse(lines[0].contains("\"id\""));
+        assertTrue(lines[1].contains(edith.getUuid()));
+    }
+
+    @Test
+    public void testImportStudents() throws Exception {
+        final String body = "{\"name\":\"David\",\"emailAddress\":\"david@example.com\"}\n";
+
+        final StudentManagerService manager = Mockito.mock(StudentManagerService.class);
+        when(manager.createStudents(any(List.class))).thenReturn(
+                new BulkResult<Student>(Arrays.asList(david), Collections.<BulkResult.Failure> emptyList()));
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(null, manager, testService);
+        final Response response = resource.importStudents(RecordImporter.APPLICATION_NDJSON_TYPE,
+                new ByteArrayInputStream(body.getBytes("UTF-8")));
+
+        assertEquals(200, response.getStatus());
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(os);
+        assertEquals("{\"line\":1,\"status\":\"created\",\"uuid\":\"" + david.getUuid() + "\"}\n",
+                os.toString("UTF-8"));
+    }
+
     /**
      * Test handling when the student can't be created for some reason. For now
      * the service layer just returns a null value - it should throw an
@@ -219,7 +449,7 @@ public class StudentResourceTest {
         assertEquals(500, response.getStatus());
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testCreateStudentFailure() {
         final Student expected = david;
         final NameAndEmailAddressRTO req = new NameAndEmailAddressRTO();
@@ -232,9 +462,7 @@ public class StudentResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.createStudent(req);
-
-        assertEquals(500, response.getStatus());
+        resource.createStudent(req);
     }
 
     @Test
@@ -312,12 +540,12 @@ public class StudentResourceTest {
         final Student expected = david;
 
         final StudentManagerService manager = Mockito.mock(StudentManagerService.class);
-        doNothing().when(manager).deleteStudent(expected.getUuid(), 0);
+        doNothing().when(manager).deleteStudent(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.deleteStudent(expected.getUuid(), 0);
+        final Response response = resource.deleteStudent(expected.getUuid(), null);
 
         assertEquals(204, response.getStatus());
     }
@@ -329,17 +557,17 @@ public class StudentResourceTest {
         name.setName(expected.getName());
 
         final StudentManagerService manager = Mockito.mock(StudentManagerService.class);
-        doThrow(new ObjectNotFoundException(expected.getUuid())).when(manager).deleteStudent(expected.getUuid(), 0);
+        doThrow(new ObjectNotFoundException(expected.getUuid())).when(manager).deleteStudent(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.deleteStudent(expected.getUuid(), 0);
+        final Response response = resource.deleteStudent(expected.getUuid(), null);
 
         assertEquals(204, response.getStatus());
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testDeleteStudentFailure() {
         final Student expected = david;
 
@@ -347,13 +575,11 @@ public class StudentResourceTest {
         when(finder.findStudentByUuid(expected.getUuid())).thenReturn(expected);
 
         final StudentManagerService manager = Mockito.mock(StudentManagerService.class);
-        doThrow(new UnitTestException()).when(manager).deleteStudent(expected.getUuid(), 0);
+        doThrow(new UnitTestException()).when(manager).deleteStudent(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, manager, testService);
-        final Response response = resource.deleteStudent(expected.getUuid(), 0);
-
-        assertEquals(500, response.getStatus());
+        resource.deleteStudent(expected.getUuid(), null);
     }
 }
@@ -24,16 +24,20 @@ package com.invariantproperties.project.student.webservice.server.rest;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
 import javax.annotation.Resource;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import org.junit.Before;
@@ -44,10 +48,14 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import com.invariantproperties.project.student.business.ObjectNotFoundException;
+import com.invariantproperties.project.student.business.OrderBy;
+import com.invariantproperties.project.student.business.Paging;
+import com.invariantproperties.project.student.business.ResultPage;
 import com.invariantproperties.project.student.business.TermFinderService;
 import com.invariantproperties.project.student.business.TermManagerService;
 import com.invariantproperties.project.student.business.TestRunService;
 import com.invariantproperties.project.student.domain.Term;
+import com.invariantproperties.project.student.domain.TestRun;
 import com.invariantproperties.project.student.webservice.config.TestRestApplicationContext1;
 
 /**
@@ -85,7 +93,7 @@ public class TermResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllTerms();
+        final Response response = resource.findAllTerms(false, null, null, null, null, null);
 
         assertEquals(200, response.getStatus());
         final Term[] actual = (Term[]) response.getEntity();
@@ -105,14 +113,14 @@ public class TermResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllTerms();
+        final Response response = resource.findAllTerms(false, null, null, null, null, null);
 
         assertEquals(200, response.getStatus());
         final Term[] actual = (Term[]) response.getEntity();
         assertEquals(0, actual.length);
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testFindAllTermsFailure() {
         final TermFinderService finder = Mockito.mock(TermFinderService.class);
         when(finder.findAllTerms()).thenThrow(new UnitTestException());
@@ -120,9 +128,129 @@ public class TermResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.findAllTerms();
+        resource.findAllTerms(false, null, null, null, null, null);
+    }
 
-        assertEquals(500, response.getStatus());
+    @Test
+    public void testFindTermsPaged() {
+        final Term term = new Term();
+        term.setName("name");
+        term.setUuid(UUID.randomUUID().toString());
+        final Paging paging = Paging.offset(10, 1, Arrays.asList(OrderBy.desc("name")));
+        final ResultPage<Term> page = new ResultPage<Term>(Arrays.asList(term), paging);
+
+        final TermFinderService finder = Mockito.mock(TermFinderService.class);
+        when(finder.findTerms(any(Paging.class))).thenReturn(page);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllTerms(false, null, 10, 1, "-name", null);
+
+        assertEquals(200, response.getStatus());
+        final Term[] actual = (Term[]) response.getEntity();
+        assertEquals(1, actual.length);
+        assertEquals(term.getUuid(), actual[0].getUuid());
+        assertEquals("<?offset=11&maxResults=1&orderBy=-name>; rel=\"next\"", response.getMetadata().getFirst("Link"));
+    }
+
+    @Test
+    public void testFindTermsPagedBadRequest() {
+        final TermFinderService finder = Mockito.mock(TermFinderService.class);
+        when(finder.findTerms(any(Paging.class))).thenThrow(new IllegalArgumentException());
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllTerms(false, null, 0, 10, "bogus", null);
+
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    public void testCountTerms() {
+        final TermFinderService finder = Mockito.mock(TermFinderService.class);
+        when(finder.count()).thenReturn(3L);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllTerms(true, null, null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("{ \"count\": 3 }", response.getEntity());
+    }
+
+    @Test
+    public void testCountTermsByTestRun() {
+        final TestRun testRun = new TestRun();
+        testRun.setUuid(UUID.randomUUID().toString());
+
+        final TermFinderService finder = Mockito.mock(TermFinderService.class);
+        when(finder.countByTestRun(testRun)).thenReturn(2L);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+        when(testService.findTestRunByUuid(testRun.getUuid())).thenReturn(testRun);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllTerms(true, testRun.getUuid(), null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("{ \"count\": 2 }", response.getEntity());
+    }
+
+    @Test
+    public void testFindTermsByTestRun() {
+        final TestRun testRun = new TestRun();
+        testRun.setUuid(UUID.randomUUID().toString());
+        final Term term = new Term();
+        term.setUuid(UUID.randomUUID().toString());
+
+        final TermFinderService finder = Mockito.mock(TermFinderService.class);
+        when(finder.findTermsByTestRun(testRun)).thenReturn(Arrays.asList(term));
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+        when(testService.findTestRunByUuid(testRun.getUuid())).thenReturn(testRun);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.findAllTerms(false, testRun.getUuid(), null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        final Term[] actual = (Term[]) response.getEntity();
+        assertEquals(1, actual.length);
+        assertEquals(term.getUuid(), actual[0].getUuid());
+    }
+
+    @Test
+    public void testLookupTerms() {
+        final List<String> uuids = Arrays.asList(fall2014.getUuid(), fall2013.getUuid());
+
+        final TermFinderService finder = Mockito.mock(TermFinderService.class);
+        when(finder.findTermsByUuids(uuids)).thenReturn(Arrays.asList(fall2014, fall2013));
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.lookupTerms(uuids);
+
+        assertEquals(200, response.getStatus());
+        final Term[] actual = (Term[]) response.getEntity();
+        assertEquals(2, actual.length);
+        assertNull(actual[0].getId());
+        assertEquals(fall2014.getUuid(), actual[0].getUuid());
+        assertEquals(fall2013.getUuid(), actual[1].getUuid());
+    }
+
+    @Test
+    public void testLookupTermsTooMany() {
+        final TermFinderService finder = Mockito.mock(TermFinderService.class);
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response response = resource.lookupTerms(Collections.nCopies(AbstractResource.MAX_LOOKUP_SIZE + 1,
+                fall2013.getUuid()));
+
+        assertEquals(400, response.getStatus());
     }
 
     @Test
@@ -135,7 +263,7 @@ public class TermResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getTerm(expected.getUuid());
+        final Response response = resource.getTerm(expected.getUuid(), null);
 
         assertEquals(200, response.getStatus());
         final Term actual = (Term) response.getEntity();
@@ -145,6 +273,30 @@ public class TermResourceTest {
     }
 
     @Test
+    public void testGetTermNotModified() {
+        final Term expected = fall2013;
+        expected.setVersion(1);
+
+        final TermFinderService finder = Mockito.mock(TermFinderService.class);
+        when(finder.findTermByUuid(expected.getUuid())).thenReturn(expected);
+
+        final TestRunService testService = Mockito.mock(TestRunService.class);
+
+        resource.setServices(finder, null, testService);
+        final Response first = resource.getTerm(expected.getUuid(), null);
+        final EntityTag tag = (EntityTag) first.getMetadata().getFirst(HttpHeaders.ETAG);
+        final Response response = resource.getTerm(expected.getUuid(), "\"" + tag.getValue() + "\"");
+
+        assertEquals(304, response.getStatus());
+        assertNull(response.getEntity());
+        assertEquals(tag, response.getMetadata().getFirst(HttpHeaders.ETAG));
+
+        // a new version has a new tag
+        expected.setVersion(2);
+        assertEquals(200, resource.getTerm(expected.getUuid(), "\"" + tag.getValue() + "\"").getStatus());
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
     public void testGetTermMissing() {
         final TermFinderService finder = Mockito.mock(TermFinderService.class);
         when(finder.findTermByUuid(fall2013.getUuid())).thenThrow(new ObjectNotFoundException(fall2013.getUuid()));
@@ -152,12 +304,10 @@ public class TermResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getTerm(fall2013.getUuid());
-
-        assertEquals(404, response.getStatus());
+        resource.getTerm(fall2013.getUuid(), null);
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testGetTermFailure() {
         final TermFinderService finder = Mockito.mock(TermFinderService.class);
         when(finder.findTermByUuid(fall2013.getUuid())).thenThrow(new UnitTestException());
@@ -165,9 +315,7 @@ public class TermResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(finder, null, testService);
-        final Response response = resource.getTerm(fall2013.getUuid());
-
-        assertEquals(500, response.getStatus());
+        resource.getTerm(fall2013.getUuid(), null);
     }
 
     @Test
@@ -227,7 +375,7 @@ public class TermResourceTest {
         assertEquals(500, response.getStatus());
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testCreateTermFailure() {
         final Term expected = fall2013;
         final NameRTO name = new NameRTO();
@@ -239,9 +387,7 @@ public class TermResourceTest {
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.createTerm(name);
-
-        assertEquals(500, response.getStatus());
+        resource.createTerm(name);
     }
 
     @Test
@@ -331,12 +477,12 @@ public class TermResourceTest {
         final Term expected = fall2013;
 
         final TermManagerService manager = Mockito.mock(TermManagerService.class);
-        doNothing().when(manager).deleteTerm(expected.getUuid(), 0);
+        doNothing().when(manager).deleteTerm(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.deleteTerm(expected.getUuid(), 0);
+        final Response response = resource.deleteTerm(expected.getUuid(), null);
 
         assertEquals(204, response.getStatus());
     }
@@ -348,17 +494,17 @@ public class TermResourceTest {
         name.setName(expected.getName());
 
         final TermManagerService manager = Mockito.mock(TermManagerService.class);
-        doThrow(new ObjectNotFoundException(expected.getUuid())).when(manager).deleteTerm(expected.getUuid(), 0);
+        doThrow(new ObjectNotFoundException(expected.getUuid())).when(manager).deleteTerm(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.deleteTerm(expected.getUuid(), 0);
+        final Response response = resource.deleteTerm(expected.getUuid(), null);
 
         assertEquals(204, response.getStatus());
     }
 
-    @Test
+    @Test(expected = UnitTestException.class)
     public void testDeleteTermFailure() {
         final Term expected = fall2013;
 
@@ -366,13 +512,11 @@ public class TermResourceTest {
         when(finder.findTermByUuid(expected.getUuid())).thenReturn(expected);
 
         final TermManagerService manager = Mockito.mock(TermManagerService.class);
-        doThrow(new UnitTestException()).when(manager).deleteTerm(expected.getUuid(), 0);
+        doThrow(new UnitTestException()).when(manager).deleteTerm(expected.getUuid(), null);
 
         final TestRunService testService = Mockito.mock(TestRunService.class);
 
         resource.setServices(null, manager, testService);
-        final Response response = resource.deleteTerm(expected.getUuid(), 0);
-
-        assertEquals(500, response.getStatus());
+        resource.deleteTerm(expected.getUuid(), null);
     }
 }
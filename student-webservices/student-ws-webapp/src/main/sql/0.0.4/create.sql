@@ -27,11 +27,11 @@ begin
             select * into strict schema_version_rec from schema_version;
             if schema_version_rec.schema_version <> '0.0.3' then
                 raise notice 'Unwilling to run updates - check prior version';
-                exit;
+                return;
             end if;      
         else
             raise notice 'Bad database - more than one schema versions defined!';
-            exit;
+            return;
     end case;
 
     -- create tables!
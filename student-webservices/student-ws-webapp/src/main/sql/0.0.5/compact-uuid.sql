@@ -0,0 +1,51 @@
+--
+-- for security this must run as student-owner, not student-user!
+--
+-- OPTIONAL: store the uuid columns in the native 16-byte 'uuid' type instead
+-- of varchar(40). The unique indexes are rebuilt and are about a third of
+-- their previous size.
+--
+-- The application still exchanges the canonical string form so the JDBC url
+-- must include 'stringtype=unspecified', e.g.,
+-- 'jdbc:postgresql://localhost/student?stringtype=unspecified', so string
+-- parameters are converted by the server. Run the application with
+-- '-Dstudent.uuid.strategy=time-ordered' so new rows are appended to the
+-- indexes instead of being scattered through them.
+--
+
+--
+-- create an idempotent stored procedure that converts the uuid columns.
+--
+create or replace function compact_uuid_0_0_5() returns void as $$
+declare
+    schema_version_rec record;
+    table_rec record;
+begin
+    -- this is an update so the schema must be current.
+    select * into strict schema_version_rec from schema_version;
+    if schema_version_rec.schema_version <> '0.0.5' then
+        raise notice 'Unwilling to run updates - check prior version';
+        return;
+    end if;
+
+    for table_rec in
+        select table_name from information_schema.columns
+            where table_schema = current_schema()
+              and column_name = 'uuid'
+              and data_type = 'character varying'
+              and table_name in ('classroom', 'course', 'instructor', 'section', 'student', 'term', 'test_run')
+    loop
+        raise notice 'converting %.uuid', table_rec.table_name;
+        execute 'alter table ' || quote_ident(table_rec.table_name)
+            || ' alter column uuid type uuid using uuid::uuid';
+    end loop;
+
+    return;
+end;
+$$ language plpgsql;
+
+-- convert database schema
+select compact_uuid_0_0_5() is null;
+
+-- clean up
+drop function compact_uuid_0_0_5();
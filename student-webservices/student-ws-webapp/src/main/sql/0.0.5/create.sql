@@ -0,0 +1,215 @@
+--
+-- for security this must run as student-owner, not student-user!
+--
+
+--
+-- create an idempotent stored procedure that creates the initial database schema.
+--
+create or replace function create_schema_0_0_5() returns void as $$
+declare
+    schema_version_rec record;
+    schema_count int;
+begin
+    create table if not exists schema_version (
+        schema_version varchar(20) not null
+    );
+    
+    select count(*) into schema_count from schema_version;
+    
+    case schema_count
+        when 0 then
+            raise notice 'new table!';
+            -- we just created table
+            insert into schema_version(schema_version) values('0.0.5');
+        when 1 then
+            -- we accept either the current version or the immediately prior version.
+            select * into strict schema_version_rec from schema_version;
+            if schema_version_rec.schema_version not in ('0.0.4', '0.0.5') then
+                raise notice 'Unwilling to run updates - check prior version';
+                return;
+            end if;      
+        else
+            raise notice 'Bad database - more than one schema versions defined!';
+            return;
+    end case;
+
+    -- create tables!
+    -- postgresql has a 'uuid' type but we're using varchar for portability.
+
+    create table if not exists test_run (
+        test_run_pkey serial primary key,
+        version int not null default 1,
+        uuid varchar(40) unique not null,
+        creation_date timestamp not null,
+        name varchar(80) not null,
+        test_date timestamp not null,
+        username varchar(40) not null
+    );
+    
+    create table if not exists term (
+        term_pkey serial primary key,
+        version int not null default 1,
+        uuid varchar(40) unique not null,
+        creation_date timestamp not null,
+        test_run_pkey int references test_run(test_run_pkey),
+        name varchar(80) not null
+    );
+
+    create table if not exists course (
+        course_pkey serial primary key,
+        version int not null default 1,
+        uuid varchar(40) unique not null,
+        creation_date timestamp not null,
+        test_run_pkey int references test_run(test_run_pkey),
+        code varchar(12) not null unique,
+        name varchar(80) not null,
+        summary varchar(400),
+        description text,
+        credit_hours int
+    );
+
+    create table if not exists instructor (
+        instructor_pkey serial primary key,
+        version int not null default 1,
+        uuid varchar(40) unique not null,
+        creation_date timestamp not null,
+        test_run_pkey int references test_run(test_run_pkey),
+        name varchar(80) not null,
+        email varchar(200) unique not null
+    );
+
+    create table if not exists student (
+        student_pkey serial primary key,
+        version int not null default 1,
+        uuid varchar(40) unique not null,
+        creation_date timestamp not null,
+        test_run_pkey int references test_run(test_run_pkey),
+        name varchar(80) not null,
+        email varchar(200) unique not null
+    );
+
+    -- the column names match the JPA mappings, e.g., section.section is the course.
+    create table if not exists section (
+        section_pkey serial primary key,
+        version int not null default 1,
+        uuid varchar(40) unique not null,
+        creation_date timestamp not null,
+        test_run_pkey int references test_run(test_run_pkey),
+        name varchar(80) not null,
+        section int references course(course_pkey),
+        term int references term(term_pkey)
+    );
+
+    create table if not exists classroom (
+        classroom_pkey serial primary key,
+        version int not null default 1,
+        uuid varchar(40) unique not null,
+        creation_date timestamp not null,
+        test_run_pkey int references test_run(test_run_pkey),
+        name varchar(80) not null,
+        section int references section(section_pkey),
+        term int references term(term_pkey)
+    );
+
+    create table if not exists section_students (
+        sections int not null references section(section_pkey),
+        students int not null references student(student_pkey),
+        primary key (sections, students)
+    );
+
+    create table if not exists section_instructors (
+        sections int not null references section(section_pkey),
+        instructors int not null references instructor(instructor_pkey),
+        primary key (sections, instructors)
+    );
+
+    -- 0.0.4 databases already have 'section' and 'classroom' tables without
+    -- these columns and 'create table if not exists' won't add them.
+    alter table section add column if not exists section int references course(course_pkey);
+    alter table section add column if not exists term int references term(term_pkey);
+    alter table classroom add column if not exists section int references section(section_pkey);
+    alter table classroom add column if not exists term int references term(term_pkey);
+
+    -- postgresql doesn't index foreign keys. Test data is only ever looked
+    -- up by test run so those indexes skip the production rows, and the
+    -- production listings (test_run_pkey is null, in id order) get their
+    -- own partial indexes that skip the test data.
+    create index if not exists classroom_test_run_idx on classroom(test_run_pkey) where test_run_pkey is not null;
+    create index if not exists course_test_run_idx on course(test_run_pkey) where test_run_pkey is not null;
+    create index if not exists instructor_test_run_idx on instructor(test_run_pkey) where test_run_pkey is not null;
+    create index if not exists section_test_run_idx on section(test_run_pkey) where test_run_pkey is not null;
+    create index if not exists student_test_run_idx on student(test_run_pkey) where test_run_pkey is not null;
+    create index if not exists term_test_run_idx on term(test_run_pkey) where test_run_pkey is not null;
+
+    create index if not exists classroom_production_idx on classroom(classroom_pkey) where test_run_pkey is null;
+    create index if not exists course_production_idx on course(course_pkey) where test_run_pkey is null;
+    create index if not exists instructor_production_idx on instructor(instructor_pkey) where test_run_pkey is null;
+    create index if not exists section_production_idx on section(section_pkey) where test_run_pkey is null;
+    create index if not exists student_production_idx on student(student_pkey) where test_run_pkey is null;
+    create index if not exists term_production_idx on term(term_pkey) where test_run_pkey is null;
+
+    -- the production listings may also be sorted by name or creation date. The
+    -- primary key is the final sort key so these indexes return the rows in
+    -- order. The uuid, code and email columns already have unique indexes.
+    create index if not exists classroom_name_idx on classroom(name, classroom_pkey) where test_run_pkey is null;
+    create index if not exists course_name_idx on course(name, course_pkey) where test_run_pkey is null;
+    create index if not exists instructor_name_idx on instructor(name, instructor_pkey) where test_run_pkey is null;
+    create index if not exists section_name_idx on section(name, section_pkey) where test_run_pkey is null;
+    create index if not exists student_name_idx on student(name, student_pkey) where test_run_pkey is null;
+    create index if not exists term_name_idx on term(name, term_pkey) where test_run_pkey is null;
+    create index if not exists classroom_creation_date_idx on classroom(creation_date, classroom_pkey) where test_run_pkey is null;
+    create index if not exists course_creation_date_idx on course(creation_date, course_pkey) where test_run_pkey is null;
+    create index if not exists instructor_creation_date_idx on instructor(creation_date, instructor_pkey) where test_run_pkey is null;
+    create index if not exists section_creation_date_idx on section(creation_date, section_pkey) where test_run_pkey is null;
+    create index if not exists student_creation_date_idx on student(creation_date, student_pkey) where test_run_pkey is null;
+    create index if not exists term_creation_date_idx on term(creation_date, term_pkey) where test_run_pkey is null;
+
+    create index if not exists section_course_idx on section(section);
+    create index if not exists section_term_idx on section(term);
+    create index if not exists classroom_section_idx on classroom(section);
+    create index if not exists classroom_term_idx on classroom(term);
+
+    -- the join tables are sets. The primary keys cover the section side.
+    create index if not exists section_students_student_idx on section_students(students);
+    create index if not exists section_instructors_instructor_idx on section_instructors(instructors);
+
+    -- the entities use pooled sequences that reserve 50 ids per call. This
+    -- must match PersistentObject.ID_ALLOCATION_SIZE. Plain 'nextval' callers,
+    -- e.g., the serial defaults, still get unique ids.
+    alter sequence classroom_classroom_pkey_seq increment by 50;
+    alter sequence course_course_pkey_seq increment by 50;
+    alter sequence instructor_instructor_pkey_seq increment by 50;
+    alter sequence section_section_pkey_seq increment by 50;
+    alter sequence student_student_pkey_seq increment by 50;
+    alter sequence term_term_pkey_seq increment by 50;
+    alter sequence test_run_test_run_pkey_seq increment by 50;
+
+    -- make sure nobody can truncate our tables
+    revoke truncate on classroom, course, instructor, section, student, term, test_run,
+        section_students, section_instructors from public;
+    revoke truncate on classroom, course, instructor, section, student, term, test_run,
+        section_students, section_instructors from student;
+
+    -- grant CRUD privileges to student-user.
+    grant select, insert, update, delete on classroom, course, instructor, section, student, term, test_run,
+        section_students, section_instructors to student;
+    grant usage on classroom_classroom_pkey_seq to student;
+    grant usage on course_course_pkey_seq to student;
+    grant usage on instructor_instructor_pkey_seq to student;
+    grant usage on section_section_pkey_seq to student;
+    grant usage on student_student_pkey_seq to student;
+    grant usage on term_term_pkey_seq to student;
+    grant usage on test_run_test_run_pkey_seq to student;
+    
+    -- the schema is now current.
+    update schema_version set schema_version = '0.0.5';
+
+    return;
+end;
+$$ language plpgsql;
+
+-- create database schema
+select create_schema_0_0_5() is null;
+
+-- clean up
+drop function create_schema_0_0_5();
\ No newline at end of file